@@ -291,8 +291,8 @@ public class ArraySchema
     }
 
     @Override
-    public int hashCode() {
-        return Objects.hash(super.hashCode(), minItems, maxItems, uniqueItems, allItemSchema,
+    protected int computeHashCode() {
+        return Objects.hash(super.computeHashCode(), minItems, maxItems, uniqueItems, allItemSchema,
                 additionalItems, itemSchemas, requiresArray, schemaOfAdditionalItems, containedItemSchema);
     }
 }
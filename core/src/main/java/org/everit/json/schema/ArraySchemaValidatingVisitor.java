@@ -6,17 +6,41 @@ import static java.util.Objects.requireNonNull;
 import java.util.ArrayList;
 import java.util.Collection;
 import java.util.List;
-import java.util.Optional;
-import java.util.function.IntFunction;
-import java.util.stream.IntStream;
-
-import org.json.JSONArray;
 
 class ArraySchemaValidatingVisitor extends Visitor {
 
+    /*
+     * The checks below are shared with the StreamingValidatingVisitor, which counts the items while reading the array.
+     */
+
+    static void checkMinItems(ValidatingVisitor owner, Integer minItems, int subjectLength) {
+        if (minItems != null && subjectLength < minItems) {
+            owner.failure("expected minimum item count: " + minItems + ", found: " + subjectLength, "minItems");
+        }
+    }
+
+    static void checkMaxItems(ValidatingVisitor owner, Integer maxItems, int subjectLength) {
+        if (maxItems != null && maxItems < subjectLength) {
+            owner.failure("expected maximum item count: " + maxItems + ", found: " + subjectLength, "maxItems");
+        }
+    }
+
+    static void checkAdditionalItems(ValidatingVisitor owner, ArraySchema arraySchema, boolean additionalItems,
+            int subjectLength) {
+        List<Schema> itemSchemas = arraySchema.getItemSchemas();
+        if (itemSchemas != null && !additionalItems && subjectLength > itemSchemas.size()) {
+            owner.failure(format("expected: [%d] array items, found: [%d]", itemSchemas.size(), subjectLength),
+                    "items");
+        }
+    }
+
+    static void reportNoContainedItem(ValidatingVisitor owner) {
+        owner.failure("expected at least one array item to match 'contains' schema", "contains");
+    }
+
     private final ValidatingVisitor owner;
 
-    private JSONArray arraySubject;
+    private Object arraySubject;
 
     private ArraySchema arraySchema;
 
@@ -28,47 +52,53 @@ class ArraySchemaValidatingVisitor extends Visitor {
 
     @Override
     void visitArraySchema(ArraySchema arraySchema) {
-        owner.ifPassesTypeCheck(JSONArray.class, arraySchema.requiresArray(), arraySchema.isNullable(),
-                arraySubject -> {
-                    this.arraySubject = arraySubject;
-                    this.subjectLength = arraySubject.length();
-                    this.arraySchema = arraySchema;
-                    super.visitArraySchema(arraySchema);
-                });
+        Object arraySubject = owner.subjectOfKind(ValueKind.ARRAY, arraySchema.requiresArray(),
+                arraySchema.isNullable());
+        if (arraySubject != null) {
+            this.arraySubject = arraySubject;
+            this.subjectLength = owner.documentAccessor.length(arraySubject);
+            this.arraySchema = arraySchema;
+            super.visitArraySchema(arraySchema);
+        }
     }
 
     @Override void visitMinItems(Integer minItems) {
-        if (minItems != null && subjectLength < minItems) {
-            owner.failure("expected minimum item count: " + minItems + ", found: " + subjectLength, "minItems");
-        }
+        checkMinItems(owner, minItems, subjectLength);
     }
 
     @Override void visitMaxItems(Integer maxItems) {
-        if (maxItems != null && maxItems < subjectLength) {
-            owner.failure("expected maximum item count: " + maxItems + ", found: " + subjectLength, "maxItems");
-        }
+        checkMaxItems(owner, maxItems, subjectLength);
     }
 
     @Override void visitUniqueItems(boolean uniqueItems) {
         if (!uniqueItems || subjectLength == 0) {
             return;
         }
+        long start = owner.startProfilingKeyword();
+        boolean unique = hasUniqueItems();
+        owner.profileKeyword("uniqueItems", start, !unique);
+        if (!unique) {
+            owner.failure("array items are not unique", "uniqueItems");
+        }
+    }
+
+    private boolean hasUniqueItems() {
         Collection<Object> uniques = new ArrayList<Object>(subjectLength);
         for (int i = 0; i < subjectLength; ++i) {
-            Object item = arraySubject.get(i);
+            Object item = item(i);
             for (Object contained : uniques) {
-                if (ObjectComparator.deepEquals(contained, item)) {
-                    owner.failure("array items are not unique", "uniqueItems");
-                    return;
+                if (owner.deepEquals(contained, item)) {
+                    return false;
                 }
             }
             uniques.add(item);
         }
+        return true;
     }
 
     @Override void visitAllItemSchema(Schema allItemSchema) {
         if (allItemSchema != null) {
-            validateItemsAgainstSchema(IntStream.range(0, subjectLength), allItemSchema);
+            validateItemsAgainstSchema(0, subjectLength, allItemSchema);
         }
     }
 
@@ -76,19 +106,15 @@ class ArraySchemaValidatingVisitor extends Visitor {
         if (index >= subjectLength) {
             return;
         }
-        Object subject = arraySubject.get(index);
         String idx = String.valueOf(index);
-        ifFails(itemSchema, subject)
-                .map(exc -> exc.prepend(idx))
-                .ifPresent(owner::failure);
+        ValidationException failure = owner.getFailureOfChild(idx, itemSchema, item(index));
+        if (failure != null) {
+            owner.failure(failure.prepend(idx));
+        }
     }
 
     @Override void visitAdditionalItems(boolean additionalItems) {
-        List<Schema> itemSchemas = arraySchema.getItemSchemas();
-        int itemSchemaCount = itemSchemas == null ? 0 : itemSchemas.size();
-        if (itemSchemas != null && !additionalItems && subjectLength > itemSchemaCount) {
-            owner.failure(format("expected: [%d] array items, found: [%d]", itemSchemaCount, subjectLength), "items");
-        }
+        checkAdditionalItems(owner, arraySchema, additionalItems, subjectLength);
     }
 
     @Override void visitSchemaOfAdditionalItems(Schema schemaOfAdditionalItems) {
@@ -96,36 +122,47 @@ class ArraySchemaValidatingVisitor extends Visitor {
             return;
         }
         int validationFrom = Math.min(subjectLength, arraySchema.getItemSchemas().size());
-        validateItemsAgainstSchema(IntStream.range(validationFrom, subjectLength), schemaOfAdditionalItems);
+        validateItemsAgainstSchema(validationFrom, subjectLength, schemaOfAdditionalItems);
     }
 
-    private void validateItemsAgainstSchema(IntStream indices, Schema schema) {
-        validateItemsAgainstSchema(indices, i -> schema);
+    private Object item(int index) {
+        return owner.documentAccessor.item(arraySubject, index);
     }
 
-    private void validateItemsAgainstSchema(IntStream indices, IntFunction<Schema> schemaForIndex) {
-        for (int i : indices.toArray()) {
-            String copyOfI = String.valueOf(i); // i is not effectively final so we copy it
-            ifFails(schemaForIndex.apply(i), arraySubject.get(i))
-                    .map(exc -> exc.prepend(copyOfI))
-                    .ifPresent(owner::failure);
+    /**
+     * Validates the items in the {@code [from, to)} index range against {@code schema}.
+     */
+    private void validateItemsAgainstSchema(int from, int to, Schema schema) {
+        if (owner.canValidateInParallel(to - from)) {
+            ValidationException[] failures = owner.getFailuresOfSchemas(to - from, i -> schema,
+                    i -> item(from + i));
+            for (int i = 0; i < failures.length; ++i) {
+                if (failures[i] != null) {
+                    owner.failure(failures[i].prepend(String.valueOf(from + i)));
+                }
+            }
+            return;
+        }
+        for (int i = from; i < to; ++i) {
+            String idx = String.valueOf(i);
+            ValidationException failure = owner.getFailureOfChild(idx, schema, item(i));
+            if (failure != null) {
+                owner.failure(failure.prepend(idx));
+            }
         }
-    }
-
-    private Optional<ValidationException> ifFails(Schema schema, Object input) {
-        return Optional.ofNullable(owner.getFailureOfSchema(schema, input));
     }
 
     @Override void visitContainedItemSchema(Schema containedItemSchema) {
         if (containedItemSchema == null) {
             return;
         }
-        for (int i = 0; i < arraySubject.length(); i++) {
-            Optional<ValidationException> exception = ifFails(containedItemSchema, arraySubject.get(i));
-            if (!exception.isPresent()) {
+        for (int i = 0; i < subjectLength; i++) {
+            int pendingDefaultsMark = owner.pendingDefaultsMark();
+            if (!owner.failsSchemaOnWholeSubject(containedItemSchema, item(i))) {
                 return;
             }
+            owner.discardPendingDefaults(pendingDefaultsMark);
         }
-        owner.failure("expected at least one array item to match 'contains' schema", "contains");
+        reportNoContainedItem(owner);
     }
 }
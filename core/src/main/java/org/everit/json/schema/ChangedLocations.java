@@ -0,0 +1,134 @@
+package org.everit.json.schema;
+
+import static java.util.Objects.requireNonNull;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.json.JSONArray;
+import org.json.JSONObject;
+
+/**
+ * A trie of the changed locations of a document, used for incremental validation.
+ * <p>
+ * Each node represents a location of the document. A node is either changed as a whole (then the subtree of the
+ * location has to be validated), or it has children (the ancestors of the changed locations). The children which are
+ * not present in the trie are unchanged.
+ */
+class ChangedLocations {
+
+    /**
+     * Collects the locations changed by a JSON Patch (RFC 6902) into a trie.
+     * <p>
+     * Adding or removing an array item shifts the indices of the subsequent items, therefore in such cases the whole
+     * array is treated as changed.
+     *
+     * @param patch
+     *         the applied JSON Patch
+     * @param document
+     *         the document after applying the patch
+     * @param documentAccessor
+     *         the accessor of {@code document}
+     */
+    static ChangedLocations fromJsonPatch(JSONArray patch, Object document, DocumentAccessor documentAccessor) {
+        ChangedLocations root = new ChangedLocations();
+        for (int i = 0; i < patch.length(); ++i) {
+            JSONObject operation = patch.getJSONObject(i);
+            String op = operation.getString("op");
+            switch (op) {
+            case "add":
+            case "copy":
+            case "remove":
+                root.addShifting(new JSONPointer(operation.getString("path")), document, documentAccessor);
+                break;
+            case "move":
+                root.addShifting(new JSONPointer(operation.getString("from")), document, documentAccessor);
+                root.addShifting(new JSONPointer(operation.getString("path")), document, documentAccessor);
+                break;
+            case "replace":
+                root.add(new JSONPointer(operation.getString("path")).getRefTokens());
+                break;
+            case "test":
+                break;
+            default:
+                throw new IllegalArgumentException("unknown JSON Patch operation: " + op);
+            }
+        }
+        return root;
+    }
+
+    static ChangedLocations fromPointers(Iterable<String> pointers) {
+        ChangedLocations root = new ChangedLocations();
+        for (String pointer : pointers) {
+            root.add(new JSONPointer(requireNonNull(pointer, "pointer cannot be null")).getRefTokens());
+        }
+        return root;
+    }
+
+    private boolean changedAsWhole;
+
+    private Map<String, ChangedLocations> children;
+
+    /**
+     * @return {@code true} if the whole subtree of this location has to be validated
+     */
+    boolean isChangedAsWhole() {
+        return changedAsWhole;
+    }
+
+    /**
+     * @return the node of the child location, or {@code null} if the child is unchanged
+     */
+    ChangedLocations child(String name) {
+        return children == null ? null : children.get(name);
+    }
+
+    private void add(List<String> tokens) {
+        ChangedLocations node = this;
+        for (String token : tokens) {
+            if (node.changedAsWhole) {
+                return;
+            }
+            if (node.children == null) {
+                node.children = new HashMap<>();
+            }
+            node = node.children.computeIfAbsent(token, t -> new ChangedLocations());
+        }
+        node.changedAsWhole = true;
+        node.children = null;
+    }
+
+    private void addShifting(JSONPointer pointer, Object document, DocumentAccessor documentAccessor) {
+        List<String> tokens = pointer.getRefTokens();
+        if (tokens.isEmpty()) {
+            add(tokens);
+            return;
+        }
+        List<String> parentTokens = tokens.subList(0, tokens.size() - 1);
+        add(isArray(parentTokens, document, documentAccessor) ? parentTokens : tokens);
+    }
+
+    private static boolean isArray(List<String> tokens, Object document, DocumentAccessor documentAccessor) {
+        Object current = document;
+        for (String token : tokens) {
+            if (documentAccessor.isObject(current) && documentAccessor.hasProperty(current, token)) {
+                current = documentAccessor.property(current, token);
+            } else if (documentAccessor.isArray(current)) {
+                int index;
+                try {
+                    index = Integer.parseInt(token);
+                } catch (NumberFormatException e) {
+                    return false;
+                }
+                if (index < 0 || index >= documentAccessor.length(current)) {
+                    return false;
+                }
+                current = documentAccessor.item(current, index);
+            } else {
+                return false;
+            }
+        }
+        return documentAccessor.isArray(current);
+    }
+}
@@ -20,32 +20,42 @@ class CollectingFailureReporter extends ValidationFailureReporter {
         ValidationException.throwFor(schema, failures);
     }
 
-    public ValidationException inContextOfSchema(Schema schema, Runnable task) {
-        int failureCountBefore = failures.size();
-        super.inContextOfSchema(schema, task);
-        int failureCountAfter = failures.size(), newFailureCount = failureCountAfter - failureCountBefore;
+    @Override
+    ValidationException removeFailuresSince(int watermark) {
+        int failureCountAfter = failures.size(), newFailureCount = failureCountAfter - watermark;
         if (newFailureCount == 0) {
             return null;
         } else if (newFailureCount == 1) {
-            return failures.remove(failures.size() - 1);
+            return failures.remove(failureCountAfter - 1);
         } else {
-            List<ValidationException> newFailures = new ArrayList<>(failures.subList(failureCountBefore, failures.size()));
-            int toBeRemoved = newFailureCount, lastIndex = failureCountAfter;
-            while (toBeRemoved-- > 0) {
-                failures.remove(--lastIndex);
-            }
+            List<ValidationException> newFailures = new ArrayList<>(failures.subList(watermark, failureCountAfter));
+            removeLast(newFailureCount);
             return ValidationException.createWrappingException(schema, newFailures);
         }
     }
 
     @Override
-    Object getState() {
-        return failureCount();
+    boolean discardFailuresSince(int watermark) {
+        int newFailureCount = failures.size() - watermark;
+        removeLast(newFailureCount);
+        return newFailureCount > 0;
+    }
+
+    private void removeLast(int count) {
+        int lastIndex = failures.size();
+        while (count-- > 0) {
+            failures.remove(--lastIndex);
+        }
+    }
+
+    @Override
+    int failureWatermark() {
+        return failures.size();
     }
 
     @Override
-    boolean isChanged(Object oldState) {
-        return !oldState.equals(failureCount());
+    boolean hasFailuresSince(int watermark) {
+        return failures.size() > watermark;
     }
 
     int failureCount() {
@@ -260,8 +260,8 @@ public class CombinedSchema extends Schema {
     }
 
     @Override
-    public int hashCode() {
-        return Objects.hash(super.hashCode(), sortedSubschemas, criterion, synthetic);
+    protected int computeHashCode() {
+        return Objects.hash(super.computeHashCode(), sortedSubschemas, criterion, synthetic);
     }
 
     @Override
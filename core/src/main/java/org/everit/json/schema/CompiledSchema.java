@@ -0,0 +1,21 @@
+package org.everit.json.schema;
+
+/**
+ * A schema compiled by {@link SchemaCompiler} into a tree of specialized checks.
+ * <p>
+ * It only decides whether a value is valid, the failures of invalid values are still reported by the
+ * {@link ValidatingVisitor}, which is the reference implementation of the validation.
+ */
+@FunctionalInterface
+interface CompiledSchema {
+
+    CompiledSchema ACCEPT_ALL = subject -> true;
+
+    CompiledSchema REJECT_ALL = subject -> false;
+
+    /**
+     * @return {@code true} if the {@link ValidatingVisitor} would not find any violation in {@code subject}
+     */
+    boolean accepts(Object subject);
+
+}
@@ -9,6 +9,7 @@ import static org.everit.json.schema.event.ConditionalSchemaValidationEvent.Keyw
 import org.everit.json.schema.event.ConditionalSchemaMatchEvent;
 import org.everit.json.schema.event.ConditionalSchemaMismatchEvent;
 import org.everit.json.schema.event.ConditionalSchemaValidationEvent;
+import org.everit.json.schema.event.ValidationListener.EventKind;
 
 class ConditionalSchemaValidatingVisitor extends Visitor {
 
@@ -38,11 +39,17 @@ class ConditionalSchemaValidatingVisitor extends Visitor {
     @Override
     void visitIfSchema(Schema ifSchema) {
         if (conditionalSchema.getIfSchema().isPresent()) {
+            int pendingDefaultsMark = owner.pendingDefaultsMark();
             ifSchemaException = owner.getFailureOfSchema(ifSchema, subject);
             if (ifSchemaException == null) {
-                owner.validationListener.ifSchemaMatch(createMatchEvent(IF));
+                if (owner.isSubscribed(EventKind.IF_SCHEMA_MATCH)) {
+                    owner.validationListener.ifSchemaMatch(createMatchEvent(IF));
+                }
             } else {
-                owner.validationListener.ifSchemaMismatch(createMismatchEvent(IF, ifSchemaException));
+                owner.discardPendingDefaults(pendingDefaultsMark);
+                if (owner.isSubscribed(EventKind.IF_SCHEMA_MISMATCH)) {
+                    owner.validationListener.ifSchemaMismatch(createMismatchEvent(IF, ifSchemaException));
+                }
             }
         }
     }
@@ -59,9 +66,11 @@ class ConditionalSchemaValidatingVisitor extends Visitor {
                         "then",
                         conditionalSchema.getSchemaLocation());
 
-                owner.validationListener.thenSchemaMismatch(createMismatchEvent(THEN, thenSchemaException));
+                if (owner.isSubscribed(EventKind.THEN_SCHEMA_MISMATCH)) {
+                    owner.validationListener.thenSchemaMismatch(createMismatchEvent(THEN, thenSchemaException));
+                }
                 owner.failure(failure);
-            } else {
+            } else if (owner.isSubscribed(EventKind.THEN_SCHEMA_MATCH)) {
                 owner.validationListener.thenSchemaMatch(createMatchEvent(THEN));
             }
         }
@@ -78,9 +87,11 @@ class ConditionalSchemaValidatingVisitor extends Visitor {
                         asList(ifSchemaException, elseSchemaException),
                         "else",
                         conditionalSchema.getSchemaLocation());
-                owner.validationListener.elseSchemaMismatch(createMismatchEvent(ELSE, elseSchemaException));
+                if (owner.isSubscribed(EventKind.ELSE_SCHEMA_MISMATCH)) {
+                    owner.validationListener.elseSchemaMismatch(createMismatchEvent(ELSE, elseSchemaException));
+                }
                 owner.failure(failure);
-            } else {
+            } else if (owner.isSubscribed(EventKind.ELSE_SCHEMA_MATCH)) {
                 owner.validationListener.elseSchemaMatch(createMatchEvent(ELSE));
             }
         }
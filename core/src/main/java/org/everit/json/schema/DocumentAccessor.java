@@ -0,0 +1,174 @@
+package org.everit.json.schema;
+
+import static java.util.Arrays.asList;
+import static java.util.Collections.emptyList;
+import static org.everit.json.schema.loader.OrgJsonUtil.getNames;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.json.JSONArray;
+import org.json.JSONObject;
+
+/**
+ * Provides access to the objects and arrays of the validated JSON document, so that documents represented by other
+ * object models than {@code org.json} can be validated without converting them.
+ * <p>
+ * Primitive values are represented the same way by all document models: as {@link Number}, {@link String} and
+ * {@link Boolean} instances, and JSON {@code null} as {@code null} or {@link JSONObject#NULL}.
+ * <p>
+ * The document accessor to be used can be set with
+ * {@link Validator.ValidatorBuilder#documentAccessor(DocumentAccessor)}.
+ */
+public interface DocumentAccessor {
+
+    /**
+     * Accessor of {@link JSONObject} and {@link JSONArray} instances, used by default.
+     */
+    DocumentAccessor ORG_JSON = new OrgJsonDocumentAccessor();
+
+    /**
+     * Accessor of documents represented as {@code Map<String, Object>} objects and {@code List<Object>} arrays, like
+     * the ones created by most JSON libraries when parsing into untyped trees.
+     */
+    DocumentAccessor JAVA_COLLECTIONS = new JavaCollectionsDocumentAccessor();
+
+    boolean isObject(Object value);
+
+    boolean isArray(Object value);
+
+    /**
+     * @return the property names of {@code object}. The returned collection is not modified by the validator.
+     */
+    Collection<String> propertyNames(Object object);
+
+    int propertyCount(Object object);
+
+    boolean hasProperty(Object object, String propertyName);
+
+    Object property(Object object, String propertyName);
+
+    /**
+     * Called when default values are injected into the validated document. Document models which don't support (or
+     * don't need) default value injection may throw {@link UnsupportedOperationException}.
+     *
+     * @param object
+     *         the object to put the property into
+     * @param propertyName
+     *         the name of the property
+     * @param value
+     *         the default value of the property, as loaded from the schema (therefore it is an {@code org.json} value)
+     */
+    void putProperty(Object object, String propertyName, Object value);
+
+    int length(Object array);
+
+    Object item(Object array, int index);
+}
+
+class OrgJsonDocumentAccessor implements DocumentAccessor {
+
+    @Override public boolean isObject(Object value) {
+        return value instanceof JSONObject;
+    }
+
+    @Override public boolean isArray(Object value) {
+        return value instanceof JSONArray;
+    }
+
+    @Override public Collection<String> propertyNames(Object object) {
+        String[] names = getNames((JSONObject) object);
+        return names == null ? emptyList() : asList(names);
+    }
+
+    @Override public int propertyCount(Object object) {
+        return ((JSONObject) object).length();
+    }
+
+    @Override public boolean hasProperty(Object object, String propertyName) {
+        return ((JSONObject) object).has(propertyName);
+    }
+
+    @Override public Object property(Object object, String propertyName) {
+        return ((JSONObject) object).get(propertyName);
+    }
+
+    @Override public void putProperty(Object object, String propertyName, Object value) {
+        ((JSONObject) object).put(propertyName, value);
+    }
+
+    @Override public int length(Object array) {
+        return ((JSONArray) array).length();
+    }
+
+    @Override public Object item(Object array, int index) {
+        return ((JSONArray) array).get(index);
+    }
+}
+
+@SuppressWarnings("unchecked")
+class JavaCollectionsDocumentAccessor implements DocumentAccessor {
+
+    private static Object fromOrgJson(Object value) {
+        if (value instanceof JSONObject) {
+            JSONObject obj = (JSONObject) value;
+            Map<String, Object> rval = new LinkedHashMap<>(obj.length());
+            Iterator<String> keyIt = obj.keys();
+            while (keyIt.hasNext()) {
+                String key = keyIt.next();
+                rval.put(key, fromOrgJson(obj.get(key)));
+            }
+            return rval;
+        } else if (value instanceof JSONArray) {
+            JSONArray arr = (JSONArray) value;
+            List<Object> rval = new ArrayList<>(arr.length());
+            for (int i = 0; i < arr.length(); ++i) {
+                rval.add(fromOrgJson(arr.get(i)));
+            }
+            return rval;
+        } else if (JSONObject.NULL.equals(value)) {
+            return null;
+        }
+        return value;
+    }
+
+    @Override public boolean isObject(Object value) {
+        return value instanceof Map;
+    }
+
+    @Override public boolean isArray(Object value) {
+        return value instanceof List;
+    }
+
+    @Override public Collection<String> propertyNames(Object object) {
+        return ((Map<String, ?>) object).keySet();
+    }
+
+    @Override public int propertyCount(Object object) {
+        return ((Map<?, ?>) object).size();
+    }
+
+    @Override public boolean hasProperty(Object object, String propertyName) {
+        return ((Map<?, ?>) object).containsKey(propertyName);
+    }
+
+    @Override public Object property(Object object, String propertyName) {
+        return ((Map<?, ?>) object).get(propertyName);
+    }
+
+    @Override public void putProperty(Object object, String propertyName, Object value) {
+        ((Map<String, Object>) object).put(propertyName, fromOrgJson(value));
+    }
+
+    @Override public int length(Object array) {
+        return ((List<?>) array).size();
+    }
+
+    @Override public Object item(Object array, int index) {
+        return ((List<?>) array).get(index);
+    }
+}
@@ -1,24 +1,76 @@
 package org.everit.json.schema;
 
+/**
+ * Throws the first failure of the validation. The first failure of a subschema is kept until the subschema is left,
+ * and the rest of the validation against the subschema is skipped (see {@link #isAborted()}).
+ */
 class EarlyFailingFailureReporter extends ValidationFailureReporter {
 
+    /**
+     * The number of entered, but not yet left schemas.
+     */
+    private int depth;
+
+    /**
+     * The first failure of the schema entered at {@link #failureDepth}, or {@code null}.
+     */
+    private ValidationException failure;
+
+    private int failureDepth;
+
     public EarlyFailingFailureReporter(Schema schema) {
         super(schema);
     }
 
     @Override public void failure(ValidationException exc) {
-        throw exc;
+        if (depth == 0) {
+            throw exc;
+        }
+        if (failure == null) {
+            failure = exc;
+            failureDepth = depth;
+        }
     }
 
     @Override public void validationFinished() {
 
     }
 
-    @Override ValidationException inContextOfSchema(Schema schema, Runnable task) {
-        try {
-            return super.inContextOfSchema(schema, task);
-        } catch (ValidationException e) {
-            return e;
+    @Override int enterSchema(Schema schema) {
+        ++depth;
+        return super.enterSchema(schema);
+    }
+
+    /**
+     * The watermark of this reporter is the depth of the entered schema.
+     */
+    @Override int failureWatermark() {
+        return depth;
+    }
+
+    @Override ValidationException removeFailuresSince(int watermark) {
+        ValidationException rval = null;
+        if (failure != null && failureDepth == watermark) {
+            rval = failure;
+            failure = null;
         }
+        depth = watermark - 1;
+        return rval;
+    }
+
+    @Override boolean discardFailuresSince(int watermark) {
+        return removeFailuresSince(watermark) != null;
+    }
+
+    /**
+     * Any pending failure fails the current schema, since it belongs either to the current schema, or to one of its
+     * enclosing schemas.
+     */
+    @Override boolean hasFailuresSince(int watermark) {
+        return failure != null;
+    }
+
+    @Override boolean isAborted() {
+        return failure != null;
     }
 }
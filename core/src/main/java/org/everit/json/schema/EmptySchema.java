@@ -49,7 +49,7 @@ public class EmptySchema extends Schema {
     }
 
     @Override
-    public int hashCode() {
-        return super.hashCode();
+    protected int computeHashCode() {
+        return super.computeHashCode();
     }
 }
@@ -98,8 +98,8 @@ public class EnumSchema extends Schema {
     }
 
     @Override
-    public int hashCode() {
-        return Objects.hash(super.hashCode(), possibleValues);
+    protected int computeHashCode() {
+        return Objects.hash(super.computeHashCode(), possibleValues);
     }
 
     @Override public void accept(Visitor visitor) {
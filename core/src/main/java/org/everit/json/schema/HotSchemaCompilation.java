@@ -0,0 +1,100 @@
+package org.everit.json.schema;
+
+import static java.util.Objects.requireNonNull;
+
+import java.lang.ref.Reference;
+import java.lang.ref.ReferenceQueue;
+import java.lang.ref.WeakReference;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Counts the validations performed against each root schema, and compiles the schemas (with {@link SchemaCompiler})
+ * which are used at least {@code threshold} times. The schemas are referenced weakly, they are not retained by the
+ * validator.
+ * <p>
+ * Instances are thread-safe, and shared by all validations of a {@link Validator}.
+ */
+class HotSchemaCompilation {
+
+    private static class SchemaKey extends WeakReference<Schema> {
+
+        private final int hash;
+
+        SchemaKey(Schema schema, ReferenceQueue<Schema> queue) {
+            super(schema, queue);
+            this.hash = System.identityHashCode(schema);
+        }
+
+        @Override public int hashCode() {
+            return hash;
+        }
+
+        @Override public boolean equals(Object o) {
+            if (this == o) {
+                return true;
+            }
+            if (!(o instanceof SchemaKey)) {
+                return false;
+            }
+            Schema schema = get();
+            return schema != null && schema == ((SchemaKey) o).get();
+        }
+    }
+
+    private static class Entry {
+
+        final AtomicInteger usageCount = new AtomicInteger();
+
+        volatile CompiledSchema compiledSchema;
+
+        volatile boolean notCompilable;
+    }
+
+    private final int threshold;
+
+    private final DocumentAccessor documentAccessor;
+
+    private final ConcurrentMap<SchemaKey, Entry> entries = new ConcurrentHashMap<>();
+
+    private final ReferenceQueue<Schema> collectedSchemas = new ReferenceQueue<>();
+
+    HotSchemaCompilation(int threshold, DocumentAccessor documentAccessor) {
+        this.threshold = threshold;
+        this.documentAccessor = requireNonNull(documentAccessor, "documentAccessor cannot be null");
+    }
+
+    /**
+     * Records a validation against {@code schema}.
+     *
+     * @return the compiled schema, or {@code null} if {@code schema} is not used frequently enough yet, or it can not
+     * be compiled
+     */
+    CompiledSchema compiledSchemaOf(Schema schema) {
+        expungeCollectedSchemas();
+        Entry entry = entries.computeIfAbsent(new SchemaKey(schema, collectedSchemas), key -> new Entry());
+        CompiledSchema compiled = entry.compiledSchema;
+        if (compiled != null || entry.notCompilable) {
+            return compiled;
+        }
+        if (entry.usageCount.incrementAndGet() < threshold) {
+            return null;
+        }
+        synchronized (entry) {
+            if (entry.compiledSchema == null && !entry.notCompilable) {
+                compiled = SchemaCompiler.compile(schema, documentAccessor);
+                entry.notCompilable = compiled == null;
+                entry.compiledSchema = compiled;
+            }
+            return entry.compiledSchema;
+        }
+    }
+
+    private void expungeCollectedSchemas() {
+        Reference<? extends Schema> collected;
+        while ((collected = collectedSchemas.poll()) != null) {
+            entries.remove(collected);
+        }
+    }
+}
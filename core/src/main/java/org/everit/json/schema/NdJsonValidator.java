@@ -0,0 +1,526 @@
+package org.everit.json.schema;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static java.util.Objects.requireNonNull;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionService;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorCompletionService;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.function.Consumer;
+
+import org.json.JSONException;
+import org.json.JSONTokener;
+
+/**
+ * Validates newline-delimited JSON (NDJSON, JSON lines) files against a single schema, using multiple threads.
+ * <p>
+ * The input file is memory-mapped and split into chunks at line boundaries. The chunks are parsed and validated by the
+ * worker threads, while the results of the lines are passed to the result consumer on the calling thread, either in
+ * the order of the lines or in the order their chunks are finished. Blank lines are skipped, but they are counted in
+ * the line numbers.
+ * <p>
+ * Instances are thread-safe and can be reused for validating multiple files.
+ */
+public class NdJsonValidator {
+
+    public static class NdJsonValidatorBuilder {
+
+        private Schema schema;
+
+        private Validator validator = Validator.builder().build();
+
+        private ExecutorService executorService;
+
+        private int parallelism = Runtime.getRuntime().availableProcessors();
+
+        private int chunkSize = 4 * 1024 * 1024;
+
+        private boolean ordered = true;
+
+        public NdJsonValidatorBuilder schema(Schema schema) {
+            this.schema = schema;
+            return this;
+        }
+
+        /**
+         * Sets the validator used for validating each line. It is shared by the worker threads, therefore its
+         * validation listener (if any) should be thread-safe.
+         */
+        public NdJsonValidatorBuilder validator(Validator validator) {
+            this.validator = validator;
+            return this;
+        }
+
+        /**
+         * Sets the executor service running the workers. If it is not set, then a thread pool of {@code parallelism}
+         * threads is created for each validated file.
+         */
+        public NdJsonValidatorBuilder executorService(ExecutorService executorService) {
+            this.executorService = executorService;
+            return this;
+        }
+
+        /**
+         * Sets the number of worker threads. At most twice as many chunks are kept in memory at a time. Defaults to the
+         * number of available processors.
+         */
+        public NdJsonValidatorBuilder parallelism(int parallelism) {
+            if (parallelism < 1) {
+                throw new IllegalArgumentException("parallelism must be positive, was: " + parallelism);
+            }
+            this.parallelism = parallelism;
+            return this;
+        }
+
+        /**
+         * Sets the approximate size of the chunks (in bytes) handed to the workers. Chunks are extended to the end of
+         * the line they would split. Defaults to 4 MB.
+         */
+        public NdJsonValidatorBuilder chunkSize(int chunkSize) {
+            if (chunkSize < 1) {
+                throw new IllegalArgumentException("chunkSize must be positive, was: " + chunkSize);
+            }
+            this.chunkSize = chunkSize;
+            return this;
+        }
+
+        /**
+         * Sets if the line results are reported in the order of the lines ({@code true}, default), or in the order
+         * they are computed ({@code false}). Unordered reporting doesn't have to wait for slow chunks, and the lines of
+         * a chunk are still reported in order.
+         */
+        public NdJsonValidatorBuilder ordered(boolean ordered) {
+            this.ordered = ordered;
+            return this;
+        }
+
+        public NdJsonValidator build() {
+            return new NdJsonValidator(this);
+        }
+    }
+
+    /**
+     * The result of validating a single line of the input.
+     */
+    public static class LineResult {
+
+        private final long lineNumber;
+
+        private final long offset;
+
+        private final ValidationException validationFailure;
+
+        private final JSONException parseFailure;
+
+        LineResult(long lineNumber, long offset, ValidationException validationFailure, JSONException parseFailure) {
+            this.lineNumber = lineNumber;
+            this.offset = offset;
+            this.validationFailure = validationFailure;
+            this.parseFailure = parseFailure;
+        }
+
+        /**
+         * @return the 1-based number of the line
+         */
+        public long getLineNumber() {
+            return lineNumber;
+        }
+
+        /**
+         * @return the position of the first byte of the line in the file
+         */
+        public long getOffset() {
+            return offset;
+        }
+
+        public boolean isValid() {
+            return validationFailure == null && parseFailure == null;
+        }
+
+        /**
+         * @return the violations of the line, or {@code null} if the line is valid or it is not valid JSON
+         */
+        public ValidationException getValidationFailure() {
+            return validationFailure;
+        }
+
+        /**
+         * @return the syntax error of the line, or {@code null} if the line is valid JSON
+         */
+        public JSONException getParseFailure() {
+            return parseFailure;
+        }
+
+        @Override public String toString() {
+            if (parseFailure != null) {
+                return "line " + lineNumber + ": " + parseFailure.getMessage();
+            } else if (validationFailure != null) {
+                return "line " + lineNumber + ": " + validationFailure.getMessage();
+            }
+            return "line " + lineNumber + ": valid";
+        }
+    }
+
+    /**
+     * Counters of a finished {@link #validate(Path, Consumer)} call.
+     */
+    public static class Statistics {
+
+        private final long lineCount;
+
+        private final long invalidCount;
+
+        private final long malformedCount;
+
+        private final long byteCount;
+
+        private final long elapsedNanos;
+
+        Statistics(long lineCount, long invalidCount, long malformedCount, long byteCount, long elapsedNanos) {
+            this.lineCount = lineCount;
+            this.invalidCount = invalidCount;
+            this.malformedCount = malformedCount;
+            this.byteCount = byteCount;
+            this.elapsedNanos = elapsedNanos;
+        }
+
+        /**
+         * @return the number of validated (non-blank) lines
+         */
+        public long getLineCount() {
+            return lineCount;
+        }
+
+        public long getValidCount() {
+            return lineCount - invalidCount - malformedCount;
+        }
+
+        /**
+         * @return the number of lines which are valid JSON but invalid against the schema
+         */
+        public long getInvalidCount() {
+            return invalidCount;
+        }
+
+        /**
+         * @return the number of lines which are not valid JSON
+         */
+        public long getMalformedCount() {
+            return malformedCount;
+        }
+
+        public long getByteCount() {
+            return byteCount;
+        }
+
+        public long getElapsedNanos() {
+            return elapsedNanos;
+        }
+
+        public double getLinesPerSecond() {
+            return perSecond(lineCount);
+        }
+
+        public double getBytesPerSecond() {
+            return perSecond(byteCount);
+        }
+
+        private double perSecond(long count) {
+            return elapsedNanos == 0 ? 0 : count * 1e9 / elapsedNanos;
+        }
+
+        @Override public String toString() {
+            return String.format(Locale.ROOT, "%d lines (%d valid, %d invalid, %d malformed), %d bytes in %.3f s: "
+                            + "%.0f lines/s, %.1f MB/s", lineCount, getValidCount(), invalidCount, malformedCount,
+                    byteCount, elapsedNanos / 1e9, getLinesPerSecond(), getBytesPerSecond() / (1024 * 1024));
+        }
+    }
+
+    private static class Chunk {
+
+        final ByteBuffer buffer;
+
+        final long offset;
+
+        /**
+         * Completed by the worker with the number of line breaks in the chunk, before validating its lines.
+         */
+        final CompletableFuture<Integer> lineCount = new CompletableFuture<>();
+
+        /**
+         * The results of the non-blank lines, numbered relative to the chunk (starting at 0). Set by the worker.
+         */
+        List<LineResult> results;
+
+        /**
+         * The number of the first line of the chunk, or 0 if it is not known yet. Set by the {@link ResultCollector}.
+         */
+        long firstLineNumber;
+
+        Chunk(ByteBuffer buffer, long offset) {
+            this.buffer = buffer;
+            this.offset = offset;
+        }
+    }
+
+    public static NdJsonValidatorBuilder builder() {
+        return new NdJsonValidatorBuilder();
+    }
+
+    private static int countLines(ByteBuffer buffer) {
+        int count = 0;
+        for (int i = 0, limit = buffer.limit(); i < limit; ++i) {
+            if (buffer.get(i) == '\n') {
+                ++count;
+            }
+        }
+        return count;
+    }
+
+    private static boolean isBlank(byte[] bytes, int length) {
+        for (int i = 0; i < length; ++i) {
+            byte b = bytes[i];
+            if (b != ' ' && b != '\t' && b != '\r') {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private final Schema schema;
+
+    private final Validator validator;
+
+    private final ExecutorService executorService;
+
+    private final int parallelism;
+
+    private final int chunkSize;
+
+    private final boolean ordered;
+
+    NdJsonValidator(NdJsonValidatorBuilder builder) {
+        this.schema = requireNonNull(builder.schema, "schema cannot be null");
+        this.validator = requireNonNull(builder.validator, "validator cannot be null");
+        this.executorService = builder.executorService;
+        this.parallelism = builder.parallelism;
+        this.chunkSize = builder.chunkSize;
+        this.ordered = builder.ordered;
+    }
+
+    /**
+     * Validates each line of {@code file}.
+     *
+     * @param file
+     *         the NDJSON file to be validated
+     * @param resultConsumer
+     *         called on the calling thread with the result of each non-blank line
+     * @return the counters of the validation
+     * @throws IOException
+     *         if the file cannot be read
+     */
+    public Statistics validate(Path file, Consumer<LineResult> resultConsumer) throws IOException {
+        requireNonNull(resultConsumer, "resultConsumer cannot be null");
+        long startedAt = System.nanoTime();
+        ExecutorService executor = executorService == null ? Executors.newFixedThreadPool(parallelism, runnable -> {
+            Thread thread = new Thread(runnable, "ndjson-validator");
+            thread.setDaemon(true);
+            return thread;
+        }) : executorService;
+        ResultCollector collector = new ResultCollector(resultConsumer);
+        Deque<Future<Chunk>> inFlight = new ArrayDeque<>();
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            long size = channel.size();
+            long position = 0;
+            CompletionService<Chunk> completionService = new ExecutorCompletionService<>(executor);
+            while (position < size) {
+                Chunk chunk = nextChunk(channel, position, size);
+                collector.submitted(chunk);
+                inFlight.addLast(completionService.submit(() -> validateChunk(chunk)));
+                position += chunk.buffer.limit();
+                if (inFlight.size() >= 2 * parallelism) {
+                    collector.accept(ordered ? inFlight.removeFirst() : removeCompleted(completionService, inFlight));
+                }
+            }
+            while (!inFlight.isEmpty()) {
+                collector.accept(ordered ? inFlight.removeFirst() : removeCompleted(completionService, inFlight));
+            }
+            return new Statistics(collector.lineCount, collector.invalidCount, collector.malformedCount, size,
+                    System.nanoTime() - startedAt);
+        } finally {
+            inFlight.forEach(future -> future.cancel(true));
+            if (executorService == null) {
+                executor.shutdownNow();
+            }
+        }
+    }
+
+    private Future<Chunk> removeCompleted(CompletionService<Chunk> completionService,
+            Deque<Future<Chunk>> inFlight) {
+        try {
+            Future<Chunk> completed = completionService.take();
+            inFlight.remove(completed);
+            return completed;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("interrupted while waiting for validation results", e);
+        }
+    }
+
+    /**
+     * Maps the next chunk of the file, ending after the last line break within {@code chunkSize} bytes (or after the
+     * first line break, if the line is longer than that).
+     */
+    private Chunk nextChunk(FileChannel channel, long position, long size) throws IOException {
+        long length = Math.min(chunkSize, size - position);
+        while (true) {
+            MappedByteBuffer mapped = channel.map(FileChannel.MapMode.READ_ONLY, position, length);
+            if (position + length == size) {
+                return new Chunk(mapped, position);
+            }
+            for (int i = (int) length - 1; i >= 0; --i) {
+                if (mapped.get(i) == '\n') {
+                    mapped.limit(i + 1);
+                    return new Chunk(mapped.slice(), position);
+                }
+            }
+            if (length == Integer.MAX_VALUE) {
+                throw new IOException("line at offset " + position + " is too long");
+            }
+            length = Math.min(Math.min(2 * length, Integer.MAX_VALUE), size - position);
+        }
+    }
+
+    private Chunk validateChunk(Chunk chunk) {
+        try {
+            chunk.lineCount.complete(countLines(chunk.buffer));
+        } catch (RuntimeException | Error e) {
+            chunk.lineCount.completeExceptionally(e);
+            throw e;
+        }
+        List<LineResult> results = new ArrayList<>();
+        ByteBuffer buffer = chunk.buffer;
+        byte[] line = new byte[256];
+        long lineNumber = 0;
+        int lineStart = 0;
+        int limit = buffer.limit();
+        while (lineStart < limit) {
+            int lineEnd = lineStart;
+            while (lineEnd < limit && buffer.get(lineEnd) != '\n') {
+                ++lineEnd;
+            }
+            int length = lineEnd - lineStart;
+            if (line.length < length) {
+                line = new byte[Math.max(length, 2 * line.length)];
+            }
+            for (int i = 0; i < length; ++i) {
+                line[i] = buffer.get(lineStart + i);
+            }
+            if (!isBlank(line, length)) {
+                results.add(validateLine(new String(line, 0, length, UTF_8), lineNumber, chunk.offset + lineStart));
+            }
+            ++lineNumber;
+            lineStart = lineEnd + 1;
+        }
+        chunk.results = results;
+        return chunk;
+    }
+
+    private LineResult validateLine(String line, long lineNumber, long offset) {
+        Object document;
+        try {
+            JSONTokener tokener = new JSONTokener(line);
+            document = tokener.nextValue();
+            if (tokener.nextClean() != 0) {
+                throw tokener.syntaxError("unexpected content after the JSON value");
+            }
+        } catch (JSONException e) {
+            return new LineResult(lineNumber, offset, null, e);
+        }
+        try {
+            validator.performValidation(schema, document);
+            return new LineResult(lineNumber, offset, null, null);
+        } catch (ValidationException e) {
+            return new LineResult(lineNumber, offset, e, null);
+        }
+    }
+
+    /**
+     * Passes the line results to the result consumer, turning the chunk-relative line numbers into absolute ones. The
+     * first line number of a chunk is known once the workers have counted the lines of all preceding chunks.
+     */
+    private static class ResultCollector {
+
+        private final Consumer<LineResult> resultConsumer;
+
+        private final Deque<Chunk> unnumbered = new ArrayDeque<>();
+
+        private long nextLineNumber = 1;
+
+        long lineCount;
+
+        long invalidCount;
+
+        long malformedCount;
+
+        ResultCollector(Consumer<LineResult> resultConsumer) {
+            this.resultConsumer = resultConsumer;
+        }
+
+        void submitted(Chunk chunk) {
+            unnumbered.addLast(chunk);
+        }
+
+        void accept(Future<Chunk> chunkResult) {
+            Chunk chunk = await(chunkResult);
+            while (chunk.firstLineNumber == 0) {
+                Chunk first = unnumbered.removeFirst();
+                first.firstLineNumber = nextLineNumber;
+                nextLineNumber += await(first.lineCount);
+            }
+            for (LineResult relative : chunk.results) {
+                LineResult result = new LineResult(chunk.firstLineNumber + relative.lineNumber, relative.offset,
+                        relative.validationFailure, relative.parseFailure);
+                ++lineCount;
+                if (result.parseFailure != null) {
+                    ++malformedCount;
+                } else if (result.validationFailure != null) {
+                    ++invalidCount;
+                }
+                resultConsumer.accept(result);
+            }
+        }
+
+        private static <T> T await(Future<T> future) {
+            try {
+                return future.get();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new IllegalStateException("interrupted while waiting for validation results", e);
+            } catch (ExecutionException e) {
+                Throwable cause = e.getCause();
+                if (cause instanceof RuntimeException) {
+                    throw (RuntimeException) cause;
+                } else if (cause instanceof Error) {
+                    throw (Error) cause;
+                }
+                throw new IllegalStateException(cause);
+            }
+        }
+    }
+}
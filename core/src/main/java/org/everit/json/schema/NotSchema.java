@@ -63,8 +63,8 @@ public class NotSchema extends Schema {
     }
 
     @Override
-    public int hashCode() {
-        return Objects.hash(super.hashCode(), mustNotMatch);
+    protected int computeHashCode() {
+        return Objects.hash(super.computeHashCode(), mustNotMatch);
     }
 
     @Override
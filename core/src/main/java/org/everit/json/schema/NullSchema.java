@@ -40,8 +40,8 @@ public class NullSchema extends Schema {
     }
 
     @Override
-    public int hashCode() {
-        return super.hashCode();
+    protected int computeHashCode() {
+        return super.computeHashCode();
     }
 
     @Override
@@ -190,10 +190,9 @@ public class NumberSchema extends Schema {
     }
 
     @Override
-    public int hashCode() {
-        return Objects
-                .hash(super.hashCode(), requiresNumber, minimum, maximum, multipleOf, exclusiveMinimum, exclusiveMaximum,
-                        exclusiveMinimumLimit, exclusiveMaximumLimit, requiresInteger);
+    protected int computeHashCode() {
+        return Objects.hash(super.computeHashCode(), requiresNumber, minimum, maximum, multipleOf, exclusiveMinimum,
+                exclusiveMaximum, exclusiveMinimumLimit, exclusiveMaximumLimit, requiresInteger);
     }
 
     @Override
@@ -25,14 +25,13 @@ class NumberSchemaValidatingVisitor extends Visitor {
 
     @Override
     void visitNumberSchema(NumberSchema numberSchema) {
-        Class<? extends Number> expectedType = numberSchema.requiresInteger() ? Integer.class : Number.class;
+        ValueKind expectedKind = numberSchema.requiresInteger() ? ValueKind.INTEGER : ValueKind.NUMBER;
         boolean schemaRequiresType = numberSchema.requiresInteger() || numberSchema.isRequiresNumber();
-        owner.ifPassesTypeCheck(expectedType, Number.class::cast, schemaRequiresType,
-                numberSchema.isNullable(),
-                numberSubject -> {
-                    this.numberSubject = numberSubject;
-                    super.visitNumberSchema(numberSchema);
-                });
+        Object numberSubject = owner.subjectOfKind(expectedKind, schemaRequiresType, numberSchema.isNullable());
+        if (numberSubject != null) {
+            this.numberSubject = (Number) numberSubject;
+            super.visitNumberSchema(numberSchema);
+        }
     }
 
     @Override
@@ -9,13 +9,14 @@ import java.util.ArrayList;
 import java.util.Collections;
 import java.util.HashMap;
 import java.util.HashSet;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Objects;
 import java.util.Set;
 import java.util.regex.Pattern;
 
-import org.everit.json.schema.regexp.JavaUtilRegexpFactory;
+import org.everit.json.schema.regexp.CachingRegexpFactory;
 import org.everit.json.schema.regexp.Regexp;
 import org.everit.json.schema.regexp.RegexpFactory;
 
@@ -29,7 +30,7 @@ public class ObjectSchema extends Schema {
      */
     public static class Builder extends Schema.Builder<ObjectSchema> {
 
-        private static final RegexpFactory DEFAULT_REGEXP_FACTORY = new JavaUtilRegexpFactory();
+        private static final RegexpFactory DEFAULT_REGEXP_FACTORY = CachingRegexpFactory.defaultInstance();
 
         private static final Regexp toRegexp(String pattern) {
             return DEFAULT_REGEXP_FACTORY.createHandler(pattern);
@@ -194,6 +195,12 @@ public class ObjectSchema extends Schema {
 
     private final boolean oneOrMoreDefaultProperty;
 
+    /**
+     * Derived from {@link #propertySchemas}, therefore it is not part of {@link #equals(Object)} and
+     * {@link #hashCode()}.
+     */
+    private final Map<String, Object> propertyDefaults;
+
     /**
      * Constructor.
      *
@@ -220,6 +227,20 @@ public class ObjectSchema extends Schema {
         this.patternProperties = copyMap(builder.patternProperties);
         this.propertyNameSchema = builder.propertyNameSchema;
         this.oneOrMoreDefaultProperty = builder.oneOrMoreDefaultProperty;
+        this.propertyDefaults = collectPropertyDefaults(propertySchemas);
+    }
+
+    private static Map<String, Object> collectPropertyDefaults(Map<String, Schema> propertySchemas) {
+        if (propertySchemas == null) {
+            return Collections.emptyMap();
+        }
+        Map<String, Object> propertyDefaults = new LinkedHashMap<>();
+        for (Map.Entry<String, Schema> entry : propertySchemas.entrySet()) {
+            if (entry.getValue().hasDefaultValue()) {
+                propertyDefaults.put(entry.getKey(), entry.getValue().getDefaultValue());
+            }
+        }
+        return propertyDefaults.isEmpty() ? Collections.emptyMap() : Collections.unmodifiableMap(propertyDefaults);
     }
 
     public Integer getMaxProperties() {
@@ -284,6 +305,13 @@ public class ObjectSchema extends Schema {
         return oneOrMoreDefaultProperty;
     }
 
+    /**
+     * @return the default values of the property schemas, by property name
+     */
+    Map<String, Object> getPropertyDefaults() {
+        return propertyDefaults;
+    }
+
 
 
     @Override
@@ -361,8 +389,8 @@ public class ObjectSchema extends Schema {
     }
 
     @Override
-    public int hashCode() {
-        return Objects.hash(super.hashCode(), propertySchemas, propertyNameSchema, additionalProperties,
+    protected int computeHashCode() {
+        return Objects.hash(super.computeHashCode(), propertySchemas, propertyNameSchema, additionalProperties,
                 schemaOfAdditionalProperties, requiredProperties, minProperties, maxProperties, propertyDependencies,
                 schemaDependencies, requiresObject, patternProperties, oneOrMoreDefaultProperty);
     }
@@ -2,63 +2,107 @@ package org.everit.json.schema;
 
 import static java.lang.String.format;
 import static java.util.Objects.requireNonNull;
-import static org.everit.json.schema.loader.OrgJsonUtil.getNames;
 
 import java.util.ArrayList;
 import java.util.HashSet;
+import java.util.IdentityHashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Set;
+import java.util.function.BiFunction;
+import java.util.function.Predicate;
 
 import org.everit.json.schema.regexp.Regexp;
-import org.json.JSONObject;
 
 class ObjectSchemaValidatingVisitor extends Visitor {
 
-    private JSONObject objSubject;
+    /*
+     * The checks below are shared with the StreamingValidatingVisitor, which reads the properties of the object
+     * instead of accessing them through a DocumentAccessor.
+     */
+
+    static void checkRequiredProperty(ValidatingVisitor owner, Predicate<String> hasProperty,
+            String requiredPropName) {
+        if (!hasProperty.test(requiredPropName)) {
+            owner.failure(format("required key [%s] not found", requiredPropName), "required");
+        }
+    }
+
+    static void checkMinProperties(ValidatingVisitor owner, Integer minProperties, int objectSize) {
+        if (minProperties != null && objectSize < minProperties.intValue()) {
+            owner.failure(format("minimum size: [%d], found: [%d]", minProperties, objectSize), "minProperties");
+        }
+    }
+
+    static void checkMaxProperties(ValidatingVisitor owner, Integer maxProperties, int objectSize) {
+        if (maxProperties != null && objectSize > maxProperties.intValue()) {
+            owner.failure(format("maximum size: [%d], found: [%d]", maxProperties, objectSize), "maxProperties");
+        }
+    }
+
+    static void checkPropertyDependency(ValidatingVisitor owner, Predicate<String> hasProperty, String ifPresent,
+            Set<String> allMustBePresent) {
+        if (hasProperty.test(ifPresent)) {
+            for (String mustBePresent : allMustBePresent) {
+                if (!hasProperty.test(mustBePresent)) {
+                    owner.failure(format("property [%s] is required", mustBePresent), "dependencies");
+                }
+            }
+        }
+    }
+
+    static void reportAdditionalProperty(ValidatingVisitor owner, String additionalProperty) {
+        owner.failure(format("extraneous key [%s] is not permitted", additionalProperty), "additionalProperties");
+    }
+
+    private Object objSubject;
+
+    private DocumentAccessor documentAccessor;
 
     private ObjectSchema schema;
 
     private int objectSize;
 
+    private Map<Regexp, List<String>> propertyNamesByPattern;
+
+    private Set<String> propertyNamesMatchingAnyPattern;
+
     private final ValidatingVisitor owner;
 
     public ObjectSchemaValidatingVisitor(ValidatingVisitor owner) {
         this.owner = requireNonNull(owner, "owner cannot be null");
+        this.documentAccessor = owner.documentAccessor;
     }
 
     @Override
     void visitObjectSchema(ObjectSchema objectSchema) {
-        owner.ifPassesTypeCheck(JSONObject.class, objectSchema.requiresObject(), objectSchema.isNullable(),
-                objSubject -> {
-                    this.objSubject = objSubject;
-                    this.objectSize = objSubject.length();
-                    this.schema = objectSchema;
-                    Object failureState = owner.getFailureState();
-                    Set<String> objSubjectKeys = null;
-                    if (objectSchema.hasDefaultProperty()) {
-                        objSubjectKeys = new HashSet<>(objSubject.keySet());
-                    }
-                    super.visitObjectSchema(objectSchema);
-                    if (owner.isFailureStateChanged(failureState) && objectSchema.hasDefaultProperty()) {
-                        objSubject.keySet().retainAll(objSubjectKeys);
-                    }
-                });
+        Object objSubject = owner.subjectOfKind(ValueKind.OBJECT, objectSchema.requiresObject(),
+                objectSchema.isNullable());
+        if (objSubject == null) {
+            return;
+        }
+        this.objSubject = objSubject;
+        this.objectSize = documentAccessor.propertyCount(objSubject);
+        this.schema = objectSchema;
+        int failureWatermark = owner.failureWatermark();
+        super.visitObjectSchema(objectSchema);
+        if (objectSchema.hasDefaultProperty() && !owner.hasFailuresSince(failureWatermark)) {
+            owner.deferDefaults(objSubject, objectSchema);
+        }
+    }
+
+    private boolean hasProperty(String propName) {
+        return documentAccessor.hasProperty(objSubject, propName);
     }
 
     @Override void visitRequiredPropertyName(String requiredPropName) {
-        if (!objSubject.has(requiredPropName)) {
-            owner.failure(format("required key [%s] not found", requiredPropName), "required");
-        }
+        checkRequiredProperty(owner, this::hasProperty, requiredPropName);
     }
 
     @Override void visitPropertyNameSchema(Schema propertyNameSchema) {
         if (propertyNameSchema != null) {
-            String[] names = getNames(objSubject);
-            if (names == null || names.length == 0) {
-                return;
-            }
-            for (String name : names) {
-                ValidationException failure = owner.getFailureOfSchema(propertyNameSchema, name);
+            for (String name : documentAccessor.propertyNames(objSubject)) {
+                ValidationException failure = owner.getFailureOfSchemaOnWholeSubject(propertyNameSchema, name);
                 if (failure != null) {
                     owner.failure(failure.prepend(name));
                 }
@@ -67,25 +111,15 @@ class ObjectSchemaValidatingVisitor extends Visitor {
     }
 
     @Override void visitMinProperties(Integer minProperties) {
-        if (minProperties != null && objectSize < minProperties.intValue()) {
-            owner.failure(format("minimum size: [%d], found: [%d]", minProperties, objectSize), "minProperties");
-        }
+        checkMinProperties(owner, minProperties, objectSize);
     }
 
     @Override void visitMaxProperties(Integer maxProperties) {
-        if (maxProperties != null && objectSize > maxProperties.intValue()) {
-            owner.failure(format("maximum size: [%d], found: [%d]", maxProperties, objectSize), "maxProperties");
-        }
+        checkMaxProperties(owner, maxProperties, objectSize);
     }
 
     @Override void visitPropertyDependencies(String ifPresent, Set<String> allMustBePresent) {
-        if (objSubject.has(ifPresent)) {
-            for (String mustBePresent : allMustBePresent) {
-                if (!objSubject.has(mustBePresent)) {
-                    owner.failure(format("property [%s] is required", mustBePresent), "dependencies");
-                }
-            }
-        }
+        checkPropertyDependency(owner, this::hasProperty, ifPresent, allMustBePresent);
     }
 
     @Override void visitAdditionalProperties(boolean permitsAdditionalProperties) {
@@ -95,66 +129,90 @@ class ObjectSchemaValidatingVisitor extends Visitor {
                 return;
             }
             for (String additionalProperty : additionalProperties) {
-                owner.failure(format("extraneous key [%s] is not permitted", additionalProperty), "additionalProperties");
+                reportAdditionalProperty(owner, additionalProperty);
             }
         }
     }
 
     @Override void visitSchemaOfAdditionalProperties(Schema schemaOfAdditionalProperties) {
         if (schemaOfAdditionalProperties != null) {
-            List<String> additionalPropNames = getAdditionalProperties();
-            for (String propName : additionalPropNames) {
-                Object propVal = objSubject.get(propName);
-                ValidationException failure = owner.getFailureOfSchema(schemaOfAdditionalProperties, propVal);
-                if (failure != null) {
-                    owner.failure(failure.prepend(propName, schema));
+            validatePropertiesAgainstSchema(getAdditionalProperties(), schemaOfAdditionalProperties,
+                    (failure, propName) -> failure.prepend(propName, schema));
+        }
+    }
+
+    private void validatePropertiesAgainstSchema(List<String> propNames, Schema schema,
+            BiFunction<ValidationException, String, ValidationException> prepend) {
+        if (owner.canValidateInParallel(propNames.size())) {
+            ValidationException[] failures = owner.getFailuresOfSchemas(propNames.size(), i -> schema,
+                    i -> documentAccessor.property(objSubject, propNames.get(i)));
+            for (int i = 0; i < failures.length; ++i) {
+                if (failures[i] != null) {
+                    owner.failure(prepend.apply(failures[i], propNames.get(i)));
                 }
             }
+            return;
+        }
+        for (String propName : propNames) {
+            Object propVal = documentAccessor.property(objSubject, propName);
+            ValidationException failure = owner.getFailureOfChild(propName, schema, propVal);
+            if (failure != null) {
+                owner.failure(prepend.apply(failure, propName));
+            }
         }
     }
 
     private List<String> getAdditionalProperties() {
-        String[] names = getNames(objSubject);
-        if (names == null) {
-            return new ArrayList<>();
-        } else {
-            List<String> namesList = new ArrayList<>();
-            for (String name : names) {
-                if (!schema.getPropertySchemas().containsKey(name) && !matchesAnyPattern(name)) {
-                    namesList.add(name);
-                }
+        List<String> namesList = new ArrayList<>();
+        for (String name : documentAccessor.propertyNames(objSubject)) {
+            if (!schema.getPropertySchemas().containsKey(name) && !matchesAnyPattern(name)) {
+                namesList.add(name);
             }
-            return namesList;
         }
+        return namesList;
     }
 
     private boolean matchesAnyPattern(String key) {
-        for (Regexp pattern : schema.getRegexpPatternProperties().keySet()) {
-            if (!pattern.patternMatchingFailure(key).isPresent()) {
-                return true;
-            }
-        }
-        return false;
+        matchPatternProperties();
+        return propertyNamesMatchingAnyPattern.contains(key);
     }
 
-    @Override void visitPatternPropertySchema(Regexp propertyNamePattern, Schema schema) {
-        String[] propNames = getNames(objSubject);
-        if (propNames == null || propNames.length == 0) {
+    /**
+     * Matches every property name against every pattern property exactly once, and shares the results between the
+     * {@code additionalProperties} and {@code patternProperties} checks.
+     */
+    private void matchPatternProperties() {
+        if (propertyNamesByPattern != null) {
             return;
         }
-        for (String propName : propNames) {
-            if (!propertyNamePattern.patternMatchingFailure(propName).isPresent()) {
-                ValidationException failure = owner.getFailureOfSchema(schema, objSubject.get(propName));
-                if (failure != null) {
-                    owner.failure(failure.prepend(propName));
+        Set<Regexp> patterns = schema.getRegexpPatternProperties().keySet();
+        propertyNamesByPattern = new IdentityHashMap<>(patterns.size());
+        propertyNamesMatchingAnyPattern = new HashSet<>();
+        if (patterns.isEmpty()) {
+            return;
+        }
+        for (String propName : documentAccessor.propertyNames(objSubject)) {
+            for (Regexp pattern : patterns) {
+                if (!pattern.patternMatchingFailure(propName).isPresent()) {
+                    propertyNamesByPattern.computeIfAbsent(pattern, p -> new ArrayList<>()).add(propName);
+                    propertyNamesMatchingAnyPattern.add(propName);
                 }
             }
         }
     }
 
+    @Override void visitPatternPropertySchema(Regexp propertyNamePattern, Schema schema) {
+        matchPatternProperties();
+        List<String> propNames = propertyNamesByPattern.get(propertyNamePattern);
+        if (propNames == null) {
+            return;
+        }
+        validatePropertiesAgainstSchema(propNames, schema, ValidationException::prepend);
+    }
+
     @Override void visitSchemaDependency(String propName, Schema schema) {
-        if (objSubject.has(propName)) {
-            ValidationException failure = owner.getFailureOfSchema(schema, objSubject);
+        if (documentAccessor.hasProperty(objSubject, propName)) {
+            ValidationException failure = owner.getFailureOfSchemaOnWholeSubject(schema, objSubject);
             if (failure != null) {
                 owner.failure(failure);
             }
@@ -162,13 +220,12 @@ class ObjectSchemaValidatingVisitor extends Visitor {
     }
 
     @Override void visitPropertySchema(String properyName, Schema schema) {
-        if (objSubject.has(properyName)) {
-            ValidationException failure = owner.getFailureOfSchema(schema, objSubject.get(properyName));
+        if (documentAccessor.hasProperty(objSubject, properyName)) {
+            Object propVal = documentAccessor.property(objSubject, properyName);
+            ValidationException failure = owner.getFailureOfChild(properyName, schema, propVal);
             if (failure != null) {
                 owner.failure(failure.prepend(properyName));
             }
-        } else if (schema.hasDefaultValue()) {
-            objSubject.put(properyName, schema.getDefaultValue());
         }
     }
 }
@@ -0,0 +1,129 @@
+package org.everit.json.schema;
+
+import static java.util.Objects.requireNonNull;
+
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+import java.util.concurrent.RecursiveAction;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.IntFunction;
+import java.util.function.Supplier;
+
+/**
+ * Validates the items of large arrays (and the values of wide objects) on a {@link ForkJoinPool}.
+ * <p>
+ * Each task validates a range of the items with its own {@link ValidatingVisitor} and
+ * {@link ValidationFailureReporter}, and stores the failures by index. The caller reports them in index order, so the
+ * result is the same as the result of the sequential validation.
+ */
+class ParallelValidation {
+
+    private final int threshold;
+
+    private final ForkJoinPool pool;
+
+    private final ReadWriteContext readWriteContext;
+
+    ParallelValidation(int threshold, ForkJoinPool pool, ReadWriteContext readWriteContext) {
+        this.threshold = threshold;
+        this.pool = requireNonNull(pool, "pool cannot be null");
+        this.readWriteContext = readWriteContext;
+    }
+
+    boolean isWorthParallelizing(int itemCount) {
+        return itemCount >= threshold && itemCount > 1;
+    }
+
+    ReadWriteValidator createReadWriteValidator(ValidationFailureReporter failureReporter) {
+        return ReadWriteValidator.createForContext(readWriteContext, failureReporter);
+    }
+
+    /**
+     * Validates {@code subjectForIndex.apply(i)} against {@code schemaForIndex.apply(i)} for each {@code i} in
+     * {@code [0, itemCount)}.
+     *
+     * @param visitorFactory
+     *         creates the visitors of the tasks
+     * @param failEarly
+     *         if {@code true}, then the items after the first failing one are not validated (their failures would
+     *         not be reported anyway)
+     * @return the failures by index ({@code null} elements for valid items)
+     */
+    ValidationException[] failuresOf(int itemCount, IntFunction<Schema> schemaForIndex,
+            IntFunction<Object> subjectForIndex, Supplier<ValidatingVisitor> visitorFactory, boolean failEarly) {
+        ValidationException[] failures = new ValidationException[itemCount];
+        int leafSize = Math.max(16, itemCount / (pool.getParallelism() * 8));
+        AtomicInteger firstFailure = new AtomicInteger(failEarly ? Integer.MAX_VALUE : -1);
+        RangeValidationTask task = new RangeValidationTask(0, itemCount, leafSize, failures, schemaForIndex,
+                subjectForIndex, visitorFactory, firstFailure);
+        if (ForkJoinTask.inForkJoinPool()) {
+            task.invoke();
+        } else {
+            pool.invoke(task);
+        }
+        return failures;
+    }
+
+    private static class RangeValidationTask extends RecursiveAction {
+
+        private static final long serialVersionUID = 1L;
+
+        private final int from;
+
+        private final int to;
+
+        private final int leafSize;
+
+        private final ValidationException[] failures;
+
+        private final IntFunction<Schema> schemaForIndex;
+
+        private final IntFunction<Object> subjectForIndex;
+
+        private final Supplier<ValidatingVisitor> visitorFactory;
+
+        /**
+         * The index of the first failing item if the validation fails early, -1 otherwise.
+         */
+        private final AtomicInteger firstFailure;
+
+        RangeValidationTask(int from, int to, int leafSize, ValidationException[] failures,
+                IntFunction<Schema> schemaForIndex, IntFunction<Object> subjectForIndex,
+                Supplier<ValidatingVisitor> visitorFactory, AtomicInteger firstFailure) {
+            this.from = from;
+            this.to = to;
+            this.leafSize = leafSize;
+            this.failures = failures;
+            this.schemaForIndex = schemaForIndex;
+            this.subjectForIndex = subjectForIndex;
+            this.visitorFactory = visitorFactory;
+            this.firstFailure = firstFailure;
+        }
+
+        @Override protected void compute() {
+            if (to - from > leafSize) {
+                int middle = (from + to) >>> 1;
+                invokeAll(new RangeValidationTask(from, middle, leafSize, failures, schemaForIndex, subjectForIndex,
+                                visitorFactory, firstFailure),
+                        new RangeValidationTask(middle, to, leafSize, failures, schemaForIndex, subjectForIndex,
+                                visitorFactory, firstFailure));
+                return;
+            }
+            ValidatingVisitor visitor = visitorFactory.get();
+            for (int i = from; i < to; ++i) {
+                int first = firstFailure.get();
+                if (first >= 0 && first < i) {
+                    return;
+                }
+                ValidationException failure = visitor.getFailureOfSchema(schemaForIndex.apply(i),
+                        subjectForIndex.apply(i));
+                if (failure != null) {
+                    failures[i] = failure;
+                    if (first >= 0) {
+                        firstFailure.accumulateAndGet(i, Math::min);
+                    }
+                }
+            }
+        }
+    }
+}
@@ -153,9 +153,20 @@ public class ReferenceSchema extends Schema {
         }
     }
 
+    /**
+     * Unlike other schemas, reference schemas don't memoize their hash code, since they are mutable during loading.
+     * It is cheap to compute, since it covers only the properties which are fixed at build time: not the referred
+     * schema (so hashing recursive schemas terminates), and not the properties set through the builder after the
+     * schema is built (so the memoized hash codes of the enclosing schemas remain valid).
+     */
     @Override
     public int hashCode() {
-        return Objects.hash(super.hashCode(), refValue, unprocessedProperties, title, description);
+        return computeHashCode();
+    }
+
+    @Override
+    protected int computeHashCode() {
+        return Objects.hash(super.computeHashCode(), refValue);
     }
 
     @Override
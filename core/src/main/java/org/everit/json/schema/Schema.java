@@ -121,6 +121,11 @@ public abstract class Schema {
 
     private final Map<String, Object> unprocessedProperties;
 
+    /**
+     * The memoized result of {@link #computeHashCode()}, or {@code 0} if it hasn't been computed yet.
+     */
+    private int hashCode;
+
     /**
      * Constructor.
      *
@@ -263,8 +268,33 @@ public abstract class Schema {
         }
     }
 
+    /**
+     * Returns the structural hash code of the schema.
+     * <p>
+     * Schemas are immutable after they are built, so the hash code is computed only once by
+     * {@link #computeHashCode()} and is memoized afterwards. The hash of {@link ReferenceSchema} instances doesn't
+     * depend on their referred schema, therefore hashing recursive schemas terminates.
+     * </p>
+     *
+     * @return the hash code of the schema
+     */
     @Override
     public int hashCode() {
+        int h = hashCode;
+        if (h == 0) {
+            h = computeHashCode();
+            hashCode = h;
+        }
+        return h;
+    }
+
+    /**
+     * Computes the hash code returned by {@link #hashCode()}. Subclasses are supposed to override this method (instead
+     * of {@link #hashCode()}) to include their own properties, combining them with {@code super.computeHashCode()}.
+     *
+     * @return the hash code of the schema
+     */
+    protected int computeHashCode() {
         return Objects.hash(title, description, id, defaultValue, nullable, readOnly, writeOnly, unprocessedProperties);
     }
 
@@ -0,0 +1,620 @@
+package org.everit.json.schema;
+
+import static java.util.Objects.requireNonNull;
+import static org.everit.json.schema.NumberComparator.getAsBigDecimal;
+import static org.everit.json.schema.ValidatingVisitor.isNull;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Predicate;
+
+import org.everit.json.schema.regexp.Regexp;
+
+/**
+ * Compiles a schema graph into a tree of {@link CompiledSchema} closures, each of them specialized to the keywords
+ * present in its schema, with the keyword values (limits, patterns, property names, subschemas) resolved at compile
+ * time.
+ * <p>
+ * Only the schemas whose validation has no side effects can be compiled: schemas with default values, and subclasses
+ * of the schema classes of this package are rejected. The compiled checks are equivalent to validating with a
+ * {@link ValidatingVisitor} configured with {@link PrimitiveValidationStrategy#STRICT}, without a
+ * {@link ReadWriteContext}.
+ */
+class SchemaCompiler {
+
+    /**
+     * Thrown (without a stack trace) when a schema of the graph can not be compiled.
+     */
+    private static class NotCompilableException extends RuntimeException {
+
+        private static final long serialVersionUID = 1L;
+
+        NotCompilableException() {
+            super(null, null, false, false);
+        }
+    }
+
+    private static final NotCompilableException NOT_COMPILABLE = new NotCompilableException();
+
+    /**
+     * Compiles {@code schema}.
+     *
+     * @return the compiled schema, or {@code null} if the schema graph can not be compiled
+     */
+    static CompiledSchema compile(Schema schema, DocumentAccessor documentAccessor) {
+        try {
+            return new SchemaCompiler(documentAccessor).compile(schema);
+        } catch (NotCompilableException e) {
+            return null;
+        }
+    }
+
+    /**
+     * The target of a {@link ReferenceSchema}, which is set after compiling the referred schema, therefore cyclic
+     * references can be compiled.
+     */
+    private static class CompiledReference implements CompiledSchema {
+
+        private CompiledSchema referredSchema;
+
+        @Override public boolean accepts(Object subject) {
+            return referredSchema.accepts(subject);
+        }
+    }
+
+    private final DocumentAccessor documentAccessor;
+
+    private final Map<Schema, CompiledSchema> compiledSchemas = new IdentityHashMap<>();
+
+    private SchemaCompiler(DocumentAccessor documentAccessor) {
+        this.documentAccessor = requireNonNull(documentAccessor, "documentAccessor cannot be null");
+    }
+
+    private CompiledSchema compile(Schema schema) {
+        CompiledSchema compiled = compiledSchemas.get(schema);
+        if (compiled != null) {
+            return compiled;
+        }
+        if (schema instanceof ReferenceSchema && schema.getClass() == ReferenceSchema.class) {
+            compiled = compileReferenceSchema((ReferenceSchema) schema);
+        } else {
+            compiled = compileNonNullable(compileByType(schema), schema.isNullable());
+            compiledSchemas.put(schema, compiled);
+        }
+        return compiled;
+    }
+
+    private CompiledSchema compileOrNull(Schema schema) {
+        return schema == null ? null : compile(schema);
+    }
+
+    private static CompiledSchema compileNonNullable(CompiledSchema compiled, Boolean nullable) {
+        if (Boolean.FALSE.equals(nullable)) {
+            return subject -> !isNull(subject) && compiled.accepts(subject);
+        }
+        return compiled;
+    }
+
+    private CompiledSchema compileReferenceSchema(ReferenceSchema schema) {
+        if (schema.getReferredSchema() == null) {
+            throw NOT_COMPILABLE;
+        }
+        CompiledReference reference = new CompiledReference();
+        CompiledSchema compiled = compileNonNullable(reference, schema.isNullable());
+        compiledSchemas.put(schema, compiled);
+        reference.referredSchema = compile(schema.getReferredSchema());
+        return compiled;
+    }
+
+    private CompiledSchema compileByType(Schema schema) {
+        Class<?> schemaClass = schema.getClass();
+        if (schemaClass == ObjectSchema.class) {
+            return compileObjectSchema((ObjectSchema) schema);
+        } else if (schemaClass == ArraySchema.class) {
+            return compileArraySchema((ArraySchema) schema);
+        } else if (schemaClass == StringSchema.class) {
+            return compileStringSchema((StringSchema) schema);
+        } else if (schemaClass == NumberSchema.class) {
+            return compileNumberSchema((NumberSchema) schema);
+        } else if (schemaClass == CombinedSchema.class) {
+            return compileCombinedSchema((CombinedSchema) schema);
+        } else if (schemaClass == ConditionalSchema.class) {
+            return compileConditionalSchema((ConditionalSchema) schema);
+        } else if (schemaClass == NotSchema.class) {
+            CompiledSchema mustNotMatch = compile(((NotSchema) schema).getMustNotMatch());
+            return subject -> !mustNotMatch.accepts(subject);
+        } else if (schemaClass == EnumSchema.class) {
+            return compileEnumSchema((EnumSchema) schema);
+        } else if (schemaClass == ConstSchema.class) {
+            return compileConstSchema((ConstSchema) schema);
+        } else if (schemaClass == EmptySchema.class || schemaClass == TrueSchema.class) {
+            return CompiledSchema.ACCEPT_ALL;
+        } else if (schemaClass == FalseSchema.class) {
+            return CompiledSchema.REJECT_ALL;
+        } else if (schemaClass == NullSchema.class) {
+            return ValidatingVisitor::isNull;
+        } else if (schemaClass == BooleanSchema.class) {
+            return typeChecked(true, schema.isNullable(), subject -> subject instanceof Boolean,
+                    CompiledSchema.ACCEPT_ALL);
+        }
+        throw NOT_COMPILABLE;
+    }
+
+    /**
+     * Compiled counterpart of {@code ValidatingVisitor#subjectOfKind()}.
+     */
+    private static CompiledSchema typeChecked(boolean requiresType, Boolean nullable, Predicate<Object> typeCheck,
+            CompiledSchema onPass) {
+        boolean acceptsNull = !requiresType || Boolean.TRUE.equals(nullable);
+        return subject -> {
+            if (isNull(subject)) {
+                return acceptsNull;
+            }
+            if (typeCheck.test(subject)) {
+                return onPass.accepts(subject);
+            }
+            return !requiresType;
+        };
+    }
+
+    private CompiledSchema compileObjectSchema(ObjectSchema schema) {
+        if (schema.hasDefaultProperty()) {
+            throw NOT_COMPILABLE;
+        }
+        Map<String, CompiledSchema> propertySchemas = new HashMap<>();
+        for (Map.Entry<String, Schema> entry : schema.getPropertySchemas().entrySet()) {
+            if (entry.getValue().hasDefaultValue()) {
+                throw NOT_COMPILABLE;
+            }
+            propertySchemas.put(entry.getKey(), compile(entry.getValue()));
+        }
+        Map<Regexp, Schema> patternProperties = schema.getRegexpPatternProperties();
+        List<Regexp> patterns = new ArrayList<>(patternProperties.size());
+        List<CompiledSchema> patternSchemas = new ArrayList<>(patternProperties.size());
+        for (Map.Entry<Regexp, Schema> entry : patternProperties.entrySet()) {
+            patterns.add(entry.getKey());
+            patternSchemas.add(compile(entry.getValue()));
+        }
+        Map<String, CompiledSchema> schemaDependencies = new HashMap<>();
+        for (Map.Entry<String, Schema> entry : schema.getSchemaDependencies().entrySet()) {
+            schemaDependencies.put(entry.getKey(), compile(entry.getValue()));
+        }
+        CompiledObjectSchema compiled = new CompiledObjectSchema(documentAccessor,
+                schema.getRequiredProperties().toArray(new String[0]),
+                compileOrNull(schema.getPropertyNameSchema()),
+                schema.getMinProperties(),
+                schema.getMaxProperties(),
+                schema.getPropertyDependencies(),
+                propertySchemas,
+                patterns.toArray(new Regexp[0]),
+                patternSchemas.toArray(new CompiledSchema[0]),
+                schema.permitsAdditionalProperties(),
+                compileOrNull(schema.getSchemaOfAdditionalProperties()),
+                schemaDependencies);
+        return typeChecked(schema.requiresObject(), schema.isNullable(), documentAccessor::isObject, compiled);
+    }
+
+    private static class CompiledObjectSchema implements CompiledSchema {
+
+        private final DocumentAccessor documentAccessor;
+
+        private final String[] requiredProperties;
+
+        private final CompiledSchema propertyNameSchema;
+
+        private final int minProperties;
+
+        private final int maxProperties;
+
+        private final Map<String, Set<String>> propertyDependencies;
+
+        private final Map<String, CompiledSchema> propertySchemas;
+
+        private final Regexp[] patterns;
+
+        private final CompiledSchema[] patternSchemas;
+
+        private final boolean permitsAdditionalProperties;
+
+        private final CompiledSchema schemaOfAdditionalProperties;
+
+        private final Map<String, CompiledSchema> schemaDependencies;
+
+        CompiledObjectSchema(DocumentAccessor documentAccessor, String[] requiredProperties,
+                CompiledSchema propertyNameSchema, Integer minProperties, Integer maxProperties,
+                Map<String, Set<String>> propertyDependencies, Map<String, CompiledSchema> propertySchemas,
+                Regexp[] patterns, CompiledSchema[] patternSchemas, boolean permitsAdditionalProperties,
+                CompiledSchema schemaOfAdditionalProperties, Map<String, CompiledSchema> schemaDependencies) {
+            this.documentAccessor = documentAccessor;
+            this.requiredProperties = requiredProperties;
+            this.propertyNameSchema = propertyNameSchema;
+            this.minProperties = minProperties == null ? Integer.MIN_VALUE : minProperties;
+            this.maxProperties = maxProperties == null ? Integer.MAX_VALUE : maxProperties;
+            this.propertyDependencies = propertyDependencies;
+            this.propertySchemas = propertySchemas;
+            this.patterns = patterns;
+            this.patternSchemas = patternSchemas;
+            this.permitsAdditionalProperties = permitsAdditionalProperties;
+            this.schemaOfAdditionalProperties = schemaOfAdditionalProperties;
+            this.schemaDependencies = schemaDependencies;
+        }
+
+        @Override public boolean accepts(Object subject) {
+            for (String requiredProperty : requiredProperties) {
+                if (!documentAccessor.hasProperty(subject, requiredProperty)) {
+                    return false;
+                }
+            }
+            int propertyCount = documentAccessor.propertyCount(subject);
+            if (propertyCount < minProperties || propertyCount > maxProperties) {
+                return false;
+            }
+            for (Map.Entry<String, Set<String>> entry : propertyDependencies.entrySet()) {
+                if (documentAccessor.hasProperty(subject, entry.getKey())) {
+                    for (String mustBePresent : entry.getValue()) {
+                        if (!documentAccessor.hasProperty(subject, mustBePresent)) {
+                            return false;
+                        }
+                    }
+                }
+            }
+            for (String name : documentAccessor.propertyNames(subject)) {
+                if (!acceptsProperty(name, documentAccessor.property(subject, name))) {
+                    return false;
+                }
+            }
+            for (Map.Entry<String, CompiledSchema> entry : schemaDependencies.entrySet()) {
+                if (documentAccessor.hasProperty(subject, entry.getKey()) && !entry.getValue().accepts(subject)) {
+                    return false;
+                }
+            }
+            return true;
+        }
+
+        private boolean acceptsProperty(String name, Object value) {
+            if (propertyNameSchema != null && !propertyNameSchema.accepts(name)) {
+                return false;
+            }
+            CompiledSchema propertySchema = propertySchemas.get(name);
+            if (propertySchema != null && !propertySchema.accepts(value)) {
+                return false;
+            }
+            boolean matchesAnyPattern = false;
+            for (int i = 0; i < patterns.length; ++i) {
+                if (!patterns[i].patternMatchingFailure(name).isPresent()) {
+                    matchesAnyPattern = true;
+                    if (!patternSchemas[i].accepts(value)) {
+                        return false;
+                    }
+                }
+            }
+            if (propertySchema == null && !matchesAnyPattern && !propertySchemas.containsKey(name)) {
+                if (!permitsAdditionalProperties) {
+                    return false;
+                }
+                return schemaOfAdditionalProperties == null || schemaOfAdditionalProperties.accepts(value);
+            }
+            return true;
+        }
+    }
+
+    private CompiledSchema compileArraySchema(ArraySchema schema) {
+        List<Schema> itemSchemas = schema.getItemSchemas();
+        CompiledSchema[] compiledItemSchemas = null;
+        if (itemSchemas != null) {
+            compiledItemSchemas = new CompiledSchema[itemSchemas.size()];
+            for (int i = 0; i < compiledItemSchemas.length; ++i) {
+                compiledItemSchemas[i] = compile(itemSchemas.get(i));
+            }
+        }
+        CompiledArraySchema compiled = new CompiledArraySchema(documentAccessor,
+                schema.getMinItems(),
+                schema.getMaxItems(),
+                schema.needsUniqueItems(),
+                compileOrNull(schema.getAllItemSchema()),
+                compiledItemSchemas,
+                schema.permitsAdditionalItems(),
+                itemSchemas == null ? null : compileOrNull(schema.getSchemaOfAdditionalItems()),
+                compileOrNull(schema.getContainedItemSchema()));
+        return typeChecked(schema.requiresArray(), schema.isNullable(), documentAccessor::isArray, compiled);
+    }
+
+    private static class CompiledArraySchema implements CompiledSchema {
+
+        private final DocumentAccessor documentAccessor;
+
+        private final int minItems;
+
+        private final int maxItems;
+
+        private final boolean uniqueItems;
+
+        private final CompiledSchema allItemSchema;
+
+        private final CompiledSchema[] itemSchemas;
+
+        private final boolean permitsAdditionalItems;
+
+        private final CompiledSchema schemaOfAdditionalItems;
+
+        private final CompiledSchema containedItemSchema;
+
+        CompiledArraySchema(DocumentAccessor documentAccessor, Integer minItems, Integer maxItems,
+                boolean uniqueItems, CompiledSchema allItemSchema, CompiledSchema[] itemSchemas,
+                boolean permitsAdditionalItems, CompiledSchema schemaOfAdditionalItems,
+                CompiledSchema containedItemSchema) {
+            this.documentAccessor = documentAccessor;
+            this.minItems = minItems == null ? Integer.MIN_VALUE : minItems;
+            this.maxItems = maxItems == null ? Integer.MAX_VALUE : maxItems;
+            this.uniqueItems = uniqueItems;
+            this.allItemSchema = allItemSchema;
+            this.itemSchemas = itemSchemas;
+            this.permitsAdditionalItems = permitsAdditionalItems;
+            this.schemaOfAdditionalItems = schemaOfAdditionalItems;
+            this.containedItemSchema = containedItemSchema;
+        }
+
+        @Override public boolean accepts(Object subject) {
+            int length = documentAccessor.length(subject);
+            if (length < minItems || length > maxItems) {
+                return false;
+            }
+            if (uniqueItems && !hasUniqueItems(subject, length)) {
+                return false;
+            }
+            if (allItemSchema != null) {
+                for (int i = 0; i < length; ++i) {
+                    if (!allItemSchema.accepts(documentAccessor.item(subject, i))) {
+                        return false;
+                    }
+                }
+            }
+            if (itemSchemas != null) {
+                if (!permitsAdditionalItems && length > itemSchemas.length) {
+                    return false;
+                }
+                int tupleLength = Math.min(length, itemSchemas.length);
+                for (int i = 0; i < tupleLength; ++i) {
+                    if (!itemSchemas[i].accepts(documentAccessor.item(subject, i))) {
+                        return false;
+                    }
+                }
+                if (schemaOfAdditionalItems != null) {
+                    for (int i = tupleLength; i < length; ++i) {
+                        if (!schemaOfAdditionalItems.accepts(documentAccessor.item(subject, i))) {
+                            return false;
+                        }
+                    }
+                }
+            }
+            return containedItemSchema == null || containsMatchingItem(subject, length);
+        }
+
+        private boolean hasUniqueItems(Object subject, int length) {
+            for (int i = 1; i < length; ++i) {
+                Object item = documentAccessor.item(subject, i);
+                for (int j = 0; j < i; ++j) {
+                    if (ValidatingVisitor.deepEquals(documentAccessor.item(subject, j), item, documentAccessor)) {
+                        return false;
+                    }
+                }
+            }
+            return true;
+        }
+
+        private boolean containsMatchingItem(Object subject, int length) {
+            for (int i = 0; i < length; ++i) {
+                if (containedItemSchema.accepts(documentAccessor.item(subject, i))) {
+                    return true;
+                }
+            }
+            return false;
+        }
+    }
+
+    private CompiledSchema compileStringSchema(StringSchema schema) {
+        int minLength = schema.getMinLength() == null ? Integer.MIN_VALUE : schema.getMinLength();
+        int maxLength = schema.getMaxLength() == null ? Integer.MAX_VALUE : schema.getMaxLength();
+        boolean checksLength = schema.getMinLength() != null || schema.getMaxLength() != null;
+        Regexp pattern = schema.getRegexpPattern();
+        FormatValidator formatValidator = schema.getFormatValidator();
+        boolean checksFormat = formatValidator != FormatValidator.NONE;
+        CompiledSchema compiled = subject -> {
+            String str = (String) subject;
+            if (checksLength) {
+                int length = str.codePointCount(0, str.length());
+                if (length < minLength || length > maxLength) {
+                    return false;
+                }
+            }
+            if (pattern != null && pattern.patternMatchingFailure(str).isPresent()) {
+                return false;
+            }
+            return !checksFormat || !formatValidator.validate(str).isPresent();
+        };
+        return typeChecked(schema.requireString(), schema.isNullable(), subject -> subject instanceof String, compiled);
+    }
+
+    private CompiledSchema compileNumberSchema(NumberSchema schema) {
+        boolean requiresType = schema.requiresInteger() || schema.isRequiresNumber();
+        Predicate<Object> typeCheck = schema.requiresInteger()
+                ? ValueKind::isIntegral
+                : subject -> subject instanceof Number;
+        return typeChecked(requiresType, schema.isNullable(), typeCheck, new CompiledNumberSchema(schema));
+    }
+
+    private static class CompiledNumberSchema implements CompiledSchema {
+
+        private static boolean isIntegral(Number number) {
+            return number instanceof Integer || number instanceof Long;
+        }
+
+        private static BigDecimal toBigDecimal(Number number) {
+            return number == null ? null : getAsBigDecimal(number);
+        }
+
+        private final BigDecimal minimum;
+
+        private final boolean exclusiveMinimum;
+
+        private final BigDecimal exclusiveMinimumLimit;
+
+        private final BigDecimal maximum;
+
+        private final boolean exclusiveMaximum;
+
+        private final BigDecimal exclusiveMaximumLimit;
+
+        private final BigDecimal multipleOf;
+
+        /**
+         * The value of {@code multipleOf} if it is a non-zero {@code Integer} or {@code Long}, otherwise {@code 0}.
+         */
+        private final long integralMultipleOf;
+
+        private final boolean hasLimits;
+
+        CompiledNumberSchema(NumberSchema schema) {
+            this.minimum = toBigDecimal(schema.getMinimum());
+            this.exclusiveMinimum = schema.isExclusiveMinimum();
+            this.exclusiveMinimumLimit = toBigDecimal(schema.getExclusiveMinimumLimit());
+            this.maximum = toBigDecimal(schema.getMaximum());
+            this.exclusiveMaximum = schema.isExclusiveMaximum();
+            this.exclusiveMaximumLimit = toBigDecimal(schema.getExclusiveMaximumLimit());
+            this.multipleOf = toBigDecimal(schema.getMultipleOf());
+            Number multipleOf = schema.getMultipleOf();
+            this.integralMultipleOf = multipleOf != null && isIntegral(multipleOf) ? multipleOf.longValue() : 0;
+            this.hasLimits = minimum != null || exclusiveMinimumLimit != null || maximum != null
+                    || exclusiveMaximumLimit != null;
+        }
+
+        @Override public boolean accepts(Object subject) {
+            Number number = (Number) subject;
+            if (hasLimits && !isWithinLimits(getAsBigDecimal(number))) {
+                return false;
+            }
+            if (multipleOf == null) {
+                return true;
+            }
+            if (integralMultipleOf != 0 && isIntegral(number)) {
+                return number.longValue() % integralMultipleOf == 0;
+            }
+            return getAsBigDecimal(number).remainder(multipleOf).compareTo(BigDecimal.ZERO) == 0;
+        }
+
+        private boolean isWithinLimits(BigDecimal value) {
+            if (minimum != null) {
+                int comparison = value.compareTo(minimum);
+                if (comparison < 0 || (exclusiveMinimum && comparison == 0)) {
+                    return false;
+                }
+            }
+            if (exclusiveMinimumLimit != null && value.compareTo(exclusiveMinimumLimit) <= 0) {
+                return false;
+            }
+            if (maximum != null) {
+                int comparison = maximum.compareTo(value);
+                if (comparison < 0 || (exclusiveMaximum && comparison == 0)) {
+                    return false;
+                }
+            }
+            return exclusiveMaximumLimit == null || value.compareTo(exclusiveMaximumLimit) < 0;
+        }
+    }
+
+    private CompiledSchema compileCombinedSchema(CombinedSchema schema) {
+        List<CompiledSchema> subschemaList = new ArrayList<>(schema.getSubschemas().size());
+        for (Schema subschema : schema.subschemasWithCombinedFirst()) {
+            subschemaList.add(compile(subschema));
+        }
+        CompiledSchema[] subschemas = subschemaList.toArray(new CompiledSchema[0]);
+        CombinedSchema.ValidationCriterion criterion = schema.getCriterion();
+        if (criterion == CombinedSchema.ALL_CRITERION) {
+            return subject -> {
+                for (CompiledSchema subschema : subschemas) {
+                    if (!subschema.accepts(subject)) {
+                        return false;
+                    }
+                }
+                return true;
+            };
+        } else if (criterion == CombinedSchema.ANY_CRITERION) {
+            return subject -> {
+                for (CompiledSchema subschema : subschemas) {
+                    if (subschema.accepts(subject)) {
+                        return true;
+                    }
+                }
+                return false;
+            };
+        } else if (criterion == CombinedSchema.ONE_CRITERION) {
+            return subject -> {
+                int matchingCount = 0;
+                for (int i = 0; i < subschemas.length && matchingCount < 2; ++i) {
+                    if (subschemas[i].accepts(subject)) {
+                        ++matchingCount;
+                    }
+                }
+                return matchingCount == 1;
+            };
+        }
+        return subject -> {
+            int matchingCount = 0;
+            for (CompiledSchema subschema : subschemas) {
+                if (subschema.accepts(subject)) {
+                    ++matchingCount;
+                }
+            }
+            try {
+                criterion.validate(subschemas.length, matchingCount);
+                return true;
+            } catch (ValidationException e) {
+                return false;
+            }
+        };
+    }
+
+    private CompiledSchema compileConditionalSchema(ConditionalSchema schema) {
+        if (!schema.getIfSchema().isPresent()
+                || (!schema.getThenSchema().isPresent() && !schema.getElseSchema().isPresent())) {
+            return CompiledSchema.ACCEPT_ALL;
+        }
+        CompiledSchema ifSchema = compile(schema.getIfSchema().get());
+        CompiledSchema thenSchema = schema.getThenSchema().map(this::compile).orElse(CompiledSchema.ACCEPT_ALL);
+        CompiledSchema elseSchema = schema.getElseSchema().map(this::compile).orElse(CompiledSchema.ACCEPT_ALL);
+        return subject -> ifSchema.accepts(subject) ? thenSchema.accepts(subject) : elseSchema.accepts(subject);
+    }
+
+    private CompiledSchema compileEnumSchema(EnumSchema schema) {
+        List<Object> possibleValues = new ArrayList<>(schema.getPossibleValuesAsList());
+        DocumentAccessor documentAccessor = this.documentAccessor;
+        return subject -> {
+            Object effectiveSubject = ValidatingVisitor.toJavaValue(subject, false, documentAccessor);
+            for (Object possibleValue : possibleValues) {
+                if (ObjectComparator.deepEquals(possibleValue, effectiveSubject)) {
+                    return true;
+                }
+            }
+            return false;
+        };
+    }
+
+    private CompiledSchema compileConstSchema(ConstSchema schema) {
+        Object permittedValue = schema.getPermittedValue();
+        boolean permitsNull = isNull(permittedValue);
+        DocumentAccessor documentAccessor = this.documentAccessor;
+        return subject -> {
+            if (permitsNull && isNull(subject)) {
+                return true;
+            }
+            Object effectiveSubject = ValidatingVisitor.toJavaValue(subject, false, documentAccessor);
+            return ObjectComparator.deepEquals(effectiveSubject, permittedValue);
+        };
+    }
+
+}
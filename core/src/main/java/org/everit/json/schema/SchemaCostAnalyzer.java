@@ -0,0 +1,237 @@
+package org.everit.json.schema;
+
+import static java.util.Objects.requireNonNull;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.IdentityHashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import org.everit.json.schema.SchemaCostReport.Finding;
+import org.everit.json.schema.SchemaCostReport.FindingKind;
+import org.everit.json.schema.SchemaCostReport.LocationCost;
+import org.everit.json.schema.regexp.GuardedRegexpFactory;
+import org.everit.json.schema.regexp.Regexp;
+
+/**
+ * Estimates the validation cost of a loaded schema without validating anything, by walking the schema graph (including
+ * the referred schemas) and collecting the known cost drivers, see {@link SchemaCostReport.FindingKind}.
+ * <p>
+ * Every schema instance is analyzed once, even if it is reachable through multiple paths. The findings are reported
+ * at the {@link Schema#getSchemaLocation() location} of the schemas, or at the JSON pointer of the path they were
+ * first reached through, if the schema has no location.
+ * </p>
+ */
+public class SchemaCostAnalyzer {
+
+    static final long RECURSIVE_REFERENCE_SCORE = 10;
+
+    static final long UNSAFE_REGEXP_SCORE = 25;
+
+    static final long UNBOUNDED_UNIQUE_ITEMS_SCORE = 10;
+
+    /**
+     * Analyzes the schema graph reachable from {@code schema}.
+     *
+     * @param schema
+     *         the schema to be analyzed
+     * @return the estimated cost drivers of the schema
+     */
+    public static SchemaCostReport analyze(Schema schema) {
+        requireNonNull(schema, "schema cannot be null");
+        CostVisitor visitor = new CostVisitor();
+        visitor.analyze(schema, "#");
+        return new SchemaCostReport(visitor.visited.size(), visitor.maxCombinatorNesting,
+                new ArrayList<>(visitor.locations.values()));
+    }
+
+    private static class CostVisitor extends Visitor {
+
+        private final Set<Schema> visited = Collections.newSetFromMap(new IdentityHashMap<>());
+
+        private final Set<Schema> onPath = Collections.newSetFromMap(new IdentityHashMap<>());
+
+        private final Map<String, LocationCost> locations = new LinkedHashMap<>();
+
+        /**
+         * The sizes of the enclosing {@code oneOf} and {@code anyOf} schemas.
+         */
+        private final List<Integer> combinatorSizes = new ArrayList<>();
+
+        private int maxCombinatorNesting;
+
+        private String pointer;
+
+        private String location;
+
+        void analyze(Schema schema, String pointer) {
+            if (!visited.add(schema)) {
+                return;
+            }
+            String origPointer = this.pointer;
+            String origLocation = this.location;
+            this.pointer = pointer;
+            this.location = schema.getSchemaLocation() == null ? pointer : schema.getSchemaLocation();
+            onPath.add(schema);
+            try {
+                schema.accept(this);
+            } finally {
+                onPath.remove(schema);
+                this.pointer = origPointer;
+                this.location = origLocation;
+            }
+        }
+
+        private void analyzeChild(Schema schema, String... pointerSegments) {
+            StringBuilder childPointer = new StringBuilder(pointer);
+            for (String segment : pointerSegments) {
+                childPointer.append('/').append(segment.replace("~", "~0").replace("/", "~1"));
+            }
+            analyze(schema, childPointer.toString());
+        }
+
+        private void addFinding(FindingKind kind, long score, String message) {
+            locations.computeIfAbsent(location, LocationCost::new).addFinding(new Finding(kind, score, message));
+        }
+
+        private void checkRegexp(Regexp regexp, String keyword) {
+            if (GuardedRegexpFactory.hasNestedQuantifier(regexp.toString())) {
+                addFinding(FindingKind.UNSAFE_REGEXP, UNSAFE_REGEXP_SCORE,
+                        keyword + " \"" + regexp + "\" has a nested quantifier, it may backtrack catastrophically");
+            }
+        }
+
+        @Override void visitAllItemSchema(Schema allItemSchema) {
+            analyzeChild(allItemSchema, "items");
+        }
+
+        @Override void visitItemSchema(int index, Schema itemSchema) {
+            analyzeChild(itemSchema, "items", String.valueOf(index));
+        }
+
+        @Override void visitSchemaOfAdditionalItems(Schema schemaOfAdditionalItems) {
+            analyzeChild(schemaOfAdditionalItems, "additionalItems");
+        }
+
+        @Override void visitContainedItemSchema(Schema containedItemSchema) {
+            analyzeChild(containedItemSchema, "contains");
+        }
+
+        @Override void visitArraySchema(ArraySchema arraySchema) {
+            if (arraySchema.needsUniqueItems() && arraySchema.getMaxItems() == null) {
+                addFinding(FindingKind.UNBOUNDED_UNIQUE_ITEMS, UNBOUNDED_UNIQUE_ITEMS_SCORE,
+                        "uniqueItems without maxItems compares unboundedly many items");
+            }
+            super.visitArraySchema(arraySchema);
+        }
+
+        @Override void visitNotSchema(NotSchema notSchema) {
+            int visitedCountBefore = visited.size();
+            analyzeChild(notSchema.getMustNotMatch(), "not");
+            int subschemaCount = visited.size() - visitedCountBefore;
+            if (subschemaCount > 1) {
+                addFinding(FindingKind.COMPLEX_NOT, subschemaCount,
+                        "not is applied to a subschema of " + subschemaCount + " schemas");
+            }
+        }
+
+        @Override void visitReferenceSchema(ReferenceSchema referenceSchema) {
+            Schema referredSchema = referenceSchema.getReferredSchema();
+            if (referredSchema == null) {
+                return;
+            }
+            if (onPath.contains(referredSchema)) {
+                addFinding(FindingKind.RECURSIVE_REFERENCE, RECURSIVE_REFERENCE_SCORE,
+                        "$ref \"" + referenceSchema.getReferenceValue() + "\" refers to an enclosing schema");
+                return;
+            }
+            analyze(referredSchema, referredSchema.getSchemaLocation() == null
+                    ? String.valueOf(referenceSchema.getReferenceValue())
+                    : referredSchema.getSchemaLocation());
+        }
+
+        @Override void visitPatternProperties(Map<Regexp, Schema> patternProperties) {
+            if (!patternProperties.isEmpty()) {
+                addFinding(FindingKind.PATTERN_PROPERTIES, patternProperties.size(),
+                        "every property name is matched against " + patternProperties.size() + " patterns");
+            }
+            super.visitPatternProperties(patternProperties);
+        }
+
+        @Override void visitPatternPropertySchema(Regexp propertyNamePattern, Schema schema) {
+            checkRegexp(propertyNamePattern, "patternProperties");
+            analyzeChild(schema, "patternProperties", propertyNamePattern.toString());
+        }
+
+        @Override void visitPropertySchema(String properyName, Schema schema) {
+            analyzeChild(schema, "properties", properyName);
+        }
+
+        @Override void visitSchemaDependency(String propKey, Schema schema) {
+            analyzeChild(schema, "dependencies", propKey);
+        }
+
+        @Override void visitSchemaOfAdditionalProperties(Schema schemaOfAdditionalProperties) {
+            analyzeChild(schemaOfAdditionalProperties, "additionalProperties");
+        }
+
+        @Override void visitPropertyNameSchema(Schema propertyNameSchema) {
+            analyzeChild(propertyNameSchema, "propertyNames");
+        }
+
+        @Override void visitPattern(Regexp pattern) {
+            if (pattern != null) {
+                checkRegexp(pattern, "pattern");
+            }
+        }
+
+        @Override void visitCombinedSchema(CombinedSchema combinedSchema) {
+            CombinedSchema.ValidationCriterion criterion = combinedSchema.getCriterion();
+            boolean fanOut = criterion == CombinedSchema.ONE_CRITERION || criterion == CombinedSchema.ANY_CRITERION;
+            int subschemaCount = combinedSchema.getSubschemas().size();
+            if (fanOut) {
+                long multiplier = 1;
+                for (int enclosingSize : combinatorSizes) {
+                    multiplier *= enclosingSize;
+                }
+                addFinding(FindingKind.COMBINATOR_FAN_OUT, subschemaCount * multiplier,
+                        criterion + " of " + subschemaCount + " subschemas, nested into " + combinatorSizes.size()
+                                + " oneOf/anyOf schemas");
+                combinatorSizes.add(subschemaCount);
+                maxCombinatorNesting = Math.max(maxCombinatorNesting, combinatorSizes.size());
+            }
+            try {
+                int index = 0;
+                for (Schema subschema : combinedSchema.getSubschemas()) {
+                    if (combinedSchema.isSynthetic()) {
+                        analyze(subschema, pointer);
+                    } else {
+                        analyzeChild(subschema, criterion.toString(), String.valueOf(index++));
+                    }
+                }
+            } finally {
+                if (fanOut) {
+                    combinatorSizes.remove(combinatorSizes.size() - 1);
+                }
+            }
+        }
+
+        @Override void visitIfSchema(Schema ifSchema) {
+            analyzeChild(ifSchema, "if");
+        }
+
+        @Override void visitThenSchema(Schema thenSchema) {
+            analyzeChild(thenSchema, "then");
+        }
+
+        @Override void visitElseSchema(Schema elseSchema) {
+            analyzeChild(elseSchema, "else");
+        }
+    }
+
+    private SchemaCostAnalyzer() {
+    }
+}
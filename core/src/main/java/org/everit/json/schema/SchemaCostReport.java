@@ -0,0 +1,226 @@
+package org.everit.json.schema;
+
+import static java.util.Collections.unmodifiableList;
+import static java.util.Objects.requireNonNull;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+
+import org.json.JSONArray;
+import org.json.JSONObject;
+
+/**
+ * The estimated validation cost drivers of a schema, created by {@link SchemaCostAnalyzer}.
+ * <p>
+ * The scores are unitless estimates, meant to compare schemas with each other or with a configured limit (for example
+ * to reject uploaded schemas which are too expensive to validate against), not to predict validation times.
+ * </p>
+ */
+public class SchemaCostReport {
+
+    /**
+     * The kinds of cost drivers found by the {@link SchemaCostAnalyzer}.
+     */
+    public enum FindingKind {
+
+        /**
+         * A {@code oneOf} or {@code anyOf} schema, which validates the instance against all (or many) of its
+         * subschemas. Its score is multiplied by the size of the enclosing {@code oneOf} and {@code anyOf} schemas.
+         */
+        COMBINATOR_FAN_OUT,
+
+        /**
+         * A {@code $ref} pointing to one of its enclosing schemas, so the validation depth depends on the instance.
+         */
+        RECURSIVE_REFERENCE,
+
+        /**
+         * {@code patternProperties}, which matches every property name against every pattern.
+         */
+        PATTERN_PROPERTIES,
+
+        /**
+         * A {@code pattern} or {@code patternProperties} regexp prone to catastrophic backtracking.
+         */
+        UNSAFE_REGEXP,
+
+        /**
+         * {@code uniqueItems} on an array without {@code maxItems}, which compares unboundedly many items pairwise.
+         */
+        UNBOUNDED_UNIQUE_ITEMS,
+
+        /**
+         * A {@code not} schema with a complex subschema, which has to be fully evaluated, and whose failures are
+         * discarded.
+         */
+        COMPLEX_NOT
+    }
+
+    /**
+     * A cost driver found at a schema location.
+     */
+    public static class Finding {
+
+        private final FindingKind kind;
+
+        private final long score;
+
+        private final String message;
+
+        Finding(FindingKind kind, long score, String message) {
+            this.kind = requireNonNull(kind, "kind cannot be null");
+            this.score = score;
+            this.message = requireNonNull(message, "message cannot be null");
+        }
+
+        public FindingKind getKind() {
+            return kind;
+        }
+
+        public long getScore() {
+            return score;
+        }
+
+        public String getMessage() {
+            return message;
+        }
+
+        JSONObject toJson() {
+            return new JSONObject()
+                    .put("kind", kind.name())
+                    .put("score", score)
+                    .put("message", message);
+        }
+
+        @Override public String toString() {
+            return kind + " (" + score + "): " + message;
+        }
+    }
+
+    /**
+     * The findings of a single schema location.
+     */
+    public static class LocationCost {
+
+        private final String location;
+
+        private final List<Finding> findings = new ArrayList<>();
+
+        LocationCost(String location) {
+            this.location = requireNonNull(location, "location cannot be null");
+        }
+
+        public String getLocation() {
+            return location;
+        }
+
+        void addFinding(Finding finding) {
+            findings.add(finding);
+        }
+
+        public List<Finding> getFindings() {
+            return unmodifiableList(findings);
+        }
+
+        /**
+         * @return the sum of the scores of the findings
+         */
+        public long getScore() {
+            return findings.stream().mapToLong(Finding::getScore).sum();
+        }
+
+        JSONObject toJson() {
+            JSONArray findingsJson = new JSONArray();
+            findings.forEach(finding -> findingsJson.put(finding.toJson()));
+            return new JSONObject()
+                    .put("location", location)
+                    .put("score", getScore())
+                    .put("findings", findingsJson);
+        }
+    }
+
+    private final int reachableSchemaCount;
+
+    private final int maxCombinatorNesting;
+
+    private final List<LocationCost> locations;
+
+    SchemaCostReport(int reachableSchemaCount, int maxCombinatorNesting, List<LocationCost> locations) {
+        this.reachableSchemaCount = reachableSchemaCount;
+        this.maxCombinatorNesting = maxCombinatorNesting;
+        List<LocationCost> sortedLocations = new ArrayList<>(requireNonNull(locations, "locations cannot be null"));
+        sortedLocations.sort(Comparator.comparingLong(LocationCost::getScore).reversed()
+                .thenComparing(LocationCost::getLocation));
+        this.locations = unmodifiableList(sortedLocations);
+    }
+
+    /**
+     * @return the number of distinct schema instances reachable from the analyzed schema, including the referred
+     * schemas
+     */
+    public int getReachableSchemaCount() {
+        return reachableSchemaCount;
+    }
+
+    /**
+     * @return the deepest nesting of {@code oneOf} and {@code anyOf} schemas into each other
+     */
+    public int getMaxCombinatorNesting() {
+        return maxCombinatorNesting;
+    }
+
+    /**
+     * @return the schema locations having findings, in decreasing order of their scores
+     */
+    public List<LocationCost> getLocations() {
+        return locations;
+    }
+
+    /**
+     * Returns all findings of the given kind.
+     *
+     * @param kind
+     *         the kind of the returned findings
+     * @return the findings, in the order of {@link #getLocations()}
+     */
+    public List<Finding> getFindings(FindingKind kind) {
+        List<Finding> rval = new ArrayList<>();
+        for (LocationCost location : locations) {
+            for (Finding finding : location.findings) {
+                if (finding.kind == kind) {
+                    rval.add(finding);
+                }
+            }
+        }
+        return rval;
+    }
+
+    /**
+     * @return the estimated cost of the whole schema: the number of reachable schemas plus the scores of all findings
+     */
+    public long getTotalScore() {
+        return reachableSchemaCount + locations.stream().mapToLong(LocationCost::getScore).sum();
+    }
+
+    /**
+     * Returns the report as a JSON object, with the {@code totalScore}, {@code reachableSchemaCount} and
+     * {@code maxCombinatorNesting} properties, and the {@code locations} array listing the locations with their
+     * {@code score} and {@code findings}.
+     *
+     * @return the JSON representation of the report
+     */
+    public JSONObject toJson() {
+        JSONArray locationsJson = new JSONArray();
+        locations.forEach(location -> locationsJson.put(location.toJson()));
+        return new JSONObject()
+                .put("totalScore", getTotalScore())
+                .put("reachableSchemaCount", reachableSchemaCount)
+                .put("maxCombinatorNesting", maxCombinatorNesting)
+                .put("locations", locationsJson);
+    }
+
+    @Override public String toString() {
+        return toJson().toString(2);
+    }
+}
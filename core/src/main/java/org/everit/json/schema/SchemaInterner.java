@@ -0,0 +1,380 @@
+package org.everit.json.schema;
+
+import static java.util.Collections.emptyList;
+import static java.util.Collections.newSetFromMap;
+import static java.util.Objects.requireNonNull;
+import static org.everit.json.schema.SchemaSnapshotFormat.BUILT_IN_FORMAT_PACKAGE;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import org.everit.json.schema.internal.URIFormatValidator;
+import org.everit.json.schema.regexp.Regexp;
+
+/**
+ * Canonicalizes the structurally equal subschemas of loaded schemas into shared instances, to reduce the memory
+ * footprint of large (typically generated) schemas, which repeat the same subschemas, like
+ * {@code {"type": "string", "maxLength": 255}}, at many locations.
+ * <p>
+ * Schemas are considered structurally equal if they are {@link Schema#equals(Object) equal}, therefore their
+ * locations are ignored. A canonical instance keeps the location of the first schema it was created from, and the
+ * locations of all schemas it replaced are kept by the interner, see {@link #getLocations(Schema)}.
+ * </p>
+ * <p>
+ * Interning proceeds bottom-up: a schema is replaced with a pooled instance if their own properties are equal and their
+ * subschemas are the same (already interned) instances. This way equal schemas are found by a shallow key, without
+ * recursively comparing or hashing their subtrees. Recursive {@code $ref}s (referring to a schema which is being
+ * interned) can not be canonicalized this way, these references, and the schemas containing them, are copied without
+ * sharing. Schemas of custom {@link Schema} subclasses and combined schemas with custom
+ * {@link CombinedSchema.ValidationCriterion validation criteria} are kept as they are (without interning their
+ * subschemas).
+ * </p>
+ * <p>
+ * An interner holds all the canonical instances it created, and it can be shared by the loaders of multiple documents
+ * (to share the subschemas across them) for as long as the interned schemas are used. This class is thread-safe.
+ * </p>
+ */
+public class SchemaInterner {
+
+    /**
+     * Wraps a schema in an interning key, so that the key is only equal to keys of the same schema instance.
+     */
+    private static final class Identity {
+
+        private final Object obj;
+
+        Identity(Object obj) {
+            this.obj = obj;
+        }
+
+        @Override public boolean equals(Object o) {
+            return o instanceof Identity && ((Identity) o).obj == obj;
+        }
+
+        @Override public int hashCode() {
+            return System.identityHashCode(obj);
+        }
+    }
+
+    private final Map<List<Object>, Schema> pool = new HashMap<>();
+
+    private final Map<Schema, Set<SchemaLocation>> locations = new IdentityHashMap<>();
+
+    /**
+     * Replaces the subschemas of {@code schema} (and the schema itself) with canonical instances. The passed schema
+     * is not modified.
+     *
+     * @param schema
+     *         the schema to be interned
+     * @return the canonical instance of {@code schema}
+     */
+    public synchronized Schema intern(Schema schema) {
+        return new InterningPass().intern(requireNonNull(schema, "schema cannot be null"));
+    }
+
+    /**
+     * Returns the locations of the schemas which were replaced by {@code internedSchema}.
+     *
+     * @param internedSchema
+     *         a schema returned by (or reachable from a schema returned by) {@link #intern(Schema)}
+     * @return the locations of the replaced schemas in the order of their interning, or an empty list if
+     * {@code internedSchema} was not created by this interner
+     */
+    public synchronized List<SchemaLocation> getLocations(Schema internedSchema) {
+        Set<SchemaLocation> schemaLocations = locations.get(internedSchema);
+        return schemaLocations == null ? emptyList() : new ArrayList<>(schemaLocations);
+    }
+
+    /**
+     * @return the number of canonical schema instances held by this interner
+     */
+    public synchronized int getPooledSchemaCount() {
+        return pool.size();
+    }
+
+    private class InterningPass {
+
+        /**
+         * The canonical instances of the schemas visited by this pass.
+         */
+        private final Map<Schema, Schema> interned = new IdentityHashMap<>();
+
+        private final Set<Schema> inProgress = newSetFromMap(new IdentityHashMap<>());
+
+        /**
+         * The copies of recursive references, by the schema (being interned) they refer to.
+         */
+        private final Map<Schema, List<ReferenceSchema>> pendingReferences = new IdentityHashMap<>();
+
+        Schema intern(Schema schema) {
+            if (schema == null) {
+                return null;
+            }
+            Schema canonical = interned.get(schema);
+            if (canonical != null) {
+                return canonical;
+            }
+            inProgress.add(schema);
+            try {
+                canonical = canonicalize(schema);
+            } finally {
+                inProgress.remove(schema);
+            }
+            interned.put(schema, canonical);
+            List<ReferenceSchema> referenceSchemas = pendingReferences.remove(schema);
+            if (referenceSchemas != null) {
+                for (ReferenceSchema referenceSchema : referenceSchemas) {
+                    referenceSchema.setReferredSchema(canonical);
+                }
+            }
+            if (schema.getLocation() != null) {
+                locations.computeIfAbsent(canonical, s -> new LinkedHashSet<>(1)).add(schema.getLocation());
+            }
+            return canonical;
+        }
+
+        private Schema canonicalize(Schema schema) {
+            Class<?> schemaClass = schema.getClass();
+            if (schemaClass == ReferenceSchema.class) {
+                return canonicalizeReference((ReferenceSchema) schema);
+            }
+            List<Object> key = new ArrayList<>();
+            Schema.Builder<?> builder;
+            if (schemaClass == ObjectSchema.class) {
+                builder = copyObjectSchema((ObjectSchema) schema, key);
+            } else if (schemaClass == ArraySchema.class) {
+                builder = copyArraySchema((ArraySchema) schema, key);
+            } else if (schemaClass == StringSchema.class) {
+                builder = copyStringSchema((StringSchema) schema, key);
+            } else if (schemaClass == NumberSchema.class) {
+                builder = copyNumberSchema((NumberSchema) schema, key);
+            } else if (schemaClass == CombinedSchema.class) {
+                builder = copyCombinedSchema((CombinedSchema) schema, key);
+                if (builder == null) {
+                    return schema;
+                }
+            } else if (schemaClass == ConditionalSchema.class) {
+                ConditionalSchema conditionalSchema = (ConditionalSchema) schema;
+                builder = ConditionalSchema.builder()
+                        .ifSchema(internChild(conditionalSchema.getIfSchema().orElse(null), key))
+                        .thenSchema(internChild(conditionalSchema.getThenSchema().orElse(null), key))
+                        .elseSchema(internChild(conditionalSchema.getElseSchema().orElse(null), key));
+            } else if (schemaClass == NotSchema.class) {
+                builder = NotSchema.builder().mustNotMatch(internChild(((NotSchema) schema).getMustNotMatch(), key));
+            } else if (schemaClass == EnumSchema.class) {
+                List<Object> possibleValues = ((EnumSchema) schema).getPossibleValuesAsList();
+                key.add(possibleValues);
+                builder = EnumSchema.builder().possibleValues(possibleValues);
+            } else if (schemaClass == ConstSchema.class) {
+                Object permittedValue = ((ConstSchema) schema).getPermittedValue();
+                key.add(permittedValue);
+                builder = ConstSchema.builder().permittedValue(permittedValue);
+            } else if (schemaClass == EmptySchema.class) {
+                builder = EmptySchema.builder();
+            } else if (schemaClass == TrueSchema.class) {
+                builder = TrueSchema.builder();
+            } else if (schemaClass == FalseSchema.class) {
+                builder = FalseSchema.builder();
+            } else if (schemaClass == NullSchema.class) {
+                builder = NullSchema.builder();
+            } else if (schemaClass == BooleanSchema.class) {
+                builder = BooleanSchema.builder();
+            } else {
+                return schema;
+            }
+            key.add(schemaClass);
+            copyCommonProperties(schema, builder, key);
+            return pool.computeIfAbsent(key, k -> builder.build());
+        }
+
+        private Schema canonicalizeReference(ReferenceSchema schema) {
+            Schema referredSchema = schema.getReferredSchema();
+            ReferenceSchema.Builder builder = ReferenceSchema.builder().refValue(schema.getReferenceValue());
+            List<Object> key = new ArrayList<>();
+            copyCommonProperties(schema, builder, key);
+            if (referredSchema != null && inProgress.contains(referredSchema)) {
+                ReferenceSchema copy = builder.build();
+                pendingReferences.computeIfAbsent(referredSchema, s -> new ArrayList<>(1)).add(copy);
+                return copy;
+            }
+            Schema canonicalReferredSchema = internChild(referredSchema, key);
+            key.add(ReferenceSchema.class);
+            key.add(schema.getReferenceValue());
+            return pool.computeIfAbsent(key, k -> {
+                ReferenceSchema copy = builder.build();
+                if (canonicalReferredSchema != null) {
+                    copy.setReferredSchema(canonicalReferredSchema);
+                }
+                return copy;
+            });
+        }
+
+        private Schema internChild(Schema child, List<Object> key) {
+            Schema canonicalChild = intern(child);
+            key.add(new Identity(canonicalChild));
+            return canonicalChild;
+        }
+
+        private void copyCommonProperties(Schema schema, Schema.Builder<?> builder, List<Object> key) {
+            key.add(schema.getTitle());
+            key.add(schema.getDescription());
+            key.add(schema.getId());
+            key.add(schema.getDefaultValue());
+            key.add(schema.isNullable());
+            key.add(schema.isReadOnly());
+            key.add(schema.isWriteOnly());
+            key.add(schema.getUnprocessedProperties());
+            builder.title(schema.getTitle());
+            builder.description(schema.getDescription());
+            builder.id(schema.getId());
+            builder.schemaLocation(schema.getLocation());
+            builder.defaultValue(schema.getDefaultValue());
+            builder.nullable(schema.isNullable());
+            builder.readOnly(schema.isReadOnly());
+            builder.writeOnly(schema.isWriteOnly());
+            builder.unprocessedProperties(schema.getUnprocessedProperties());
+        }
+
+        private ObjectSchema.Builder copyObjectSchema(ObjectSchema schema, List<Object> key) {
+            ObjectSchema.Builder builder = ObjectSchema.builder();
+            key.add(schema.requiresObject());
+            key.add(schema.getMinProperties());
+            key.add(schema.getMaxProperties());
+            key.add(schema.getRequiredProperties());
+            key.add(schema.permitsAdditionalProperties());
+            key.add(schema.getPropertyDependencies());
+            key.add(schema.hasDefaultProperty());
+            builder.requiresObject(schema.requiresObject())
+                    .minProperties(schema.getMinProperties())
+                    .maxProperties(schema.getMaxProperties())
+                    .additionalProperties(schema.permitsAdditionalProperties());
+            schema.getRequiredProperties().forEach(builder::addRequiredProperty);
+            if (schema.getPropertySchemas() != null) {
+                for (Map.Entry<String, Schema> entry : schema.getPropertySchemas().entrySet()) {
+                    key.add(entry.getKey());
+                    builder.addPropertySchema(entry.getKey(), internChild(entry.getValue(), key));
+                }
+            }
+            if (schema.getRegexpPatternProperties() != null) {
+                for (Map.Entry<Regexp, Schema> entry : schema.getRegexpPatternProperties().entrySet()) {
+                    key.add(entry.getKey().getClass());
+                    key.add(entry.getKey().toString());
+                    builder.patternProperty(entry.getKey(), internChild(entry.getValue(), key));
+                }
+            }
+            builder.schemaOfAdditionalProperties(internChild(schema.getSchemaOfAdditionalProperties(), key));
+            builder.propertyNameSchema(internChild(schema.getPropertyNameSchema(), key));
+            for (Map.Entry<String, Set<String>> entry : schema.getPropertyDependencies().entrySet()) {
+                entry.getValue().forEach(mustBePresent -> builder.propertyDependency(entry.getKey(), mustBePresent));
+            }
+            for (Map.Entry<String, Schema> entry : schema.getSchemaDependencies().entrySet()) {
+                key.add(entry.getKey());
+                builder.schemaDependency(entry.getKey(), internChild(entry.getValue(), key));
+            }
+            builder.oneOrMoreDefaultProperty = schema.hasDefaultProperty();
+            return builder;
+        }
+
+        private ArraySchema.Builder copyArraySchema(ArraySchema schema, List<Object> key) {
+            ArraySchema.Builder builder = ArraySchema.builder();
+            key.add(schema.requiresArray());
+            key.add(schema.getMinItems());
+            key.add(schema.getMaxItems());
+            key.add(schema.needsUniqueItems());
+            key.add(schema.permitsAdditionalItems());
+            builder.requiresArray(schema.requiresArray())
+                    .minItems(schema.getMinItems())
+                    .maxItems(schema.getMaxItems())
+                    .uniqueItems(schema.needsUniqueItems())
+                    .additionalItems(schema.permitsAdditionalItems())
+                    .allItemSchema(internChild(schema.getAllItemSchema(), key));
+            List<Schema> itemSchemas = schema.getItemSchemas();
+            key.add(itemSchemas == null ? -1 : itemSchemas.size());
+            if (itemSchemas != null) {
+                for (Schema itemSchema : itemSchemas) {
+                    builder.addItemSchema(internChild(itemSchema, key));
+                }
+            }
+            builder.schemaOfAdditionalItems(internChild(schema.getSchemaOfAdditionalItems(), key));
+            builder.containsItemSchema(internChild(schema.getContainedItemSchema(), key));
+            return builder;
+        }
+
+        private StringSchema.Builder copyStringSchema(StringSchema schema, List<Object> key) {
+            StringSchema.Builder builder = StringSchema.builder();
+            key.add(schema.requireString());
+            key.add(schema.getMinLength());
+            key.add(schema.getMaxLength());
+            Regexp pattern = schema.getRegexpPattern();
+            key.add(pattern == null ? null : pattern.getClass());
+            key.add(pattern == null ? null : pattern.toString());
+            FormatValidator formatValidator = schema.getFormatValidator();
+            if (formatValidator == null) {
+                key.add(null);
+            } else if (formatValidator instanceof URIFormatValidator) {
+                // the only built-in format validator with a configuration
+                key.add(formatValidator);
+            } else if (formatValidator.getClass().getName().startsWith(BUILT_IN_FORMAT_PACKAGE + ".")) {
+                key.add(formatValidator.getClass());
+                key.add(formatValidator.formatName());
+            } else {
+                key.add(new Identity(formatValidator));
+            }
+            builder.requiresString(schema.requireString())
+                    .minLength(schema.getMinLength())
+                    .maxLength(schema.getMaxLength());
+            if (formatValidator != null) {
+                builder.formatValidator(formatValidator);
+            }
+            if (pattern != null) {
+                builder.pattern(pattern);
+            }
+            return builder;
+        }
+
+        private NumberSchema.Builder copyNumberSchema(NumberSchema schema, List<Object> key) {
+            key.add(schema.isRequiresNumber());
+            key.add(schema.requiresInteger());
+            key.add(schema.getMinimum());
+            key.add(schema.getMaximum());
+            key.add(schema.isExclusiveMinimum());
+            key.add(schema.isExclusiveMaximum());
+            key.add(schema.getExclusiveMinimumLimit());
+            key.add(schema.getExclusiveMaximumLimit());
+            key.add(schema.getMultipleOf());
+            NumberSchema.Builder builder = NumberSchema.builder();
+            builder.requiresNumber(schema.isRequiresNumber());
+            builder.requiresInteger(schema.requiresInteger());
+            builder.minimum(schema.getMinimum());
+            builder.maximum(schema.getMaximum());
+            builder.exclusiveMinimum(schema.isExclusiveMinimum());
+            builder.exclusiveMaximum(schema.isExclusiveMaximum());
+            builder.exclusiveMinimum(schema.getExclusiveMinimumLimit());
+            builder.exclusiveMaximum(schema.getExclusiveMaximumLimit());
+            builder.multipleOf(schema.getMultipleOf());
+            return builder;
+        }
+
+        private CombinedSchema.Builder copyCombinedSchema(CombinedSchema schema, List<Object> key) {
+            CombinedSchema.ValidationCriterion criterion = schema.getCriterion();
+            if (criterion != CombinedSchema.ALL_CRITERION && criterion != CombinedSchema.ANY_CRITERION
+                    && criterion != CombinedSchema.ONE_CRITERION) {
+                return null;
+            }
+            key.add(criterion);
+            key.add(schema.isSynthetic());
+            key.add(schema.getSubschemas().size());
+            CombinedSchema.Builder builder = CombinedSchema.builder().criterion(criterion)
+                    .isSynthetic(schema.isSynthetic());
+            for (Schema subschema : schema.getSubschemas()) {
+                builder.subschema(internChild(subschema, key));
+            }
+            return builder;
+        }
+    }
+}
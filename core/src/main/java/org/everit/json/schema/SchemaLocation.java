@@ -52,6 +52,14 @@ public class SchemaLocation {
         this.pointerToLocation = pointerToLocation;
     }
 
+    URI getRootDocumentURI() {
+        return rootDocumentURI;
+    }
+
+    List<String> getPointerToLocation() {
+        return pointerToLocation;
+    }
+
     public SchemaLocation addPointerSegment(String key) {
         List<String> newPointer = new ArrayList<>(pointerToLocation.size() + 1);
         newPointer.addAll(pointerToLocation);
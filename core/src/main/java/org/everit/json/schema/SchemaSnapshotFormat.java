@@ -0,0 +1,102 @@
+package org.everit.json.schema;
+
+/**
+ * Constants of the binary schema snapshot format written by {@link SchemaSnapshotWriter} and read by
+ * {@link SchemaSnapshotReader}.
+ * <p>
+ * A snapshot starts with {@link #MAGIC} and {@link #VERSION}, followed by the root schema. Each schema is written once,
+ * prefixed by its tag. Later occurrences of the same schema instance (including the targets of cyclic references) are
+ * written as {@link #BACK_REFERENCE} followed by the index of the schema in the order of the first occurrences. JSON
+ * values (default values, enum values, etc.) are written with their own tags, preserving their java types.
+ */
+interface SchemaSnapshotFormat {
+
+    int MAGIC = 0x4A53534E;
+
+    int VERSION = 1;
+
+    byte NO_SCHEMA = 0;
+
+    byte BACK_REFERENCE = 1;
+
+    byte EMPTY_SCHEMA = 2;
+
+    byte TRUE_SCHEMA = 3;
+
+    byte FALSE_SCHEMA = 4;
+
+    byte NULL_SCHEMA = 5;
+
+    byte BOOLEAN_SCHEMA = 6;
+
+    byte STRING_SCHEMA = 7;
+
+    byte NUMBER_SCHEMA = 8;
+
+    byte OBJECT_SCHEMA = 9;
+
+    byte ARRAY_SCHEMA = 10;
+
+    byte COMBINED_SCHEMA = 11;
+
+    byte CONDITIONAL_SCHEMA = 12;
+
+    byte NOT_SCHEMA = 13;
+
+    byte ENUM_SCHEMA = 14;
+
+    byte CONST_SCHEMA = 15;
+
+    byte REFERENCE_SCHEMA = 16;
+
+    byte ALL_CRITERION = 0;
+
+    byte ANY_CRITERION = 1;
+
+    byte ONE_CRITERION = 2;
+
+    byte NO_FORMAT = 0;
+
+    byte BUILT_IN_FORMAT = 1;
+
+    byte CUSTOM_FORMAT = 2;
+
+    byte URI_FORMAT = 3;
+
+    byte NULL_VALUE = 0;
+
+    byte JSON_NULL_VALUE = 1;
+
+    byte FALSE_VALUE = 2;
+
+    byte TRUE_VALUE = 3;
+
+    byte INTEGER_VALUE = 4;
+
+    byte LONG_VALUE = 5;
+
+    byte DOUBLE_VALUE = 6;
+
+    byte FLOAT_VALUE = 7;
+
+    byte BIG_INTEGER_VALUE = 8;
+
+    byte BIG_DECIMAL_VALUE = 9;
+
+    byte STRING_VALUE = 10;
+
+    byte JSON_OBJECT_VALUE = 11;
+
+    byte JSON_ARRAY_VALUE = 12;
+
+    byte MAP_VALUE = 13;
+
+    byte LIST_VALUE = 14;
+
+    /**
+     * The package of the built-in format validators, which are re-instantiated by their class name when reading a
+     * snapshot, unless a format validator is registered for their format name.
+     */
+    String BUILT_IN_FORMAT_PACKAGE = "org.everit.json.schema.internal";
+
+}
@@ -0,0 +1,511 @@
+package org.everit.json.schema;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static java.util.Objects.requireNonNull;
+import static org.everit.json.schema.SchemaSnapshotFormat.*;
+
+import java.io.BufferedInputStream;
+import java.io.DataInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.StreamCorruptedException;
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.net.URI;
+import java.net.URISyntaxException;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+
+import org.everit.json.schema.internal.URIFormatValidator;
+import org.everit.json.schema.loader.internal.WrappingFormatValidator;
+import org.everit.json.schema.regexp.CachingRegexpFactory;
+import org.everit.json.schema.regexp.RegexpFactory;
+import org.json.JSONArray;
+import org.json.JSONObject;
+
+/**
+ * Reads schemas from the binary snapshots written by {@link SchemaSnapshotWriter}.
+ * <p>
+ * Reading a snapshot is a single pass over its bytes, which is considerably cheaper than loading the schema JSON with
+ * the {@link org.everit.json.schema.loader.SchemaLoader}. The loader configuration which is not part of the snapshot is
+ * re-bound while reading:
+ * <ul>
+ * <li>the regular expressions are created by the configured {@link RegexpFactory}</li>
+ * <li>the format validators are looked up by their format name among the registered format validators, falling back
+ * to a new instance of the built-in format validator which was written into the snapshot</li>
+ * </ul>
+ * Instances are thread-safe and can be reused for reading multiple snapshots.
+ */
+public class SchemaSnapshotReader {
+
+    public static class SchemaSnapshotReaderBuilder {
+
+        private final Map<String, FormatValidator> formatValidators = new HashMap<>();
+
+        private RegexpFactory regexpFactory = CachingRegexpFactory.defaultInstance();
+
+        /**
+         * Registers a format validator with the name returned by {@link FormatValidator#formatName()}. It is used for
+         * the string schemas of the snapshot having this format, instead of the one used when writing the snapshot.
+         *
+         * @param formatValidator
+         *         the format validator to be registered with its name
+         * @return {@code this}
+         */
+        public SchemaSnapshotReaderBuilder addFormatValidator(FormatValidator formatValidator) {
+            formatValidators.put(formatValidator.formatName(), formatValidator);
+            return this;
+        }
+
+        /**
+         * @param formatName
+         *         the format name used in the schema JSON when the snapshot was written
+         * @param formatValidator
+         *         the object performing the validation for schemas which use the {@code formatName} format
+         * @return {@code this}
+         */
+        public SchemaSnapshotReaderBuilder addFormatValidator(String formatName, FormatValidator formatValidator) {
+            if (!Objects.equals(formatName, formatValidator.formatName())) {
+                formatValidators.put(formatName, new WrappingFormatValidator(formatName, formatValidator));
+            } else {
+                formatValidators.put(formatName, formatValidator);
+            }
+            return this;
+        }
+
+        public SchemaSnapshotReaderBuilder regexpFactory(RegexpFactory regexpFactory) {
+            this.regexpFactory = requireNonNull(regexpFactory, "regexpFactory cannot be null");
+            return this;
+        }
+
+        public SchemaSnapshotReader build() {
+            return new SchemaSnapshotReader(this);
+        }
+    }
+
+    public static SchemaSnapshotReaderBuilder builder() {
+        return new SchemaSnapshotReaderBuilder();
+    }
+
+    private final Map<String, FormatValidator> formatValidators;
+
+    private final RegexpFactory regexpFactory;
+
+    private SchemaSnapshotReader(SchemaSnapshotReaderBuilder builder) {
+        this.formatValidators = new HashMap<>(builder.formatValidators);
+        this.regexpFactory = builder.regexpFactory;
+    }
+
+    /**
+     * Reads a schema snapshot from {@code in}. The stream is read in a buffered way, therefore it should not contain
+     * anything after the snapshot. The stream is not closed.
+     *
+     * @param in
+     *         the stream to read the snapshot from
+     * @return the root schema of the snapshot
+     * @throws IOException
+     *         if reading from {@code in} fails, or it does not contain a valid snapshot
+     * @throws SchemaException
+     *         if a format validator of the snapshot can not be re-bound
+     */
+    public Schema read(InputStream in) throws IOException {
+        DataInputStream dataIn = new DataInputStream(new BufferedInputStream(requireNonNull(in, "in cannot be null")));
+        if (dataIn.readInt() != MAGIC) {
+            throw new StreamCorruptedException("not a schema snapshot");
+        }
+        int version = dataIn.readInt();
+        if (version != VERSION) {
+            throw new StreamCorruptedException("unsupported schema snapshot version: " + version);
+        }
+        return new SnapshotInput(dataIn).readSchema();
+    }
+
+    private class SnapshotInput {
+
+        private final DataInputStream in;
+
+        /**
+         * The schemas in the order of their first occurrence. A schema is {@code null} while it is being read, except
+         * for {@link ReferenceSchema}s, which are available before reading their referred schema.
+         */
+        private final List<Schema> schemas = new ArrayList<>();
+
+        /**
+         * The reference schemas referring to schemas which are being read (in the case of cyclic references), by the
+         * index of the referred schema.
+         */
+        private final Map<Integer, List<ReferenceSchema>> pendingReferences = new HashMap<>();
+
+        SnapshotInput(DataInputStream in) {
+            this.in = in;
+        }
+
+        Schema readSchema() throws IOException {
+            return readSchema(in.readByte());
+        }
+
+        private Schema readSchema(byte tag) throws IOException {
+            if (tag == NO_SCHEMA) {
+                return null;
+            } else if (tag == BACK_REFERENCE) {
+                Schema schema = schemas.get(readBackReference());
+                if (schema == null) {
+                    throw new StreamCorruptedException("back-reference to a schema which is being read");
+                }
+                return schema;
+            }
+            int index = schemas.size();
+            schemas.add(null);
+            if (tag == REFERENCE_SCHEMA) {
+                return readReferenceSchema(index);
+            }
+            Schema schema = readSchemaContent(tag);
+            schemas.set(index, schema);
+            List<ReferenceSchema> referenceSchemas = pendingReferences.remove(index);
+            if (referenceSchemas != null) {
+                for (ReferenceSchema referenceSchema : referenceSchemas) {
+                    referenceSchema.setReferredSchema(schema);
+                }
+            }
+            return schema;
+        }
+
+        private int readBackReference() throws IOException {
+            int index = in.readInt();
+            if (index < 0 || index >= schemas.size()) {
+                throw new StreamCorruptedException("invalid schema back-reference: " + index);
+            }
+            return index;
+        }
+
+        private ReferenceSchema readReferenceSchema(int index) throws IOException {
+            ReferenceSchema.Builder builder = readCommonProperties(ReferenceSchema.builder());
+            ReferenceSchema schema = builder.refValue(readString()).build();
+            schemas.set(index, schema);
+            byte tag = in.readByte();
+            if (tag == BACK_REFERENCE) {
+                int referredIndex = readBackReference();
+                Schema referredSchema = schemas.get(referredIndex);
+                if (referredSchema == null) {
+                    pendingReferences.computeIfAbsent(referredIndex, i -> new ArrayList<>(1)).add(schema);
+                } else {
+                    schema.setReferredSchema(referredSchema);
+                }
+            } else {
+                Schema referredSchema = readSchema(tag);
+                if (referredSchema != null) {
+                    schema.setReferredSchema(referredSchema);
+                }
+            }
+            return schema;
+        }
+
+        private Schema readSchemaContent(byte tag) throws IOException {
+            switch (tag) {
+            case OBJECT_SCHEMA:
+                return readObjectSchema();
+            case ARRAY_SCHEMA:
+                return readArraySchema();
+            case STRING_SCHEMA:
+                return readStringSchema();
+            case NUMBER_SCHEMA:
+                return readNumberSchema();
+            case COMBINED_SCHEMA:
+                return readCombinedSchema();
+            case CONDITIONAL_SCHEMA:
+                return readCommonProperties(ConditionalSchema.builder())
+                        .ifSchema(readSchema())
+                        .thenSchema(readSchema())
+                        .elseSchema(readSchema())
+                        .build();
+            case NOT_SCHEMA:
+                return readCommonProperties(NotSchema.builder()).mustNotMatch(readSchema()).build();
+            case ENUM_SCHEMA:
+                return readCommonProperties(EnumSchema.builder()).possibleValues(readValues()).build();
+            case CONST_SCHEMA:
+                return readCommonProperties(ConstSchema.builder()).permittedValue(readValue()).build();
+            case EMPTY_SCHEMA:
+                return readCommonProperties(EmptySchema.builder()).build();
+            case TRUE_SCHEMA:
+                return readCommonProperties(TrueSchema.builder()).build();
+            case FALSE_SCHEMA:
+                return readCommonProperties(FalseSchema.builder()).build();
+            case NULL_SCHEMA:
+                return readCommonProperties(NullSchema.builder()).build();
+            case BOOLEAN_SCHEMA:
+                return readCommonProperties(BooleanSchema.builder()).build();
+            default:
+                throw new StreamCorruptedException("unknown schema tag: " + tag);
+            }
+        }
+
+        private <B extends Schema.Builder<?>> B readCommonProperties(B builder) throws IOException {
+            builder.title(readString());
+            builder.description(readString());
+            builder.id(readString());
+            builder.schemaLocation(readLocation());
+            builder.defaultValue(readValue());
+            builder.nullable(readBoolean());
+            builder.readOnly(readBoolean());
+            builder.writeOnly(readBoolean());
+            builder.unprocessedProperties(readMap());
+            return builder;
+        }
+
+        private ObjectSchema readObjectSchema() throws IOException {
+            ObjectSchema.Builder builder = readCommonProperties(ObjectSchema.builder());
+            builder.requiresObject(in.readBoolean());
+            builder.minProperties(readInteger());
+            builder.maxProperties(readInteger());
+            for (int i = 0, count = readCount(); i < count; ++i) {
+                builder.addRequiredProperty(readString());
+            }
+            for (int i = 0, count = readCount(); i < count; ++i) {
+                builder.addPropertySchema(readString(), readSchema());
+            }
+            for (int i = 0, count = readCount(); i < count; ++i) {
+                builder.patternProperty(regexpFactory.createHandler(readString()), readSchema());
+            }
+            builder.additionalProperties(in.readBoolean());
+            builder.schemaOfAdditionalProperties(readSchema());
+            builder.propertyNameSchema(readSchema());
+            for (int i = 0, count = readCount(); i < count; ++i) {
+                String ifPresent = readString();
+                for (int j = 0, dependencyCount = readCount(); j < dependencyCount; ++j) {
+                    builder.propertyDependency(ifPresent, readString());
+                }
+            }
+            for (int i = 0, count = readCount(); i < count; ++i) {
+                builder.schemaDependency(readString(), readSchema());
+            }
+            builder.oneOrMoreDefaultProperty = in.readBoolean();
+            return builder.build();
+        }
+
+        private ArraySchema readArraySchema() throws IOException {
+            ArraySchema.Builder builder = readCommonProperties(ArraySchema.builder());
+            builder.requiresArray(in.readBoolean());
+            builder.minItems(readInteger());
+            builder.maxItems(readInteger());
+            builder.uniqueItems(in.readBoolean());
+            builder.allItemSchema(readSchema());
+            int itemSchemaCount = in.readInt();
+            for (int i = 0; i < itemSchemaCount; ++i) {
+                builder.addItemSchema(readSchema());
+            }
+            builder.additionalItems(in.readBoolean());
+            builder.schemaOfAdditionalItems(readSchema());
+            builder.containsItemSchema(readSchema());
+            return builder.build();
+        }
+
+        private StringSchema readStringSchema() throws IOException {
+            StringSchema.Builder builder = readCommonProperties(StringSchema.builder());
+            builder.requiresString(in.readBoolean());
+            builder.minLength(readInteger());
+            builder.maxLength(readInteger());
+            String pattern = readString();
+            if (pattern != null) {
+                builder.pattern(regexpFactory.createHandler(pattern));
+            }
+            byte formatTag = in.readByte();
+            if (formatTag == BUILT_IN_FORMAT) {
+                String formatName = readString();
+                String className = readString();
+                FormatValidator formatValidator = formatValidators.get(formatName);
+                builder.formatValidator(formatValidator != null ? formatValidator : createBuiltInFormat(className));
+            } else if (formatTag == URI_FORMAT) {
+                boolean protocolRelativeURIPermitted = in.readBoolean();
+                FormatValidator formatValidator = formatValidators.get("uri");
+                builder.formatValidator(formatValidator != null ? formatValidator
+                        : new URIFormatValidator(protocolRelativeURIPermitted));
+            } else if (formatTag == CUSTOM_FORMAT) {
+                String formatName = readString();
+                FormatValidator formatValidator = formatValidators.get(formatName);
+                if (formatValidator == null) {
+                    throw new SchemaException(null, "no format validator is registered for format [" + formatName + "]");
+                }
+                builder.formatValidator(formatValidator);
+            } else if (formatTag != NO_FORMAT) {
+                throw new StreamCorruptedException("unknown format tag: " + formatTag);
+            }
+            return builder.build();
+        }
+
+        private FormatValidator createBuiltInFormat(String className) throws IOException {
+            if (className == null || !className.startsWith(BUILT_IN_FORMAT_PACKAGE + ".")
+                    || className.indexOf('.', BUILT_IN_FORMAT_PACKAGE.length() + 1) >= 0) {
+                throw new StreamCorruptedException("invalid built-in format validator: " + className);
+            }
+            try {
+                Class<?> formatValidatorClass = Class.forName(className);
+                if (!FormatValidator.class.isAssignableFrom(formatValidatorClass)) {
+                    throw new StreamCorruptedException("invalid built-in format validator: " + className);
+                }
+                return (FormatValidator) formatValidatorClass.getConstructor().newInstance();
+            } catch (ReflectiveOperationException e) {
+                throw new SchemaException(null, e);
+            }
+        }
+
+        private NumberSchema readNumberSchema() throws IOException {
+            NumberSchema.Builder builder = readCommonProperties(NumberSchema.builder());
+            builder.requiresNumber(in.readBoolean());
+            builder.requiresInteger(in.readBoolean());
+            builder.minimum(readNumber());
+            builder.maximum(readNumber());
+            builder.exclusiveMinimum(in.readBoolean());
+            builder.exclusiveMaximum(in.readBoolean());
+            builder.exclusiveMinimum(readNumber());
+            builder.exclusiveMaximum(readNumber());
+            builder.multipleOf(readNumber());
+            return builder.build();
+        }
+
+        private CombinedSchema readCombinedSchema() throws IOException {
+            CombinedSchema.Builder builder = readCommonProperties(CombinedSchema.builder());
+            byte criterion = in.readByte();
+            switch (criterion) {
+            case ALL_CRITERION:
+                builder.criterion(CombinedSchema.ALL_CRITERION);
+                break;
+            case ANY_CRITERION:
+                builder.criterion(CombinedSchema.ANY_CRITERION);
+                break;
+            case ONE_CRITERION:
+                builder.criterion(CombinedSchema.ONE_CRITERION);
+                break;
+            default:
+                throw new StreamCorruptedException("unknown validation criterion: " + criterion);
+            }
+            builder.isSynthetic(in.readBoolean());
+            for (int i = 0, count = readCount(); i < count; ++i) {
+                builder.subschema(readSchema());
+            }
+            return builder.build();
+        }
+
+        private SchemaLocation readLocation() throws IOException {
+            if (!in.readBoolean()) {
+                return null;
+            }
+            String rootDocumentURI = readString();
+            List<String> pointer = new ArrayList<>();
+            for (int i = 0, count = readCount(); i < count; ++i) {
+                pointer.add(readString());
+            }
+            try {
+                return new SchemaLocation(rootDocumentURI == null ? null : new URI(rootDocumentURI), pointer);
+            } catch (URISyntaxException e) {
+                throw new StreamCorruptedException("invalid schema location: " + rootDocumentURI);
+            }
+        }
+
+        private int readCount() throws IOException {
+            int count = in.readInt();
+            if (count < 0) {
+                throw new StreamCorruptedException("invalid count: " + count);
+            }
+            return count;
+        }
+
+        private String readString() throws IOException {
+            int length = in.readInt();
+            if (length == -1) {
+                return null;
+            } else if (length < 0) {
+                throw new StreamCorruptedException("invalid string length: " + length);
+            }
+            byte[] bytes = new byte[length];
+            in.readFully(bytes);
+            return new String(bytes, UTF_8);
+        }
+
+        private Integer readInteger() throws IOException {
+            return in.readBoolean() ? in.readInt() : null;
+        }
+
+        private Boolean readBoolean() throws IOException {
+            Object value = readValue();
+            if (value != null && !(value instanceof Boolean)) {
+                throw new StreamCorruptedException("boolean expected, found " + value);
+            }
+            return (Boolean) value;
+        }
+
+        private Number readNumber() throws IOException {
+            Object value = readValue();
+            if (value != null && !(value instanceof Number)) {
+                throw new StreamCorruptedException("number expected, found " + value);
+            }
+            return (Number) value;
+        }
+
+        private Map<String, Object> readMap() throws IOException {
+            int count = readCount();
+            Map<String, Object> map = new HashMap<>(count);
+            for (int i = 0; i < count; ++i) {
+                map.put(readString(), readValue());
+            }
+            return map;
+        }
+
+        private List<Object> readValues() throws IOException {
+            int count = readCount();
+            List<Object> values = new ArrayList<>(count);
+            for (int i = 0; i < count; ++i) {
+                values.add(readValue());
+            }
+            return values;
+        }
+
+        private Object readValue() throws IOException {
+            byte tag = in.readByte();
+            switch (tag) {
+            case NULL_VALUE:
+                return null;
+            case JSON_NULL_VALUE:
+                return JSONObject.NULL;
+            case FALSE_VALUE:
+                return Boolean.FALSE;
+            case TRUE_VALUE:
+                return Boolean.TRUE;
+            case INTEGER_VALUE:
+                return in.readInt();
+            case LONG_VALUE:
+                return in.readLong();
+            case DOUBLE_VALUE:
+                return in.readDouble();
+            case FLOAT_VALUE:
+                return in.readFloat();
+            case BIG_INTEGER_VALUE:
+                return new BigInteger(readString());
+            case BIG_DECIMAL_VALUE:
+                return new BigDecimal(readString());
+            case STRING_VALUE:
+                return readString();
+            case JSON_OBJECT_VALUE:
+                JSONObject obj = new JSONObject();
+                for (int i = 0, count = readCount(); i < count; ++i) {
+                    obj.put(readString(), readValue());
+                }
+                return obj;
+            case JSON_ARRAY_VALUE:
+                JSONArray array = new JSONArray();
+                for (int i = 0, count = readCount(); i < count; ++i) {
+                    array.put(readValue());
+                }
+                return array;
+            case MAP_VALUE:
+                return readMap();
+            case LIST_VALUE:
+                return readValues();
+            default:
+                throw new StreamCorruptedException("unknown value tag: " + tag);
+            }
+        }
+    }
+}
@@ -0,0 +1,361 @@
+package org.everit.json.schema;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static java.util.Objects.requireNonNull;
+import static org.everit.json.schema.SchemaSnapshotFormat.*;
+
+import java.io.BufferedOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.util.Collection;
+import java.util.IdentityHashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import org.everit.json.schema.internal.URIFormatValidator;
+import org.everit.json.schema.regexp.Regexp;
+import org.json.JSONArray;
+import org.json.JSONObject;
+
+/**
+ * Writes a loaded schema into a compact binary snapshot, which can be read by {@link SchemaSnapshotReader} without
+ * parsing and loading the schema JSON again.
+ * <p>
+ * The snapshot contains the whole schema graph, with the referred schemas of {@link ReferenceSchema}s resolved, and
+ * shared (or cyclically referenced) schema instances written only once. The format validators are stored by their
+ * format name, and the regular expressions by their pattern, and they are re-created by the
+ * {@link SchemaSnapshotReader}.
+ * <p>
+ * Only the schema classes of this package are supported, subclasses of them (other than {@link TrueSchema}) and custom
+ * {@link CombinedSchema.ValidationCriterion validation criteria} are rejected with an
+ * {@link IllegalArgumentException}.
+ */
+public class SchemaSnapshotWriter {
+
+    /**
+     * Writes the snapshot of {@code schema} into {@code out}. The stream is flushed, but not closed.
+     *
+     * @param schema
+     *         the schema to be written
+     * @param out
+     *         the stream to write the snapshot into
+     * @throws IOException
+     *         if writing to {@code out} fails
+     * @throws IllegalArgumentException
+     *         if the schema graph contains schemas or values which can not be written
+     */
+    public static void write(Schema schema, OutputStream out) throws IOException {
+        requireNonNull(schema, "schema cannot be null");
+        requireNonNull(out, "out cannot be null");
+        DataOutputStream dataOut = new DataOutputStream(new BufferedOutputStream(out));
+        dataOut.writeInt(MAGIC);
+        dataOut.writeInt(VERSION);
+        new SchemaSnapshotWriter(dataOut).writeSchema(schema);
+        dataOut.flush();
+    }
+
+    private final DataOutputStream out;
+
+    private final Map<Schema, Integer> schemaIndices = new IdentityHashMap<>();
+
+    private SchemaSnapshotWriter(DataOutputStream out) {
+        this.out = out;
+    }
+
+    private void writeSchema(Schema schema) throws IOException {
+        if (schema == null) {
+            out.writeByte(NO_SCHEMA);
+            return;
+        }
+        Integer index = schemaIndices.get(schema);
+        if (index != null) {
+            out.writeByte(BACK_REFERENCE);
+            out.writeInt(index);
+            return;
+        }
+        schemaIndices.put(schema, schemaIndices.size());
+        Class<?> schemaClass = schema.getClass();
+        if (schemaClass == ReferenceSchema.class) {
+            writeReferenceSchema((ReferenceSchema) schema);
+        } else if (schemaClass == ObjectSchema.class) {
+            writeObjectSchema((ObjectSchema) schema);
+        } else if (schemaClass == ArraySchema.class) {
+            writeArraySchema((ArraySchema) schema);
+        } else if (schemaClass == StringSchema.class) {
+            writeStringSchema((StringSchema) schema);
+        } else if (schemaClass == NumberSchema.class) {
+            writeNumberSchema((NumberSchema) schema);
+        } else if (schemaClass == CombinedSchema.class) {
+            writeCombinedSchema((CombinedSchema) schema);
+        } else if (schemaClass == ConditionalSchema.class) {
+            ConditionalSchema conditionalSchema = (ConditionalSchema) schema;
+            writeCommonProperties(CONDITIONAL_SCHEMA, schema);
+            writeSchema(conditionalSchema.getIfSchema().orElse(null));
+            writeSchema(conditionalSchema.getThenSchema().orElse(null));
+            writeSchema(conditionalSchema.getElseSchema().orElse(null));
+        } else if (schemaClass == NotSchema.class) {
+            writeCommonProperties(NOT_SCHEMA, schema);
+            writeSchema(((NotSchema) schema).getMustNotMatch());
+        } else if (schemaClass == EnumSchema.class) {
+            writeCommonProperties(ENUM_SCHEMA, schema);
+            writeValues(((EnumSchema) schema).getPossibleValuesAsList());
+        } else if (schemaClass == ConstSchema.class) {
+            writeCommonProperties(CONST_SCHEMA, schema);
+            writeValue(((ConstSchema) schema).getPermittedValue());
+        } else if (schemaClass == EmptySchema.class) {
+            writeCommonProperties(EMPTY_SCHEMA, schema);
+        } else if (schemaClass == TrueSchema.class) {
+            writeCommonProperties(TRUE_SCHEMA, schema);
+        } else if (schemaClass == FalseSchema.class) {
+            writeCommonProperties(FALSE_SCHEMA, schema);
+        } else if (schemaClass == NullSchema.class) {
+            writeCommonProperties(NULL_SCHEMA, schema);
+        } else if (schemaClass == BooleanSchema.class) {
+            writeCommonProperties(BOOLEAN_SCHEMA, schema);
+        } else {
+            throw new IllegalArgumentException("cannot write schema of type " + schemaClass.getName());
+        }
+    }
+
+    private void writeCommonProperties(byte tag, Schema schema) throws IOException {
+        out.writeByte(tag);
+        writeString(schema.getTitle());
+        writeString(schema.getDescription());
+        writeString(schema.getId());
+        writeLocation(schema.getLocation());
+        writeValue(schema.getDefaultValue());
+        writeBoolean(schema.isNullable());
+        writeBoolean(schema.isReadOnly());
+        writeBoolean(schema.isWriteOnly());
+        writeMap(schema.getUnprocessedProperties());
+    }
+
+    private void writeReferenceSchema(ReferenceSchema schema) throws IOException {
+        writeCommonProperties(REFERENCE_SCHEMA, schema);
+        writeString(schema.getReferenceValue());
+        writeSchema(schema.getReferredSchema());
+    }
+
+    private void writeObjectSchema(ObjectSchema schema) throws IOException {
+        writeCommonProperties(OBJECT_SCHEMA, schema);
+        out.writeBoolean(schema.requiresObject());
+        writeInteger(schema.getMinProperties());
+        writeInteger(schema.getMaxProperties());
+        writeStrings(schema.getRequiredProperties());
+        writeSchemaMap(schema.getPropertySchemas());
+        out.writeInt(schema.getRegexpPatternProperties().size());
+        for (Map.Entry<Regexp, Schema> entry : schema.getRegexpPatternProperties().entrySet()) {
+            writeString(entry.getKey().toString());
+            writeSchema(entry.getValue());
+        }
+        out.writeBoolean(schema.permitsAdditionalProperties());
+        writeSchema(schema.getSchemaOfAdditionalProperties());
+        writeSchema(schema.getPropertyNameSchema());
+        out.writeInt(schema.getPropertyDependencies().size());
+        for (Map.Entry<String, Set<String>> entry : schema.getPropertyDependencies().entrySet()) {
+            writeString(entry.getKey());
+            writeStrings(entry.getValue());
+        }
+        writeSchemaMap(schema.getSchemaDependencies());
+        out.writeBoolean(schema.hasDefaultProperty());
+    }
+
+    private void writeArraySchema(ArraySchema schema) throws IOException {
+        writeCommonProperties(ARRAY_SCHEMA, schema);
+        out.writeBoolean(schema.requiresArray());
+        writeInteger(schema.getMinItems());
+        writeInteger(schema.getMaxItems());
+        out.writeBoolean(schema.needsUniqueItems());
+        writeSchema(schema.getAllItemSchema());
+        List<Schema> itemSchemas = schema.getItemSchemas();
+        if (itemSchemas == null) {
+            out.writeInt(-1);
+        } else {
+            out.writeInt(itemSchemas.size());
+            for (Schema itemSchema : itemSchemas) {
+                writeSchema(itemSchema);
+            }
+        }
+        out.writeBoolean(schema.permitsAdditionalItems());
+        writeSchema(schema.getSchemaOfAdditionalItems());
+        writeSchema(schema.getContainedItemSchema());
+    }
+
+    private void writeStringSchema(StringSchema schema) throws IOException {
+        writeCommonProperties(STRING_SCHEMA, schema);
+        out.writeBoolean(schema.requireString());
+        writeInteger(schema.getMinLength());
+        writeInteger(schema.getMaxLength());
+        writeString(schema.getRegexpPattern() == null ? null : schema.getRegexpPattern().toString());
+        FormatValidator formatValidator = schema.getFormatValidator();
+        if (formatValidator == FormatValidator.NONE) {
+            out.writeByte(NO_FORMAT);
+        } else if (formatValidator.getClass() == URIFormatValidator.class) {
+            out.writeByte(URI_FORMAT);
+            out.writeBoolean(((URIFormatValidator) formatValidator).isProtocolRelativeURIPermitted());
+        } else if (formatValidator.getClass().getName().equals(
+                BUILT_IN_FORMAT_PACKAGE + "." + formatValidator.getClass().getSimpleName())) {
+            out.writeByte(BUILT_IN_FORMAT);
+            writeString(formatValidator.formatName());
+            writeString(formatValidator.getClass().getName());
+        } else {
+            out.writeByte(CUSTOM_FORMAT);
+            writeString(formatValidator.formatName());
+        }
+    }
+
+    private void writeNumberSchema(NumberSchema schema) throws IOException {
+        writeCommonProperties(NUMBER_SCHEMA, schema);
+        out.writeBoolean(schema.isRequiresNumber());
+        out.writeBoolean(schema.requiresInteger());
+        writeValue(schema.getMinimum());
+        writeValue(schema.getMaximum());
+        out.writeBoolean(schema.isExclusiveMinimum());
+        out.writeBoolean(schema.isExclusiveMaximum());
+        writeValue(schema.getExclusiveMinimumLimit());
+        writeValue(schema.getExclusiveMaximumLimit());
+        writeValue(schema.getMultipleOf());
+    }
+
+    private void writeCombinedSchema(CombinedSchema schema) throws IOException {
+        writeCommonProperties(COMBINED_SCHEMA, schema);
+        CombinedSchema.ValidationCriterion criterion = schema.getCriterion();
+        if (criterion == CombinedSchema.ALL_CRITERION) {
+            out.writeByte(ALL_CRITERION);
+        } else if (criterion == CombinedSchema.ANY_CRITERION) {
+            out.writeByte(ANY_CRITERION);
+        } else if (criterion == CombinedSchema.ONE_CRITERION) {
+            out.writeByte(ONE_CRITERION);
+        } else {
+            throw new IllegalArgumentException("cannot write custom validation criterion " + criterion);
+        }
+        out.writeBoolean(schema.isSynthetic());
+        out.writeInt(schema.getSubschemas().size());
+        for (Schema subschema : schema.getSubschemas()) {
+            writeSchema(subschema);
+        }
+    }
+
+    private void writeSchemaMap(Map<String, Schema> schemas) throws IOException {
+        out.writeInt(schemas.size());
+        for (Map.Entry<String, Schema> entry : schemas.entrySet()) {
+            writeString(entry.getKey());
+            writeSchema(entry.getValue());
+        }
+    }
+
+    private void writeLocation(SchemaLocation location) throws IOException {
+        out.writeBoolean(location != null);
+        if (location != null) {
+            writeString(location.getRootDocumentURI() == null ? null : location.getRootDocumentURI().toString());
+            writeStrings(location.getPointerToLocation());
+        }
+    }
+
+    private void writeString(String str) throws IOException {
+        if (str == null) {
+            out.writeInt(-1);
+        } else {
+            byte[] bytes = str.getBytes(UTF_8);
+            out.writeInt(bytes.length);
+            out.write(bytes);
+        }
+    }
+
+    private void writeStrings(Collection<String> strings) throws IOException {
+        out.writeInt(strings.size());
+        for (String str : strings) {
+            writeString(str);
+        }
+    }
+
+    private void writeInteger(Integer value) throws IOException {
+        out.writeBoolean(value != null);
+        if (value != null) {
+            out.writeInt(value);
+        }
+    }
+
+    private void writeBoolean(Boolean value) throws IOException {
+        out.writeByte(value == null ? NULL_VALUE : value ? TRUE_VALUE : FALSE_VALUE);
+    }
+
+    private void writeMap(Map<?, ?> map) throws IOException {
+        out.writeInt(map.size());
+        for (Map.Entry<?, ?> entry : map.entrySet()) {
+            if (!(entry.getKey() instanceof String)) {
+                throw new IllegalArgumentException("cannot write non-string map key: " + entry.getKey());
+            }
+            writeString((String) entry.getKey());
+            writeValue(entry.getValue());
+        }
+    }
+
+    private void writeValues(List<?> values) throws IOException {
+        out.writeInt(values.size());
+        for (Object value : values) {
+            writeValue(value);
+        }
+    }
+
+    private void writeValue(Object value) throws IOException {
+        if (value == null) {
+            out.writeByte(NULL_VALUE);
+        } else if (value == JSONObject.NULL) {
+            out.writeByte(JSON_NULL_VALUE);
+        } else if (value instanceof Boolean) {
+            writeBoolean((Boolean) value);
+        } else if (value instanceof Integer) {
+            out.writeByte(INTEGER_VALUE);
+            out.writeInt((Integer) value);
+        } else if (value instanceof Long) {
+            out.writeByte(LONG_VALUE);
+            out.writeLong((Long) value);
+        } else if (value instanceof Double) {
+            out.writeByte(DOUBLE_VALUE);
+            out.writeDouble((Double) value);
+        } else if (value instanceof Float) {
+            out.writeByte(FLOAT_VALUE);
+            out.writeFloat((Float) value);
+        } else if (value instanceof BigInteger) {
+            out.writeByte(BIG_INTEGER_VALUE);
+            writeString(value.toString());
+        } else if (value instanceof BigDecimal) {
+            out.writeByte(BIG_DECIMAL_VALUE);
+            writeString(value.toString());
+        } else if (value instanceof String) {
+            out.writeByte(STRING_VALUE);
+            writeString((String) value);
+        } else if (value instanceof JSONObject) {
+            JSONObject obj = (JSONObject) value;
+            out.writeByte(JSON_OBJECT_VALUE);
+            out.writeInt(obj.length());
+            Iterator<String> keyIt = obj.keys();
+            while (keyIt.hasNext()) {
+                String key = keyIt.next();
+                writeString(key);
+                writeValue(obj.opt(key));
+            }
+        } else if (value instanceof JSONArray) {
+            JSONArray array = (JSONArray) value;
+            out.writeByte(JSON_ARRAY_VALUE);
+            out.writeInt(array.length());
+            for (int i = 0; i < array.length(); ++i) {
+                writeValue(array.opt(i));
+            }
+        } else if (value instanceof Map) {
+            out.writeByte(MAP_VALUE);
+            writeMap((Map<?, ?>) value);
+        } else if (value instanceof List) {
+            out.writeByte(LIST_VALUE);
+            writeValues((List<?>) value);
+        } else {
+            throw new IllegalArgumentException("cannot write value of type " + value.getClass().getName());
+        }
+    }
+}
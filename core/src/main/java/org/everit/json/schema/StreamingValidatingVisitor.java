@@ -0,0 +1,386 @@
+package org.everit.json.schema;
+
+import static java.util.Objects.requireNonNull;
+import static org.everit.json.schema.StringToValueConverter.stringToValue;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.io.UncheckedIOException;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Consumer;
+
+import org.everit.json.schema.event.ValidationListener;
+import org.everit.json.schema.event.ValidationListener.EventKind;
+import org.everit.json.schema.regexp.Regexp;
+import org.json.JSONObject;
+import org.json.JSONTokener;
+
+/**
+ * Validates a JSON document while reading it from a {@link JSONTokener}, without building the {@code org.json} tree of
+ * the whole document.
+ * <p>
+ * Objects and arrays are read member by member if their schema can be checked incrementally: {@link ObjectSchema}s
+ * without schema dependencies, {@link ArraySchema}s without {@code uniqueItems}, {@link EmptySchema}s, and references
+ * to these. Every other value, and every value which has to be checked against more than one subschema (like a
+ * property matched by both {@code properties} and {@code patternProperties}, or an array item while looking for a
+ * {@code contains} match) is read into an {@code org.json} tree and checked by the {@link ValidatingVisitor}. Values
+ * not constrained by any subschema are skipped. Therefore the memory needed for the validation is proportional to the
+ * largest buffered value, instead of the whole document.
+ * <p>
+ * The reported violations are the same as the ones of the tree-based validation, but they may be in a different order.
+ * Default values are not injected, since there is no tree to inject them into.
+ */
+class StreamingValidatingVisitor extends Visitor {
+
+    /**
+     * Passed to the {@link ReadWriteValidator} in place of the streamed (therefore non-null) objects and arrays.
+     */
+    private static final Object STREAMED_SUBJECT = new Object();
+
+    private static final String UNQUOTED_TEXT_DELIMITERS = ",:]}/\\\"[{;=#";
+
+    private interface ItemHandler {
+
+        void visitItem(int index, boolean elided);
+    }
+
+    /**
+     * Creates a tokener reading {@code input}. The android flavor of org.json has no {@code JSONTokener(Reader)}
+     * constructor, in which case the whole input is read into a string first.
+     */
+    static JSONTokener tokenerOf(Reader input) {
+        try {
+            return new JSONTokener(input);
+        } catch (NoSuchMethodError e) {
+            return new JSONTokener(readFully(input));
+        }
+    }
+
+    private static String readFully(Reader input) {
+        StringBuilder sb = new StringBuilder();
+        char[] buffer = new char[8192];
+        try {
+            for (int read = input.read(buffer); read != -1; read = input.read(buffer)) {
+                sb.append(buffer, 0, read);
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return sb.toString();
+    }
+
+    /**
+     * Returns the next non-whitespace character of the tokener, without consuming it.
+     */
+    static char peek(JSONTokener tokener) {
+        char next = tokener.nextClean();
+        if (next != 0) {
+            tokener.back();
+        }
+        return next;
+    }
+
+    /**
+     * Tells if a value starting with {@code next} can be validated against {@code schema} without buffering it.
+     */
+    static boolean isStreamable(Schema schema, char next, ValidationListener validationListener) {
+        if (schema instanceof ReferenceSchema) {
+            // the SchemaReferencedEvent needs the subject, so references are resolved only if nobody listens
+            Schema referredSchema = ((ReferenceSchema) schema).getReferredSchema();
+            return !ValidatingVisitor.subscribedEvents(validationListener).contains(EventKind.SCHEMA_REFERENCED)
+                    && referredSchema != null
+                    && isStreamable(referredSchema, next, validationListener);
+        }
+        if (next == '{') {
+            return schema instanceof EmptySchema
+                    || (schema instanceof ObjectSchema && ((ObjectSchema) schema).getSchemaDependencies().isEmpty());
+        }
+        if (next == '[') {
+            return schema instanceof EmptySchema
+                    || (schema instanceof ArraySchema && !((ArraySchema) schema).needsUniqueItems());
+        }
+        return false;
+    }
+
+    private final JSONTokener tokener;
+
+    private final ValidatingVisitor owner;
+
+    private final ValidationFailureReporter failureReporter;
+
+    private final ReadWriteValidator readWriteValidator;
+
+    StreamingValidatingVisitor(JSONTokener tokener, ValidatingVisitor owner, ValidationFailureReporter failureReporter,
+            ReadWriteValidator readWriteValidator) {
+        this.tokener = requireNonNull(tokener, "tokener cannot be null");
+        this.owner = requireNonNull(owner, "owner cannot be null");
+        this.failureReporter = requireNonNull(failureReporter, "failureReporter cannot be null");
+        this.readWriteValidator = requireNonNull(readWriteValidator, "readWriteValidator cannot be null");
+    }
+
+    @Override
+    void visit(Schema schema) {
+        readWriteValidator.validate(schema, STREAMED_SUBJECT);
+        super.visit(schema);
+    }
+
+    @Override
+    void visitEmptySchema(EmptySchema emptySchema) {
+        skipValue();
+    }
+
+    @Override
+    void visitReferenceSchema(ReferenceSchema referenceSchema) {
+        Schema referredSchema = referenceSchema.getReferredSchema();
+        ValidationException failure = failureOfStreamedValue(referredSchema);
+        if (failure != null) {
+            owner.failure(failure);
+        }
+    }
+
+    @Override
+    void visitObjectSchema(ObjectSchema objectSchema) {
+        Set<String> keys = readObject(key -> visitProperty(objectSchema, key));
+        for (String requiredPropName : objectSchema.getRequiredProperties()) {
+            ObjectSchemaValidatingVisitor.checkRequiredProperty(owner, keys::contains, requiredPropName);
+        }
+        ObjectSchemaValidatingVisitor.checkMinProperties(owner, objectSchema.getMinProperties(), keys.size());
+        ObjectSchemaValidatingVisitor.checkMaxProperties(owner, objectSchema.getMaxProperties(), keys.size());
+        for (Map.Entry<String, Set<String>> entry : objectSchema.getPropertyDependencies().entrySet()) {
+            ObjectSchemaValidatingVisitor.checkPropertyDependency(owner, keys::contains, entry.getKey(),
+                    entry.getValue());
+        }
+    }
+
+    private void visitProperty(ObjectSchema objectSchema, String key) {
+        Schema propertyNameSchema = objectSchema.getPropertyNameSchema();
+        if (propertyNameSchema != null) {
+            ValidationException failure = owner.getFailureOfSchema(propertyNameSchema, key);
+            if (failure != null) {
+                owner.failure(failure.prepend(key));
+            }
+        }
+        List<Schema> subschemas = new ArrayList<>(1);
+        Map<Regexp, Schema> patternProperties = objectSchema.getRegexpPatternProperties();
+        if (patternProperties != null) {
+            for (Map.Entry<Regexp, Schema> entry : patternProperties.entrySet()) {
+                if (!entry.getKey().patternMatchingFailure(key).isPresent()) {
+                    subschemas.add(entry.getValue());
+                }
+            }
+        }
+        Map<String, Schema> propertySchemas = objectSchema.getPropertySchemas();
+        if (propertySchemas != null && propertySchemas.containsKey(key)) {
+            subschemas.add(propertySchemas.get(key));
+        }
+        if (!subschemas.isEmpty()) {
+            visitValue(subschemas, false, key);
+            return;
+        }
+        if (!objectSchema.permitsAdditionalProperties()) {
+            ObjectSchemaValidatingVisitor.reportAdditionalProperty(owner, key);
+        }
+        Schema schemaOfAdditionalProperties = objectSchema.getSchemaOfAdditionalProperties();
+        if (schemaOfAdditionalProperties == null) {
+            skipValue();
+            return;
+        }
+        ValidationException failure = failureOfValue(schemaOfAdditionalProperties);
+        if (failure != null) {
+            owner.failure(failure.prepend(key, objectSchema));
+        }
+    }
+
+    @Override
+    void visitArraySchema(ArraySchema arraySchema) {
+        Schema containedItemSchema = arraySchema.getContainedItemSchema();
+        boolean[] containsMatched = { containedItemSchema == null };
+        int subjectLength = readArray((index, elided) -> {
+            List<Schema> subschemas = itemSchemasOf(arraySchema, index);
+            String idx = String.valueOf(index);
+            if (containsMatched[0]) {
+                visitValue(subschemas, elided, idx);
+            } else {
+                Object item = elided ? JSONObject.NULL : tokener.nextValue();
+                validateBuffered(subschemas, item, idx);
+                containsMatched[0] = !owner.failsSchema(containedItemSchema, item);
+            }
+        });
+        ArraySchemaValidatingVisitor.checkMinItems(owner, arraySchema.getMinItems(), subjectLength);
+        ArraySchemaValidatingVisitor.checkMaxItems(owner, arraySchema.getMaxItems(), subjectLength);
+        ArraySchemaValidatingVisitor.checkAdditionalItems(owner, arraySchema, arraySchema.permitsAdditionalItems(),
+                subjectLength);
+        if (!containsMatched[0]) {
+            ArraySchemaValidatingVisitor.reportNoContainedItem(owner);
+        }
+    }
+
+    private static List<Schema> itemSchemasOf(ArraySchema arraySchema, int index) {
+        List<Schema> subschemas = new ArrayList<>(1);
+        if (arraySchema.getAllItemSchema() != null) {
+            subschemas.add(arraySchema.getAllItemSchema());
+        }
+        List<Schema> itemSchemas = arraySchema.getItemSchemas();
+        if (itemSchemas != null) {
+            if (index < itemSchemas.size()) {
+                subschemas.add(itemSchemas.get(index));
+            } else if (arraySchema.getSchemaOfAdditionalItems() != null) {
+                subschemas.add(arraySchema.getSchemaOfAdditionalItems());
+            }
+        }
+        return subschemas;
+    }
+
+    /**
+     * Validates the next value against each of {@code subschemas}. The value is streamed if there is only a single
+     * subschema, otherwise it is buffered.
+     */
+    private void visitValue(List<Schema> subschemas, boolean elided, String pointerFragment) {
+        if (subschemas.isEmpty() && !elided) {
+            skipValue();
+        } else if (subschemas.size() == 1 && !elided) {
+            ValidationException failure = failureOfValue(subschemas.get(0));
+            if (failure != null) {
+                owner.failure(failure.prepend(pointerFragment));
+            }
+        } else {
+            validateBuffered(subschemas, elided ? JSONObject.NULL : tokener.nextValue(), pointerFragment);
+        }
+    }
+
+    private void validateBuffered(List<Schema> subschemas, Object value, String pointerFragment) {
+        for (Schema subschema : subschemas) {
+            ValidationException failure = owner.getFailureOfSchema(subschema, value);
+            if (failure != null) {
+                owner.failure(failure.prepend(pointerFragment));
+            }
+        }
+    }
+
+    private ValidationException failureOfValue(Schema schema) {
+        if (isStreamable(schema, peek(tokener), owner.validationListener)) {
+            return failureOfStreamedValue(schema);
+        }
+        return owner.getFailureOfSchema(schema, tokener.nextValue());
+    }
+
+    private ValidationException failureOfStreamedValue(Schema schema) {
+        Schema origSchema = failureReporter.schema;
+        int failureWatermark = failureReporter.enterSchema(schema);
+        visit(schema);
+        return failureReporter.leaveSchema(origSchema, failureWatermark);
+    }
+
+    private void skipValue() {
+        char next = peek(tokener);
+        if (next == '{') {
+            readObject(key -> skipValue());
+        } else if (next == '[') {
+            readArray((index, elided) -> {
+                if (!elided) {
+                    skipValue();
+                }
+            });
+        } else {
+            tokener.nextValue();
+        }
+    }
+
+    /**
+     * Reads an object with the same syntax rules as {@link JSONObject#JSONObject(JSONTokener)}. The
+     * {@code propertyHandler} is called with each key, and it has to consume the value of the property.
+     *
+     * @return the keys of the object
+     */
+    private Set<String> readObject(Consumer<String> propertyHandler) {
+        tokener.nextClean();
+        Set<String> keys = new HashSet<>();
+        char next = tokener.nextClean();
+        while (true) {
+            if (next == 0) {
+                throw tokener.syntaxError("A JSONObject text must end with '}'");
+            } else if (next == '}') {
+                return keys;
+            }
+            String key = readKey(next);
+            if (tokener.nextClean() != ':') {
+                throw tokener.syntaxError("Expected a ':' after a key");
+            }
+            if (!keys.add(key)) {
+                throw tokener.syntaxError("Duplicate key \"" + key + "\"");
+            }
+            propertyHandler.accept(key);
+            next = tokener.nextClean();
+            if (next == '}') {
+                return keys;
+            } else if (next != ',' && next != ';') {
+                throw tokener.syntaxError("Expected a ',' or '}'");
+            }
+            next = tokener.nextClean();
+        }
+    }
+
+    private String readKey(char first) {
+        if (first == '"' || first == '\'') {
+            return tokener.nextString(first);
+        }
+        StringBuilder sb = new StringBuilder();
+        char ch = first;
+        while (ch >= ' ' && UNQUOTED_TEXT_DELIMITERS.indexOf(ch) < 0) {
+            sb.append(ch);
+            ch = tokener.next();
+        }
+        if (ch != 0) {
+            tokener.back();
+        }
+        String key = sb.toString().trim();
+        if (key.isEmpty()) {
+            throw tokener.syntaxError("Missing value");
+        }
+        Object value = stringToValue(key);
+        // unlike org.json, the converter also accepts the YAML boolean literals, which org.json keeps as strings
+        if (value instanceof Boolean && !key.equalsIgnoreCase(value.toString())) {
+            return key;
+        }
+        return value.toString();
+    }
+
+    /**
+     * Reads an array with the same syntax rules as {@link org.json.JSONArray#JSONArray(JSONTokener)}. The
+     * {@code itemHandler} has to consume the item, unless the item is elided (like the second item of {@code [1,,3]}),
+     * in which case it is {@code null}.
+     *
+     * @return the length of the array
+     */
+    private int readArray(ItemHandler itemHandler) {
+        tokener.nextClean();
+        char next = tokener.nextClean();
+        if (next == 0) {
+            throw tokener.syntaxError("Expected a ',' or ']'");
+        } else if (next == ']') {
+            return 0;
+        }
+        tokener.back();
+        int length = 0;
+        while (true) {
+            itemHandler.visitItem(length++, peek(tokener) == ',');
+            next = tokener.nextClean();
+            if (next == ']') {
+                return length;
+            } else if (next != ',') {
+                throw tokener.syntaxError("Expected a ',' or ']'");
+            }
+            next = tokener.nextClean();
+            if (next == 0) {
+                throw tokener.syntaxError("Expected a ',' or ']'");
+            } else if (next == ']') {
+                return length;
+            }
+            tokener.back();
+        }
+    }
+}
@@ -5,7 +5,7 @@ import static org.everit.json.schema.FormatValidator.NONE;
 
 import java.util.Objects;
 
-import org.everit.json.schema.regexp.JavaUtilRegexpFactory;
+import org.everit.json.schema.regexp.CachingRegexpFactory;
 import org.everit.json.schema.regexp.Regexp;
 
 /**
@@ -58,7 +58,7 @@ public class StringSchema extends Schema {
         }
 
         public Builder pattern(final String pattern) {
-            return pattern(new JavaUtilRegexpFactory().createHandler(pattern));
+            return pattern(CachingRegexpFactory.defaultInstance().createHandler(pattern));
         }
 
         public Builder pattern(Regexp pattern) {
@@ -167,8 +167,8 @@ public class StringSchema extends Schema {
     }
 
     @Override
-    public int hashCode() {
-        return Objects.hash(super.hashCode(), minLength, maxLength, pattern, requiresString, formatValidator);
+    protected int computeHashCode() {
+        return Objects.hash(super.computeHashCode(), minLength, maxLength, pattern, requiresString, formatValidator);
     }
 
     @Override
@@ -6,6 +6,7 @@ import static java.util.Objects.requireNonNull;
 import java.util.Optional;
 
 import org.everit.json.schema.regexp.Regexp;
+import org.everit.json.schema.regexp.RegexpMatchingFailure;
 
 public class StringSchemaValidatingVisitor
         extends Visitor {
@@ -25,12 +26,13 @@ public class StringSchemaValidatingVisitor
 
     @Override
     void visitStringSchema(StringSchema stringSchema) {
-        owner.ifPassesTypeCheck(String.class, stringSchema.requireString(), stringSchema.isNullable(),
-                stringSubject -> {
-                    this.stringSubject = stringSubject;
-                    this.stringLength = stringSubject.codePointCount(0, stringSubject.length());
-                    super.visitStringSchema(stringSchema);
-                });
+        Object stringSubject = owner.subjectOfKind(ValueKind.STRING, stringSchema.requireString(),
+                stringSchema.isNullable());
+        if (stringSubject != null) {
+            this.stringSubject = (String) stringSubject;
+            this.stringLength = this.stringSubject.codePointCount(0, this.stringSubject.length());
+            super.visitStringSchema(stringSchema);
+        }
     }
 
     @Override
@@ -51,15 +53,26 @@ public class StringSchemaValidatingVisitor
 
     @Override
     void visitPattern(Regexp pattern) {
-        if (pattern != null && pattern.patternMatchingFailure(stringSubject).isPresent()) {
-            String message = format("string [%s] does not match pattern %s", subject, pattern.toString());
+        if (pattern == null) {
+            return;
+        }
+        long start = owner.startProfilingKeyword();
+        Optional<RegexpMatchingFailure> failure = pattern.patternMatchingFailure(stringSubject);
+        owner.profileKeyword("pattern", start, failure.isPresent());
+        if (failure.isPresent()) {
+            String message = failure.get().isBudgetExceeded()
+                    ? format("matching string [%s] against pattern %s exceeded the regexp matching budget", subject,
+                    pattern.toString())
+                    : format("string [%s] does not match pattern %s", subject, pattern.toString());
             owner.failure(message, "pattern");
         }
     }
 
     @Override
     void visitFormat(FormatValidator formatValidator) {
+        long start = owner.startProfilingKeyword();
         Optional<String> failure = formatValidator.validate(stringSubject);
+        owner.profileKeyword("format", start, failure.isPresent());
         if (failure.isPresent()) {
             owner.failure(failure.get(), "format");
         }
@@ -6,8 +6,6 @@ import java.math.BigDecimal;
 import java.math.BigInteger;
 import java.util.HashSet;
 import java.util.Set;
-import java.util.function.Consumer;
-import java.util.function.Function;
 
 import static java.util.Arrays.asList;
 
@@ -15,7 +13,7 @@ import static java.util.Arrays.asList;
  * The methods of this class are copied from {@code org.json.JSONObject}.
  *
  * Although it would be possible to call {@code JSONObject#stringToValue()} from
- * {@link ValidatingVisitor#ifPassesTypeCheck(Class, Function, boolean, Boolean, Consumer)}, we can not do it,
+ * {@link ValidatingVisitor#subjectOfKind(ValueKind, boolean, Boolean)}, we can not do it,
  * because {@code JSONObject#stringToValue()} does not exist in the android flavor of the org.json package,
  * therefore on android it would throw a {@link NoSuchMethodError}. For that reason, these methods are copied
  * to the everit-org/json-schema library, to make sure that they exist at run-time.
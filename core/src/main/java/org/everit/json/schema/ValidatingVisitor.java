@@ -1,57 +1,112 @@
 package org.everit.json.schema;
 
 import static java.lang.String.format;
-import static java.util.Arrays.asList;
-import static java.util.Collections.unmodifiableList;
 import static java.util.Objects.requireNonNull;
-import static java.util.stream.Collectors.joining;
-import static org.everit.json.schema.EnumSchema.toJavaValue;
 import static org.everit.json.schema.PrimitiveValidationStrategy.LENIENT;
 import static org.everit.json.schema.StringToValueConverter.stringToValue;
 
 import java.util.ArrayList;
 import java.util.Collection;
+import java.util.EnumSet;
+import java.util.HashMap;
 import java.util.List;
-import java.util.function.Consumer;
-import java.util.function.Function;
+import java.util.Map;
+import java.util.Queue;
+import java.util.Set;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.function.IntFunction;
 
 import org.everit.json.schema.event.CombinedSchemaMatchEvent;
 import org.everit.json.schema.event.CombinedSchemaMismatchEvent;
 import org.everit.json.schema.event.SchemaReferencedEvent;
+import org.everit.json.schema.event.SelectiveValidationListener;
 import org.everit.json.schema.event.ValidationListener;
-import org.json.JSONArray;
+import org.everit.json.schema.event.ValidationListener.EventKind;
 import org.json.JSONObject;
 
 class ValidatingVisitor extends Visitor {
 
-    private static final List<Class<?>> VALIDATED_TYPES = unmodifiableList(asList(
-            Number.class,
-            String.class,
-            Boolean.class,
-            JSONObject.class,
-            JSONArray.class,
-            JSONObject.NULL.getClass()
-    ));
+    /**
+     * Names the JSON kinds instead of classes, since the classes of objects and arrays depend on the
+     * {@link DocumentAccessor}.
+     */
+    static final String TYPE_FAILURE_MSG = "subject is an instance of non-handled type %s. Should be a JSON value: "
+            + "Number, String, Boolean, null, or an object or array of the validated document model";
 
-    static final String TYPE_FAILURE_MSG = "subject is an instance of non-handled type %s. Should be one of "
-            + VALIDATED_TYPES.stream().map(Class::getSimpleName).collect(joining(", "));
-
-    private static boolean isNull(Object obj) {
+    static boolean isNull(Object obj) {
         return obj == null || JSONObject.NULL.equals(obj);
     }
 
     protected Object subject;
 
+    /**
+     * The kind of {@link #subject}, or {@code null} if it hasn't been classified yet.
+     */
+    private ValueKind subjectKind;
+
     final ValidationListener validationListener;
 
+    private final Set<EventKind> subscribedEvents;
+
+    final DocumentAccessor documentAccessor;
+
     private ValidationFailureReporter failureReporter;
 
     private final ReadWriteValidator readWriteValidator;
 
     private final PrimitiveValidationStrategy primitiveValidationStrategy;
 
+    private final ParallelValidation parallelValidation;
+
+    private final ValidationMemo memo;
+
+    /**
+     * The changed locations of the document, relative to the current subject, if only the changed parts of the
+     * document are validated. {@code null} means that the subject is validated as a whole.
+     */
+    private ChangedLocations changedLocations;
+
+    private final ValidationProfiler profiler;
+
+    /**
+     * The objects whose default values are injected when the validation is finished, each followed by the
+     * {@link ObjectSchema} declaring the default values. An object is added once it is successfully validated, and
+     * removed if an enclosing {@code oneOf}, {@code anyOf}, {@code allOf}, {@code not}, {@code if} or
+     * {@code contains} subschema fails, so the validated objects are never modified before the validation is
+     * finished.
+     */
+    private final List<Object> pendingDefaults = new ArrayList<>();
+
+    /**
+     * The time spent in the nested schemas of the currently profiled schema, if profiling is enabled.
+     */
+    private long profiledNestedNanos;
+
     @Override
     void visit(Schema schema) {
+        if (failureReporter.isAborted()) {
+            return;
+        }
+        if (profiler == null) {
+            validate(schema);
+            return;
+        }
+        long outerNestedNanos = profiledNestedNanos;
+        profiledNestedNanos = 0;
+        int failureWatermark = failureWatermark();
+        boolean failed = true;
+        long start = System.nanoTime();
+        try {
+            validate(schema);
+            failed = hasFailuresSince(failureWatermark);
+        } finally {
+            long elapsed = System.nanoTime() - start;
+            profiler.recordSchema(schema, elapsed, elapsed - profiledNestedNanos, failed);
+            profiledNestedNanos = outerNestedNanos + elapsed;
+        }
+    }
+
+    private void validate(Schema schema) {
         if (Boolean.FALSE.equals(schema.isNullable()) && isNull(subject)) {
             failureReporter.failure("value cannot be null", "nullable");
         }
@@ -62,14 +117,46 @@ class ValidatingVisitor extends Visitor {
     ValidatingVisitor(Object subject, ValidationFailureReporter failureReporter, ReadWriteValidator readWriteValidator,
                       ValidationListener validationListener,
                       PrimitiveValidationStrategy primitiveValidationStrategy) {
-        if (subject != null && !VALIDATED_TYPES.stream().anyMatch(type -> type.isAssignableFrom(subject.getClass()))) {
+        this(subject, failureReporter, readWriteValidator, validationListener, primitiveValidationStrategy,
+                DocumentAccessor.ORG_JSON);
+    }
+
+    ValidatingVisitor(Object subject, ValidationFailureReporter failureReporter, ReadWriteValidator readWriteValidator,
+                      ValidationListener validationListener,
+                      PrimitiveValidationStrategy primitiveValidationStrategy,
+                      DocumentAccessor documentAccessor) {
+        this(subject, failureReporter, readWriteValidator, validationListener, primitiveValidationStrategy,
+                documentAccessor, null, null, null);
+    }
+
+    ValidatingVisitor(Object subject, ValidationFailureReporter failureReporter, ReadWriteValidator readWriteValidator,
+                      ValidationListener validationListener,
+                      PrimitiveValidationStrategy primitiveValidationStrategy,
+                      DocumentAccessor documentAccessor,
+                      ParallelValidation parallelValidation,
+                      ValidationMemo memo,
+                      ValidationProfiler profiler) {
+        this.documentAccessor = requireNonNull(documentAccessor, "documentAccessor cannot be null");
+        if (subject != null && !isValidatedType(subject)) {
             throw new IllegalArgumentException(format(TYPE_FAILURE_MSG, subject.getClass().getSimpleName()));
         }
         this.subject = subject;
         this.failureReporter = failureReporter;
         this.readWriteValidator = readWriteValidator;
         this.validationListener = validationListener;
+        this.subscribedEvents = subscribedEvents(validationListener);
         this.primitiveValidationStrategy = requireNonNull(primitiveValidationStrategy);
+        this.parallelValidation = parallelValidation;
+        this.memo = memo;
+        this.profiler = profiler;
+    }
+
+    private boolean isValidatedType(Object subject) {
+        return isValidatedType(subject, documentAccessor);
+    }
+
+    static boolean isValidatedType(Object subject, DocumentAccessor documentAccessor) {
+        return ValueKind.of(subject, documentAccessor) != ValueKind.UNSUPPORTED;
     }
 
     @Override
@@ -84,7 +171,7 @@ class ValidatingVisitor extends Visitor {
 
     @Override
     void visitBooleanSchema(BooleanSchema schema) {
-        ifPassesTypeCheck(Boolean.class, true, schema.isNullable(), v -> {});
+        subjectOfKind(ValueKind.BOOLEAN, true, schema.isNullable());
     }
 
     @Override
@@ -99,7 +186,7 @@ class ValidatingVisitor extends Visitor {
         if (isNull(subject) && isNull(constSchema.getPermittedValue())) {
             return;
         }
-        Object effectiveSubject = toJavaValue(subject);
+        Object effectiveSubject = toJavaValue(subject, false);
         if (!ObjectComparator.deepEquals(effectiveSubject, constSchema.getPermittedValue())) {
             failureReporter.failure("", "const");
         }
@@ -107,7 +194,7 @@ class ValidatingVisitor extends Visitor {
 
     @Override
     void visitEnumSchema(EnumSchema enumSchema) {
-        Object effectiveSubject = toJavaValue(subject);
+        Object effectiveSubject = toJavaValue(subject, false);
         for (Object possibleValue : enumSchema.getPossibleValues()) {
             if (ObjectComparator.deepEquals(possibleValue, effectiveSubject)) {
                 return;
@@ -124,8 +211,10 @@ class ValidatingVisitor extends Visitor {
     @Override
     void visitNotSchema(NotSchema notSchema) {
         Schema mustNotMatch = notSchema.getMustNotMatch();
-        ValidationException failure = getFailureOfSchema(mustNotMatch, subject);
-        if (failure == null) {
+        int pendingDefaultsMark = pendingDefaultsMark();
+        boolean failed = failsSchemaOnWholeSubject(mustNotMatch, subject);
+        discardPendingDefaults(pendingDefaultsMark);
+        if (!failed) {
             failureReporter.failure("subject must not be valid against schema " + mustNotMatch, "not");
         }
     }
@@ -136,11 +225,13 @@ class ValidatingVisitor extends Visitor {
         if (referredSchema == null) {
             throw new IllegalStateException("referredSchema must be injected before validation");
         }
-        ValidationException failure = getFailureOfSchema(referredSchema, subject);
+        ValidationException failure = memo != null && changedLocations == null && !isListenerSet()
+                ? memo.getFailureOfSchema(referredSchema, subject, this)
+                : getFailureOfSchema(referredSchema, subject);
         if (failure != null) {
             failureReporter.failure(failure);
         }
-        if (validationListener != null) {
+        if (isSubscribed(EventKind.SCHEMA_REFERENCED)) {
             validationListener.schemaReferenced(new SchemaReferencedEvent(referenceSchema, subject, referredSchema));
         }
     }
@@ -160,10 +251,15 @@ class ValidatingVisitor extends Visitor {
         Collection<Schema> subschemas = combinedSchema.subschemasWithCombinedFirst();
         List<ValidationException> failures = new ArrayList<>(subschemas.size());
         CombinedSchema.ValidationCriterion criterion = combinedSchema.getCriterion();
+        boolean incremental = criterion == CombinedSchema.ALL_CRITERION;
         for (Schema subschema : subschemas) {
-            ValidationException exception = getFailureOfSchema(subschema, subject);
+            int pendingDefaultsMark = pendingDefaultsMark();
+            ValidationException exception = incremental
+                    ? getFailureOfSchema(subschema, subject)
+                    : getFailureOfSchemaOnWholeSubject(subschema, subject);
             if (null != exception) {
                 failures.add(exception);
+                discardPendingDefaults(pendingDefaultsMark);
             }
             reportSchemaMatchEvent(combinedSchema, subschema, exception);
         }
@@ -182,23 +278,333 @@ class ValidatingVisitor extends Visitor {
 
     @Override
     void visitConditionalSchema(ConditionalSchema conditionalSchema) {
-        conditionalSchema.accept(new ConditionalSchemaValidatingVisitor(subject, this));
+        ChangedLocations origChangedLocations = changedLocations;
+        changedLocations = null;
+        try {
+            conditionalSchema.accept(new ConditionalSchemaValidatingVisitor(subject, this));
+        } finally {
+            changedLocations = origChangedLocations;
+        }
     }
 
     private void reportSchemaMatchEvent(CombinedSchema schema, Schema subschema, ValidationException failure) {
         if (failure == null) {
-            validationListener.combinedSchemaMatch(new CombinedSchemaMatchEvent(schema, subschema, subject));
-        } else {
-            validationListener.combinedSchemaMismatch(new CombinedSchemaMismatchEvent(schema, subschema, subject, failure));
+            if (isSubscribed(EventKind.COMBINED_SCHEMA_MATCH)) {
+                validationListener.combinedSchemaMatch(new CombinedSchemaMatchEvent(schema, subschema, subject));
+            }
+        } else if (isSubscribed(EventKind.COMBINED_SCHEMA_MISMATCH)) {
+            validationListener.combinedSchemaMismatch(
+                    new CombinedSchemaMismatchEvent(schema, subschema, subject, failure));
+        }
+    }
+
+    /**
+     * Converts {@code value} to the representation of {@code EnumSchema.toJavaValue()}: objects to {@code Map}s,
+     * arrays to {@code List}s, the top-level null to {@code null}, and nested nulls to {@link JSONObject#NULL}.
+     */
+    private Object toJavaValue(Object value, boolean nested) {
+        return toJavaValue(value, nested, documentAccessor);
+    }
+
+    static Object toJavaValue(Object value, boolean nested, DocumentAccessor documentAccessor) {
+        if (documentAccessor == DocumentAccessor.ORG_JSON) {
+            return EnumSchema.toJavaValue(value);
+        }
+        if (documentAccessor.isObject(value)) {
+            Map<String, Object> rval = new HashMap<>(documentAccessor.propertyCount(value));
+            for (String name : documentAccessor.propertyNames(value)) {
+                rval.put(name, toJavaValue(documentAccessor.property(value, name), true, documentAccessor));
+            }
+            return rval;
+        } else if (documentAccessor.isArray(value)) {
+            int length = documentAccessor.length(value);
+            List<Object> rval = new ArrayList<>(length);
+            for (int i = 0; i < length; ++i) {
+                rval.add(toJavaValue(documentAccessor.item(value, i), true, documentAccessor));
+            }
+            return rval;
+        } else if (isNull(value)) {
+            return nested ? JSONObject.NULL : null;
+        }
+        return value;
+    }
+
+    /**
+     * Deep-equals implementation on the values of the validated document, with the same semantics as
+     * {@link ObjectComparator#deepEquals(Object, Object)}.
+     */
+    boolean deepEquals(Object obj1, Object obj2) {
+        return deepEquals(obj1, obj2, documentAccessor);
+    }
+
+    static boolean deepEquals(Object obj1, Object obj2, DocumentAccessor documentAccessor) {
+        if (documentAccessor == DocumentAccessor.ORG_JSON) {
+            return ObjectComparator.deepEquals(obj1, obj2);
+        }
+        if (documentAccessor.isArray(obj1)) {
+            if (!documentAccessor.isArray(obj2)) {
+                return false;
+            }
+            int length = documentAccessor.length(obj1);
+            if (length != documentAccessor.length(obj2)) {
+                return false;
+            }
+            for (int i = 0; i < length; ++i) {
+                if (!deepEquals(documentAccessor.item(obj1, i), documentAccessor.item(obj2, i), documentAccessor)) {
+                    return false;
+                }
+            }
+            return true;
+        } else if (documentAccessor.isObject(obj1)) {
+            if (!documentAccessor.isObject(obj2)) {
+                return false;
+            }
+            Collection<String> names = documentAccessor.propertyNames(obj1);
+            if (names.size() != documentAccessor.propertyCount(obj2)) {
+                return false;
+            }
+            for (String name : names) {
+                if (!documentAccessor.hasProperty(obj2, name) || !deepEquals(documentAccessor.property(obj1, name),
+                        documentAccessor.property(obj2, name), documentAccessor)) {
+                    return false;
+                }
+            }
+            return true;
+        } else if (isNull(obj1)) {
+            return isNull(obj2);
+        }
+        return ObjectComparator.deepEquals(obj1, obj2);
+    }
+
+    /**
+     * Validates a root document with this visitor, so that the visitor can be reused for validating multiple
+     * documents.
+     */
+    ValidationException getFailureOfDocument(Schema schema, Object document) {
+        if (document != null && !isValidatedType(document)) {
+            throw new IllegalArgumentException(format(TYPE_FAILURE_MSG, document.getClass().getSimpleName()));
+        }
+        ValidationException failure = getFailureOfSchema(schema, document);
+        injectPendingDefaults();
+        return failure;
+    }
+
+    /**
+     * Validates only the changed parts of {@code document}, assuming that the rest of it was valid.
+     */
+    ValidationException getFailureOfChangedDocument(Schema schema, Object document,
+            ChangedLocations changedLocations) {
+        if (changedLocations.isChangedAsWhole()) {
+            return getFailureOfDocument(schema, document);
+        }
+        this.changedLocations = changedLocations;
+        try {
+            return getFailureOfDocument(schema, document);
+        } finally {
+            this.changedLocations = null;
+        }
+    }
+
+    /**
+     * Validates {@code input}, which is the {@code name} child of the current subject, against {@code schema}. If only
+     * the changed locations are validated, and the child is unchanged, then it is not validated.
+     */
+    ValidationException getFailureOfChild(String name, Schema schema, Object input) {
+        if (changedLocations == null) {
+            return getFailureOfSchema(schema, input);
+        }
+        ChangedLocations child = changedLocations.child(name);
+        if (child == null) {
+            return null;
+        }
+        ChangedLocations origChangedLocations = changedLocations;
+        changedLocations = child.isChangedAsWhole() ? null : child;
+        try {
+            return getFailureOfSchema(schema, input);
+        } finally {
+            changedLocations = origChangedLocations;
+        }
+    }
+
+    /**
+     * Validates {@code input} against {@code schema} as a whole, even if only the changed locations of the current
+     * subject are validated otherwise. Used by the keywords whose result depends on the result of validating unchanged
+     * locations.
+     */
+    ValidationException getFailureOfSchemaOnWholeSubject(Schema schema, Object input) {
+        if (changedLocations == null) {
+            return getFailureOfSchema(schema, input);
+        }
+        ChangedLocations origChangedLocations = changedLocations;
+        changedLocations = null;
+        try {
+            return getFailureOfSchema(schema, input);
+        } finally {
+            changedLocations = origChangedLocations;
+        }
+    }
+
+    /**
+     * Counterpart of {@link #getFailureOfSchemaOnWholeSubject(Schema, Object)} for keywords which only need to know if
+     * {@code input} fails {@code schema}.
+     */
+    boolean failsSchemaOnWholeSubject(Schema schema, Object input) {
+        if (changedLocations == null) {
+            return failsSchema(schema, input);
+        }
+        ChangedLocations origChangedLocations = changedLocations;
+        changedLocations = null;
+        try {
+            return failsSchema(schema, input);
+        } finally {
+            changedLocations = origChangedLocations;
         }
     }
 
     ValidationException getFailureOfSchema(Schema schema, Object input) {
         Object origSubject = this.subject;
-        this.subject = input;
-        ValidationException rval = failureReporter.inContextOfSchema(schema, () -> visit(schema));
+        ValueKind origSubjectKind = this.subjectKind;
+        Schema origSchema = failureReporter.schema;
+        int failureWatermark = enterSchema(schema, input);
+        visit(schema);
+        ValidationException failure = failureReporter.leaveSchema(origSchema, failureWatermark);
+        this.subject = origSubject;
+        this.subjectKind = origSubjectKind;
+        return failure;
+    }
+
+    /**
+     * Counterpart of {@link #getFailureOfSchema(Schema, Object)} which discards the failures instead of building an
+     * exception of them.
+     */
+    boolean failsSchema(Schema schema, Object input) {
+        Object origSubject = this.subject;
+        ValueKind origSubjectKind = this.subjectKind;
+        Schema origSchema = failureReporter.schema;
+        int failureWatermark = enterSchema(schema, input);
+        visit(schema);
+        boolean failed = failureReporter.leaveSchemaFailed(origSchema, failureWatermark);
         this.subject = origSubject;
-        return rval;
+        this.subjectKind = origSubjectKind;
+        return failed;
+    }
+
+    private int enterSchema(Schema schema, Object input) {
+        if (input != subject) {
+            this.subject = input;
+            this.subjectKind = null;
+        }
+        return failureReporter.enterSchema(schema);
+    }
+
+    /**
+     * Returns {@code true} if {@link #getFailuresOfSchemas(int, IntFunction, IntFunction)} should be used for
+     * validating {@code itemCount} subjects. Parallel validation is not used if the validation listener is set, since
+     * its events would be fired in nondeterministic order.
+     */
+    boolean canValidateInParallel(int itemCount) {
+        return parallelValidation != null
+                && changedLocations == null
+                && !isListenerSet()
+                && parallelValidation.isWorthParallelizing(itemCount);
+    }
+
+    /**
+     * Parallel counterpart of calling {@link #getFailureOfSchema(Schema, Object)} for each index in
+     * {@code [0, itemCount)}.
+     *
+     * @return the failures by index
+     */
+    ValidationException[] getFailuresOfSchemas(int itemCount, IntFunction<Schema> schemaForIndex,
+            IntFunction<Object> subjectForIndex) {
+        Queue<ValidatingVisitor> forks = new ConcurrentLinkedQueue<>();
+        ValidationException[] failures = parallelValidation.failuresOf(itemCount, schemaForIndex, subjectForIndex,
+                () -> {
+                    ValidatingVisitor fork = fork();
+                    forks.add(fork);
+                    return fork;
+                }, failureReporter instanceof EarlyFailingFailureReporter);
+        for (ValidatingVisitor fork : forks) {
+            pendingDefaults.addAll(fork.pendingDefaults);
+        }
+        return failures;
+    }
+
+    private ValidatingVisitor fork() {
+        ValidationFailureReporter forkedReporter = failureReporter instanceof EarlyFailingFailureReporter
+                ? new EarlyFailingFailureReporter(failureReporter.schema)
+                : new CollectingFailureReporter(failureReporter.schema);
+        return new ValidatingVisitor(null, forkedReporter, parallelValidation.createReadWriteValidator(forkedReporter),
+                validationListener, primitiveValidationStrategy, documentAccessor, parallelValidation,
+                memo == null ? null : memo.fork(), profiler);
+    }
+
+    /**
+     * Schedules the injection of the default values of {@code objectSchema} into {@code object}, which is
+     * successfully validated against it.
+     */
+    void deferDefaults(Object object, ObjectSchema objectSchema) {
+        pendingDefaults.add(object);
+        pendingDefaults.add(objectSchema);
+    }
+
+    /**
+     * @return the current state of the pending defaults, to be passed to {@link #discardPendingDefaults(int)}
+     */
+    int pendingDefaultsMark() {
+        return pendingDefaults.size();
+    }
+
+    /**
+     * Discards the defaults deferred since {@code mark} was taken, when validating a subschema whose failure doesn't
+     * fail the enclosing schema on its own.
+     */
+    void discardPendingDefaults(int mark) {
+        if (pendingDefaults.size() > mark) {
+            pendingDefaults.subList(mark, pendingDefaults.size()).clear();
+        }
+    }
+
+    /**
+     * Injects the pending defaults into the validated objects. Properties which are already present aren't
+     * overwritten.
+     */
+    void injectPendingDefaults() {
+        for (int i = 0; i < pendingDefaults.size(); i += 2) {
+            Object object = pendingDefaults.get(i);
+            ObjectSchema objectSchema = (ObjectSchema) pendingDefaults.get(i + 1);
+            for (Map.Entry<String, Object> entry : objectSchema.getPropertyDefaults().entrySet()) {
+                if (!documentAccessor.hasProperty(object, entry.getKey())) {
+                    documentAccessor.putProperty(object, entry.getKey(), entry.getValue());
+                }
+            }
+        }
+        pendingDefaults.clear();
+    }
+
+    private boolean isListenerSet() {
+        return !subscribedEvents.isEmpty();
+    }
+
+    /**
+     * Returns {@code true} if the listener subscribes to {@code eventKind}. No events are fired while the rest of a
+     * failed schema is skipped.
+     */
+    boolean isSubscribed(EventKind eventKind) {
+        return subscribedEvents.contains(eventKind) && !failureReporter.isAborted();
+    }
+
+    /**
+     * @return the event kinds {@code validationListener} subscribes to, or an empty set if it is {@code null}
+     */
+    static Set<EventKind> subscribedEvents(ValidationListener validationListener) {
+        Set<EventKind> subscribedEvents = EnumSet.noneOf(EventKind.class);
+        if (validationListener instanceof SelectiveValidationListener) {
+            subscribedEvents.addAll(((SelectiveValidationListener) validationListener).subscribedEvents());
+        } else if (validationListener != null) {
+            subscribedEvents.addAll(EnumSet.allOf(EventKind.class));
+        }
+        return subscribedEvents;
     }
 
     void failIfErrorFound() {
@@ -217,42 +623,82 @@ class ValidatingVisitor extends Visitor {
         failureReporter.failure(exc);
     }
 
-    Object getFailureState() {
-        return failureReporter.getState();
+    /**
+     * @return the start time of a keyword check to be passed to {@link #profileKeyword(String, long, boolean)}, or
+     * {@code 0} if profiling is disabled
+     */
+    long startProfilingKeyword() {
+        return profiler == null ? 0 : System.nanoTime();
+    }
+
+    void profileKeyword(String keyword, long start, boolean failed) {
+        if (profiler != null) {
+            long elapsed = System.nanoTime() - start;
+            profiler.recordKeyword(keyword, elapsed, elapsed, failed);
+        }
+    }
+
+    /**
+     * @return the current watermark of the failures, to be passed to {@link #hasFailuresSince(int)}
+     */
+    int failureWatermark() {
+        return failureReporter.failureWatermark();
     }
 
-    boolean isFailureStateChanged(Object olState) {
-        return failureReporter.isChanged(olState);
+    boolean hasFailuresSince(int failureWatermark) {
+        return failureReporter.hasFailuresSince(failureWatermark);
     }
 
-    <SE, E extends SE> void ifPassesTypeCheck(Class<E> expectedType, Function<Object, SE> castFn, boolean schemaRequiresType, Boolean nullable,
-                                              Consumer<SE> onPass) {
+    /**
+     * @return the kind of the current subject, classified once per subject
+     */
+    ValueKind subjectKind() {
+        if (subjectKind == null) {
+            subjectKind = ValueKind.of(subject, documentAccessor);
+        }
+        return subjectKind;
+    }
+
+    /**
+     * Type check of the current subject. Failures report the {@link ValueKind#expectedType} of {@code expected} (for
+     * example {@link JSONObject} for objects, regardless of the document model).
+     *
+     * @param expected
+     *         the kind expected by the schema
+     * @param schemaRequiresType
+     *         if {@code false}, then subjects of other kinds are accepted (without being validated any further)
+     * @param nullable
+     *         the {@code nullable} property of the schema
+     * @return the subject (converted to the expected kind if the {@link PrimitiveValidationStrategy#LENIENT lenient
+     * strategy} is used) if it has to be validated further by the schema, or {@code null} if it is null or of an
+     * other kind
+     */
+    Object subjectOfKind(ValueKind expected, boolean schemaRequiresType, Boolean nullable) {
         Object subject = this.subject;
+        ValueKind kind;
         if (primitiveValidationStrategy == LENIENT) {
-            boolean expectedString = expectedType.isAssignableFrom(String.class);
+            boolean expectedString = expected == ValueKind.STRING;
             if (subject instanceof String && !expectedString) {
                 subject = stringToValue((String) subject);
             } else if (expectedString) {
                 subject = subject.toString();
             }
+            kind = ValueKind.of(subject, documentAccessor);
+        } else {
+            kind = subjectKind();
         }
-        if (isNull(subject)) {
+        if (kind == ValueKind.NULL) {
             if (schemaRequiresType && !Boolean.TRUE.equals(nullable)) {
-                failureReporter.failure(expectedType, this.subject);
+                failureReporter.failure(expected.expectedType, this.subject);
             }
-            return;
+            return null;
         }
-        if (TypeChecker.isAssignableFrom(expectedType, subject.getClass())) {
-            onPass.accept(castFn.apply(subject));
-            return;
+        if (kind.matches(expected)) {
+            return subject;
         }
         if (schemaRequiresType) {
-            failureReporter.failure(expectedType, this.subject);
+            failureReporter.failure(expected.expectedType, this.subject);
         }
-    }
-
-    <E> void ifPassesTypeCheck(Class<E> expectedType, boolean schemaRequiresType, Boolean nullable,
-                               Consumer<E> onPass) {
-        ifPassesTypeCheck(expectedType, expectedType::cast, schemaRequiresType, nullable, onPass);
+        return null;
     }
 }
@@ -8,6 +8,11 @@ import static java.util.Objects.requireNonNull;
  * The validation always happens in the context of some "current schema". This {@link Schema} instance will
  * be the {@link ValidationException#getViolatedSchema() violated schema} of the {@code ValidationException}s created.
  * </p>
+ * <p>
+ * Subschemas are validated between {@link #enterSchema(Schema)} and {@link #leaveSchema(Schema, int)} calls. The
+ * failures reported in between are identified by the watermark returned by {@code enterSchema()}, so the failures of
+ * a subschema can be taken out of the reporter without allocating anything if there are none.
+ * </p>
  */
 abstract class ValidationFailureReporter {
 
@@ -18,31 +23,71 @@ abstract class ValidationFailureReporter {
     }
 
     void failure(String message, String keyword) {
-        failure(new InternalValidationException(schema, message, keyword, schema.getSchemaLocation()));
+        if (!isAborted()) {
+            failure(new InternalValidationException(schema, message, keyword, schema.getSchemaLocation()));
+        }
     }
 
     void failure(Class<?> expectedType, Object actualValue) {
-        failure(new InternalValidationException(schema, expectedType, actualValue, "type", schema.getSchemaLocation()));
+        if (!isAborted()) {
+            failure(new InternalValidationException(schema, expectedType, actualValue, "type",
+                    schema.getSchemaLocation()));
+        }
     }
 
     abstract void failure(ValidationException exc);
 
-    ValidationException inContextOfSchema(Schema schema, Runnable task) {
-        requireNonNull(schema, "schema cannot be null");
-        Schema origSchema = this.schema;
-        this.schema = schema;
-        task.run();
-        this.schema = origSchema;
-        return null;
+    /**
+     * Makes {@code schema} the current schema, until the matching {@link #leaveSchema(Schema, int)} or
+     * {@link #leaveSchemaFailed(Schema, int)} call.
+     *
+     * @return the watermark to be passed to the matching {@code leaveSchema()} call
+     */
+    int enterSchema(Schema schema) {
+        this.schema = requireNonNull(schema, "schema cannot be null");
+        return failureWatermark();
     }
 
-    abstract void validationFinished();
+    /**
+     * Restores {@code origSchema} as the current schema, and removes the failures reported since {@code watermark}.
+     *
+     * @return the removed failures (wrapped into a single exception if there are more than one), or {@code null}
+     */
+    ValidationException leaveSchema(Schema origSchema, int watermark) {
+        ValidationException failure = removeFailuresSince(watermark);
+        this.schema = origSchema;
+        return failure;
+    }
 
-    Object getState() {
-        return null;
+    /**
+     * Counterpart of {@link #leaveSchema(Schema, int)} for callers which only need to know if the schema failed.
+     *
+     * @return {@code true} if any failures were reported since {@code watermark}
+     */
+    boolean leaveSchemaFailed(Schema origSchema, int watermark) {
+        boolean failed = discardFailuresSince(watermark);
+        this.schema = origSchema;
+        return failed;
     }
 
-    boolean isChanged(Object oldState) {
+    abstract ValidationException removeFailuresSince(int watermark);
+
+    abstract boolean discardFailuresSince(int watermark);
+
+    /**
+     * @return the current watermark, to be passed to {@link #hasFailuresSince(int)}
+     */
+    abstract int failureWatermark();
+
+    abstract boolean hasFailuresSince(int watermark);
+
+    /**
+     * Returns {@code true} if the result of the current schema is already known to be a failure, so the rest of its
+     * validation can be skipped.
+     */
+    boolean isAborted() {
         return false;
     }
+
+    abstract void validationFinished();
 }
@@ -0,0 +1,180 @@
+package org.everit.json.schema;
+
+import static java.util.Objects.requireNonNull;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+import org.json.JSONObject;
+
+/**
+ * Bounded cache of validation results, keyed by the identity of the schema and the structure of the subject.
+ * <p>
+ * The cached failures are stored relative to the subject, and copied on each lookup, so that they can be prepended
+ * by the location of the repeated subject. Subjects which are modified by their validation (due to default value
+ * injection) are never served from the cache.
+ */
+class ValidationMemo {
+
+    private static class Key {
+
+        private final Schema schema;
+
+        private final Object subject;
+
+        private final int hash;
+
+        private final DocumentAccessor documentAccessor;
+
+        Key(Schema schema, Object subject, int subjectHash, DocumentAccessor documentAccessor) {
+            this.schema = schema;
+            this.subject = subject;
+            this.hash = 31 * System.identityHashCode(schema) + subjectHash;
+            this.documentAccessor = documentAccessor;
+        }
+
+        @Override public int hashCode() {
+            return hash;
+        }
+
+        @Override public boolean equals(Object o) {
+            if (!(o instanceof Key)) {
+                return false;
+            }
+            Key key = (Key) o;
+            return hash == key.hash && schema == key.schema
+                    && structurallyEquals(subject, key.subject, documentAccessor);
+        }
+    }
+
+    private static boolean isNull(Object obj) {
+        return obj == null || JSONObject.NULL.equals(obj);
+    }
+
+    /**
+     * Structural hash of {@code value}, consistent with {@link #structurallyEquals(Object, Object, DocumentAccessor)}.
+     */
+    static int structuralHash(Object value, DocumentAccessor documentAccessor) {
+        if (documentAccessor.isObject(value)) {
+            int hash = 1;
+            for (String name : documentAccessor.propertyNames(value)) {
+                hash += name.hashCode() ^ structuralHash(documentAccessor.property(value, name), documentAccessor);
+            }
+            return hash;
+        } else if (documentAccessor.isArray(value)) {
+            int hash = 2;
+            for (int i = 0, length = documentAccessor.length(value); i < length; ++i) {
+                hash = 31 * hash + structuralHash(documentAccessor.item(value, i), documentAccessor);
+            }
+            return hash;
+        } else if (isNull(value)) {
+            return 0;
+        }
+        return value.hashCode();
+    }
+
+    /**
+     * Strict structural equality: unlike {@link ObjectComparator#deepEquals(Object, Object)}, numbers of different
+     * types are not equal, since they may be validated differently.
+     */
+    static boolean structurallyEquals(Object obj1, Object obj2, DocumentAccessor documentAccessor) {
+        if (obj1 == obj2) {
+            return true;
+        }
+        if (documentAccessor.isObject(obj1)) {
+            if (!documentAccessor.isObject(obj2)) {
+                return false;
+            }
+            Collection<String> names = documentAccessor.propertyNames(obj1);
+            if (names.size() != documentAccessor.propertyCount(obj2)) {
+                return false;
+            }
+            for (String name : names) {
+                if (!documentAccessor.hasProperty(obj2, name) || !structurallyEquals(
+                        documentAccessor.property(obj1, name), documentAccessor.property(obj2, name), documentAccessor)) {
+                    return false;
+                }
+            }
+            return true;
+        } else if (documentAccessor.isArray(obj1)) {
+            if (!documentAccessor.isArray(obj2)) {
+                return false;
+            }
+            int length = documentAccessor.length(obj1);
+            if (length != documentAccessor.length(obj2)) {
+                return false;
+            }
+            for (int i = 0; i < length; ++i) {
+                if (!structurallyEquals(documentAccessor.item(obj1, i), documentAccessor.item(obj2, i),
+                        documentAccessor)) {
+                    return false;
+                }
+            }
+            return true;
+        } else if (isNull(obj1)) {
+            return isNull(obj2);
+        }
+        return obj1 != null && obj1.equals(obj2);
+    }
+
+    private static ValidationException copy(ValidationException failure) {
+        if (failure == null) {
+            return null;
+        }
+        List<ValidationException> causes = new ArrayList<>(failure.getCausingExceptions().size());
+        for (ValidationException cause : failure.getCausingExceptions()) {
+            causes.add(copy(cause));
+        }
+        return new InternalValidationException(failure.getViolatedSchema(),
+                new StringBuilder(failure.getPointerToViolation()), failure.getErrorMessage(), causes,
+                failure.getKeyword(), failure.getSchemaLocation());
+    }
+
+    private final int maxEntries;
+
+    private final DocumentAccessor documentAccessor;
+
+    private final Map<Key, Optional<ValidationException>> entries;
+
+    ValidationMemo(int maxEntries, DocumentAccessor documentAccessor) {
+        this.maxEntries = maxEntries;
+        this.documentAccessor = requireNonNull(documentAccessor, "documentAccessor cannot be null");
+        this.entries = new LinkedHashMap<Key, Optional<ValidationException>>(16, 0.75f, true) {
+
+            @Override protected boolean removeEldestEntry(Map.Entry<Key, Optional<ValidationException>> eldest) {
+                return size() > maxEntries;
+            }
+        };
+    }
+
+    /**
+     * @return an empty memo with the same configuration, for use by an other thread
+     */
+    ValidationMemo fork() {
+        return new ValidationMemo(maxEntries, documentAccessor);
+    }
+
+    /**
+     * Returns the cached failure of {@code subject} against {@code schema}, or computes it with {@code visitor}.
+     * The computed failure is not cached if the validation deferred the injection of default values, since then the
+     * repeated subjects have to be validated (and modified) as well.
+     */
+    ValidationException getFailureOfSchema(Schema schema, Object subject, ValidatingVisitor visitor) {
+        int subjectHash = structuralHash(subject, documentAccessor);
+        Key key = new Key(schema, subject, subjectHash, documentAccessor);
+        Optional<ValidationException> cachedFailure = entries.get(key);
+        if (cachedFailure != null) {
+            return copy(cachedFailure.orElse(null));
+        }
+        int pendingDefaultsMark = visitor.pendingDefaultsMark();
+        ValidationException failure = visitor.getFailureOfSchema(schema, subject);
+        if (pendingDefaultsMark == visitor.pendingDefaultsMark()) {
+            entries.put(key, Optional.ofNullable(copy(failure)));
+        }
+        return failure;
+    }
+}
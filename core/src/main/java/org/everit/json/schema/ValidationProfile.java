@@ -0,0 +1,144 @@
+package org.everit.json.schema;
+
+import static java.util.Collections.unmodifiableList;
+import static java.util.Comparator.comparingLong;
+import static java.util.Objects.requireNonNull;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * Snapshot of the measurements of a {@link ValidationProfiler}.
+ */
+public class ValidationProfile {
+
+    /**
+     * The measurements of a single schema location or keyword.
+     */
+    public static class Entry {
+
+        private final String name;
+
+        private final long invocationCount;
+
+        private final long totalNanos;
+
+        private final long selfNanos;
+
+        private final long failureCount;
+
+        Entry(String name, long invocationCount, long totalNanos, long selfNanos, long failureCount) {
+            this.name = requireNonNull(name, "name cannot be null");
+            this.invocationCount = invocationCount;
+            this.totalNanos = totalNanos;
+            this.selfNanos = selfNanos;
+            this.failureCount = failureCount;
+        }
+
+        /**
+         * @return the schema location or the keyword
+         */
+        public String getName() {
+            return name;
+        }
+
+        public long getInvocationCount() {
+            return invocationCount;
+        }
+
+        public long getTotalNanos() {
+            return totalNanos;
+        }
+
+        /**
+         * @return the total time minus the time spent in the nested subschemas
+         */
+        public long getSelfNanos() {
+            return selfNanos;
+        }
+
+        /**
+         * @return the number of invocations which found the subject invalid
+         */
+        public long getFailureCount() {
+            return failureCount;
+        }
+
+        @Override public String toString() {
+            return String.format(Locale.ROOT, "%s: invocations=%d, total=%dns, self=%dns, failures=%d",
+                    name, invocationCount, totalNanos, selfNanos, failureCount);
+        }
+    }
+
+    private static final Comparator<Entry> BY_SELF_TIME = comparingLong(Entry::getSelfNanos).reversed()
+            .thenComparing(Entry::getName);
+
+    private final List<Entry> schemaLocations;
+
+    private final List<Entry> keywords;
+
+    ValidationProfile(List<Entry> schemaLocations, List<Entry> keywords) {
+        this.schemaLocations = unmodifiableList(sortedBySelfTime(schemaLocations));
+        this.keywords = unmodifiableList(sortedBySelfTime(keywords));
+    }
+
+    private static List<Entry> sortedBySelfTime(List<Entry> entries) {
+        List<Entry> sorted = new ArrayList<>(entries);
+        sorted.sort(BY_SELF_TIME);
+        return sorted;
+    }
+
+    /**
+     * @return the measurements of the schema locations, in descending order of self time
+     */
+    public List<Entry> getSchemaLocations() {
+        return schemaLocations;
+    }
+
+    /**
+     * @return the measurements of the keywords, in descending order of self time
+     */
+    public List<Entry> getKeywords() {
+        return keywords;
+    }
+
+    /**
+     * @param limit
+     *         the maximum number of returned locations
+     * @return the schema locations with the highest self time
+     */
+    public List<Entry> getHotSpots(int limit) {
+        return schemaLocations.subList(0, Math.min(limit, schemaLocations.size()));
+    }
+
+    /**
+     * Renders the {@link #getHotSpots(int) hot spots} and the keywords as a human-readable table.
+     *
+     * @param limit
+     *         the maximum number of listed locations
+     * @return the report
+     */
+    public String toHotSpotReport(int limit) {
+        StringBuilder report = new StringBuilder();
+        appendTable(report, "schema location", getHotSpots(limit));
+        report.append('\n');
+        appendTable(report, "keyword", keywords);
+        return report.toString();
+    }
+
+    private static void appendTable(StringBuilder report, String nameHeader, List<Entry> entries) {
+        report.append(String.format(Locale.ROOT, "%12s %12s %12s %10s  %s%n",
+                "self (ms)", "total (ms)", "invocations", "failures", nameHeader));
+        for (Entry entry : entries) {
+            report.append(String.format(Locale.ROOT, "%12.3f %12.3f %12d %10d  %s%n",
+                    entry.getSelfNanos() / 1e6, entry.getTotalNanos() / 1e6, entry.getInvocationCount(),
+                    entry.getFailureCount(), entry.getName()));
+        }
+    }
+
+    @Override public String toString() {
+        return toHotSpotReport(schemaLocations.size());
+    }
+}
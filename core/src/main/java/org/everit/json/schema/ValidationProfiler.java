@@ -0,0 +1,120 @@
+package org.everit.json.schema;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Records how much time the validation spends in the subschemas and in the costly keywords of the validated schemas.
+ * <p>
+ * A profiler is attached to a validator by {@link Validator.ValidatorBuilder#profiler(ValidationProfiler)}, and it
+ * accumulates the measurements of all validations performed by that validator (or by multiple validators sharing the
+ * profiler) until it is {@link #reset() reset}. Instances are thread-safe.
+ * <p>
+ * The measurements are grouped by
+ * <ul>
+ *     <li>the {@link SchemaLocation} of the visited schemas: the total time of a location is the time spent in the
+ *     validation of the subschema at that location, and its self time is the total time minus the time spent in the
+ *     nested subschemas</li>
+ *     <li>keywords: {@code allOf}, {@code anyOf}, {@code oneOf}, {@code $ref}, {@code if}, {@code not}, {@code enum}
+ *     and {@code const} are measured like locations, {@code pattern}, {@code format} and {@code uniqueItems} are
+ *     measured as single checks</li>
+ * </ul>
+ * If parallel validation is enabled, then the time spent in the items validated on other threads is included in the
+ * self time of the forking schema (as time spent waiting for the items).
+ */
+public class ValidationProfiler {
+
+    private static final String UNKNOWN_LOCATION = "<unknown location>";
+
+    private static class Counters {
+
+        final LongAdder invocationCount = new LongAdder();
+
+        final LongAdder totalNanos = new LongAdder();
+
+        final LongAdder selfNanos = new LongAdder();
+
+        final LongAdder failureCount = new LongAdder();
+
+        void record(long totalNanos, long selfNanos, boolean failed) {
+            this.invocationCount.increment();
+            this.totalNanos.add(totalNanos);
+            this.selfNanos.add(selfNanos);
+            if (failed) {
+                this.failureCount.increment();
+            }
+        }
+
+        ValidationProfile.Entry toEntry(String name) {
+            return new ValidationProfile.Entry(name, invocationCount.sum(), totalNanos.sum(), selfNanos.sum(),
+                    failureCount.sum());
+        }
+    }
+
+    /**
+     * Returns the keyword which is measured when visiting {@code schema}, or {@code null} if the visit of
+     * {@code schema} is measured only by location.
+     */
+    static String keywordOf(Schema schema) {
+        if (schema instanceof CombinedSchema) {
+            return ((CombinedSchema) schema).getCriterion().toString();
+        } else if (schema instanceof ReferenceSchema) {
+            return "$ref";
+        } else if (schema instanceof ConditionalSchema) {
+            return "if";
+        } else if (schema instanceof NotSchema) {
+            return "not";
+        } else if (schema instanceof EnumSchema) {
+            return "enum";
+        } else if (schema instanceof ConstSchema) {
+            return "const";
+        }
+        return null;
+    }
+
+    private final ConcurrentMap<String, Counters> schemaLocations = new ConcurrentHashMap<>();
+
+    private final ConcurrentMap<String, Counters> keywords = new ConcurrentHashMap<>();
+
+    void recordSchema(Schema schema, long totalNanos, long selfNanos, boolean failed) {
+        String location = schema.getSchemaLocation();
+        String locationName = location == null ? UNKNOWN_LOCATION : location;
+        schemaLocations.computeIfAbsent(locationName, name -> new Counters()).record(totalNanos, selfNanos, failed);
+        String keyword = keywordOf(schema);
+        if (keyword != null) {
+            recordKeyword(keyword, totalNanos, selfNanos, failed);
+        }
+    }
+
+    void recordKeyword(String keyword, long totalNanos, long selfNanos, boolean failed) {
+        keywords.computeIfAbsent(keyword, name -> new Counters()).record(totalNanos, selfNanos, failed);
+    }
+
+    /**
+     * Returns the measurements recorded so far. Validations running concurrently with this method may be partially
+     * included in the returned profile.
+     *
+     * @return the snapshot of the measurements
+     */
+    public ValidationProfile snapshot() {
+        return new ValidationProfile(toEntries(schemaLocations), toEntries(keywords));
+    }
+
+    private static List<ValidationProfile.Entry> toEntries(Map<String, Counters> countersByName) {
+        List<ValidationProfile.Entry> entries = new ArrayList<>(countersByName.size());
+        countersByName.forEach((name, counters) -> entries.add(counters.toEntry(name)));
+        return entries;
+    }
+
+    /**
+     * Discards the measurements recorded so far.
+     */
+    public void reset() {
+        schemaLocations.clear();
+        keywords.clear();
+    }
+}
@@ -1,6 +1,22 @@
 package org.everit.json.schema;
 
+import static java.util.Objects.requireNonNull;
+import static java.util.stream.Collectors.toList;
+
+import java.io.Reader;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.ForkJoinPool;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+
 import org.everit.json.schema.event.ValidationListener;
+import org.everit.json.schema.internal.jfr.FlightRecorderEvents;
+import org.everit.json.schema.metrics.MetricNames;
+import org.everit.json.schema.metrics.MetricsRecorder;
+import org.json.JSONArray;
+import org.json.JSONTokener;
 
 public interface Validator {
 
@@ -14,6 +30,20 @@ public interface Validator {
 
         private PrimitiveValidationStrategy primitiveValidationStrategy = PrimitiveValidationStrategy.STRICT;
 
+        private DocumentAccessor documentAccessor = DocumentAccessor.ORG_JSON;
+
+        private int parallelismThreshold = -1;
+
+        private ForkJoinPool parallelismPool;
+
+        private int memoizationMaxEntries = 0;
+
+        private int compilationThreshold = 0;
+
+        private ValidationProfiler profiler;
+
+        private MetricsRecorder metrics = MetricsRecorder.NOOP;
+
         public ValidatorBuilder failEarly() {
             this.failEarly = true;
             return this;
@@ -34,8 +64,128 @@ public interface Validator {
             return this;
         }
 
+        /**
+         * Sets the object model of the validated documents. By default the validator expects {@code org.json} trees.
+         *
+         * @param documentAccessor
+         *         the accessor of the objects and arrays of the validated documents, for example
+         *         {@link DocumentAccessor#JAVA_COLLECTIONS} for documents represented as {@code Map}s and {@code List}s
+         * @return {@code this}
+         */
+        public ValidatorBuilder documentAccessor(DocumentAccessor documentAccessor) {
+            this.documentAccessor = requireNonNull(documentAccessor, "documentAccessor cannot be null");
+            return this;
+        }
+
+        /**
+         * Enables validating the items of large arrays (and the values of {@code additionalProperties} and
+         * {@code patternProperties} of wide objects) in parallel. The reported violations are the same as the ones
+         * reported by sequential validation.
+         * <p>
+         * Parallel validation is not used if a {@link #withListener(ValidationListener) validation listener} is set.
+         *
+         * @param threshold
+         *         the minimum number of items validated against the same schema for validating them in parallel
+         * @param pool
+         *         the pool executing the validation tasks
+         * @return {@code this}
+         */
+        public ValidatorBuilder parallelism(int threshold, ForkJoinPool pool) {
+            if (threshold < 1) {
+                throw new IllegalArgumentException("threshold must be positive, was: " + threshold);
+            }
+            this.parallelismThreshold = threshold;
+            this.parallelismPool = requireNonNull(pool, "pool cannot be null");
+            return this;
+        }
+
+        /**
+         * Enables parallel validation on the {@link ForkJoinPool#commonPool() common pool}.
+         *
+         * @see #parallelism(int, ForkJoinPool)
+         */
+        public ValidatorBuilder parallelism(int threshold) {
+            return parallelism(threshold, ForkJoinPool.commonPool());
+        }
+
+        /**
+         * Enables caching the results of validating subjects against referenced schemas ({@code $ref}), so that
+         * repeated identical subtrees of a document (like the same address in many line items) are validated only
+         * once. The cache is scoped to a single {@link Validator#performValidation(Schema, Object)} call, or to a
+         * single {@link Validator#validateAll(Schema, Stream) batch}.
+         * <p>
+         * Memoization is not used if a {@link #withListener(ValidationListener) validation listener} is set. Subjects
+         * which are modified by their validation (due to default value injection) are always validated.
+         *
+         * @param maxEntries
+         *         the maximum number of cached results, the least recently used ones are evicted
+         * @return {@code this}
+         */
+        public ValidatorBuilder memoization(int maxEntries) {
+            if (maxEntries < 1) {
+                throw new IllegalArgumentException("maxEntries must be positive, was: " + maxEntries);
+            }
+            this.memoizationMaxEntries = maxEntries;
+            return this;
+        }
+
+        /**
+         * Enables compiling the schemas which are used for validating at least {@code threshold} documents into
+         * specialized checks, which decide the validity of the documents faster than the default validation. Invalid
+         * documents are re-validated the default way, therefore the reported violations don't change.
+         * <p>
+         * Compiled schemas are not used if a {@link #withListener(ValidationListener) validation listener} or a
+         * {@link #readWriteContext(ReadWriteContext) read-write context} is set, or if the primitive validation
+         * strategy is {@link PrimitiveValidationStrategy#LENIENT}. Schemas injecting default values are never compiled.
+         *
+         * @param threshold
+         *         the number of validations against a schema after which it gets compiled
+         * @return {@code this}
+         */
+        public ValidatorBuilder compilationThreshold(int threshold) {
+            if (threshold < 1) {
+                throw new IllegalArgumentException("threshold must be positive, was: " + threshold);
+            }
+            this.compilationThreshold = threshold;
+            return this;
+        }
+
+        /**
+         * Enables recording the time spent in the subschemas and keywords of the validated schemas into
+         * {@code profiler}. Profiling disables the {@link #compilationThreshold(int) compiled schemas}, since they
+         * skip the measured visits.
+         *
+         * @param profiler
+         *         the profiler accumulating the measurements, {@code null} disables profiling
+         * @return {@code this}
+         */
+        public ValidatorBuilder profiler(ValidationProfiler profiler) {
+            this.profiler = profiler;
+            return this;
+        }
+
+        /**
+         * Sets the recorder of the validation metrics: the latency and the outcome of each validated document, and
+         * the number of violations found in the invalid ones, tagged by the validated schema. See
+         * {@link MetricNames} for the published metrics.
+         *
+         * @param metrics
+         *         the recorder of the metrics, {@link MetricsRecorder#NOOP} by default
+         * @return {@code this}
+         */
+        public ValidatorBuilder metrics(MetricsRecorder metrics) {
+            this.metrics = requireNonNull(metrics, "metrics cannot be null");
+            return this;
+        }
+
         public Validator build() {
-            return new DefaultValidator(failEarly, readWriteContext, validationListener, primitiveValidationStrategy);
+            ParallelValidation parallelValidation = parallelismPool == null ? null
+                    : new ParallelValidation(parallelismThreshold, parallelismPool, readWriteContext);
+            HotSchemaCompilation hotSchemaCompilation = compilationThreshold > 0
+                    ? new HotSchemaCompilation(compilationThreshold, documentAccessor) : null;
+            return new DefaultValidator(failEarly, readWriteContext, validationListener, primitiveValidationStrategy,
+                    documentAccessor, parallelValidation, memoizationMaxEntries, hotSchemaCompilation, profiler,
+                    metrics);
         }
     }
 
@@ -44,6 +194,110 @@ public interface Validator {
     }
 
     void performValidation(Schema schema, Object input);
+
+    /**
+     * Validates the JSON document read from {@code input}, without requiring the caller to parse it into an
+     * {@code org.json} tree first.
+     * <p>
+     * The default implementation parses the whole document and calls {@link #performValidation(Schema, Object)}. The
+     * validators created by {@link ValidatorBuilder} validate objects and arrays while reading them, so that only the
+     * values which need lookahead (like the subjects of {@code oneOf} or {@code uniqueItems}) are kept in memory. The
+     * reported violations are the same, but they may be in a different order, and default values are not injected.
+     *
+     * @param schema
+     *         the schema to validate against
+     * @param input
+     *         the JSON text to be validated
+     * @throws ValidationException
+     *         if the document is invalid against the schema
+     * @throws org.json.JSONException
+     *         if the document is not syntactically valid JSON
+     */
+    default void performStreamingValidation(Schema schema, Reader input) {
+        performValidation(schema, StreamingValidatingVisitor.tokenerOf(input).nextValue());
+    }
+
+    /**
+     * Validates {@code document} after some of its locations changed, assuming that it was valid against
+     * {@code schema} before the change.
+     * <p>
+     * The default implementation validates the whole document. The validators created by {@link ValidatorBuilder}
+     * validate only the subschemas which are applied to the changed locations (and to their ancestors). Keywords whose
+     * result depends on unchanged locations too (like {@code oneOf}, {@code anyOf}, {@code not}, {@code if},
+     * schema {@code dependencies}, {@code contains} and {@code uniqueItems}) are evaluated on the whole value of the
+     * changed location or ancestor they are applied to.
+     *
+     * @param schema
+     *         the schema to validate against
+     * @param document
+     *         the document after the change
+     * @param changedPointers
+     *         the JSON pointers of the changed (added, removed or replaced) locations. If an array item is added or
+     *         removed, then the array itself should be listed, since the indices of the subsequent items change.
+     * @throws ValidationException
+     *         if the document is invalid against the schema
+     */
+    default void performIncrementalValidation(Schema schema, Object document, Collection<String> changedPointers) {
+        performValidation(schema, document);
+    }
+
+    /**
+     * Validates {@code document} after applying a JSON Patch (RFC 6902) on it, assuming that it was valid against
+     * {@code schema} before the change.
+     *
+     * @param schema
+     *         the schema to validate against
+     * @param document
+     *         the document after applying the patch
+     * @param jsonPatch
+     *         the applied patch
+     * @throws ValidationException
+     *         if the document is invalid against the schema
+     * @see #performIncrementalValidation(Schema, Object, Collection)
+     */
+    default void performIncrementalValidation(Schema schema, Object document, JSONArray jsonPatch) {
+        performValidation(schema, document);
+    }
+
+    /**
+     * Validates each element of {@code documents} against {@code schema}.
+     * <p>
+     * The validators created by {@link ValidatorBuilder} set up the validation state once, and reuse it for all
+     * documents.
+     *
+     * @param schema
+     *         the schema to validate against
+     * @param documents
+     *         the documents to be validated
+     * @return the failures of the documents, in the order of the documents ({@link Optional#empty()} for the valid
+     * ones)
+     */
+    default List<Optional<ValidationException>> validateAll(Schema schema, Iterable<?> documents) {
+        return validateAll(schema, StreamSupport.stream(documents.spliterator(), false)).collect(toList());
+    }
+
+    /**
+     * Lazily validates each element of {@code documents} against {@code schema}: the documents are validated as the
+     * returned stream is consumed, therefore the validation can be pipelined with the parsing of the documents (if
+     * {@code documents} is lazily parsed).
+     *
+     * @param schema
+     *         the schema to validate against
+     * @param documents
+     *         the documents to be validated
+     * @return the failures of the documents ({@link Optional#empty()} for the valid ones)
+     * @see #validateAll(Schema, Iterable)
+     */
+    default Stream<Optional<ValidationException>> validateAll(Schema schema, Stream<?> documents) {
+        return documents.map(document -> {
+            try {
+                performValidation(schema, document);
+                return Optional.empty();
+            } catch (ValidationException e) {
+                return Optional.of(e);
+            }
+        });
+    }
 }
 
 class DefaultValidator implements Validator {
@@ -56,27 +310,242 @@ class DefaultValidator implements Validator {
 
     private final PrimitiveValidationStrategy primitiveValidationStrategy;
 
+    private final DocumentAccessor documentAccessor;
+
+    private final ParallelValidation parallelValidation;
+
+    private final int memoizationMaxEntries;
+
+    private final HotSchemaCompilation hotSchemaCompilation;
+
+    private final ValidationProfiler profiler;
+
+    private final MetricsRecorder metrics;
+
     DefaultValidator(boolean failEarly, ReadWriteContext readWriteContext, ValidationListener validationListener,
-                     PrimitiveValidationStrategy primitiveValidationStrategy) {
+                     PrimitiveValidationStrategy primitiveValidationStrategy, DocumentAccessor documentAccessor,
+                     ParallelValidation parallelValidation, int memoizationMaxEntries,
+                     HotSchemaCompilation hotSchemaCompilation, ValidationProfiler profiler,
+                     MetricsRecorder metrics) {
         this.failEarly = failEarly;
         this.readWriteContext = readWriteContext;
         this.validationListener = validationListener;
         this.primitiveValidationStrategy = primitiveValidationStrategy;
+        this.documentAccessor = documentAccessor;
+        this.parallelValidation = parallelValidation;
+        this.memoizationMaxEntries = memoizationMaxEntries;
+        this.hotSchemaCompilation = hotSchemaCompilation;
+        this.profiler = profiler;
+        this.metrics = metrics;
     }
 
     @Override public void performValidation(Schema schema, Object input) {
+        Object validationEvent = FlightRecorderEvents.beginValidation();
+        if (validationEvent == null && metrics == MetricsRecorder.NOOP) {
+            validate(schema, input);
+        } else {
+            metered(schema, validationEvent, () -> validate(schema, input));
+        }
+    }
+
+    private void validate(Schema schema, Object input) {
+        if (isAcceptedByCompiledSchema(schema, input)) {
+            return;
+        }
+        ValidatingVisitor visitor = createVisitor(input, createFailureReporter(schema));
+        try {
+            visitor.visit(schema);
+            visitor.injectPendingDefaults();
+            visitor.failIfErrorFound();
+        } catch (InternalValidationException e) {
+            visitor.injectPendingDefaults();
+            throw e.copy();
+        }
+    }
+
+    @Override public void performStreamingValidation(Schema schema, Reader input) {
+        Object validationEvent = FlightRecorderEvents.beginValidation();
+        if (validationEvent == null && metrics == MetricsRecorder.NOOP) {
+            validateStreaming(schema, input);
+        } else {
+            metered(schema, validationEvent, () -> validateStreaming(schema, input));
+        }
+    }
+
+    private void validateStreaming(Schema schema, Reader input) {
+        JSONTokener tokener = StreamingValidatingVisitor.tokenerOf(input);
+        char next = StreamingValidatingVisitor.peek(tokener);
+        if (!StreamingValidatingVisitor.isStreamable(schema, next, validationListener)) {
+            // the parsed document is an org.json tree, regardless of the configured document accessor
+            Object document = tokener.nextValue();
+            if (documentAccessor == DocumentAccessor.ORG_JSON) {
+                validate(schema, document);
+            } else {
+                new DefaultValidator(failEarly, readWriteContext, validationListener, primitiveValidationStrategy,
+                        DocumentAccessor.ORG_JSON, parallelValidation, memoizationMaxEntries, null, profiler,
+                        MetricsRecorder.NOOP)
+                        .validate(schema, document);
+            }
+            return;
+        }
         ValidationFailureReporter failureReporter = createFailureReporter(schema);
         ReadWriteValidator readWriteValidator = ReadWriteValidator.createForContext(readWriteContext, failureReporter);
-        ValidatingVisitor visitor = new ValidatingVisitor(input, failureReporter, readWriteValidator, validationListener,
-                primitiveValidationStrategy);
+        ValidatingVisitor visitor = new ValidatingVisitor(null, failureReporter, readWriteValidator, validationListener,
+                primitiveValidationStrategy, DocumentAccessor.ORG_JSON, null, null, profiler);
         try {
-            visitor.visit(schema);
+            new StreamingValidatingVisitor(tokener, visitor, failureReporter, readWriteValidator).visit(schema);
             visitor.failIfErrorFound();
         } catch (InternalValidationException e) {
             throw e.copy();
         }
     }
 
+    @Override public void performIncrementalValidation(Schema schema, Object document,
+            Collection<String> changedPointers) {
+        performIncrementalValidation(schema, document, ChangedLocations.fromPointers(changedPointers));
+    }
+
+    @Override public void performIncrementalValidation(Schema schema, Object document, JSONArray jsonPatch) {
+        performIncrementalValidation(schema, document,
+                ChangedLocations.fromJsonPatch(jsonPatch, document, documentAccessor));
+    }
+
+    private void performIncrementalValidation(Schema schema, Object document, ChangedLocations changedLocations) {
+        Object validationEvent = FlightRecorderEvents.beginValidation();
+        if (validationEvent == null && metrics == MetricsRecorder.NOOP) {
+            validateIncrementally(schema, document, changedLocations);
+        } else {
+            metered(schema, validationEvent, () -> validateIncrementally(schema, document, changedLocations));
+        }
+    }
+
+    private void validateIncrementally(Schema schema, Object document, ChangedLocations changedLocations) {
+        ValidatingVisitor visitor = createVisitor(null, createFailureReporter(schema));
+        ValidationException failure = visitor.getFailureOfChangedDocument(schema, document, changedLocations);
+        if (failure != null) {
+            throw failure.copy();
+        }
+    }
+
+    @Override public Stream<Optional<ValidationException>> validateAll(Schema schema, Stream<?> documents) {
+        if (documents.isParallel()) {
+            return Validator.super.validateAll(schema, documents);
+        }
+        BatchValidation batchValidation = new BatchValidation(schema);
+        return documents.map(batchValidation::validate);
+    }
+
+    /**
+     * Validates multiple documents with the same visitor and failure reporter (which are left in their initial state
+     * after each successfully finished validation).
+     */
+    private class BatchValidation {
+
+        private final Schema schema;
+
+        private ValidatingVisitor visitor;
+
+        BatchValidation(Schema schema) {
+            this.schema = requireNonNull(schema, "schema cannot be null");
+        }
+
+        Optional<ValidationException> validate(Object document) {
+            Object validationEvent = FlightRecorderEvents.beginValidation();
+            if (validationEvent == null && metrics == MetricsRecorder.NOOP) {
+                return validateDocument(document);
+            }
+            long start = System.nanoTime();
+            Optional<ValidationException> failure = validateDocument(document);
+            recordValidation(schema, start, validationEvent, failure.orElse(null));
+            return failure;
+        }
+
+        private Optional<ValidationException> validateDocument(Object document) {
+            if (isAcceptedByCompiledSchema(schema, document)) {
+                return Optional.empty();
+            }
+            if (visitor == null) {
+                visitor = createVisitor(null, createFailureReporter(schema));
+            }
+            try {
+                return Optional.ofNullable(visitor.getFailureOfDocument(schema, document))
+                        .map(ValidationException::copy);
+            } catch (RuntimeException e) {
+                // the state of the visitor is unknown after an unexpected exception, it won't be reused
+                visitor = null;
+                throw e;
+            }
+        }
+    }
+
+    private void metered(Schema schema, Object validationEvent, Runnable validation) {
+        long start = System.nanoTime();
+        try {
+            validation.run();
+        } catch (ValidationException e) {
+            recordValidation(schema, start, validationEvent, e);
+            throw e;
+        }
+        recordValidation(schema, start, validationEvent, null);
+    }
+
+    /**
+     * Publishes the outcome of a validation to the metrics recorder and to the started Flight Recorder event (if any).
+     */
+    private void recordValidation(Schema schema, long start, Object validationEvent, ValidationException failure) {
+        long elapsed = System.nanoTime() - start;
+        String schemaTag = metricsTagOf(schema);
+        int violationCount = failure == null ? 0 : failure.getViolationCount();
+        if (failure == null) {
+            metrics.recordNanos(MetricNames.VALIDATION, elapsed,
+                    MetricNames.SCHEMA_TAG, schemaTag, MetricNames.OUTCOME_TAG, MetricNames.VALID);
+        } else {
+            metrics.recordNanos(MetricNames.VALIDATION, elapsed,
+                    MetricNames.SCHEMA_TAG, schemaTag, MetricNames.OUTCOME_TAG, MetricNames.INVALID);
+            metrics.recordAmount(MetricNames.VIOLATIONS, violationCount, MetricNames.SCHEMA_TAG, schemaTag);
+        }
+        FlightRecorderEvents.commitValidation(validationEvent, schemaTag, violationCount);
+    }
+
+    /**
+     * @return the {@code $id} of {@code schema}, or the URI of the document it was loaded from
+     */
+    private static String metricsTagOf(Schema schema) {
+        if (schema.getId() != null) {
+            return schema.getId();
+        }
+        SchemaLocation location = schema.getLocation();
+        if (location != null && location.getRootDocumentURI() != null) {
+            return location.getRootDocumentURI().toString();
+        }
+        return MetricNames.UNKNOWN;
+    }
+
+    /**
+     * Checks {@code document} with the compiled {@code schema}, if compilation is enabled and the validation of
+     * {@code document} has no side effects.
+     */
+    private boolean isAcceptedByCompiledSchema(Schema schema, Object document) {
+        if (hotSchemaCompilation == null
+                || profiler != null
+                || !ValidatingVisitor.subscribedEvents(validationListener).isEmpty()
+                || readWriteContext != null
+                || primitiveValidationStrategy != PrimitiveValidationStrategy.STRICT
+                || !ValidatingVisitor.isValidatedType(document, documentAccessor)) {
+            return false;
+        }
+        CompiledSchema compiledSchema = hotSchemaCompilation.compiledSchemaOf(schema);
+        return compiledSchema != null && compiledSchema.accepts(document);
+    }
+
+    private ValidatingVisitor createVisitor(Object subject, ValidationFailureReporter failureReporter) {
+        ValidationMemo memo = memoizationMaxEntries > 0 ? new ValidationMemo(memoizationMaxEntries, documentAccessor)
+                : null;
+        return new ValidatingVisitor(subject, failureReporter,
+                ReadWriteValidator.createForContext(readWriteContext, failureReporter), validationListener,
+                primitiveValidationStrategy, documentAccessor, parallelValidation, memo, profiler);
+    }
+
     private ValidationFailureReporter createFailureReporter(Schema schema) {
         if (failEarly) {
             return new EarlyFailingFailureReporter(schema);
@@ -0,0 +1,79 @@
+package org.everit.json.schema;
+
+import java.math.BigInteger;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.json.JSONArray;
+import org.json.JSONObject;
+
+/**
+ * The JSON type of a validated value. Each subject is classified once by the {@link ValidatingVisitor}, and the type
+ * checks of the schemas compare their expected kind with it.
+ */
+enum ValueKind {
+
+    NULL(JSONObject.NULL.getClass()),
+
+    BOOLEAN(Boolean.class),
+
+    /**
+     * Numbers of the integral types accepted by {@code "type": "integer"}.
+     */
+    INTEGER(Integer.class),
+
+    NUMBER(Number.class),
+
+    STRING(String.class),
+
+    OBJECT(JSONObject.class),
+
+    ARRAY(JSONArray.class),
+
+    /**
+     * Values which aren't JSON values of the document model.
+     */
+    UNSUPPORTED(Object.class);
+
+    /**
+     * Classifies {@code value}, using {@code documentAccessor} for recognizing objects and arrays.
+     */
+    static ValueKind of(Object value, DocumentAccessor documentAccessor) {
+        if (value == null || value == JSONObject.NULL) {
+            return NULL;
+        } else if (value instanceof String) {
+            return STRING;
+        } else if (value instanceof Number) {
+            return isIntegral(value) ? INTEGER : NUMBER;
+        } else if (value instanceof Boolean) {
+            return BOOLEAN;
+        } else if (documentAccessor.isObject(value)) {
+            return OBJECT;
+        } else if (documentAccessor.isArray(value)) {
+            return ARRAY;
+        }
+        return UNSUPPORTED;
+    }
+
+    static boolean isIntegral(Object value) {
+        Class<?> type = value.getClass();
+        return type == Integer.class || type == Long.class || type == BigInteger.class
+                || type == AtomicInteger.class || type == AtomicLong.class;
+    }
+
+    /**
+     * The type reported as the expected type by the type check failures of this kind.
+     */
+    final Class<?> expectedType;
+
+    ValueKind(Class<?> expectedType) {
+        this.expectedType = expectedType;
+    }
+
+    /**
+     * @return {@code true} if values of this kind pass the type check of {@code expected}
+     */
+    boolean matches(ValueKind expected) {
+        return this == expected || (this == INTEGER && expected == NUMBER);
+    }
+}
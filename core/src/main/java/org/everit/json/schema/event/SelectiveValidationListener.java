@@ -0,0 +1,23 @@
+package org.everit.json.schema.event;
+
+import java.util.Set;
+
+import org.everit.json.schema.event.ValidationListener.EventKind;
+
+/**
+ * A {@link ValidationListener} which declares the kinds of events it is interested in. The validator doesn't create
+ * the events of other kinds, and doesn't call the corresponding methods of the listener.
+ * <p>
+ * Listeners which don't implement this interface receive all events.
+ * </p>
+ */
+public interface SelectiveValidationListener extends ValidationListener {
+
+    /**
+     * Returns the kinds of events this listener subscribes to. The returned kinds must not change over the lifetime
+     * of the listener.
+     *
+     * @return the subscribed event kinds
+     */
+    Set<EventKind> subscribedEvents();
+}
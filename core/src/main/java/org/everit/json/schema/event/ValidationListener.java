@@ -1,19 +1,39 @@
 package org.everit.json.schema.event;
 
+import java.util.Collections;
+
 /**
  * Interface to capture which schemas are matching against a specific event in the {@code ValidatingVisitor}.
  * <p>
  * All methods of this interface have a default empty implementation, so if an interface implementation is
  * interested only about a few specific event types, there is no need to add empty overrides of the unhandles events.
+ * Such implementations should rather implement {@link SelectiveValidationListener}, so that the validator doesn't
+ * create the unhandled events at all.
  * </p>
  */
 public interface ValidationListener {
 
+    /**
+     * The kinds of events reported to a {@code ValidationListener}, one for each method of the listener.
+     *
+     * @see SelectiveValidationListener
+     */
+    enum EventKind {
+        COMBINED_SCHEMA_MATCH,
+        COMBINED_SCHEMA_MISMATCH,
+        SCHEMA_REFERENCED,
+        IF_SCHEMA_MATCH,
+        IF_SCHEMA_MISMATCH,
+        THEN_SCHEMA_MATCH,
+        THEN_SCHEMA_MISMATCH,
+        ELSE_SCHEMA_MATCH,
+        ELSE_SCHEMA_MISMATCH
+    }
+
     /**
      * Default no-operation implementation
      */
-    ValidationListener NOOP = new ValidationListener() {
-    };
+    ValidationListener NOOP = (SelectiveValidationListener) Collections::emptySet;
 
     /**
      * Called when a {@link org.everit.json.schema.CombinedSchema}'s given subschema matches the instance.
@@ -12,6 +12,11 @@ public class DateFormatValidator extends TemporalFormatValidator {
         super(DateTimeFormatter.ISO_LOCAL_DATE, Collections.singletonList("yyyy-MM-dd").toString());
     }
 
+    @Override
+    ScanResult scan(String subject) {
+        return Rfc3339Scanner.date(subject);
+    }
+
     @Override
     public String formatName() {
         return "date";
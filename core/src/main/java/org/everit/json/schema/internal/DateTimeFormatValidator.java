@@ -21,6 +21,10 @@ public class DateTimeFormatValidator implements FormatValidator {
             super(FORMATTER, FORMATS_ACCEPTED);
         }
 
+        @Override ScanResult scan(String subject) {
+            return Rfc3339Scanner.dateTime(subject);
+        }
+
         @Override public String formatName() {
             return "date-time";
         }
@@ -35,7 +39,7 @@ public class DateTimeFormatValidator implements FormatValidator {
 
     private static final String PARTIAL_DATETIME_PATTERN = "yyyy-MM-dd'T'HH:mm:ss";
 
-    private static final DateTimeFormatter FORMATTER = new DateTimeFormatterBuilder()
+    static final DateTimeFormatter FORMATTER = new DateTimeFormatterBuilder()
             .appendPattern(PARTIAL_DATETIME_PATTERN)
             .appendOptional(SECONDS_FRACTION_FORMATTER)
             .appendPattern(TemporalFormatValidator.ZONE_OFFSET_PATTERN)
@@ -51,4 +55,12 @@ public class DateTimeFormatValidator implements FormatValidator {
     public String formatName() {
         return delegate.formatName();
     }
+
+    @Override public boolean equals(Object o) {
+        return this == o || (o != null && getClass() == o.getClass());
+    }
+
+    @Override public int hashCode() {
+        return formatName().hashCode();
+    }
 }
@@ -12,7 +12,9 @@ public class EmailFormatValidator implements FormatValidator {
 
     @Override
     public Optional<String> validate(final String subject) {
-        if (EmailValidator.getInstance(false, true).isValid(subject)) {
+        ScanResult result = subject == null ? ScanResult.INVALID : NetworkFormatScanner.email(subject);
+        if (result == ScanResult.VALID
+                || (result == ScanResult.UNDECIDED && EmailValidator.getInstance(false, true).isValid(subject))) {
             return Optional.empty();
         }
         return Optional.of(String.format("[%s] is not a valid email address", subject));
@@ -22,4 +24,12 @@ public class EmailFormatValidator implements FormatValidator {
     public String formatName() {
         return "email";
     }
+
+    @Override public boolean equals(Object o) {
+        return this == o || (o != null && getClass() == o.getClass());
+    }
+
+    @Override public int hashCode() {
+        return formatName().hashCode();
+    }
 }
@@ -12,13 +12,29 @@ public class HostnameFormatValidator implements FormatValidator {
 
     @Override
     public Optional<String> validate(final String subject) {
-        return DomainValidator.getInstance(true).isValid(subject) && !subject.contains("_") ?
+        return (subject != null) && isValidHostname(subject) ?
                 Optional.empty() :
                 Optional.of(String.format("[%s] is not a valid hostname", subject));
     }
 
+    private static boolean isValidHostname(String subject) {
+        ScanResult result = NetworkFormatScanner.hostname(subject);
+        if (result == ScanResult.UNDECIDED) {
+            return DomainValidator.getInstance(true).isValid(subject) && !subject.contains("_");
+        }
+        return result == ScanResult.VALID;
+    }
+
     @Override
     public String formatName() {
         return "hostname";
     }
+
+    @Override public boolean equals(Object o) {
+        return this == o || (o != null && getClass() == o.getClass());
+    }
+
+    @Override public int hashCode() {
+        return formatName().hashCode();
+    }
 }
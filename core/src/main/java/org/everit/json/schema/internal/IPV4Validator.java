@@ -1,6 +1,5 @@
 package org.everit.json.schema.internal;
 
-import org.apache.commons.validator.routines.InetAddressValidator;
 import org.everit.json.schema.FormatValidator;
 
 import java.util.Optional;
@@ -12,7 +11,7 @@ public class IPV4Validator extends IPAddressValidator implements FormatValidator
 
     @Override
     public Optional<String> validate(final String subject) {
-        return InetAddressValidator.getInstance().isValidInet4Address(subject) ?
+        return (subject != null) && NetworkFormatScanner.ipv4(subject) == ScanResult.VALID ?
                 Optional.empty() :
                 Optional.of(String.format("[%s] is not a valid ipv4 address", subject));
     }
@@ -21,4 +20,12 @@ public class IPV4Validator extends IPAddressValidator implements FormatValidator
     public String formatName() {
         return "ipv4";
     }
+
+    @Override public boolean equals(Object o) {
+        return this == o || (o != null && getClass() == o.getClass());
+    }
+
+    @Override public int hashCode() {
+        return formatName().hashCode();
+    }
 }
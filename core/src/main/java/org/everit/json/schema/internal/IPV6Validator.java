@@ -12,13 +12,29 @@ public class IPV6Validator extends IPAddressValidator implements FormatValidator
 
     @Override
     public Optional<String> validate(final String subject) {
-        return (subject != null) && InetAddressValidator.getInstance().isValidInet6Address(subject) ?
+        return (subject != null) && isValidInet6Address(subject) ?
                 Optional.empty() :
                 Optional.of(String.format("[%s] is not a valid ipv6 address", subject));
     }
 
+    private static boolean isValidInet6Address(String subject) {
+        ScanResult result = NetworkFormatScanner.ipv6(subject);
+        if (result == ScanResult.UNDECIDED) {
+            return InetAddressValidator.getInstance().isValidInet6Address(subject);
+        }
+        return result == ScanResult.VALID;
+    }
+
     @Override
     public String formatName() {
         return "ipv6";
     }
+
+    @Override public boolean equals(Object o) {
+        return this == o || (o != null && getClass() == o.getClass());
+    }
+
+    @Override public int hashCode() {
+        return formatName().hashCode();
+    }
 }
@@ -48,4 +48,12 @@ public class JsonPointerFormatValidator implements FormatValidator {
     @Override public String formatName() {
         return "json-pointer";
     }
+
+    @Override public boolean equals(Object o) {
+        return this == o || (o != null && getClass() == o.getClass());
+    }
+
+    @Override public int hashCode() {
+        return formatName().hashCode();
+    }
 }
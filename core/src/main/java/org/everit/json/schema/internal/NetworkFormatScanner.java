@@ -0,0 +1,294 @@
+package org.everit.json.schema.internal;
+
+import org.apache.commons.validator.routines.DomainValidator;
+
+/**
+ * Single-pass, regexp-free scanners for the {@code ipv4}, {@code ipv6}, {@code hostname} and {@code email} formats.
+ * <p>
+ * The scanners accept exactly the same strings as the commons-validator routines used by the format validators. Inputs
+ * using rare constructs (non-ASCII characters, IPv6 zone ids and prefixes, quoted or escaped e-mail local parts, IP
+ * address e-mail domains) are reported as {@link ScanResult#UNDECIDED}, in which case the caller has to fall back to
+ * commons-validator. Top-level domain names are still looked up with {@link DomainValidator#isValidTld(String)}.
+ */
+final class NetworkFormatScanner {
+
+    private static final int IPV4_MAX_OCTET_VALUE = 255;
+
+    private static final int IPV6_MAX_HEX_GROUPS = 8;
+
+    private static final int IPV6_MAX_HEX_DIGITS_PER_GROUP = 4;
+
+    private static final int MAX_DOMAIN_LENGTH = 253;
+
+    private static final int MAX_DOMAIN_LABEL_LENGTH = 63;
+
+    private static final int MAX_EMAIL_USER_LENGTH = 64;
+
+    private static final String EMAIL_ATOM_SPECIAL_CHARS = "!#$%&'*+/=?^_`{|}~-";
+
+    private static final DomainValidator HOSTNAME_DOMAIN_VALIDATOR = DomainValidator.getInstance(true);
+
+    private static final DomainValidator EMAIL_DOMAIN_VALIDATOR = DomainValidator.getInstance(false);
+
+    private static boolean isDigit(char ch) {
+        return ch >= '0' && ch <= '9';
+    }
+
+    private static boolean isAsciiAlpha(char ch) {
+        return (ch >= 'a' && ch <= 'z') || (ch >= 'A' && ch <= 'Z');
+    }
+
+    private static boolean isAsciiAlnum(char ch) {
+        return isAsciiAlpha(ch) || isDigit(ch);
+    }
+
+    private static boolean isHexDigit(char ch) {
+        return isDigit(ch) || (ch >= 'a' && ch <= 'f') || (ch >= 'A' && ch <= 'F');
+    }
+
+    static ScanResult ipv4(String input) {
+        return isIpv4(input, 0, input.length()) ? ScanResult.VALID : ScanResult.INVALID;
+    }
+
+    /**
+     * Checks if {@code input[start, end)} is 4 dot-separated decimal octets, without leading zeros.
+     */
+    private static boolean isIpv4(String input, int start, int end) {
+        int pos = start;
+        for (int octet = 0; octet < 4; ++octet) {
+            if (octet > 0) {
+                if (pos >= end || input.charAt(pos) != '.') {
+                    return false;
+                }
+                ++pos;
+            }
+            int octetStart = pos;
+            int value = 0;
+            while (pos < end && pos - octetStart < 3 && isDigit(input.charAt(pos))) {
+                value = value * 10 + (input.charAt(pos++) - '0');
+            }
+            int octetLength = pos - octetStart;
+            if (octetLength == 0 || value > IPV4_MAX_OCTET_VALUE
+                    || (octetLength > 1 && input.charAt(octetStart) == '0')) {
+                return false;
+            }
+        }
+        return pos == end;
+    }
+
+    static ScanResult ipv6(String input) {
+        int length = input.length();
+        for (int i = 0; i < length; ++i) {
+            char ch = input.charAt(i);
+            if (!isHexDigit(ch) && ch != ':' && ch != '.') {
+                return ScanResult.UNDECIDED;
+            }
+        }
+        if (length == 0) {
+            return ScanResult.INVALID;
+        }
+        int compressedAt = input.indexOf("::");
+        boolean containsCompressedZeroes = compressedAt >= 0;
+        if (containsCompressedZeroes && compressedAt != input.lastIndexOf("::")) {
+            return ScanResult.INVALID;
+        }
+        boolean startsWithCompressed = input.startsWith("::");
+        boolean endsWithCompressed = input.endsWith("::");
+        if ((input.startsWith(":") && !startsWithCompressed) || (input.endsWith(":") && !endsWithCompressed)) {
+            return ScanResult.INVALID;
+        }
+        // the groups are the ":"-separated segments in [firstGroup, lastGroup), the same way as split(":") returns them
+        int lastGroup = 1;
+        for (int i = 0; i < length; ++i) {
+            if (input.charAt(i) == ':') {
+                ++lastGroup;
+            }
+        }
+        int end = length;
+        while (end > 0 && input.charAt(end - 1) == ':') {
+            --lastGroup;
+            --end;
+        }
+        if (end == 0) {
+            lastGroup = 0;
+        }
+        int firstGroup = 0;
+        boolean appendEmptyGroup = false;
+        if (endsWithCompressed) {
+            appendEmptyGroup = true;
+        } else if (startsWithCompressed && lastGroup > 0) {
+            firstGroup = 1;
+        }
+        if (lastGroup - firstGroup + (appendEmptyGroup ? 1 : 0) > IPV6_MAX_HEX_GROUPS) {
+            return ScanResult.INVALID;
+        }
+        int validGroups = appendEmptyGroup ? 1 : 0;
+        int emptyGroups = 0;
+        int groupStart = 0;
+        for (int group = 0; group < lastGroup; ++group) {
+            int groupEnd = input.indexOf(':', groupStart);
+            if (groupEnd == -1) {
+                groupEnd = length;
+            }
+            if (group >= firstGroup) {
+                int groupLength = groupEnd - groupStart;
+                if (groupLength == 0) {
+                    if (++emptyGroups > 1) {
+                        return ScanResult.INVALID;
+                    }
+                    ++validGroups;
+                } else {
+                    emptyGroups = 0;
+                    boolean isLastGroup = group == lastGroup - 1 && !appendEmptyGroup;
+                    if (isLastGroup && input.lastIndexOf('.', groupEnd - 1) >= groupStart) {
+                        if (!isIpv4(input, groupStart, groupEnd)) {
+                            return ScanResult.INVALID;
+                        }
+                        validGroups += 2;
+                    } else if (groupLength > IPV6_MAX_HEX_DIGITS_PER_GROUP || !isHexGroup(input, groupStart, groupEnd)) {
+                        return ScanResult.INVALID;
+                    } else {
+                        ++validGroups;
+                    }
+                }
+            }
+            groupStart = groupEnd + 1;
+        }
+        boolean valid = validGroups <= IPV6_MAX_HEX_GROUPS
+                && (validGroups >= IPV6_MAX_HEX_GROUPS || containsCompressedZeroes);
+        return valid ? ScanResult.VALID : ScanResult.INVALID;
+    }
+
+    private static boolean isHexGroup(String input, int start, int end) {
+        for (int i = start; i < end; ++i) {
+            if (!isHexDigit(input.charAt(i))) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    static ScanResult hostname(String input) {
+        return domain(input, 0, input.length(), HOSTNAME_DOMAIN_VALIDATOR, true);
+    }
+
+    /**
+     * Scans {@code input[start, end)} as a domain name, the same way as {@link DomainValidator#isValid(String)} does.
+     */
+    private static ScanResult domain(String input, int start, int end, DomainValidator domainValidator,
+            boolean allowLocal) {
+        for (int i = start; i < end; ++i) {
+            char ch = input.charAt(i);
+            if (ch > 0x7F) {
+                return ScanResult.UNDECIDED;
+            }
+        }
+        if (end - start > MAX_DOMAIN_LENGTH) {
+            return ScanResult.INVALID;
+        }
+        int effectiveEnd = end;
+        if (end > start && input.charAt(end - 1) == '.') {
+            --effectiveEnd;
+        }
+        int labelStart = start;
+        int labelCount = 0;
+        while (true) {
+            int labelEnd = input.indexOf('.', labelStart);
+            if (labelEnd == -1 || labelEnd > effectiveEnd) {
+                labelEnd = effectiveEnd;
+            }
+            if (!isDomainLabel(input, labelStart, labelEnd)) {
+                return ScanResult.INVALID;
+            }
+            ++labelCount;
+            if (labelEnd == effectiveEnd) {
+                if (labelCount == 1) {
+                    // a single label without dots is accepted only as a local hostname
+                    boolean valid = allowLocal && effectiveEnd == end;
+                    return valid ? ScanResult.VALID : ScanResult.INVALID;
+                }
+                if (!isAsciiAlpha(input.charAt(labelStart))) {
+                    return ScanResult.INVALID;
+                }
+                boolean validTld = domainValidator.isValidTld(input.substring(labelStart, labelEnd));
+                return validTld ? ScanResult.VALID : ScanResult.INVALID;
+            }
+            labelStart = labelEnd + 1;
+        }
+    }
+
+    /**
+     * Checks if {@code input[start, end)} is 1-63 alphanumeric characters or hyphens, not starting or ending with
+     * a hyphen.
+     */
+    private static boolean isDomainLabel(String input, int start, int end) {
+        int length = end - start;
+        if (length == 0 || length > MAX_DOMAIN_LABEL_LENGTH) {
+            return false;
+        }
+        if (!isAsciiAlnum(input.charAt(start)) || !isAsciiAlnum(input.charAt(end - 1))) {
+            return false;
+        }
+        for (int i = start + 1; i < end - 1; ++i) {
+            char ch = input.charAt(i);
+            if (!isAsciiAlnum(ch) && ch != '-') {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    static ScanResult email(String input) {
+        int length = input.length();
+        if (input.endsWith(".")) {
+            return ScanResult.INVALID;
+        }
+        int at = input.lastIndexOf('@');
+        if (at <= 0 || at == length - 1) {
+            return ScanResult.UNDECIDED;
+        }
+        ScanResult userResult = emailUser(input, at);
+        if (userResult != ScanResult.VALID) {
+            return userResult;
+        }
+        for (int i = at + 1; i < length; ++i) {
+            char ch = input.charAt(i);
+            if (!isAsciiAlnum(ch) && ch != '-' && ch != '.') {
+                return ScanResult.UNDECIDED;
+            }
+        }
+        ScanResult domainResult = domain(input, at + 1, length, EMAIL_DOMAIN_VALIDATOR, false);
+        if (domainResult == ScanResult.INVALID && input.charAt(at + 1) != '.'
+                && EMAIL_DOMAIN_VALIDATOR.isValidTld(input.substring(at + 1))) {
+            return ScanResult.VALID;
+        }
+        return domainResult;
+    }
+
+    /**
+     * Scans the local part ({@code input[0, end)}) of an e-mail address, handling only dot-separated atoms.
+     */
+    private static ScanResult emailUser(String input, int end) {
+        boolean previousIsDot = true;
+        for (int i = 0; i < end; ++i) {
+            char ch = input.charAt(i);
+            if (ch == '.') {
+                if (previousIsDot) {
+                    return ScanResult.UNDECIDED;
+                }
+                previousIsDot = true;
+            } else if (isAsciiAlnum(ch) || EMAIL_ATOM_SPECIAL_CHARS.indexOf(ch) >= 0) {
+                previousIsDot = false;
+            } else {
+                return ScanResult.UNDECIDED;
+            }
+        }
+        if (previousIsDot) {
+            return ScanResult.UNDECIDED;
+        }
+        return end <= MAX_EMAIL_USER_LENGTH ? ScanResult.VALID : ScanResult.INVALID;
+    }
+
+    private NetworkFormatScanner() {
+    }
+}
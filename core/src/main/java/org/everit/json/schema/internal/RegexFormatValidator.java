@@ -20,4 +20,12 @@ public class RegexFormatValidator implements FormatValidator {
     @Override public String formatName() {
         return "regex";
     }
+
+    @Override public boolean equals(Object o) {
+        return this == o || (o != null && getClass() == o.getClass());
+    }
+
+    @Override public int hashCode() {
+        return formatName().hashCode();
+    }
 }
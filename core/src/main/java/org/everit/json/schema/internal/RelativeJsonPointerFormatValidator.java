@@ -116,4 +116,12 @@ public class RelativeJsonPointerFormatValidator implements FormatValidator {
     @Override public String formatName() {
         return "relative-json-pointer";
     }
+
+    @Override public boolean equals(Object o) {
+        return this == o || (o != null && getClass() == o.getClass());
+    }
+
+    @Override public int hashCode() {
+        return formatName().hashCode();
+    }
 }
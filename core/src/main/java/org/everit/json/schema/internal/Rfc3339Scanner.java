@@ -0,0 +1,193 @@
+package org.everit.json.schema.internal;
+
+/**
+ * Allocation-free scanners for the {@code date}, {@code time} and {@code date-time} formats.
+ * <p>
+ * The scanners accept exactly the same strings as the {@link java.time.format.DateTimeFormatter} instances used by the
+ * temporal format validators, but they report their result without creating (and throwing) exceptions. Rarely used
+ * corners of the formatters (signed or more than 4-digit years, {@code 24:00:00}, leap seconds, offsets with seconds)
+ * are reported as {@link ScanResult#UNDECIDED}, in which case the caller has to fall back to the formatter.
+ */
+final class Rfc3339Scanner {
+
+    private static final int DATE_LENGTH = 10;
+
+    private static final int TIME_LENGTH = 8;
+
+    private static final int MAX_FRACTION_DIGITS = 9;
+
+    /**
+     * Scans a full-date ({@code yyyy-MM-dd}) with strict day-of-month validation.
+     */
+    static ScanResult date(String input) {
+        ScanResult result = datePart(input, true);
+        if (result != ScanResult.VALID) {
+            return result;
+        }
+        return input.length() == DATE_LENGTH ? ScanResult.VALID : ScanResult.INVALID;
+    }
+
+    /**
+     * Scans a date-time ({@code yyyy-MM-dd'T'HH:mm:ss[.fraction](Z|[+-]HH:mm)}). Day-of-month values exceeding the
+     * length of the month are accepted (the formatter resolves them smartly to the last day of the month).
+     */
+    static ScanResult dateTime(String input) {
+        ScanResult result = datePart(input, false);
+        if (result != ScanResult.VALID) {
+            return result;
+        }
+        if (input.length() <= DATE_LENGTH || input.charAt(DATE_LENGTH) != 'T') {
+            return ScanResult.INVALID;
+        }
+        return timePart(input, DATE_LENGTH + 1);
+    }
+
+    /**
+     * Scans a full-time ({@code HH:mm:ss[.fraction](Z|[+-]HH:mm)}).
+     */
+    static ScanResult time(String input) {
+        return timePart(input, 0);
+    }
+
+    private static boolean isDigit(char ch) {
+        return ch >= '0' && ch <= '9';
+    }
+
+    /**
+     * Returns the value of the 2-digit number at {@code index}, or {@code -1} if there are no 2 digits there.
+     */
+    private static int twoDigits(String input, int index) {
+        if (index + 1 >= input.length()) {
+            return -1;
+        }
+        char tens = input.charAt(index);
+        char ones = input.charAt(index + 1);
+        if (!isDigit(tens) || !isDigit(ones)) {
+            return -1;
+        }
+        return (tens - '0') * 10 + (ones - '0');
+    }
+
+    private static boolean isCharAt(String input, int index, char expected) {
+        return index < input.length() && input.charAt(index) == expected;
+    }
+
+    private static boolean isLeapYear(int year) {
+        return (year & 3) == 0 && (year % 100 != 0 || year % 400 == 0);
+    }
+
+    private static int lengthOfMonth(int year, int month) {
+        switch (month) {
+        case 2:
+            return isLeapYear(year) ? 29 : 28;
+        case 4:
+        case 6:
+        case 9:
+        case 11:
+            return 30;
+        default:
+            return 31;
+        }
+    }
+
+    private static ScanResult datePart(String input, boolean strictDayOfMonth) {
+        int length = input.length();
+        if (length > 0 && (input.charAt(0) == '+' || input.charAt(0) == '-')) {
+            return ScanResult.UNDECIDED;
+        }
+        int year = 0;
+        for (int i = 0; i < 4; ++i) {
+            if (i >= length || !isDigit(input.charAt(i))) {
+                return ScanResult.INVALID;
+            }
+            year = year * 10 + (input.charAt(i) - '0');
+        }
+        if (length > 4 && isDigit(input.charAt(4))) {
+            return ScanResult.UNDECIDED;
+        }
+        if (!isCharAt(input, 4, '-')) {
+            return ScanResult.INVALID;
+        }
+        int month = twoDigits(input, 5);
+        if (month < 1 || month > 12 || !isCharAt(input, 7, '-')) {
+            return ScanResult.INVALID;
+        }
+        int day = twoDigits(input, 8);
+        if (day < 1 || day > 31) {
+            return ScanResult.INVALID;
+        }
+        if (strictDayOfMonth && day > lengthOfMonth(year, month)) {
+            return ScanResult.INVALID;
+        }
+        if (year == 0 && !strictDayOfMonth) {
+            // year-of-era 0 is rejected by the smart resolver, leaving it to the formatter
+            return ScanResult.UNDECIDED;
+        }
+        return ScanResult.VALID;
+    }
+
+    private static ScanResult timePart(String input, int start) {
+        int length = input.length();
+        int hour = twoDigits(input, start);
+        if (hour < 0 || hour > 24 || !isCharAt(input, start + 2, ':')) {
+            return ScanResult.INVALID;
+        }
+        int minute = twoDigits(input, start + 3);
+        if (minute < 0 || minute > 59 || !isCharAt(input, start + 5, ':')) {
+            return ScanResult.INVALID;
+        }
+        int second = twoDigits(input, start + 6);
+        if (second < 0 || second > 60) {
+            return ScanResult.INVALID;
+        }
+        int pos = start + TIME_LENGTH;
+        if (isCharAt(input, pos, '.')) {
+            int fractionStart = ++pos;
+            while (pos < length && pos - fractionStart < MAX_FRACTION_DIGITS && isDigit(input.charAt(pos))) {
+                ++pos;
+            }
+            if (pos == fractionStart) {
+                return ScanResult.INVALID;
+            }
+        }
+        ScanResult offsetResult = offset(input, pos);
+        if (offsetResult == ScanResult.VALID && (hour == 24 || second == 60)) {
+            return ScanResult.UNDECIDED;
+        }
+        return offsetResult;
+    }
+
+    private static ScanResult offset(String input, int start) {
+        int length = input.length();
+        if (start >= length) {
+            return ScanResult.INVALID;
+        }
+        char sign = input.charAt(start);
+        if (sign == 'Z') {
+            return start + 1 == length ? ScanResult.VALID : ScanResult.INVALID;
+        }
+        if (sign != '+' && sign != '-') {
+            return ScanResult.INVALID;
+        }
+        int hours = twoDigits(input, start + 1);
+        if (hours < 0 || !isCharAt(input, start + 3, ':')) {
+            return ScanResult.INVALID;
+        }
+        int minutes = twoDigits(input, start + 4);
+        if (minutes < 0) {
+            return ScanResult.INVALID;
+        }
+        int end = start + 6;
+        if (end < length) {
+            // only an optional ":ss" offset-seconds part can follow
+            return isCharAt(input, end, ':') && end + 3 == length ? ScanResult.UNDECIDED : ScanResult.INVALID;
+        }
+        if (minutes > 59 || hours > 18 || (hours == 18 && minutes > 0)) {
+            return ScanResult.UNDECIDED;
+        }
+        return ScanResult.VALID;
+    }
+
+    private Rfc3339Scanner() {
+    }
+}
@@ -0,0 +1,17 @@
+package org.everit.json.schema.internal;
+
+/**
+ * The outcome of the allocation-free scanners used by the built-in format validators.
+ */
+enum ScanResult {
+
+    VALID,
+
+    INVALID,
+
+    /**
+     * The input uses a rare construct which the scanner doesn't handle, the format validator has to fall back to its
+     * general-purpose implementation.
+     */
+    UNDECIDED
+}
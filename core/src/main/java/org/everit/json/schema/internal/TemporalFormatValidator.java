@@ -27,13 +27,39 @@ public class TemporalFormatValidator implements FormatValidator {
         this.formatsAccepted = formatsAccepted;
     }
 
+    /**
+     * Checks the subject without invoking the formatter. The default implementation always returns
+     * {@link ScanResult#UNDECIDED}, subclasses override it with the scanner of their format.
+     */
+    ScanResult scan(String subject) {
+        return ScanResult.UNDECIDED;
+    }
+
     @Override
     public Optional<String> validate(final String subject) {
+        ScanResult scanResult = scan(subject);
+        if (scanResult == ScanResult.VALID) {
+            return Optional.empty();
+        } else if (scanResult == ScanResult.INVALID) {
+            return Optional.of(failureMessage(subject));
+        }
         try {
             formatter.parse(subject);
             return Optional.empty();
         } catch (DateTimeParseException e) {
-            return Optional.of(String.format("[%s] is not a valid %s. Expected %s", subject, formatName(), formatsAccepted));
+            return Optional.of(failureMessage(subject));
         }
     }
+
+    private String failureMessage(String subject) {
+        return String.format("[%s] is not a valid %s. Expected %s", subject, formatName(), formatsAccepted);
+    }
+
+    @Override public boolean equals(Object o) {
+        return this == o || (o != null && getClass() == o.getClass());
+    }
+
+    @Override public int hashCode() {
+        return formatName().hashCode();
+    }
 }
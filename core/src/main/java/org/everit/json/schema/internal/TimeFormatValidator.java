@@ -18,7 +18,7 @@ public class TimeFormatValidator extends TemporalFormatValidator {
 
     private static final String PARTIAL_TIME_PATTERN = "HH:mm:ss";
 
-    private static final DateTimeFormatter FORMATTER;
+    static final DateTimeFormatter FORMATTER;
 
     static {
         final DateTimeFormatterBuilder builder = new DateTimeFormatterBuilder()
@@ -33,6 +33,11 @@ public class TimeFormatValidator extends TemporalFormatValidator {
         super(FORMATTER, FORMATS_ACCEPTED);
     }
 
+    @Override
+    ScanResult scan(String subject) {
+        return Rfc3339Scanner.time(subject);
+    }
+
     @Override
     public String formatName() {
         return "time";
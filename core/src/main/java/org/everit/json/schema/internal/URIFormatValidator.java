@@ -21,6 +21,13 @@ public class URIFormatValidator implements FormatValidator {
         this.protocolRelativeURIPermitted = protocolRelativeURIPermitted;
     }
 
+    /**
+     * @return {@code true} if URIs without a scheme, starting with {@code //}, are accepted
+     */
+    public boolean isProtocolRelativeURIPermitted() {
+        return protocolRelativeURIPermitted;
+    }
+
     @Override
     public Optional<String> validate(final String subject) {
         try {
@@ -54,4 +61,21 @@ public class URIFormatValidator implements FormatValidator {
     @Override public String formatName() {
         return "uri";
     }
+
+    @Override public boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (o == null || getClass() != o.getClass()) {
+            return false;
+        }
+        return protocolRelativeURIPermitted == ((URIFormatValidator) o).protocolRelativeURIPermitted;
+    }
+
+    /**
+     * Consistent with {@code StringSchema#equals()}, which compares format validators by their class and name.
+     */
+    @Override public int hashCode() {
+        return formatName().hashCode();
+    }
 }
@@ -26,4 +26,12 @@ public class URIReferenceFormatValidator implements FormatValidator {
     @Override public String formatName() {
         return "uri-reference";
     }
+
+    @Override public boolean equals(Object o) {
+        return this == o || (o != null && getClass() == o.getClass());
+    }
+
+    @Override public int hashCode() {
+        return formatName().hashCode();
+    }
 }
@@ -36,4 +36,12 @@ public class URITemplateFormatValidator implements FormatValidator {
     @Override public String formatName() {
         return "uri-template";
     }
+
+    @Override public boolean equals(Object o) {
+        return this == o || (o != null && getClass() == o.getClass());
+    }
+
+    @Override public int hashCode() {
+        return formatName().hashCode();
+    }
 }
@@ -24,4 +24,12 @@ public class URIV4FormatValidator implements FormatValidator {
     @Override public String formatName() {
         return "uri";
     }
+
+    @Override public boolean equals(Object o) {
+        return this == o || (o != null && getClass() == o.getClass());
+    }
+
+    @Override public int hashCode() {
+        return formatName().hashCode();
+    }
 }
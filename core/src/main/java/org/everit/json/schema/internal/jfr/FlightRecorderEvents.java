@@ -0,0 +1,151 @@
+package org.everit.json.schema.internal.jfr;
+
+import jdk.jfr.EventType;
+
+/**
+ * Emits JDK Flight Recorder events of schema loading, remote document fetching, validation and slow regexp matching.
+ * <p>
+ * The library runs on Java 8 runtimes which don't have the {@code jdk.jfr} API, therefore the event classes are only
+ * touched if JFR is available. Each {@code begin...()} method returns the started event, or {@code null} if JFR is not
+ * available or the event is not enabled in the running recordings, and the matching {@code commit...()} method
+ * ignores {@code null} events. The enablement is checked on the cached {@link EventType}s before allocating an event,
+ * so nothing is allocated or measured (and no event fields are computed) when recording is off.
+ * </p>
+ * <p>
+ * The events belong to the {@code JSON Schema} category. Slow regexp matches are recorded above a 1 ms threshold by
+ * default, which can be overridden with the {@code org.everit.json.schema.RegexpMatch#threshold} JFR setting.
+ * </p>
+ * <p>
+ * This class is used internally by the library, and it is not meant to be used by client code.
+ * </p>
+ */
+public final class FlightRecorderEvents {
+
+    /**
+     * The types of the events, only loaded if {@link #AVAILABLE} is {@code true}.
+     */
+    private static final class EventTypes {
+
+        static final EventType SCHEMA_LOAD = EventType.getEventType(SchemaLoadEvent.class);
+
+        static final EventType SCHEMA_FETCH = EventType.getEventType(SchemaFetchEvent.class);
+
+        static final EventType VALIDATION = EventType.getEventType(ValidationEvent.class);
+
+        static final EventType REGEXP_MATCH = EventType.getEventType(RegexpMatchEvent.class);
+    }
+
+    private static final boolean AVAILABLE = detectAvailability();
+
+    private static boolean detectAvailability() {
+        try {
+            Class.forName("jdk.jfr.Event");
+            return true;
+        } catch (ClassNotFoundException | LinkageError e) {
+            return false;
+        }
+    }
+
+    /**
+     * @return {@code true} if the running JVM supports Flight Recorder events
+     */
+    public static boolean isAvailable() {
+        return AVAILABLE;
+    }
+
+    public static Object beginSchemaLoad() {
+        if (!AVAILABLE || !EventTypes.SCHEMA_LOAD.isEnabled()) {
+            return null;
+        }
+        SchemaLoadEvent event = new SchemaLoadEvent();
+        event.begin();
+        return event;
+    }
+
+    public static void commitSchemaLoad(Object startedEvent, String documentUri, int subschemaCount,
+            boolean success) {
+        if (startedEvent == null) {
+            return;
+        }
+        SchemaLoadEvent event = (SchemaLoadEvent) startedEvent;
+        event.end();
+        if (event.shouldCommit()) {
+            event.documentUri = documentUri;
+            event.subschemaCount = subschemaCount;
+            event.success = success;
+            event.commit();
+        }
+    }
+
+    public static Object beginSchemaFetch() {
+        if (!AVAILABLE || !EventTypes.SCHEMA_FETCH.isEnabled()) {
+            return null;
+        }
+        SchemaFetchEvent event = new SchemaFetchEvent();
+        event.begin();
+        return event;
+    }
+
+    public static void commitSchemaFetch(Object startedEvent, String url, long bytes, boolean success) {
+        if (startedEvent == null) {
+            return;
+        }
+        SchemaFetchEvent event = (SchemaFetchEvent) startedEvent;
+        event.end();
+        if (event.shouldCommit()) {
+            event.url = url;
+            event.bytes = bytes;
+            event.success = success;
+            event.commit();
+        }
+    }
+
+    public static Object beginValidation() {
+        if (!AVAILABLE || !EventTypes.VALIDATION.isEnabled()) {
+            return null;
+        }
+        ValidationEvent event = new ValidationEvent();
+        event.begin();
+        return event;
+    }
+
+    public static void commitValidation(Object startedEvent, String schema, int violationCount) {
+        if (startedEvent == null) {
+            return;
+        }
+        ValidationEvent event = (ValidationEvent) startedEvent;
+        event.end();
+        if (event.shouldCommit()) {
+            event.schema = schema;
+            event.valid = violationCount == 0;
+            event.violationCount = violationCount;
+            event.commit();
+        }
+    }
+
+    public static Object beginRegexpMatch() {
+        if (!AVAILABLE || !EventTypes.REGEXP_MATCH.isEnabled()) {
+            return null;
+        }
+        RegexpMatchEvent event = new RegexpMatchEvent();
+        event.begin();
+        return event;
+    }
+
+    public static void commitRegexpMatch(Object startedEvent, String pattern, int inputLength, boolean matched) {
+        if (startedEvent == null) {
+            return;
+        }
+        RegexpMatchEvent event = (RegexpMatchEvent) startedEvent;
+        event.end();
+        if (event.shouldCommit()) {
+            event.pattern = pattern;
+            event.inputLength = inputLength;
+            event.matched = matched;
+            event.commit();
+        }
+    }
+
+    private FlightRecorderEvents() {
+    }
+}
@@ -0,0 +1,27 @@
+package org.everit.json.schema.internal.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+import jdk.jfr.Threshold;
+
+@Name("org.everit.json.schema.RegexpMatch")
+@Label("Slow Regexp Match")
+@Category("JSON Schema")
+@Description("Matching a pattern or patternProperties regexp which took longer than the threshold")
+@Threshold("1 ms")
+@StackTrace(false)
+class RegexpMatchEvent extends jdk.jfr.Event {
+
+    @Label("Pattern")
+    String pattern;
+
+    @Label("Input Length")
+    @Description("The number of characters of the matched string")
+    int inputLength;
+
+    @Label("Matched")
+    boolean matched;
+}
@@ -0,0 +1,24 @@
+package org.everit.json.schema.internal.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.DataAmount;
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+@Name("org.everit.json.schema.SchemaFetch")
+@Label("Schema Fetch")
+@Category("JSON Schema")
+@Description("Fetching and parsing a remote schema document by the SchemaClient")
+class SchemaFetchEvent extends jdk.jfr.Event {
+
+    @Label("URL")
+    String url;
+
+    @Label("Bytes")
+    @DataAmount
+    long bytes;
+
+    @Label("Success")
+    boolean success;
+}
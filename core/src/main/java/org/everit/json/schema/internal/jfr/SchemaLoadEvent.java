@@ -0,0 +1,23 @@
+package org.everit.json.schema.internal.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+@Name("org.everit.json.schema.SchemaLoad")
+@Label("Schema Load")
+@Category("JSON Schema")
+@Description("Loading a schema document, including the documents it references")
+class SchemaLoadEvent extends jdk.jfr.Event {
+
+    @Label("Document URI")
+    String documentUri;
+
+    @Label("Subschema Count")
+    @Description("The number of schemas loaded from the document")
+    int subschemaCount;
+
+    @Label("Success")
+    boolean success;
+}
@@ -0,0 +1,23 @@
+package org.everit.json.schema.internal.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+@Name("org.everit.json.schema.Validation")
+@Label("Validation")
+@Category("JSON Schema")
+@Description("Validating a document")
+class ValidationEvent extends jdk.jfr.Event {
+
+    @Label("Schema")
+    @Description("The id of the schema, or the URI of the document it was loaded from")
+    String schema;
+
+    @Label("Valid")
+    boolean valid;
+
+    @Label("Violation Count")
+    int violationCount;
+}
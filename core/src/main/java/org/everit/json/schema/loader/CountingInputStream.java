@@ -0,0 +1,47 @@
+package org.everit.json.schema.loader;
+
+import java.io.FilterInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+
+/**
+ * Counts the bytes read from the wrapped stream.
+ */
+class CountingInputStream extends FilterInputStream {
+
+    private long byteCount;
+
+    CountingInputStream(InputStream in) {
+        super(in);
+    }
+
+    @Override public int read() throws IOException {
+        int b = super.read();
+        if (b >= 0) {
+            ++byteCount;
+        }
+        return b;
+    }
+
+    @Override public int read(byte[] b, int off, int len) throws IOException {
+        int count = super.read(b, off, len);
+        if (count > 0) {
+            byteCount += count;
+        }
+        return count;
+    }
+
+    @Override public long skip(long n) throws IOException {
+        long skipped = super.skip(n);
+        byteCount += skipped;
+        return skipped;
+    }
+
+    @Override public boolean markSupported() {
+        return false;
+    }
+
+    long getByteCount() {
+        return byteCount;
+    }
+}
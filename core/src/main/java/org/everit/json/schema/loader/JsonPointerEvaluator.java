@@ -21,6 +21,7 @@ import java.util.function.Supplier;
 import org.everit.json.schema.JSONPointerException;
 import org.everit.json.schema.SchemaException;
 import org.everit.json.schema.SchemaLocation;
+import org.everit.json.schema.internal.jfr.FlightRecorderEvents;
 import org.json.JSONException;
 import org.json.JSONObject;
 import org.json.JSONTokener;
@@ -76,8 +77,14 @@ class JsonPointerEvaluator {
         String resp = null;
         BufferedReader buffReader = null;
         InputStreamReader reader = null;
+        Object fetchEvent = FlightRecorderEvents.beginSchemaFetch();
+        CountingInputStream countingStream = null;
+        boolean success = false;
         try {
             InputStream responseStream = client.get(url);
+            if (fetchEvent != null) {
+                responseStream = countingStream = new CountingInputStream(responseStream);
+            }
             reader = new InputStreamReader(responseStream, Charset.defaultCharset());
             buffReader = new BufferedReader(reader);
             String line;
@@ -86,7 +93,9 @@ class JsonPointerEvaluator {
                 strBuilder.append(line);
             }
             resp = strBuilder.toString();
-            return new JsonObject(toMap(new JSONObject(new JSONTokener(resp))));
+            JsonObject document = new JsonObject(toMap(new JSONObject(new JSONTokener(resp))));
+            success = true;
+            return document;
         } catch (IOException e) {
             throw new UncheckedIOException(e);
         } catch (JSONException e) {
@@ -101,6 +110,9 @@ class JsonPointerEvaluator {
                 }
             } catch (IOException e) {
                 throw new UncheckedIOException(e);
+            } finally {
+                FlightRecorderEvents.commitSchemaFetch(fetchEvent, url,
+                        countingStream == null ? 0 : countingStream.getByteCount(), success);
             }
         }
     }
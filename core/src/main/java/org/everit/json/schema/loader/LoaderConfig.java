@@ -12,7 +12,8 @@ import java.util.Map;
 
 import org.everit.json.schema.FormatValidator;
 import org.everit.json.schema.loader.internal.DefaultSchemaClient;
-import org.everit.json.schema.regexp.JavaUtilRegexpFactory;
+import org.everit.json.schema.metrics.MetricsRecorder;
+import org.everit.json.schema.regexp.CachingRegexpFactory;
 import org.everit.json.schema.regexp.RegexpFactory;
 
 /**
@@ -38,15 +39,31 @@ class LoaderConfig {
 
     final RegexpFactory regexpFactory;
 
+    final MetricsRecorder metrics;
+
+    /**
+     * The number of schemas loaded with this configuration, that is, the number of subschemas of the loaded document.
+     */
+    int loadedSchemaCount;
+
     LoaderConfig(SchemaClient schemaClient, Map<String, FormatValidator> formatValidators,
             SpecificationVersion specVersion, boolean useDefaults) {
-        this(schemaClient, formatValidators, emptyMap(), specVersion, useDefaults, false, new JavaUtilRegexpFactory());
+        this(schemaClient, formatValidators, emptyMap(), specVersion, useDefaults, false,
+                CachingRegexpFactory.defaultInstance());
     }
 
     LoaderConfig(SchemaClient schemaClient, Map<String, FormatValidator> formatValidators,
             Map<URI, Object> schemasByURI,
             SpecificationVersion specVersion, boolean useDefaults, boolean nullableSupport,
             RegexpFactory regexpFactory) {
+        this(schemaClient, formatValidators, schemasByURI, specVersion, useDefaults, nullableSupport, regexpFactory,
+                MetricsRecorder.NOOP);
+    }
+
+    LoaderConfig(SchemaClient schemaClient, Map<String, FormatValidator> formatValidators,
+            Map<URI, Object> schemasByURI,
+            SpecificationVersion specVersion, boolean useDefaults, boolean nullableSupport,
+            RegexpFactory regexpFactory, MetricsRecorder metrics) {
         this.schemaClient = requireNonNull(schemaClient, "schemaClient cannot be null");
         this.formatValidators = requireNonNull(formatValidators, "formatValidators cannot be null");
         if (schemasByURI == null) {
@@ -58,6 +75,7 @@ class LoaderConfig {
         this.useDefaults = useDefaults;
         this.nullableSupport = nullableSupport;
         this.regexpFactory = requireNonNull(regexpFactory, "regexpFactory cannot be null");
+        this.metrics = requireNonNull(metrics, "metrics cannot be null");
     }
 
     /**
@@ -71,6 +89,7 @@ class LoaderConfig {
                 .useDefaults(this.useDefaults)
                 .regexpFactory(this.regexpFactory)
                 .nullableSupport(this.nullableSupport)
+                .metrics(this.metrics)
                 .formatValidators(new HashMap<>(this.formatValidators));
         loaderBuilder.schemasByURI = schemasByURI;
         if (DRAFT_6.equals(specVersion)) {
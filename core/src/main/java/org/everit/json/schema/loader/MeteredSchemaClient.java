@@ -0,0 +1,72 @@
+package org.everit.json.schema.loader;
+
+import static java.util.Objects.requireNonNull;
+import static org.everit.json.schema.metrics.MetricNames.DOCUMENT_TAG;
+import static org.everit.json.schema.metrics.MetricNames.FAILURE;
+import static org.everit.json.schema.metrics.MetricNames.FETCH;
+import static org.everit.json.schema.metrics.MetricNames.FETCHED_BYTES;
+import static org.everit.json.schema.metrics.MetricNames.OUTCOME_TAG;
+import static org.everit.json.schema.metrics.MetricNames.SUCCESS;
+
+import java.io.IOException;
+import java.io.InputStream;
+
+import org.everit.json.schema.metrics.MetricsRecorder;
+
+/**
+ * Publishes the latency and the size of the remote documents fetched by a {@link SchemaClient}.
+ */
+class MeteredSchemaClient implements SchemaClient {
+
+    static SchemaClient wrap(SchemaClient schemaClient, MetricsRecorder metrics) {
+        if (metrics == MetricsRecorder.NOOP || schemaClient instanceof MeteredSchemaClient) {
+            return schemaClient;
+        }
+        return new MeteredSchemaClient(schemaClient, metrics);
+    }
+
+    /**
+     * Records the bytes read from the response when the stream is closed.
+     */
+    private class RecordingInputStream extends CountingInputStream {
+
+        private final String url;
+
+        private boolean closed;
+
+        RecordingInputStream(InputStream in, String url) {
+            super(in);
+            this.url = url;
+        }
+
+        @Override public void close() throws IOException {
+            if (!closed) {
+                closed = true;
+                metrics.recordAmount(FETCHED_BYTES, getByteCount(), DOCUMENT_TAG, url);
+            }
+            super.close();
+        }
+    }
+
+    private final SchemaClient schemaClient;
+
+    private final MetricsRecorder metrics;
+
+    private MeteredSchemaClient(SchemaClient schemaClient, MetricsRecorder metrics) {
+        this.schemaClient = requireNonNull(schemaClient, "schemaClient cannot be null");
+        this.metrics = requireNonNull(metrics, "metrics cannot be null");
+    }
+
+    @Override public InputStream get(String url) {
+        long start = System.nanoTime();
+        InputStream response;
+        try {
+            response = schemaClient.get(url);
+        } catch (RuntimeException e) {
+            metrics.recordNanos(FETCH, System.nanoTime() - start, DOCUMENT_TAG, url, OUTCOME_TAG, FAILURE);
+            throw e;
+        }
+        metrics.recordNanos(FETCH, System.nanoTime() - start, DOCUMENT_TAG, url, OUTCOME_TAG, SUCCESS);
+        return new RecordingInputStream(response, url);
+    }
+}
@@ -14,6 +14,7 @@ import org.everit.json.schema.ReferenceSchema;
 import org.everit.json.schema.Schema;
 import org.everit.json.schema.SchemaLocation;
 import org.everit.json.schema.loader.internal.ReferenceResolver;
+import org.everit.json.schema.metrics.MetricNames;
 import org.json.JSONObject;
 
 class ReferenceKnot {
@@ -99,7 +100,7 @@ class ReferenceLookup {
 
     public ReferenceLookup(LoadingState ls) {
         this.ls = requireNonNull(ls, "ls cannot be null");
-        this.schemaClient = ls.config.schemaClient;
+        this.schemaClient = MeteredSchemaClient.wrap(ls.config.schemaClient, ls.config.metrics);
     }
 
     private Map<String, Object> doExtend(Map<String, Object> additional, Map<String, Object> original) {
@@ -133,13 +134,16 @@ class ReferenceLookup {
     Schema.Builder<?> lookup(String relPointerString, JsonObject ctx) {
         String absPointerString = ReferenceResolver.resolve(ls.id, relPointerString).toString();
         if (ls.pointerSchemas.containsKey(absPointerString)) {
+            countResolution(MetricNames.CACHED);
             return ls.pointerSchemas.get(absPointerString).initReference(absPointerString);
         }
         JsonValue rawInternalReferenced = lookupObjById(ls.rootSchemaJson, absPointerString);
         if (rawInternalReferenced != null) {
+            countResolution(MetricNames.LOCAL);
             return createReferenceSchema(relPointerString, absPointerString, rawInternalReferenced);
         }
         if (isSameDocumentRef(relPointerString)) {
+            countResolution(MetricNames.LOCAL);
             return performQueryEvaluation(relPointerString, JsonPointerEvaluator.forDocument(ls.rootSchemaJson(), relPointerString));
         }
         JsonPointerEvaluator pointer = createPointerEvaluator(absPointerString);
@@ -179,23 +183,31 @@ class ReferenceLookup {
 
     private JsonPointerEvaluator createPointerEvaluator(String absPointerString) {
         if (isSameDocumentRef(absPointerString)) {
+            countResolution(MetricNames.LOCAL);
             return JsonPointerEvaluator.forDocument(ls.rootSchemaJson(), absPointerString);
         }
         try {
             Uri uri = Uri.parse(absPointerString);
             if (ls.config.schemasByURI.containsKey(uri.asJavaURI())) {
+                countResolution(MetricNames.LOCAL);
                 JsonObject o = initJsonObjectById(uri.asJavaURI());
                 return JsonPointerEvaluator.forDocument(o, "#");
             } else if (ls.config.schemasByURI.containsKey(uri.toBeQueried)) {
+                countResolution(MetricNames.LOCAL);
                 JsonObject o = initJsonObjectById(uri.toBeQueried);
                 return JsonPointerEvaluator.forDocument(o, uri.fragment);
             }
         } catch (URISyntaxException e) {
             throw ls.createSchemaException(e);
         }
+        countResolution(MetricNames.REMOTE);
         return JsonPointerEvaluator.forURL(schemaClient, absPointerString, ls);
     }
 
+    private void countResolution(String kind) {
+        ls.config.metrics.increment(MetricNames.REFERENCE_RESOLUTIONS, MetricNames.KIND_TAG, kind);
+    }
+
     private boolean isSameDocumentRef(String ref) {
         return ref.startsWith("#");
     }
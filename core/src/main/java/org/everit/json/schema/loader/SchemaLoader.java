@@ -27,9 +27,12 @@ import org.everit.json.schema.Schema;
 import org.everit.json.schema.SchemaException;
 import org.everit.json.schema.SchemaLocation;
 import org.everit.json.schema.TrueSchema;
+import org.everit.json.schema.internal.jfr.FlightRecorderEvents;
 import org.everit.json.schema.loader.internal.DefaultSchemaClient;
 import org.everit.json.schema.loader.internal.WrappingFormatValidator;
-import org.everit.json.schema.regexp.JavaUtilRegexpFactory;
+import org.everit.json.schema.metrics.MetricNames;
+import org.everit.json.schema.metrics.MetricsRecorder;
+import org.everit.json.schema.regexp.CachingRegexpFactory;
 import org.everit.json.schema.regexp.RegexpFactory;
 import org.json.JSONObject;
 
@@ -71,7 +74,9 @@ public class SchemaLoader {
 
         private boolean nullableSupport = false;
 
-        RegexpFactory regexpFactory = new JavaUtilRegexpFactory();
+        RegexpFactory regexpFactory = CachingRegexpFactory.defaultInstance();
+
+        MetricsRecorder metrics = MetricsRecorder.NOOP;
 
         Map<URI, Object> schemasByURI = null;
 
@@ -256,11 +261,34 @@ public class SchemaLoader {
             return this;
         }
 
+        /**
+         * Sets the factory used for compiling {@code pattern} and {@code patternProperties} values. Defaults to
+         * {@link CachingRegexpFactory#defaultInstance()}. A custom factory is used as-is, wrap it into a
+         * {@link CachingRegexpFactory} to share compiled patterns between loads.
+         *
+         * @param regexpFactory
+         *         the factory to be used for creating {@link org.everit.json.schema.regexp.Regexp} instances
+         * @return {@code this}
+         */
         public SchemaLoaderBuilder regexpFactory(RegexpFactory regexpFactory) {
             this.regexpFactory = regexpFactory;
             return this;
         }
 
+        /**
+         * Sets the recorder of the loading metrics: the load time of the schema documents, the latency and size of
+         * the remote documents fetched by the {@link SchemaClient}, and the number of resolved {@code $ref}s. See
+         * {@link MetricNames} for the published metrics.
+         *
+         * @param metrics
+         *         the recorder of the metrics, {@link MetricsRecorder#NOOP} by default
+         * @return {@code this}
+         */
+        public SchemaLoaderBuilder metrics(MetricsRecorder metrics) {
+            this.metrics = requireNonNull(metrics, "metrics cannot be null");
+            return this;
+        }
+
         public SchemaLoaderBuilder registerSchemaByURI(URI uri, Object schema) {
             if (schemasByURI == null) {
                 schemasByURI = new HashMap<>();
@@ -312,6 +340,11 @@ public class SchemaLoader {
 
     private final LoadingState ls;
 
+    /**
+     * {@code true} if this loader loads a whole schema document (not a subschema of it), and publishes its load time.
+     */
+    private final boolean documentRoot;
+
     /**
      * Constructor.
      *
@@ -347,7 +380,9 @@ public class SchemaLoader {
                 specVersion,
                 builder.useDefaults,
                 builder.nullableSupport,
-                builder.regexpFactory);
+                builder.regexpFactory,
+                builder.metrics);
+        this.documentRoot = true;
         this.ls = new LoadingState(config,
                 builder.pointerSchemas,
                 effectiveRootSchemaJson,
@@ -378,6 +413,7 @@ public class SchemaLoader {
     SchemaLoader(LoadingState ls) {
         this.ls = ls;
         this.config = ls.config;
+        this.documentRoot = false;
     }
 
     private Schema.Builder loadSchemaBoolean(Boolean rawBoolean) {
@@ -456,6 +492,32 @@ public class SchemaLoader {
      * instance to be used for validation
      */
     public Schema.Builder<?> load() {
+        if (!documentRoot) {
+            return loadSchemaJson();
+        }
+        Object loadEvent = FlightRecorderEvents.beginSchemaLoad();
+        MetricsRecorder metrics = config.metrics;
+        if (loadEvent == null && metrics == MetricsRecorder.NOOP) {
+            return loadSchemaJson();
+        }
+        String document = ls.id == null ? MetricNames.UNKNOWN : ls.id.toString();
+        int previouslyLoadedSchemaCount = config.loadedSchemaCount;
+        long start = System.nanoTime();
+        boolean success = false;
+        try {
+            Schema.Builder<?> schemaBuilder = loadSchemaJson();
+            success = true;
+            return schemaBuilder;
+        } finally {
+            metrics.recordNanos(MetricNames.LOAD, System.nanoTime() - start, MetricNames.DOCUMENT_TAG, document,
+                    MetricNames.OUTCOME_TAG, success ? MetricNames.SUCCESS : MetricNames.FAILURE);
+            FlightRecorderEvents.commitSchemaLoad(loadEvent, document,
+                    config.loadedSchemaCount - previouslyLoadedSchemaCount, success);
+        }
+    }
+
+    private Schema.Builder<?> loadSchemaJson() {
+        ++config.loadedSchemaCount;
         return ls.schemaJson
                 .canBeMappedTo(Boolean.class, this::loadSchemaBoolean)
                 .orMappedTo(JsonObject.class, this::loadSchemaObject)
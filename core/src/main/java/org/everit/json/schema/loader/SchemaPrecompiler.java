@@ -0,0 +1,194 @@
+package org.everit.json.schema.loader;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static java.util.Objects.requireNonNull;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.net.URI;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+
+import org.everit.json.schema.FormatValidator;
+import org.everit.json.schema.Schema;
+import org.everit.json.schema.SchemaSnapshotReader;
+import org.everit.json.schema.SchemaSnapshotWriter;
+import org.everit.json.schema.loader.internal.DefaultSchemaClient;
+import org.json.JSONObject;
+
+/**
+ * Loads schema files at build time and writes them into snapshots, which can be read at runtime by
+ * {@link SchemaSnapshotReader} instead of loading the schema JSON.
+ * <p>
+ * It is meant to be run as a build step (for example by the {@code java} goal of the exec-maven-plugin), with the
+ * following arguments:
+ * <pre>
+ * [--draft-v6 | --draft-v7] [--use-defaults] [--nullable] [--format &lt;name&gt;]... [--base-uri &lt;uri&gt;]
+ *     &lt;schema file&gt; &lt;snapshot file&gt; [&lt;schema file&gt; &lt;snapshot file&gt;]...
+ * </pre>
+ * The custom formats used by the schemas have to be declared with {@code --format}, and the implementations of them
+ * have to be registered on the {@link SchemaSnapshotReader} at runtime.
+ * <p>
+ * The locations of the schemas (reported in violations, metrics and JFR events) are based on the {@code $id} of the
+ * schema, or on {@code --base-uri}: the resolution scope of each schema file is the base URI resolved against the
+ * name of the file, and references below the base URI are read from the directory of the schema file. The paths of
+ * the build machine are not written into the snapshots.
+ */
+public class SchemaPrecompiler {
+
+    private static final String USAGE = "usage: SchemaPrecompiler [--draft-v6 | --draft-v7] [--use-defaults] "
+            + "[--nullable] [--format <name>]... [--base-uri <uri>] "
+            + "<schema file> <snapshot file> [<schema file> <snapshot file>]...";
+
+    /**
+     * Stands for a custom format during the build, which is re-bound when the snapshot is read.
+     */
+    private static class FormatPlaceholder implements FormatValidator {
+
+        private final String formatName;
+
+        FormatPlaceholder(String formatName) {
+            this.formatName = formatName;
+        }
+
+        @Override public Optional<String> validate(String subject) {
+            throw new IllegalStateException(
+                    "format [" + formatName + "] has to be registered when reading the snapshot");
+        }
+
+        @Override public String formatName() {
+            return formatName;
+        }
+    }
+
+    /**
+     * Reads the documents below {@code baseUri} from {@code directory}, and fetches the others with the fallback
+     * client.
+     */
+    private static class DirectorySchemaClient implements SchemaClient {
+
+        private final String baseUri;
+
+        private final Path directory;
+
+        private final SchemaClient fallbackClient;
+
+        DirectorySchemaClient(URI baseUri, Path directory, SchemaClient fallbackClient) {
+            this.baseUri = baseUri.toString();
+            this.directory = requireNonNull(directory, "directory cannot be null");
+            this.fallbackClient = requireNonNull(fallbackClient, "fallbackClient cannot be null");
+        }
+
+        @Override public InputStream get(String url) {
+            if (!url.startsWith(baseUri)) {
+                return fallbackClient.get(url);
+            }
+            try {
+                return Files.newInputStream(directory.resolve(url.substring(baseUri.length())));
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        }
+    }
+
+    public static void main(String[] args) throws IOException {
+        boolean draftV6 = false;
+        boolean draftV7 = false;
+        boolean useDefaults = false;
+        boolean nullable = false;
+        List<String> formats = new ArrayList<>();
+        URI baseUri = null;
+        List<Path> files = new ArrayList<>();
+        for (int i = 0; i < args.length; ++i) {
+            switch (args[i]) {
+            case "--draft-v6":
+                draftV6 = true;
+                break;
+            case "--draft-v7":
+                draftV7 = true;
+                break;
+            case "--use-defaults":
+                useDefaults = true;
+                break;
+            case "--nullable":
+                nullable = true;
+                break;
+            case "--format":
+                if (++i == args.length) {
+                    throw new IllegalArgumentException(USAGE);
+                }
+                formats.add(args[i]);
+                break;
+            case "--base-uri":
+                if (++i == args.length) {
+                    throw new IllegalArgumentException(USAGE);
+                }
+                baseUri = URI.create(args[i]);
+                break;
+            default:
+                files.add(Paths.get(args[i]));
+            }
+        }
+        if (files.isEmpty() || files.size() % 2 != 0 || (draftV6 && draftV7)) {
+            throw new IllegalArgumentException(USAGE);
+        }
+        for (int i = 0; i < files.size(); i += 2) {
+            SchemaLoader.SchemaLoaderBuilder loaderBuilder = SchemaLoader.builder()
+                    .useDefaults(useDefaults)
+                    .nullableSupport(nullable);
+            if (draftV6) {
+                loaderBuilder.draftV6Support();
+            } else if (draftV7) {
+                loaderBuilder.draftV7Support();
+            }
+            for (String format : formats) {
+                loaderBuilder.addFormatValidator(new FormatPlaceholder(format));
+            }
+            if (baseUri != null) {
+                Path schemaFile = files.get(i).toAbsolutePath();
+                loaderBuilder.resolutionScope(baseUri.resolve(schemaFile.getFileName().toString()))
+                        .schemaClient(new DirectorySchemaClient(baseUri, schemaFile.getParent(),
+                                new DefaultSchemaClient()));
+            }
+            precompile(loaderBuilder, files.get(i), files.get(i + 1));
+        }
+    }
+
+    /**
+     * Loads the schema of {@code schemaFile} with {@code loaderBuilder}, and writes its snapshot into
+     * {@code snapshotFile}. The schema JSON of {@code loaderBuilder} is set by this method. The resolution scope is
+     * left to the caller: if it is not set, then the {@code $id} of the schema is used.
+     *
+     * @param loaderBuilder
+     *         the loader configuration
+     * @param schemaFile
+     *         the file of the schema JSON
+     * @param snapshotFile
+     *         the file to write the snapshot into, its parent directories are created if needed
+     * @return the loaded schema
+     * @throws IOException
+     *         if reading the schema or writing the snapshot fails
+     */
+    public static Schema precompile(SchemaLoader.SchemaLoaderBuilder loaderBuilder, Path schemaFile, Path snapshotFile)
+            throws IOException {
+        requireNonNull(loaderBuilder, "loaderBuilder cannot be null");
+        JSONObject schemaJson = new JSONObject(new String(Files.readAllBytes(schemaFile), UTF_8));
+        Schema schema = loaderBuilder
+                .schemaJson(schemaJson)
+                .build().load().build();
+        Path parent = snapshotFile.toAbsolutePath().getParent();
+        if (parent != null) {
+            Files.createDirectories(parent);
+        }
+        try (OutputStream out = Files.newOutputStream(snapshotFile)) {
+            SchemaSnapshotWriter.write(schema, out);
+        }
+        return schema;
+    }
+}
@@ -0,0 +1,91 @@
+package org.everit.json.schema.metrics;
+
+/**
+ * The names and tags of the metrics published to a {@link MetricsRecorder}.
+ */
+public interface MetricNames {
+
+    /**
+     * Tag of the loader metrics: the URI of the loaded schema document (its {@code $id} or resolution scope), or
+     * {@link #UNKNOWN} if the document has no URI.
+     */
+    String DOCUMENT_TAG = "document";
+
+    /**
+     * Tag of the validator metrics: the {@code $id} of the validated schema, or the URI of the document the schema was
+     * loaded from, or {@link #UNKNOWN}.
+     */
+    String SCHEMA_TAG = "schema";
+
+    /**
+     * Tag of timers: {@link #SUCCESS} or {@link #FAILURE} for loading and fetching, {@link #VALID} or
+     * {@link #INVALID} for validation.
+     */
+    String OUTCOME_TAG = "outcome";
+
+    /**
+     * Tag of {@link #REFERENCE_RESOLUTIONS}: {@link #CACHED}, {@link #LOCAL} or {@link #REMOTE}.
+     */
+    String KIND_TAG = "kind";
+
+    String UNKNOWN = "unknown";
+
+    String SUCCESS = "success";
+
+    String FAILURE = "failure";
+
+    String VALID = "valid";
+
+    String INVALID = "invalid";
+
+    /**
+     * The reference points to a schema which is already loaded (or being loaded).
+     */
+    String CACHED = "cached";
+
+    /**
+     * The reference points into the containing document, or into an other document registered on the loader.
+     */
+    String LOCAL = "local";
+
+    /**
+     * The reference points into an other document, which is fetched by the
+     * {@link org.everit.json.schema.loader.SchemaClient}.
+     */
+    String REMOTE = "remote";
+
+    /**
+     * Timer of loading a schema document (including the documents it references), tagged by {@link #DOCUMENT_TAG}
+     * and {@link #OUTCOME_TAG}.
+     */
+    String LOAD = "everit.schema.load";
+
+    /**
+     * Timer of opening remote documents by the {@link org.everit.json.schema.loader.SchemaClient}, tagged by
+     * {@link #DOCUMENT_TAG} (the fetched URL) and {@link #OUTCOME_TAG}.
+     */
+    String FETCH = "everit.schema.client.fetch";
+
+    /**
+     * Distribution summary of the number of bytes read from the fetched remote documents, tagged by
+     * {@link #DOCUMENT_TAG}.
+     */
+    String FETCHED_BYTES = "everit.schema.client.bytes";
+
+    /**
+     * Counter of resolved {@code $ref}s, tagged by {@link #KIND_TAG}.
+     */
+    String REFERENCE_RESOLUTIONS = "everit.schema.ref.resolutions";
+
+    /**
+     * Timer of validating documents, tagged by {@link #SCHEMA_TAG} and {@link #OUTCOME_TAG}. The number of validations
+     * per second and the failure rate are derived from the count of this timer.
+     */
+    String VALIDATION = "everit.schema.validation";
+
+    /**
+     * Distribution summary of the number of violations found in the invalid documents, tagged by
+     * {@link #SCHEMA_TAG}.
+     */
+    String VIOLATIONS = "everit.schema.validation.violations";
+}
@@ -0,0 +1,67 @@
+package org.everit.json.schema.metrics;
+
+/**
+ * Receives the metrics published by the {@link org.everit.json.schema.loader.SchemaLoader} and the
+ * {@link org.everit.json.schema.Validator}. The names of the published metrics are listed in {@link MetricNames}.
+ * <p>
+ * The methods follow the meter types of Micrometer: counters, timers and distribution summaries, with tags passed as
+ * alternating key-value pairs, therefore a Micrometer binding is a one-liner per method, for example
+ * {@code registry.timer(name, tags).record(nanos, TimeUnit.NANOSECONDS)}. {@link SimpleMetricsRecorder} is an
+ * in-memory implementation without external dependencies.
+ * </p>
+ * <p>
+ * Implementations have to be thread-safe.
+ * </p>
+ */
+public interface MetricsRecorder {
+
+    /**
+     * Discards all metrics. This is the default recorder of the loader and the validator, which skip measuring if
+     * they are configured with it.
+     */
+    MetricsRecorder NOOP = new MetricsRecorder() {
+
+        @Override public void increment(String name, String... tags) {
+        }
+
+        @Override public void recordNanos(String name, long nanos, String... tags) {
+        }
+
+        @Override public void recordAmount(String name, double amount, String... tags) {
+        }
+    };
+
+    /**
+     * Increments a counter by one.
+     *
+     * @param name
+     *         the name of the counter
+     * @param tags
+     *         the tags of the counter, as alternating keys and values
+     */
+    void increment(String name, String... tags);
+
+    /**
+     * Records the duration of an event into a timer.
+     *
+     * @param name
+     *         the name of the timer
+     * @param nanos
+     *         the duration in nanoseconds
+     * @param tags
+     *         the tags of the timer, as alternating keys and values
+     */
+    void recordNanos(String name, long nanos, String... tags);
+
+    /**
+     * Records an amount (like a size or a count per event) into a distribution summary.
+     *
+     * @param name
+     *         the name of the distribution summary
+     * @param amount
+     *         the recorded amount
+     * @param tags
+     *         the tags of the distribution summary, as alternating keys and values
+     */
+    void recordAmount(String name, double amount, String... tags);
+}
@@ -0,0 +1,152 @@
+package org.everit.json.schema.metrics;
+
+import static java.util.Collections.unmodifiableMap;
+import static java.util.Objects.requireNonNull;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.DoubleAccumulator;
+import java.util.concurrent.atomic.DoubleAdder;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * {@link MetricsRecorder} keeping the count, total and maximum of each meter in memory. Timers are recorded in
+ * nanoseconds, counters have the total of their count.
+ */
+public class SimpleMetricsRecorder implements MetricsRecorder {
+
+    /**
+     * The aggregated values of a meter, identified by its name and tags.
+     */
+    public static class Meter {
+
+        private final String name;
+
+        private final Map<String, String> tags;
+
+        private final LongAdder count = new LongAdder();
+
+        private final DoubleAdder total = new DoubleAdder();
+
+        private final DoubleAccumulator max = new DoubleAccumulator(Math::max, 0);
+
+        Meter(String name, Map<String, String> tags) {
+            this.name = name;
+            this.tags = unmodifiableMap(tags);
+        }
+
+        void record(double amount) {
+            count.increment();
+            total.add(amount);
+            max.accumulate(amount);
+        }
+
+        public String getName() {
+            return name;
+        }
+
+        public Map<String, String> getTags() {
+            return tags;
+        }
+
+        /**
+         * @return the number of recorded events
+         */
+        public long getCount() {
+            return count.sum();
+        }
+
+        /**
+         * @return the sum of the recorded amounts (nanoseconds for timers)
+         */
+        public double getTotal() {
+            return total.sum();
+        }
+
+        /**
+         * @return the largest recorded amount (nanoseconds for timers)
+         */
+        public double getMax() {
+            return max.get();
+        }
+
+        @Override public String toString() {
+            return name + tags + ": count=" + getCount() + ", total=" + getTotal() + ", max=" + getMax();
+        }
+    }
+
+    private static class MeterId {
+
+        private final String name;
+
+        private final Map<String, String> tags;
+
+        MeterId(String name, String[] tags) {
+            if (tags.length % 2 != 0) {
+                throw new IllegalArgumentException("tags must be key-value pairs");
+            }
+            this.name = requireNonNull(name, "name cannot be null");
+            this.tags = new TreeMap<>();
+            for (int i = 0; i < tags.length; i += 2) {
+                this.tags.put(tags[i], tags[i + 1]);
+            }
+        }
+
+        @Override public boolean equals(Object o) {
+            if (this == o) {
+                return true;
+            }
+            if (!(o instanceof MeterId)) {
+                return false;
+            }
+            MeterId meterId = (MeterId) o;
+            return name.equals(meterId.name) && tags.equals(meterId.tags);
+        }
+
+        @Override public int hashCode() {
+            return 31 * name.hashCode() + tags.hashCode();
+        }
+    }
+
+    private final ConcurrentMap<MeterId, Meter> meters = new ConcurrentHashMap<>();
+
+    private Meter meter(String name, String[] tags) {
+        return meters.computeIfAbsent(new MeterId(name, tags), id -> new Meter(id.name, id.tags));
+    }
+
+    @Override public void increment(String name, String... tags) {
+        meter(name, tags).record(1);
+    }
+
+    @Override public void recordNanos(String name, long nanos, String... tags) {
+        meter(name, tags).record(nanos);
+    }
+
+    @Override public void recordAmount(String name, double amount, String... tags) {
+        meter(name, tags).record(amount);
+    }
+
+    /**
+     * Returns the meter with the given name and tags.
+     *
+     * @param name
+     *         the name of the meter
+     * @param tags
+     *         all tags of the meter, as alternating keys and values
+     * @return the meter, or {@code null} if nothing was recorded into it
+     */
+    public Meter getMeter(String name, String... tags) {
+        return meters.get(new MeterId(name, tags));
+    }
+
+    /**
+     * @return the meters which have recorded values
+     */
+    public Collection<Meter> getMeters() {
+        return new ArrayList<>(meters.values());
+    }
+}
@@ -0,0 +1,111 @@
+package org.everit.json.schema.regexp;
+
+import static java.util.Objects.requireNonNull;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * A {@link RegexpFactory} decorator which caches the created {@link Regexp} instances by their pattern string, so
+ * that identical patterns are compiled only once across subschemas and schema loads.
+ * <p>
+ * The cache is bounded: when it reaches its maximum size, the least recently used pattern is evicted. Instances of
+ * this class are thread-safe, provided that the {@link Regexp} instances created by the delegate factory are
+ * thread-safe (which is true for the built-in factories).
+ */
+public class CachingRegexpFactory implements RegexpFactory {
+
+    public static final int DEFAULT_MAX_SIZE = 1000;
+
+    private static final CachingRegexpFactory DEFAULT_INSTANCE = new CachingRegexpFactory(new JavaUtilRegexpFactory());
+
+    /**
+     * Returns the JVM-wide cache of {@code java.util.regex}-based handlers, which is used by {@code SchemaLoader} (unless
+     * another {@link RegexpFactory} is configured) and by the schema builders methods accepting pattern strings.
+     *
+     * @return the shared caching factory
+     */
+    public static CachingRegexpFactory defaultInstance() {
+        return DEFAULT_INSTANCE;
+    }
+
+    private final RegexpFactory delegate;
+
+    private final Map<String, Regexp> cache;
+
+    private final LongAdder hitCount = new LongAdder();
+
+    private final LongAdder missCount = new LongAdder();
+
+    public CachingRegexpFactory(RegexpFactory delegate) {
+        this(delegate, DEFAULT_MAX_SIZE);
+    }
+
+    public CachingRegexpFactory(RegexpFactory delegate, int maxSize) {
+        this.delegate = requireNonNull(delegate, "delegate cannot be null");
+        if (maxSize < 1) {
+            throw new IllegalArgumentException("maxSize must be positive, found: " + maxSize);
+        }
+        this.cache = new LinkedHashMap<String, Regexp>(16, 0.75f, true) {
+            @Override protected boolean removeEldestEntry(Map.Entry<String, Regexp> eldest) {
+                return size() > maxSize;
+            }
+        };
+    }
+
+    @Override public Regexp createHandler(String input) {
+        Regexp cached;
+        synchronized (cache) {
+            cached = cache.get(input);
+        }
+        if (cached != null) {
+            hitCount.increment();
+            return cached;
+        }
+        missCount.increment();
+        // compiling outside of the lock, concurrent misses of the same pattern may compile it more than once
+        Regexp created = delegate.createHandler(input);
+        synchronized (cache) {
+            Regexp existing = cache.putIfAbsent(input, created);
+            return existing == null ? created : existing;
+        }
+    }
+
+    /**
+     * @return the number of {@link #createHandler(String)} calls served from the cache
+     */
+    public long hitCount() {
+        return hitCount.sum();
+    }
+
+    /**
+     * @return the number of {@link #createHandler(String)} calls which had to compile the pattern
+     */
+    public long missCount() {
+        return missCount.sum();
+    }
+
+    /**
+     * @return the number of currently cached patterns
+     */
+    public int size() {
+        synchronized (cache) {
+            return cache.size();
+        }
+    }
+
+    /**
+     * Removes all cached patterns. The hit and miss counters are not reset.
+     */
+    public void clear() {
+        synchronized (cache) {
+            cache.clear();
+        }
+    }
+
+    @Override public String toString() {
+        return "CachingRegexpFactory{delegate=" + delegate + ", size=" + size() + ", hitCount=" + hitCount()
+                + ", missCount=" + missCount() + "}";
+    }
+}
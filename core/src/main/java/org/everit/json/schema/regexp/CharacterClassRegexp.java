@@ -0,0 +1,60 @@
+package org.everit.json.schema.regexp;
+
+import static java.util.Objects.requireNonNull;
+
+import java.util.Objects;
+import java.util.Optional;
+
+/**
+ * Matches patterns like {@code ^[a-z0-9_]{1,64}$}, where the whole input has to consist of a bounded number of characters
+ * of an ASCII character class.
+ */
+class CharacterClassRegexp extends AbstractRegexp {
+
+    private static final Optional<RegexpMatchingFailure> FAILURE = Optional.of(new RegexpMatchingFailure());
+
+    private final AsciiCharacterSet charSet;
+
+    private final int minOccurrences;
+
+    private final int maxOccurrences;
+
+    private final SimpleRegexpParser.EndAnchor endAnchor;
+
+    CharacterClassRegexp(String pattern, AsciiCharacterSet charSet, int minOccurrences, int maxOccurrences,
+            SimpleRegexpParser.EndAnchor endAnchor) {
+        super(pattern);
+        this.charSet = requireNonNull(charSet, "charSet cannot be null");
+        this.minOccurrences = minOccurrences;
+        this.maxOccurrences = maxOccurrences;
+        this.endAnchor = requireNonNull(endAnchor, "endAnchor cannot be null");
+    }
+
+    @Override public Optional<RegexpMatchingFailure> patternMatchingFailure(String input) {
+        int length = input.length();
+        int matchedCount = 0;
+        while (matchedCount < length && charSet.contains(input.charAt(matchedCount))) {
+            ++matchedCount;
+        }
+        // the character set never contains line terminators, so the only possible end position is the first mismatch
+        if (endAnchor.matchesAt(input, matchedCount)
+                && matchedCount >= minOccurrences
+                && matchedCount <= maxOccurrences) {
+            return Optional.empty();
+        }
+        return FAILURE;
+    }
+
+    @Override public boolean equals(Object o) {
+        if (this == o)
+            return true;
+        if (!(o instanceof CharacterClassRegexp))
+            return false;
+        CharacterClassRegexp that = (CharacterClassRegexp) o;
+        return Objects.equals(toString(), that.toString()) && endAnchor == that.endAnchor;
+    }
+
+    @Override public int hashCode() {
+        return Objects.hash(toString(), endAnchor);
+    }
+}
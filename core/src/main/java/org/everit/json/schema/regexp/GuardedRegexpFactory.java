@@ -0,0 +1,263 @@
+package org.everit.json.schema.regexp;
+
+import static java.util.Objects.requireNonNull;
+
+import java.time.Duration;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.regex.Pattern;
+
+import org.everit.json.schema.internal.jfr.FlightRecorderEvents;
+
+class GuardedJavaUtilRegexp extends AbstractRegexp {
+
+    private static final Optional<RegexpMatchingFailure> FAILURE = Optional.of(new RegexpMatchingFailure());
+
+    private static final Optional<RegexpMatchingFailure> BUDGET_EXCEEDED =
+            Optional.of(new RegexpMatchingFailure(true));
+
+    private final Pattern pattern;
+
+    private final GuardedRegexpFactory factory;
+
+    GuardedJavaUtilRegexp(String pattern, GuardedRegexpFactory factory) {
+        super(pattern);
+        this.pattern = Pattern.compile(pattern);
+        this.factory = requireNonNull(factory, "factory cannot be null");
+    }
+
+    @Override public Optional<RegexpMatchingFailure> patternMatchingFailure(String input) {
+        Object matchEvent = FlightRecorderEvents.beginRegexpMatch();
+        boolean matches;
+        try {
+            matches = pattern.matcher(factory.budgetedInput(input)).find();
+        } catch (MatchBudgetExceededException e) {
+            factory.budgetExceeded();
+            FlightRecorderEvents.commitRegexpMatch(matchEvent, toString(), input.length(), false);
+            return BUDGET_EXCEEDED;
+        }
+        FlightRecorderEvents.commitRegexpMatch(matchEvent, toString(), input.length(), matches);
+        return matches ? Optional.empty() : FAILURE;
+    }
+
+    @Override public boolean equals(Object o) {
+        if (this == o)
+            return true;
+        if (!(o instanceof GuardedJavaUtilRegexp))
+            return false;
+        GuardedJavaUtilRegexp that = (GuardedJavaUtilRegexp) o;
+        return Objects.equals(pattern.pattern(), that.pattern.pattern());
+    }
+
+    @Override public int hashCode() {
+        return Objects.hash(pattern.pattern());
+    }
+}
+
+/**
+ * Thrown by {@link BudgetedCharSequence} to abort a running match. It is caught before leaving the regexp package, so
+ * it doesn't fill its stack trace.
+ */
+class MatchBudgetExceededException extends RuntimeException {
+
+    private static final long serialVersionUID = 1L;
+
+    MatchBudgetExceededException() {
+        super("regexp matching budget exceeded", null, false, false);
+    }
+}
+
+/**
+ * Counts the character reads performed by the {@code java.util.regex} engine, and aborts the match if the step or
+ * time budget is exceeded.
+ */
+class BudgetedCharSequence implements CharSequence {
+
+    private static final int CLOCK_CHECK_INTERVAL = 1024;
+
+    private final String input;
+
+    private final long maxSteps;
+
+    private final long deadline;
+
+    private long steps;
+
+    BudgetedCharSequence(String input, long maxSteps, long timeoutNanos) {
+        this.input = input;
+        this.maxSteps = maxSteps;
+        this.deadline = System.nanoTime() + timeoutNanos;
+    }
+
+    private BudgetedCharSequence(String input, BudgetedCharSequence parent) {
+        this.input = input;
+        this.maxSteps = parent.maxSteps - parent.steps;
+        this.deadline = parent.deadline;
+    }
+
+    @Override public char charAt(int index) {
+        if (++steps > maxSteps) {
+            throw new MatchBudgetExceededException();
+        }
+        if (steps % CLOCK_CHECK_INTERVAL == 0 && System.nanoTime() - deadline > 0) {
+            throw new MatchBudgetExceededException();
+        }
+        return input.charAt(index);
+    }
+
+    @Override public int length() {
+        return input.length();
+    }
+
+    @Override public CharSequence subSequence(int start, int end) {
+        return new BudgetedCharSequence(input.substring(start, end), this);
+    }
+
+    @Override public String toString() {
+        return input;
+    }
+}
+
+/**
+ * A {@link RegexpFactory} protecting against catastrophic backtracking of {@code java.util.regex}.
+ * <p>
+ * Patterns are matched by {@code java.util.regex}, but every match is aborted after reading {@code maxSteps} characters
+ * of the input, or after {@code timeout} elapsed. Aborted matches are reported as failures whose
+ * {@link RegexpMatchingFailure#isBudgetExceeded()} is {@code true}, therefore they result in validation failures (with
+ * a message telling that the budget was exceeded, not that the string doesn't match).
+ * </p>
+ * <p>
+ * Optionally, patterns which look prone to catastrophic backtracking (nested quantifiers like {@code (a+)+}) can be
+ * compiled with RE2J, which guarantees linear-time matching, if RE2J supports them. Note that RE2J doesn't support all
+ * the features of {@code java.util.regex}, and the semantics of some constructs (like anchors in multiline input, or
+ * Unicode character classes) differ, so this has to be enabled explicitly, and requires RE2J on the classpath.
+ * </p>
+ */
+public class GuardedRegexpFactory implements RegexpFactory {
+
+    public static final long DEFAULT_MAX_STEPS = 1_000_000;
+
+    public static final Duration DEFAULT_TIMEOUT = Duration.ofMillis(100);
+
+    /**
+     * Tells if the pattern contains a repeated group which itself contains an unbounded quantifier, like {@code (a+)+},
+     * {@code (\w*\s?)*} or {@code (.*a){12}}. Such patterns are prone to catastrophic backtracking.
+     *
+     * @param pattern
+     *         the regular expression to be checked
+     * @return {@code true} if the pattern has a nested quantifier
+     */
+    public static boolean hasNestedQuantifier(String pattern) {
+        int length = pattern.length();
+        // groupHasQuantifier[depth] tells if the currently open group at the given depth contains a quantifier
+        boolean[] groupHasQuantifier = new boolean[length + 1];
+        int depth = 0;
+        boolean inCharClass = false;
+        boolean lastGroupHadQuantifier = false;
+        for (int i = 0; i < length; ++i) {
+            char ch = pattern.charAt(i);
+            boolean closedGroupWithQuantifier = false;
+            if (ch == '\\') {
+                ++i;
+            } else if (inCharClass) {
+                if (ch == ']') {
+                    inCharClass = false;
+                }
+            } else if (ch == '[') {
+                inCharClass = true;
+            } else if (ch == '(') {
+                groupHasQuantifier[++depth] = false;
+            } else if (ch == ')' && depth > 0) {
+                closedGroupWithQuantifier = groupHasQuantifier[depth--];
+                groupHasQuantifier[depth] |= closedGroupWithQuantifier;
+            } else if (lastGroupHadQuantifier && (ch == '*' || ch == '+' || ch == '{')) {
+                return true;
+            } else if (isUnboundedQuantifier(pattern, i)) {
+                groupHasQuantifier[depth] = true;
+            }
+            lastGroupHadQuantifier = closedGroupWithQuantifier;
+        }
+        return false;
+    }
+
+    private static boolean isUnboundedQuantifier(String pattern, int index) {
+        char ch = pattern.charAt(index);
+        if (ch == '*' || ch == '+') {
+            return true;
+        }
+        if (ch == '{') {
+            int closing = pattern.indexOf('}', index);
+            return closing > index && pattern.charAt(closing - 1) == ',';
+        }
+        return false;
+    }
+
+    private final long maxSteps;
+
+    private final long timeoutNanos;
+
+    /**
+     * The factory used for patterns with nested quantifiers, or {@code null} if they are matched by
+     * {@code java.util.regex} as well.
+     */
+    private final RegexpFactory re2jFactory;
+
+    private final LongAdder budgetExceededCount = new LongAdder();
+
+    public GuardedRegexpFactory() {
+        this(DEFAULT_MAX_STEPS, DEFAULT_TIMEOUT);
+    }
+
+    public GuardedRegexpFactory(long maxSteps, Duration timeout) {
+        this(maxSteps, timeout, false);
+    }
+
+    /**
+     * @param maxSteps
+     *         the maximum number of characters read by a single match
+     * @param timeout
+     *         the maximum duration of a single match
+     * @param re2jForNestedQuantifiers
+     *         if {@code true}, then patterns with nested quantifiers are compiled with RE2J if it supports them, see
+     *         the class documentation
+     */
+    public GuardedRegexpFactory(long maxSteps, Duration timeout, boolean re2jForNestedQuantifiers) {
+        if (maxSteps < 1) {
+            throw new IllegalArgumentException("maxSteps must be positive, found: " + maxSteps);
+        }
+        this.maxSteps = maxSteps;
+        this.timeoutNanos = requireNonNull(timeout, "timeout cannot be null").toNanos();
+        this.re2jFactory = re2jForNestedQuantifiers ? new RE2JRegexpFactory() : null;
+    }
+
+    @Override public Regexp createHandler(String input) {
+        Optional<Regexp> simpleRegexp = SimpleRegexpParser.parse(input, SimpleRegexpParser.EndAnchor.JAVA_UTIL);
+        if (simpleRegexp.isPresent()) {
+            return simpleRegexp.get();
+        }
+        if (re2jFactory != null && hasNestedQuantifier(input)) {
+            try {
+                return re2jFactory.createHandler(input);
+            } catch (com.google.re2j.PatternSyntaxException e) {
+                // not supported by RE2J (eg. backreferences), falling back to budgeted matching
+            }
+        }
+        return new GuardedJavaUtilRegexp(input, this);
+    }
+
+    /**
+     * @return the number of matches aborted since this factory has been created
+     */
+    public long budgetExceededCount() {
+        return budgetExceededCount.sum();
+    }
+
+    CharSequence budgetedInput(String input) {
+        return new BudgetedCharSequence(input, maxSteps, timeoutNanos);
+    }
+
+    void budgetExceeded() {
+        budgetExceededCount.increment();
+    }
+}
@@ -4,6 +4,8 @@ import java.util.Objects;
 import java.util.Optional;
 import java.util.regex.Pattern;
 
+import org.everit.json.schema.internal.jfr.FlightRecorderEvents;
+
 class JavaUtilRegexp extends AbstractRegexp {
 
     private final Pattern pattern;
@@ -14,7 +16,10 @@ class JavaUtilRegexp extends AbstractRegexp {
     }
 
     @Override public Optional<RegexpMatchingFailure> patternMatchingFailure(String input) {
-        if (pattern.matcher(input).find()) {
+        Object matchEvent = FlightRecorderEvents.beginRegexpMatch();
+        boolean matches = pattern.matcher(input).find();
+        FlightRecorderEvents.commitRegexpMatch(matchEvent, toString(), input.length(), matches);
+        if (matches) {
             return Optional.empty();
         } else {
             return Optional.of(new RegexpMatchingFailure());
@@ -31,12 +36,13 @@ class JavaUtilRegexp extends AbstractRegexp {
     }
 
     @Override public int hashCode() {
-        return Objects.hash(pattern);
+        return Objects.hash(pattern.pattern());
     }
 }
 
 public class JavaUtilRegexpFactory implements RegexpFactory {
     @Override public Regexp createHandler(String regexp) {
-        return new JavaUtilRegexp(regexp);
+        return SimpleRegexpParser.parse(regexp, SimpleRegexpParser.EndAnchor.JAVA_UTIL)
+                .orElseGet(() -> new JavaUtilRegexp(regexp));
     }
 }
@@ -0,0 +1,65 @@
+package org.everit.json.schema.regexp;
+
+import static java.util.Objects.requireNonNull;
+
+import java.util.Objects;
+import java.util.Optional;
+
+/**
+ * Matches patterns consisting of a (possibly {@code ^} and/or {@code $} anchored) literal by plain string comparison.
+ */
+class LiteralRegexp extends AbstractRegexp {
+
+    private static final Optional<RegexpMatchingFailure> FAILURE = Optional.of(new RegexpMatchingFailure());
+
+    private final String literal;
+
+    private final boolean startAnchored;
+
+    private final boolean endAnchored;
+
+    private final SimpleRegexpParser.EndAnchor endAnchor;
+
+    LiteralRegexp(String pattern, String literal, boolean startAnchored, boolean endAnchored,
+            SimpleRegexpParser.EndAnchor endAnchor) {
+        super(pattern);
+        this.literal = requireNonNull(literal, "literal cannot be null");
+        this.startAnchored = startAnchored;
+        this.endAnchored = endAnchored;
+        this.endAnchor = requireNonNull(endAnchor, "endAnchor cannot be null");
+    }
+
+    @Override public Optional<RegexpMatchingFailure> patternMatchingFailure(String input) {
+        return matches(input) ? Optional.empty() : FAILURE;
+    }
+
+    private boolean matches(String input) {
+        if (startAnchored && endAnchored) {
+            return endAnchor.matchesAt(input, literal.length()) && input.startsWith(literal);
+        } else if (startAnchored) {
+            return input.startsWith(literal);
+        } else if (endAnchored) {
+            for (int end = input.length(); end >= input.length() - 2 && end >= literal.length(); --end) {
+                if (endAnchor.matchesAt(input, end) && input.startsWith(literal, end - literal.length())) {
+                    return true;
+                }
+            }
+            return false;
+        } else {
+            return input.contains(literal);
+        }
+    }
+
+    @Override public boolean equals(Object o) {
+        if (this == o)
+            return true;
+        if (!(o instanceof LiteralRegexp))
+            return false;
+        LiteralRegexp that = (LiteralRegexp) o;
+        return Objects.equals(toString(), that.toString()) && endAnchor == that.endAnchor;
+    }
+
+    @Override public int hashCode() {
+        return Objects.hash(toString(), endAnchor);
+    }
+}
@@ -3,6 +3,8 @@ package org.everit.json.schema.regexp;
 import java.util.Objects;
 import java.util.Optional;
 
+import org.everit.json.schema.internal.jfr.FlightRecorderEvents;
+
 import com.google.re2j.Pattern;
 
 class RE2JRegexp extends AbstractRegexp {
@@ -15,7 +17,10 @@ class RE2JRegexp extends AbstractRegexp {
     }
 
     @Override public Optional<RegexpMatchingFailure> patternMatchingFailure(String input) {
-        if (pattern.matcher(input).find()) {
+        Object matchEvent = FlightRecorderEvents.beginRegexpMatch();
+        boolean matches = pattern.matcher(input).find();
+        FlightRecorderEvents.commitRegexpMatch(matchEvent, toString(), input.length(), matches);
+        if (matches) {
             return Optional.empty();
         } else {
             return Optional.of(new RegexpMatchingFailure());
@@ -38,6 +43,7 @@ class RE2JRegexp extends AbstractRegexp {
 
 public class RE2JRegexpFactory implements RegexpFactory {
     @Override public Regexp createHandler(String input) {
-        return new RE2JRegexp(input);
+        return SimpleRegexpParser.parse(input, SimpleRegexpParser.EndAnchor.RE2J)
+                .orElseGet(() -> new RE2JRegexp(input));
     }
 }
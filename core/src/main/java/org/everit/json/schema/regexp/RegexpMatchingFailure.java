@@ -2,10 +2,29 @@ package org.everit.json.schema.regexp;
 
 public class RegexpMatchingFailure {
 
+    private final boolean budgetExceeded;
+
     RegexpMatchingFailure() {
+        this(false);
+    }
+
+    RegexpMatchingFailure(boolean budgetExceeded) {
+        this.budgetExceeded = budgetExceeded;
+    }
+
+    /**
+     * @return {@code true} if the input wasn't found to mismatch the pattern, but the matching was aborted since it
+     * exceeded the budget of the {@link GuardedRegexpFactory}
+     */
+    public boolean isBudgetExceeded() {
+        return budgetExceeded;
     }
 
     @Override public boolean equals(Object obj) {
-        return obj instanceof RegexpMatchingFailure;
+        return obj instanceof RegexpMatchingFailure && budgetExceeded == ((RegexpMatchingFailure) obj).budgetExceeded;
+    }
+
+    @Override public int hashCode() {
+        return Boolean.hashCode(budgetExceeded);
     }
 }
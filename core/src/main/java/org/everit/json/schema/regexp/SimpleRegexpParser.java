@@ -0,0 +1,310 @@
+package org.everit.json.schema.regexp;
+
+import java.util.Optional;
+
+/**
+ * Recognizes trivial patterns (anchored or unanchored literals, and fully anchored, quantified ASCII character classes)
+ * which can be matched without running a regular expression engine.
+ * <p>
+ * Only a deliberately small, unambiguous subset of the regexp syntax is recognized. Every pattern accepted by this
+ * parser is a valid pattern for both {@code java.util.regex} and RE2J, and its specialized matcher finds the same
+ * matches as the engine would. Anything else (including all invalid patterns) is left to the real engine.
+ */
+final class SimpleRegexpParser {
+
+    /**
+     * The semantics of the {@code $} anchor, which differ between the supported regexp engines.
+     */
+    enum EndAnchor {
+
+        /**
+         * {@code $} matches at the end of the input, or before a line terminator at the end of the input.
+         */
+        JAVA_UTIL {
+            @Override boolean matchesAt(String input, int index) {
+                int length = input.length();
+                if (index == length) {
+                    return true;
+                }
+                if (index == length - 2) {
+                    return input.charAt(index) == '\r' && input.charAt(index + 1) == '\n';
+                }
+                if (index == length - 1) {
+                    char ch = input.charAt(index);
+                    if (ch == '\n') {
+                        return index == 0 || input.charAt(index - 1) != '\r';
+                    }
+                    return ch == '\r' || ch == '\u0085' || (ch | 1) == '\u2029';
+                }
+                return false;
+            }
+        },
+
+        /**
+         * {@code $} matches only at the end of the input.
+         */
+        RE2J {
+            @Override boolean matchesAt(String input, int index) {
+                return index == input.length();
+            }
+        };
+
+        abstract boolean matchesAt(String input, int index);
+    }
+
+    private static final String METACHARS = "\\^$.|?*+()[]{}";
+
+    private static final int MAX_REPETITION = 1000;
+
+    static Optional<Regexp> parse(String pattern, EndAnchor endAnchor) {
+        return new SimpleRegexpParser(pattern, endAnchor).parse();
+    }
+
+    private static boolean isPrintableAscii(char ch) {
+        return ch >= 0x20 && ch < 0x7F;
+    }
+
+    private static boolean isAsciiPunctuation(char ch) {
+        return isPrintableAscii(ch) && ch != ' ' && !Character.isLetterOrDigit(ch);
+    }
+
+    private final String pattern;
+
+    private final EndAnchor endAnchor;
+
+    private int pos;
+
+    private SimpleRegexpParser(String pattern, EndAnchor endAnchor) {
+        this.pattern = pattern;
+        this.endAnchor = endAnchor;
+    }
+
+    private Optional<Regexp> parse() {
+        boolean startAnchored = consume('^');
+        int bodyEnd = pattern.length();
+        boolean endAnchored = bodyEnd > pos && pattern.charAt(bodyEnd - 1) == '$' && !isEscaped(bodyEnd - 1);
+        if (endAnchored) {
+            --bodyEnd;
+        }
+        String literal = parseLiteral(bodyEnd);
+        if (literal != null) {
+            return Optional.of(new LiteralRegexp(pattern, literal, startAnchored, endAnchored, endAnchor));
+        }
+        if (startAnchored && endAnchored) {
+            return parseQuantifiedCharacterClass(bodyEnd);
+        }
+        return Optional.empty();
+    }
+
+    private boolean isEscaped(int index) {
+        int backslashes = 0;
+        for (int i = index - 1; i >= 0 && pattern.charAt(i) == '\\'; --i) {
+            ++backslashes;
+        }
+        return backslashes % 2 == 1;
+    }
+
+    private boolean consume(char expected) {
+        if (pos < pattern.length() && pattern.charAt(pos) == expected) {
+            ++pos;
+            return true;
+        }
+        return false;
+    }
+
+    private String parseLiteral(int end) {
+        StringBuilder literal = new StringBuilder(end - pos);
+        for (int i = pos; i < end; ++i) {
+            char ch = pattern.charAt(i);
+            if (ch == '\\') {
+                if (i + 1 >= end || !isAsciiPunctuation(pattern.charAt(i + 1))) {
+                    return null;
+                }
+                literal.append(pattern.charAt(++i));
+            } else if (isPrintableAscii(ch) && METACHARS.indexOf(ch) == -1) {
+                literal.append(ch);
+            } else {
+                return null;
+            }
+        }
+        return literal.toString();
+    }
+
+    private Optional<Regexp> parseQuantifiedCharacterClass(int end) {
+        AsciiCharacterSet charSet = parseCharacterClass(end);
+        if (charSet == null || pos >= end) {
+            return Optional.empty();
+        }
+        int minOccurrences;
+        int maxOccurrences;
+        char quantifier = pattern.charAt(pos++);
+        if (quantifier == '*') {
+            minOccurrences = 0;
+            maxOccurrences = Integer.MAX_VALUE;
+        } else if (quantifier == '+') {
+            minOccurrences = 1;
+            maxOccurrences = Integer.MAX_VALUE;
+        } else if (quantifier == '?') {
+            minOccurrences = 0;
+            maxOccurrences = 1;
+        } else if (quantifier == '{') {
+            minOccurrences = parseRepetitionCount(end);
+            if (minOccurrences < 0) {
+                return Optional.empty();
+            }
+            if (consume('}')) {
+                maxOccurrences = minOccurrences;
+            } else if (consume(',')) {
+                if (consume('}')) {
+                    maxOccurrences = Integer.MAX_VALUE;
+                } else {
+                    maxOccurrences = parseRepetitionCount(end);
+                    if (maxOccurrences < minOccurrences || !consume('}')) {
+                        return Optional.empty();
+                    }
+                }
+            } else {
+                return Optional.empty();
+            }
+        } else {
+            return Optional.empty();
+        }
+        if (pos != end) {
+            return Optional.empty();
+        }
+        return Optional.of(new CharacterClassRegexp(pattern, charSet, minOccurrences, maxOccurrences, endAnchor));
+    }
+
+    private int parseRepetitionCount(int end) {
+        int start = pos;
+        int value = 0;
+        while (pos < end && pos - start < 4 && Character.isDigit(pattern.charAt(pos))) {
+            value = value * 10 + (pattern.charAt(pos++) - '0');
+        }
+        if (pos == start || value > MAX_REPETITION || (pos < end && Character.isDigit(pattern.charAt(pos)))) {
+            return -1;
+        }
+        return value;
+    }
+
+    private AsciiCharacterSet parseCharacterClass(int end) {
+        AsciiCharacterSet charSet = new AsciiCharacterSet();
+        if (pos >= end) {
+            return null;
+        }
+        char ch = pattern.charAt(pos);
+        if (ch == '\\') {
+            return parseShorthandClass(charSet, end) ? charSet : null;
+        }
+        if (ch != '[') {
+            if (!isPrintableAscii(ch) || METACHARS.indexOf(ch) != -1) {
+                return null;
+            }
+            ++pos;
+            charSet.add(ch);
+            return charSet;
+        }
+        ++pos;
+        boolean first = true;
+        while (pos < end) {
+            ch = pattern.charAt(pos);
+            if (ch == ']' && !first) {
+                ++pos;
+                return charSet;
+            }
+            if (ch == '\\' && pos + 1 < end && (pattern.charAt(pos + 1) == 'd' || pattern.charAt(pos + 1) == 'w')) {
+                parseShorthandClass(charSet, end);
+                first = false;
+                continue;
+            }
+            if (ch == '-' && !first && !(pos + 1 < end && pattern.charAt(pos + 1) == ']')) {
+                return null;
+            }
+            int lower = parseClassLiteral(end);
+            if (lower < 0) {
+                return null;
+            }
+            if (pos + 1 < end && pattern.charAt(pos) == '-' && pattern.charAt(pos + 1) != ']') {
+                ++pos;
+                int upper = lower == '-' || pattern.charAt(pos) == '-' ? -1 : parseClassLiteral(end);
+                if (upper < lower) {
+                    return null;
+                }
+                charSet.addRange((char) lower, (char) upper);
+            } else {
+                charSet.add((char) lower);
+            }
+            first = false;
+        }
+        return null;
+    }
+
+    private int parseClassLiteral(int end) {
+        char ch = pattern.charAt(pos);
+        if (ch == '\\') {
+            if (pos + 1 >= end || !isAsciiPunctuation(pattern.charAt(pos + 1))) {
+                return -1;
+            }
+            pos += 2;
+            return pattern.charAt(pos - 1);
+        }
+        if (!isPrintableAscii(ch) || "[]^&".indexOf(ch) != -1) {
+            return -1;
+        }
+        ++pos;
+        return ch;
+    }
+
+    private boolean parseShorthandClass(AsciiCharacterSet charSet, int end) {
+        if (pos + 1 >= end) {
+            return false;
+        }
+        char shorthand = pattern.charAt(pos + 1);
+        if (shorthand == 'd') {
+            charSet.addRange('0', '9');
+        } else if (shorthand == 'w') {
+            charSet.addRange('0', '9');
+            charSet.addRange('a', 'z');
+            charSet.addRange('A', 'Z');
+            charSet.add('_');
+        } else {
+            return false;
+        }
+        pos += 2;
+        return true;
+    }
+
+}
+
+/**
+ * A set of ASCII characters, stored as a 128-bit mask.
+ */
+final class AsciiCharacterSet {
+
+    private long low;
+
+    private long high;
+
+    void add(char ch) {
+        if (ch < 64) {
+            low |= 1L << ch;
+        } else {
+            high |= 1L << (ch - 64);
+        }
+    }
+
+    void addRange(char from, char to) {
+        for (char ch = from; ch <= to; ++ch) {
+            add(ch);
+        }
+    }
+
+    boolean contains(char ch) {
+        if (ch < 64) {
+            return (low & (1L << ch)) != 0;
+        } else if (ch < 128) {
+            return (high & (1L << (ch - 64))) != 0;
+        }
+        return false;
+    }
+}
@@ -190,6 +190,7 @@ public class ArraySchemaTest {
         EqualsVerifier.forClass(ArraySchema.class)
                 .withRedefinedSuperclass()
                 .withIgnoredFields("schemaLocation", "location")
+                .withCachedHashCode("hashCode", "computeHashCode", ArraySchema.builder().minItems(1).build())
                 .suppress(Warning.STRICT_INHERITANCE)
                 .verify();
     }
@@ -0,0 +1,51 @@
+package org.everit.json.schema;
+
+import static java.util.Arrays.asList;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.URISyntaxException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.List;
+import java.util.jar.Attributes;
+import java.util.jar.Manifest;
+
+import org.junit.jupiter.api.Test;
+
+/**
+ * Checks the OSGi headers generated by the maven-bundle-plugin into the manifest of the compiled classes.
+ */
+public class BundleManifestTest {
+
+    private static Attributes mainAttributes() throws IOException, URISyntaxException {
+        Path classes = Paths.get(Schema.class.getProtectionDomain().getCodeSource().getLocation().toURI());
+        try (InputStream in = Files.newInputStream(classes.resolve("META-INF/MANIFEST.MF"))) {
+            return new Manifest(in).getMainAttributes();
+        }
+    }
+
+    /**
+     * Splits a manifest header into its clauses, ignoring the commas of quoted attribute values.
+     */
+    private static List<String> clauses(String header) {
+        return asList(header.split(",(?=(?:[^\"]*\"[^\"]*\")*[^\"]*$)"));
+    }
+
+    @Test
+    public void jfrImportIsOptional() throws Exception {
+        List<String> imports = clauses(mainAttributes().getValue("Import-Package"));
+        assertTrue(imports.contains("jdk.jfr;resolution:=optional"), imports.toString());
+        assertFalse(imports.contains("jdk.jfr"), imports.toString());
+    }
+
+    @Test
+    public void internalPackagesAreNotExported() throws Exception {
+        for (String export : clauses(mainAttributes().getValue("Export-Package"))) {
+            assertFalse(export.contains(".internal"), export);
+        }
+    }
+}
@@ -9,20 +9,19 @@ import org.junit.jupiter.api.Test;
 
 public class CollectingFailureReporterTest {
 
-    public static final Runnable NOOP = () -> {
-    };
-
     @Test
     public void noNewExceptions_returnsNull() {
-        ValidationException actual = createSubject().inContextOfSchema(NullSchema.INSTANCE, NOOP);
+        CollectingFailureReporter subject = createSubject();
+        int watermark = subject.enterSchema(NullSchema.INSTANCE);
+        ValidationException actual = subject.leaveSchema(BooleanSchema.INSTANCE, watermark);
         assertNull(actual);
+        assertSame(BooleanSchema.INSTANCE, subject.schema);
     }
 
     @Test
     public void subSchemaIsNull() {
         assertThrows(NullPointerException.class, () -> {
-            createSubject().inContextOfSchema(null, () -> {
-            });
+            createSubject().enterSchema(null);
         });
     }
 
@@ -31,9 +30,9 @@ public class CollectingFailureReporterTest {
         CollectingFailureReporter subject = createSubject();
         ValidationException entry = new ValidationException(NullSchema.INSTANCE, JSONObject.NULL.getClass(), "string");
 
-        ValidationException actual = subject.inContextOfSchema(NullSchema.INSTANCE, () -> {
-            subject.failure(entry);
-        });
+        int watermark = subject.enterSchema(NullSchema.INSTANCE);
+        subject.failure(entry);
+        ValidationException actual = subject.leaveSchema(BooleanSchema.INSTANCE, watermark);
 
         assertSame(entry, actual);
         assertEquals(0, subject.failureCount());
@@ -47,15 +46,29 @@ public class CollectingFailureReporterTest {
 
         ValidationException expected = createWrappingException(NullSchema.INSTANCE, asList(entry1, entry2));
 
-        ValidationException actual = subject.inContextOfSchema(NullSchema.INSTANCE, () -> {
-            subject.failure(entry1);
-            subject.failure(entry2);
-        });
+        int watermark = subject.enterSchema(NullSchema.INSTANCE);
+        subject.failure(entry1);
+        subject.failure(entry2);
+        ValidationException actual = subject.leaveSchema(BooleanSchema.INSTANCE, watermark);
 
         assertEquals(expected, actual);
         assertEquals(0, subject.failureCount());
     }
 
+    @Test
+    public void failuresOfEnclosingSchemaAreKept() {
+        CollectingFailureReporter subject = createSubject();
+        ValidationException outer = new ValidationException(BooleanSchema.INSTANCE, Boolean.class, "string");
+        ValidationException inner = new ValidationException(NullSchema.INSTANCE, JSONObject.NULL.getClass(), "string");
+        subject.failure(outer);
+
+        int watermark = subject.enterSchema(NullSchema.INSTANCE);
+        subject.failure(inner);
+
+        assertTrue(subject.leaveSchemaFailed(BooleanSchema.INSTANCE, watermark));
+        assertEquals(1, subject.failureCount());
+    }
+
     private CollectingFailureReporter createSubject() {
         return new CollectingFailureReporter(BooleanSchema.INSTANCE);
     }
@@ -0,0 +1,71 @@
+package org.everit.json.schema;
+
+import static org.junit.jupiter.api.Assertions.assertDoesNotThrow;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import org.everit.json.schema.loader.SchemaLoader;
+import org.json.JSONObject;
+
+import org.junit.jupiter.api.Test;
+
+public class DefaultInjectionTest {
+
+    private static Schema load(String schemaJson) {
+        return SchemaLoader.builder()
+                .useDefaults(true)
+                .schemaJson(new JSONObject(schemaJson))
+                .build()
+                .load()
+                .build();
+    }
+
+    @Test
+    public void defaultsOfFailingAnyOfBranchAreNotInjected() {
+        Schema schema = load("{\"anyOf\": ["
+                + "  {\"properties\": {\"nested\": {\"properties\": {\"a\": {\"default\": 1}}}}, \"required\": [\"x\"]},"
+                + "  {\"properties\": {\"b\": {\"default\": 2}}}"
+                + "]}");
+        JSONObject input = new JSONObject("{\"nested\": {}}");
+
+        schema.validate(input);
+
+        assertFalse(input.getJSONObject("nested").has("a"));
+        assertEquals(2, input.get("b"));
+    }
+
+    @Test
+    public void defaultsOfNotSchemaAreNotInjected() {
+        Schema schema = load("{\"not\": {\"properties\": {\"a\": {\"default\": 1}}}}");
+        JSONObject input = new JSONObject();
+
+        assertThrows(ValidationException.class, () -> schema.validate(input));
+
+        assertFalse(input.has("a"));
+    }
+
+    @Test
+    public void injectedDefaultsDontAffectValidation() {
+        Schema schema = load("{\"properties\": {\"a\": {\"default\": 1}}, \"not\": {\"required\": [\"a\"]}}");
+        JSONObject input = new JSONObject();
+
+        assertDoesNotThrow(() -> schema.validate(input));
+
+        assertEquals(1, input.get("a"));
+    }
+
+    @Test
+    public void defaultsAreInjectedIntoValidObjectsOfInvalidDocument() {
+        Schema schema = load("{\"properties\": {"
+                + "  \"valid\": {\"properties\": {\"a\": {\"default\": 1}}},"
+                + "  \"invalid\": {\"properties\": {\"a\": {\"default\": 1}}, \"required\": [\"x\"]}"
+                + "}}");
+        JSONObject input = new JSONObject("{\"valid\": {}, \"invalid\": {}}");
+
+        assertThrows(ValidationException.class, () -> schema.validate(input));
+
+        assertEquals(1, input.getJSONObject("valid").get("a"));
+        assertFalse(input.getJSONObject("invalid").has("a"));
+    }
+}
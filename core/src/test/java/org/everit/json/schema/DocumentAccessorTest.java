@@ -0,0 +1,130 @@
+package org.everit.json.schema;
+
+import static java.util.Collections.emptyList;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.everit.json.schema.loader.SchemaLoader;
+import org.json.JSONArray;
+import org.json.JSONObject;
+import org.json.JSONTokener;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+
+public class DocumentAccessorTest {
+
+    private static final JSONObject SCHEMA_JSON = new JSONObject(new JSONTokener(
+            "{"
+                    + "  \"type\": \"object\","
+                    + "  \"properties\": {"
+                    + "    \"id\": {\"type\": \"integer\"},"
+                    + "    \"tags\": {\"type\": \"array\", \"items\": {\"type\": \"string\"}, \"uniqueItems\": true},"
+                    + "    \"point\": {\"enum\": [{\"x\": 1, \"y\": null}, [1, 2]]},"
+                    + "    \"nested\": {\"properties\": {\"n\": {\"type\": \"null\"}}, \"additionalProperties\": false},"
+                    + "    \"numbers\": {\"uniqueItems\": true},"
+                    + "    \"withDefault\": {\"type\": \"string\", \"default\": \"dflt\"}"
+                    + "  },"
+                    + "  \"required\": [\"id\"],"
+                    + "  \"maxProperties\": 5"
+                    + "}"));
+
+    private static final Schema SCHEMA = SchemaLoader.builder().useDefaults(true).schemaJson(SCHEMA_JSON).build()
+            .load().build();
+
+    private static final Validator COLLECTIONS_VALIDATOR = Validator.builder()
+            .documentAccessor(DocumentAccessor.JAVA_COLLECTIONS)
+            .build();
+
+    private static Object toJavaCollections(Object value) {
+        if (value instanceof JSONObject) {
+            JSONObject obj = (JSONObject) value;
+            Map<String, Object> rval = new LinkedHashMap<>();
+            for (String key : obj.keySet()) {
+                rval.put(key, toJavaCollections(obj.get(key)));
+            }
+            return rval;
+        } else if (value instanceof JSONArray) {
+            List<Object> rval = new ArrayList<>();
+            for (Object item : (JSONArray) value) {
+                rval.add(toJavaCollections(item));
+            }
+            return rval;
+        } else if (JSONObject.NULL.equals(value)) {
+            return null;
+        }
+        return value;
+    }
+
+    private static List<String> failures(Validator validator, Object document) {
+        try {
+            validator.performValidation(SCHEMA, document);
+            return emptyList();
+        } catch (ValidationException e) {
+            List<String> violations = new ArrayList<>();
+            collectViolations(e, violations);
+            Collections.sort(violations);
+            return violations;
+        }
+    }
+
+    /**
+     * Collects the pointers and keywords of the violations, since the messages contain the string representation of
+     * the (differently represented) subjects.
+     */
+    private static void collectViolations(ValidationException e, List<String> violations) {
+        if (e.getCausingExceptions().isEmpty()) {
+            violations.add(e.getPointerToViolation() + " " + e.getKeyword());
+        }
+        for (ValidationException cause : e.getCausingExceptions()) {
+            collectViolations(cause, violations);
+        }
+    }
+
+    @ParameterizedTest
+    @ValueSource(strings = {
+            "{\"id\": 1}",
+            "{}",
+            "{\"id\": \"str\", \"tags\": [\"a\", \"b\", \"a\", 1]}",
+            "{\"id\": 1, \"point\": {\"x\": 1, \"y\": null}}",
+            "{\"id\": 1, \"point\": {\"x\": 1, \"y\": 0}}",
+            "{\"id\": 1, \"point\": [1, 2]}",
+            "{\"id\": 1, \"nested\": {\"n\": null, \"m\": 2}}",
+            "{\"id\": 1, \"nested\": {\"n\": 1}}",
+            "{\"id\": 1, \"numbers\": [1, 1.0]}",
+            "{\"id\": 1, \"numbers\": [{\"a\": [1, null]}, {\"a\": [1, null]}]}",
+            "{\"id\": 1, \"numbers\": [{\"a\": 1}, {\"a\": 2}]}",
+            "{\"id\": 1, \"a\": 1, \"b\": 2, \"c\": 3, \"d\": 4, \"e\": 5}",
+            "[]",
+            "null"
+    })
+    public void javaCollectionsReportSameViolationsAsOrgJson(String json) {
+        Object orgJsonDocument = new JSONTokener(json).nextValue();
+        Object collectionsDocument = toJavaCollections(orgJsonDocument);
+        List<String> expected = failures(Validator.builder().build(), orgJsonDocument);
+        assertEquals(expected, failures(COLLECTIONS_VALIDATOR, collectionsDocument));
+    }
+
+    @Test
+    public void defaultValueIsInjectedIntoMap() {
+        Map<String, Object> document = new HashMap<>();
+        document.put("id", 1);
+        COLLECTIONS_VALIDATOR.performValidation(SCHEMA, document);
+        assertEquals("dflt", document.get("withDefault"));
+    }
+
+    @Test
+    public void unknownTypeIsRejected() {
+        IllegalArgumentException thrown = assertThrows(IllegalArgumentException.class,
+                () -> COLLECTIONS_VALIDATOR.performValidation(SCHEMA, new Object()));
+        assertEquals("subject is an instance of non-handled type Object. Should be a JSON value: Number, String, "
+                + "Boolean, null, or an object or array of the validated document model", thrown.getMessage());
+    }
+}
@@ -2,7 +2,10 @@ package org.everit.json.schema;
 
 import org.junit.jupiter.api.Test;
 
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
 import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.junit.jupiter.api.Assertions.fail;
 
 public class EarlyFailingFailureReporterTest {
@@ -29,4 +32,32 @@ public class EarlyFailingFailureReporterTest {
         createSubject().validationFinished();
     }
 
+    @Test
+    public void firstFailureOfSubschemaIsReturned_withoutThrowing() {
+        EarlyFailingFailureReporter subject = createSubject();
+        ValidationException first = new ValidationException(BooleanSchema.INSTANCE, Boolean.class, "string");
+        ValidationException second = new ValidationException(BooleanSchema.INSTANCE, Boolean.class, "other");
+
+        int watermark = subject.enterSchema(BooleanSchema.INSTANCE);
+        subject.failure(first);
+        assertTrue(subject.isAborted());
+        subject.failure(second);
+
+        assertSame(first, subject.leaveSchema(NullSchema.INSTANCE, watermark));
+        assertFalse(subject.isAborted());
+        assertSame(NullSchema.INSTANCE, subject.schema);
+    }
+
+    @Test
+    public void subschemaEnteredAfterFailure_doesNotTakeTheFailure() {
+        EarlyFailingFailureReporter subject = createSubject();
+        ValidationException failure = new ValidationException(BooleanSchema.INSTANCE, Boolean.class, "string");
+
+        int outerWatermark = subject.enterSchema(BooleanSchema.INSTANCE);
+        subject.failure(failure);
+        int innerWatermark = subject.enterSchema(BooleanSchema.INSTANCE);
+
+        assertNull(subject.leaveSchema(BooleanSchema.INSTANCE, innerWatermark));
+        assertSame(failure, subject.leaveSchema(NullSchema.INSTANCE, outerWatermark));
+    }
 }
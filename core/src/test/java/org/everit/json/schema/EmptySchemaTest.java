@@ -78,6 +78,7 @@ public class EmptySchemaTest {
         EqualsVerifier.forClass(EmptySchema.class)
                 .withRedefinedSuperclass()
                 .withIgnoredFields("schemaLocation", "location")
+                .withCachedHashCode("hashCode", "computeHashCode", EmptySchema.builder().title("empty").build())
                 .suppress(Warning.STRICT_INHERITANCE)
                 .verify();
     }
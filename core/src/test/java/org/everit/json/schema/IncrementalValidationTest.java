@@ -0,0 +1,146 @@
+package org.everit.json.schema;
+
+import static java.util.Arrays.asList;
+import static java.util.Collections.emptyList;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Consumer;
+
+import org.everit.json.schema.loader.SchemaLoader;
+import org.json.JSONArray;
+import org.json.JSONObject;
+import org.json.JSONTokener;
+import org.junit.jupiter.api.Test;
+
+public class IncrementalValidationTest {
+
+    private static final AtomicInteger FORMAT_VALIDATION_COUNT = new AtomicInteger();
+
+    private static final Schema SCHEMA = SchemaLoader.builder()
+            .addFormatValidator("counted", value -> {
+                FORMAT_VALIDATION_COUNT.incrementAndGet();
+                return value.startsWith("x") ? Optional.of("starts with x") : Optional.empty();
+            })
+            .schemaJson(new JSONObject(new JSONTokener("{"
+                    + "  \"definitions\": {"
+                    + "    \"item\": {"
+                    + "      \"type\": \"object\","
+                    + "      \"properties\": {"
+                    + "        \"name\": {\"type\": \"string\", \"format\": \"counted\"},"
+                    + "        \"kind\": {\"oneOf\": [{\"enum\": [\"a\"]}, {\"enum\": [\"b\"]}]}"
+                    + "      },"
+                    + "      \"required\": [\"name\"]"
+                    + "    }"
+                    + "  },"
+                    + "  \"type\": \"object\","
+                    + "  \"properties\": {"
+                    + "    \"items\": {"
+                    + "      \"type\": \"array\","
+                    + "      \"items\": {\"$ref\": \"#/definitions/item\"},"
+                    + "      \"uniqueItems\": true,"
+                    + "      \"maxItems\": 4"
+                    + "    },"
+                    + "    \"meta\": {"
+                    + "      \"additionalProperties\": {\"type\": \"string\", \"format\": \"counted\"},"
+                    + "      \"not\": {\"required\": [\"forbidden\"]}"
+                    + "    }"
+                    + "  },"
+                    + "  \"required\": [\"items\"]"
+                    + "}")))
+            .build().load().build();
+
+    private static JSONObject validDocument() {
+        return new JSONObject("{"
+                + "\"items\": [{\"name\": \"n0\", \"kind\": \"a\"}, {\"name\": \"n1\"}, {\"name\": \"n2\"}],"
+                + "\"meta\": {\"m0\": \"v0\", \"m1\": \"v1\"}"
+                + "}");
+    }
+
+    private static List<String> failures(Runnable validation) {
+        try {
+            validation.run();
+            return emptyList();
+        } catch (ValidationException e) {
+            List<String> messages = new ArrayList<>(e.getAllMessages());
+            Collections.sort(messages);
+            return messages;
+        }
+    }
+
+    private static void assertSameAsFullValidation(Consumer<JSONObject> change, List<String> changedPointers,
+            JSONArray jsonPatch) {
+        Validator validator = Validator.builder().build();
+        JSONObject document = validDocument();
+        change.accept(document);
+        List<String> expected = failures(() -> validator.performValidation(SCHEMA, document));
+        assertEquals(expected,
+                failures(() -> validator.performIncrementalValidation(SCHEMA, document, changedPointers)));
+        assertEquals(expected, failures(() -> validator.performIncrementalValidation(SCHEMA, document, jsonPatch)));
+    }
+
+    @Test
+    public void replacedProperty() {
+        assertSameAsFullValidation(doc -> doc.getJSONArray("items").getJSONObject(1).put("name", "xyz"),
+                asList("/items/1/name"),
+                new JSONArray("[{\"op\": \"replace\", \"path\": \"/items/1/name\", \"value\": \"xyz\"}]"));
+    }
+
+    @Test
+    public void removedRequiredProperty() {
+        assertSameAsFullValidation(doc -> doc.getJSONArray("items").getJSONObject(2).remove("name"),
+                asList("/items/2/name"),
+                new JSONArray("[{\"op\": \"remove\", \"path\": \"/items/2/name\"}]"));
+    }
+
+    @Test
+    public void changeAffectingOneOf() {
+        assertSameAsFullValidation(doc -> doc.getJSONArray("items").getJSONObject(0).put("kind", "c"),
+                asList("#/items/0/kind"),
+                new JSONArray("[{\"op\": \"replace\", \"path\": \"/items/0/kind\", \"value\": \"c\"}]"));
+    }
+
+    @Test
+    public void addedArrayItems() {
+        assertSameAsFullValidation(doc -> doc.getJSONArray("items")
+                        .put(new JSONObject().put("name", "n1"))
+                        .put(new JSONObject().put("name", "x")),
+                asList("/items"),
+                new JSONArray("[{\"op\": \"add\", \"path\": \"/items/-\", \"value\": {\"name\": \"n1\"}},"
+                        + "{\"op\": \"add\", \"path\": \"/items/4\", \"value\": {\"name\": \"x\"}}]"));
+    }
+
+    @Test
+    public void changeAffectingNot() {
+        assertSameAsFullValidation(doc -> doc.getJSONObject("meta").put("forbidden", "xxx"),
+                asList("/meta/forbidden"),
+                new JSONArray("[{\"op\": \"add\", \"path\": \"/meta/forbidden\", \"value\": \"xxx\"}]"));
+    }
+
+    @Test
+    public void rootReplaced() {
+        assertSameAsFullValidation(doc -> doc.remove("items"), asList(""),
+                new JSONArray("[{\"op\": \"replace\", \"path\": \"\", \"value\": {}}]"));
+    }
+
+    @Test
+    public void unchangedLocationsAreNotValidated() {
+        JSONObject document = validDocument();
+        document.getJSONArray("items").getJSONObject(1).put("name", "changed");
+        FORMAT_VALIDATION_COUNT.set(0);
+        Validator.builder().build().performIncrementalValidation(SCHEMA, document, asList("/items/1/name"));
+        assertEquals(1, FORMAT_VALIDATION_COUNT.get());
+    }
+
+    @Test
+    public void unknownPatchOperation() {
+        assertThrows(IllegalArgumentException.class, () -> Validator.builder().build()
+                .performIncrementalValidation(SCHEMA, validDocument(),
+                        new JSONArray("[{\"op\": \"frobnicate\", \"path\": \"/items\"}]")));
+    }
+}
@@ -0,0 +1,140 @@
+package org.everit.json.schema;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Locale;
+
+import org.everit.json.schema.loader.SchemaLoader;
+import org.json.JSONObject;
+import org.json.JSONTokener;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+
+public class NdJsonValidatorTest {
+
+    private static final Schema SCHEMA = SchemaLoader.load(new JSONObject(new JSONTokener(
+            "{\"type\": \"object\", \"properties\": {\"id\": {\"type\": \"integer\", \"multipleOf\": 7}}}")));
+
+    @TempDir
+    Path tempDir;
+
+    private Path write(String content) throws IOException {
+        Path file = tempDir.resolve("input.ndjson");
+        Files.write(file, content.getBytes(UTF_8));
+        return file;
+    }
+
+    private Path largeInput(int lineCount) throws IOException {
+        StringBuilder content = new StringBuilder();
+        for (int i = 0; i < lineCount; ++i) {
+            content.append("{\"id\": ").append(i).append(", \"name\": \"árvíztűrő\"}\n");
+        }
+        return write(content.toString());
+    }
+
+    @ParameterizedTest
+    @ValueSource(booleans = { true, false })
+    public void reportsEveryLine(boolean ordered) throws IOException {
+        Path file = largeInput(10_000);
+        List<NdJsonValidator.LineResult> results = new ArrayList<>();
+        NdJsonValidator.Statistics statistics = NdJsonValidator.builder()
+                .schema(SCHEMA)
+                .parallelism(4)
+                .chunkSize(1000)
+                .ordered(ordered)
+                .build()
+                .validate(file, results::add);
+        if (!ordered) {
+            results.sort(Comparator.comparingLong(NdJsonValidator.LineResult::getLineNumber));
+        }
+        assertEquals(10_000, results.size());
+        for (int i = 0; i < results.size(); ++i) {
+            NdJsonValidator.LineResult result = results.get(i);
+            assertEquals(i + 1, result.getLineNumber());
+            assertEquals(i % 7 == 0, result.isValid(), result.toString());
+        }
+        assertEquals(10_000, statistics.getLineCount());
+        assertEquals(1429, statistics.getValidCount());
+        assertEquals(8571, statistics.getInvalidCount());
+        assertEquals(0, statistics.getMalformedCount());
+        assertEquals(Files.size(file), statistics.getByteCount());
+    }
+
+    @Test
+    public void orderedResultsFollowLineOrder() throws IOException {
+        List<Long> lineNumbers = new ArrayList<>();
+        NdJsonValidator.builder().schema(SCHEMA).chunkSize(100).build()
+                .validate(largeInput(1000), result -> lineNumbers.add(result.getLineNumber()));
+        for (int i = 0; i < lineNumbers.size(); ++i) {
+            assertEquals(i + 1, lineNumbers.get(i).longValue());
+        }
+    }
+
+    @Test
+    public void blankAndMalformedLines() throws IOException {
+        Path file = write("{\"id\": 7}\r\n\n   \n{\"id\": \n[] []\n{\"id\": 1}");
+        List<NdJsonValidator.LineResult> results = new ArrayList<>();
+        NdJsonValidator.Statistics statistics = NdJsonValidator.builder().schema(SCHEMA).chunkSize(3).build()
+                .validate(file, results::add);
+        assertEquals(4, results.size());
+        assertEquals(1, results.get(0).getLineNumber());
+        assertEquals(0, results.get(0).getOffset());
+        assertNull(results.get(0).getParseFailure());
+        assertEquals(4, results.get(1).getLineNumber());
+        assertEquals(16, results.get(1).getOffset());
+        assertNotNull(results.get(1).getParseFailure());
+        assertNotNull(results.get(2).getParseFailure());
+        assertEquals("#/id", results.get(3).getValidationFailure().getPointerToViolation());
+        assertEquals(1, statistics.getValidCount());
+        assertEquals(1, statistics.getInvalidCount());
+        assertEquals(2, statistics.getMalformedCount());
+    }
+
+    @Test
+    public void emptyFile() throws IOException {
+        NdJsonValidator.Statistics statistics = NdJsonValidator.builder().schema(SCHEMA).build()
+                .validate(write(""), result -> {
+                    throw new AssertionError();
+                });
+        assertEquals(0, statistics.getLineCount());
+    }
+
+    @Test
+    public void consumerFailureIsPropagated() throws IOException {
+        Path file = largeInput(100);
+        NdJsonValidator validator = NdJsonValidator.builder().schema(SCHEMA).chunkSize(50).build();
+        assertThrows(IllegalStateException.class, () -> validator.validate(file, result -> {
+            throw new IllegalStateException();
+        }));
+    }
+
+    @Test
+    public void statisticsToStringIgnoresDefaultLocale() {
+        Locale defaultLocale = Locale.getDefault();
+        Locale.setDefault(Locale.GERMANY);
+        try {
+            String actual = new NdJsonValidator.Statistics(3, 1, 1, 2048, 500_000_000L).toString();
+            assertTrue(actual.contains("in 0.500 s"), actual);
+        } finally {
+            Locale.setDefault(defaultLocale);
+        }
+    }
+
+    @Test
+    public void schemaIsRequired() {
+        assertThrows(NullPointerException.class, () -> NdJsonValidator.builder().build());
+    }
+}
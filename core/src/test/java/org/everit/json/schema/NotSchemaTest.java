@@ -50,6 +50,8 @@ public class NotSchemaTest {
         EqualsVerifier.forClass(NotSchema.class)
                 .withRedefinedSuperclass()
                 .withIgnoredFields("schemaLocation", "location")
+                .withCachedHashCode("hashCode", "computeHashCode",
+                        NotSchema.builder().mustNotMatch(BooleanSchema.INSTANCE).build())
                 .suppress(Warning.STRICT_INHERITANCE)
                 .verify();
     }
@@ -211,6 +211,7 @@ public class NumberSchemaTest {
         EqualsVerifier.forClass(NumberSchema.class)
                 .withRedefinedSuperclass()
                 .withIgnoredFields("schemaLocation", "location")
+                .withCachedHashCode("hashCode", "computeHashCode", NumberSchema.builder().minimum(1).build())
                 .suppress(Warning.STRICT_INHERITANCE)
                 .verify();
     }
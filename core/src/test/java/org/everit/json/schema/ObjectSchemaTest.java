@@ -387,8 +387,9 @@ public class ObjectSchemaTest {
     public void equalsVerifier() {
         EqualsVerifier.forClass(ObjectSchema.class)
                 .withRedefinedSuperclass()
-                .withIgnoredFields("schemaLocation", "location")
+                .withIgnoredFields("schemaLocation", "location", "propertyDefaults")
                 .withPrefabValues(Pattern.class, Pattern.compile("red"), Pattern.compile("black"))
+                .withCachedHashCode("hashCode", "computeHashCode", ObjectSchema.builder().minProperties(1).build())
                 .suppress(Warning.STRICT_INHERITANCE)
                 .verify();
     }
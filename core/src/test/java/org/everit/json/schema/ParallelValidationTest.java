@@ -0,0 +1,123 @@
+package org.everit.json.schema;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.util.concurrent.ForkJoinPool;
+
+import org.everit.json.schema.loader.SchemaLoader;
+import org.json.JSONArray;
+import org.json.JSONObject;
+import org.json.JSONTokener;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.Test;
+
+public class ParallelValidationTest {
+
+    private static final ForkJoinPool POOL = new ForkJoinPool(4);
+
+    private static final Schema SCHEMA = SchemaLoader.builder().useDefaults(true).schemaJson(new JSONObject(
+            new JSONTokener("{"
+                    + "  \"type\": \"object\","
+                    + "  \"properties\": {"
+                    + "    \"items\": {"
+                    + "      \"type\": \"array\","
+                    + "      \"items\": {"
+                    + "        \"type\": \"object\","
+                    + "        \"properties\": {"
+                    + "          \"id\": {\"type\": \"integer\", \"multipleOf\": 3},"
+                    + "          \"tags\": {\"items\": {\"type\": \"string\"}},"
+                    + "          \"flag\": {\"type\": \"boolean\", \"default\": false}"
+                    + "        },"
+                    + "        \"required\": [\"id\"]"
+                    + "      }"
+                    + "    },"
+                    + "    \"tuple\": {\"items\": [{\"type\": \"string\"}], \"additionalItems\": {\"type\": \"number\"}}"
+                    + "  },"
+                    + "  \"patternProperties\": {\"^p\": {\"type\": \"integer\"}},"
+                    + "  \"additionalProperties\": {\"type\": \"string\"}"
+                    + "}"))).build().load().build();
+
+    @AfterAll
+    public static void shutdownPool() {
+        POOL.shutdown();
+    }
+
+    private static JSONObject document() {
+        JSONObject document = new JSONObject();
+        JSONArray items = new JSONArray();
+        for (int i = 0; i < 2000; ++i) {
+            JSONObject item = new JSONObject();
+            if (i % 100 != 99) {
+                item.put("id", i);
+            }
+            JSONArray tags = new JSONArray();
+            for (int j = 0; j < 20; ++j) {
+                tags.put(j % 7 == 0 && i % 5 == 0 ? (Object) j : "tag" + j);
+            }
+            item.put("tags", tags);
+            items.put(item);
+        }
+        document.put("items", items);
+        JSONArray tuple = new JSONArray().put("first");
+        for (int i = 0; i < 500; ++i) {
+            tuple.put(i % 50 == 0 ? "str" : (Object) i);
+        }
+        document.put("tuple", tuple);
+        for (int i = 0; i < 300; ++i) {
+            document.put("p" + i, i % 40 == 0 ? "str" : (Object) i);
+            document.put("a" + i, i % 30 == 0 ? (Object) i : "str");
+        }
+        return document;
+    }
+
+    private static ValidationException failure(Validator validator, JSONObject document) {
+        try {
+            validator.performValidation(SCHEMA, document);
+            return null;
+        } catch (ValidationException e) {
+            return e;
+        }
+    }
+
+    @Test
+    public void reportsSameViolationsAsSequentialValidation() {
+        ValidationException expected = failure(Validator.builder().build(), document());
+        ValidationException actual = failure(Validator.builder().parallelism(2, POOL).build(), document());
+        assertEquals(expected.getAllMessages(), actual.getAllMessages());
+        assertEquals(expected.toJSON().toString(), actual.toJSON().toString());
+    }
+
+    @Test
+    public void failEarlyReportsFirstViolation() {
+        JSONObject document = document();
+        ValidationException expected = failure(Validator.builder().failEarly().build(), document);
+        ValidationException actual = failure(Validator.builder().failEarly().parallelism(2, POOL).build(), document);
+        assertEquals(expected.getPointerToViolation(), actual.getPointerToViolation());
+        assertEquals(expected.getMessage(), actual.getMessage());
+    }
+
+    @Test
+    public void validDocument() {
+        JSONArray items = new JSONArray();
+        for (int i = 0; i < 1000; ++i) {
+            items.put(new JSONObject().put("id", 3 * i));
+        }
+        JSONObject document = new JSONObject().put("items", items);
+        assertNull(failure(Validator.builder().parallelism(10, POOL).build(), document));
+        assertEquals(false, items.getJSONObject(999).get("flag"));
+    }
+
+    @Test
+    public void parallelismOnCommonPool() {
+        ValidationException expected = failure(Validator.builder().build(), document());
+        ValidationException actual = failure(Validator.builder().parallelism(100).build(), document());
+        assertEquals(expected.getAllMessages(), actual.getAllMessages());
+    }
+
+    @Test
+    public void invalidThreshold() {
+        assertThrows(IllegalArgumentException.class, () -> Validator.builder().parallelism(0, POOL));
+    }
+}
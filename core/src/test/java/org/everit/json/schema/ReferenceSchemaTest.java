@@ -76,13 +76,28 @@ public class ReferenceSchemaTest {
         });
     }
 
+    @Test
+    public void hashCodeOfEnclosingSchemaIsStable_WhenReferenceIsChangedAfterBuild() {
+        Builder refBuilder = ReferenceSchema.builder().refValue("#");
+        ObjectSchema enclosing = ObjectSchema.builder().addPropertySchema("child", refBuilder.build()).build();
+        refBuilder.build().setReferredSchema(enclosing);
+        int hashCodeBefore = enclosing.hashCode();
+        refBuilder.title("changed title").description("changed description");
+
+        assertEquals(hashCodeBefore, enclosing.hashCode());
+        assertEquals(hashCodeBefore, ObjectSchema.builder().addPropertySchema("child", refBuilder.build()).build()
+                .hashCode());
+    }
+
     @Test
     public void equalsVerifier() {
         EqualsVerifier.forClass(ReferenceSchema.class)
                 .withRedefinedSuperclass()
-                .withIgnoredFields("schemaLocation", "location", "referredSchema")
+                .withIgnoredFields("schemaLocation", "location", "referredSchema", "hashCode")
                 //there are specifically some non final fields for loading of recursive schemas
                 .suppress(Warning.NONFINAL_FIELDS)
+                //the hash code covers only the properties which can't be changed after build()
+                .suppress(Warning.STRICT_HASHCODE)
                 .suppress(Warning.STRICT_INHERITANCE)
                 .verify();
     }
@@ -0,0 +1,186 @@
+package org.everit.json.schema;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.Optional;
+
+import org.everit.json.schema.loader.SchemaLoader;
+import org.json.JSONObject;
+import org.json.JSONTokener;
+import org.junit.jupiter.api.Test;
+
+public class SchemaCompilerTest {
+
+    private static final JSONObject SCHEMA_JSON = new JSONObject(new JSONTokener("{"
+            + "  \"$schema\": \"http://json-schema.org/draft-07/schema#\","
+            + "  \"definitions\": {"
+            + "    \"node\": {"
+            + "      \"type\": \"object\","
+            + "      \"properties\": {"
+            + "        \"name\": {\"type\": \"string\", \"pattern\": \"^[a-z]+$\", \"maxLength\": 10},"
+            + "        \"code\": {\"type\": \"string\", \"format\": \"even-length\"},"
+            + "        \"weight\": {\"type\": \"number\", \"exclusiveMinimum\": 0, \"maximum\": 100,"
+            + "                     \"multipleOf\": 0.5},"
+            + "        \"count\": {\"type\": \"integer\", \"multipleOf\": 3},"
+            + "        \"kind\": {\"enum\": [\"leaf\", \"branch\", null, {\"x\": 1}]},"
+            + "        \"version\": {\"const\": 2},"
+            + "        \"children\": {\"type\": \"array\", \"items\": {\"$ref\": \"#/definitions/node\"},"
+            + "                       \"uniqueItems\": true, \"contains\": {\"required\": [\"kind\"]}},"
+            + "        \"pair\": {\"type\": \"array\", \"items\": [{\"type\": \"null\"}, {\"type\": \"boolean\"}],"
+            + "                   \"additionalItems\": false}"
+            + "      },"
+            + "      \"patternProperties\": {\"^x-\": {\"oneOf\": [{\"type\": \"string\"}, {\"type\": \"integer\"}]}},"
+            + "      \"additionalProperties\": false,"
+            + "      \"propertyNames\": {\"maxLength\": 8},"
+            + "      \"dependencies\": {\"weight\": [\"count\"], \"code\": {\"required\": [\"name\"]}},"
+            + "      \"required\": [\"name\"],"
+            + "      \"if\": {\"required\": [\"children\"]},"
+            + "      \"then\": {\"properties\": {\"kind\": {\"const\": \"branch\"}}},"
+            + "      \"else\": {\"not\": {\"required\": [\"pair\"]}}"
+            + "    }"
+            + "  },"
+            + "  \"anyOf\": [{\"$ref\": \"#/definitions/node\"}, {\"type\": \"string\", \"minLength\": 3}]"
+            + "}"));
+
+    private static final List<String> DOCUMENTS = Arrays.asList(
+            "{\"name\": \"root\"}",
+            "{\"name\": \"Root\"}",
+            "{\"name\": \"root\", \"weight\": 1.5, \"count\": 3}",
+            "{\"name\": \"root\", \"weight\": 1.5}",
+            "{\"name\": \"root\", \"weight\": 0, \"count\": 3}",
+            "{\"name\": \"root\", \"weight\": 100.5, \"count\": 3}",
+            "{\"name\": \"root\", \"weight\": 1.25, \"count\": 3}",
+            "{\"name\": \"root\", \"weight\": 1, \"count\": 4}",
+            "{\"name\": \"root\", \"count\": 3.0}",
+            "{\"name\": \"root\", \"code\": \"ab\"}",
+            "{\"name\": \"root\", \"code\": \"abc\"}",
+            "{\"name\": \"root\", \"kind\": {\"x\": 1.0}}",
+            "{\"name\": \"root\", \"kind\": \"tree\"}",
+            "{\"name\": \"root\", \"version\": 2.0}",
+            "{\"name\": \"root\", \"version\": \"2\"}",
+            "{\"name\": \"root\", \"x-a\": 1}",
+            "{\"name\": \"root\", \"x-a\": 1.5}",
+            "{\"name\": \"root\", \"unknown\": 1}",
+            "{\"name\": \"root\", \"x-longname\": 1}",
+            "{\"name\": \"root\", \"pair\": [null, true]}",
+            "{\"name\": \"root\", \"pair\": [null, true, 1]}",
+            "{\"name\": \"root\", \"pair\": [1]}",
+            "{\"name\": \"root\", \"kind\": \"branch\", \"children\": [{\"name\": \"a\", \"kind\": \"leaf\"}]}",
+            "{\"name\": \"root\", \"kind\": \"leaf\", \"children\": [{\"name\": \"a\", \"kind\": \"leaf\"}]}",
+            "{\"name\": \"root\", \"kind\": \"branch\", \"children\": [{\"name\": \"a\"}]}",
+            "{\"name\": \"root\", \"kind\": \"branch\", \"children\": []}",
+            "{\"name\": \"root\", \"kind\": \"branch\", \"children\": [{\"name\": \"a\", \"kind\": \"leaf\"},"
+                    + " {\"name\": \"a\", \"kind\": \"leaf\"}]}",
+            "{\"name\": \"root\", \"kind\": \"branch\", \"children\": [{\"name\": \"a\", \"kind\": \"leaf\","
+                    + " \"children\": [{\"name\": \"B\", \"kind\": \"leaf\"}]}]}",
+            "\"leaf\"",
+            "\"a\"",
+            "12",
+            "null",
+            "[]");
+
+    private static final FormatValidator EVEN_LENGTH = new FormatValidator() {
+
+        @Override public Optional<String> validate(String subject) {
+            return subject.length() % 2 == 0 ? Optional.empty() : Optional.of("odd length");
+        }
+
+        @Override public String formatName() {
+            return "even-length";
+        }
+    };
+
+    private static Schema loadSchema(JSONObject schemaJson) {
+        return SchemaLoader.builder()
+                .addFormatValidator(EVEN_LENGTH)
+                .useDefaults(true)
+                .schemaJson(schemaJson)
+                .build().load().build();
+    }
+
+    private static Object parse(String document) {
+        return new JSONTokener(document).nextValue();
+    }
+
+    private static boolean isValid(Validator validator, Schema schema, Object document) {
+        try {
+            validator.performValidation(schema, document);
+            return true;
+        } catch (ValidationException e) {
+            return false;
+        }
+    }
+
+    private static void assertAcceptsValidDocuments(DocumentAccessor documentAccessor) {
+        Schema schema = loadSchema(SCHEMA_JSON);
+        CompiledSchema compiledSchema = SchemaCompiler.compile(schema, documentAccessor);
+        assertNotNull(compiledSchema);
+        Validator validator = Validator.builder().documentAccessor(documentAccessor).build();
+        for (String json : DOCUMENTS) {
+            Object document = parse(json);
+            if (documentAccessor == DocumentAccessor.JAVA_COLLECTIONS) {
+                document = ValidatingVisitor.toJavaValue(document, false, DocumentAccessor.ORG_JSON);
+            }
+            assertEquals(isValid(validator, schema, document), compiledSchema.accepts(document), json);
+        }
+    }
+
+    @Test
+    public void compiledSchemaAcceptsValidDocuments() {
+        assertAcceptsValidDocuments(DocumentAccessor.ORG_JSON);
+    }
+
+    @Test
+    public void compiledSchemaAcceptsValidJavaCollections() {
+        assertAcceptsValidDocuments(DocumentAccessor.JAVA_COLLECTIONS);
+    }
+
+    @Test
+    public void schemasWithDefaultsAreNotCompiled() {
+        Schema schema = loadSchema(new JSONObject("{\"properties\": {\"count\": {\"default\": 1}}}"));
+        assertNull(SchemaCompiler.compile(schema, DocumentAccessor.ORG_JSON));
+    }
+
+    @Test
+    public void schemaIsCompiledAtThreshold() {
+        Schema schema = loadSchema(SCHEMA_JSON);
+        HotSchemaCompilation compilation = new HotSchemaCompilation(3, DocumentAccessor.ORG_JSON);
+        assertNull(compilation.compiledSchemaOf(schema));
+        assertNull(compilation.compiledSchemaOf(schema));
+        CompiledSchema compiledSchema = compilation.compiledSchemaOf(schema);
+        assertNotNull(compiledSchema);
+        assertSame(compiledSchema, compilation.compiledSchemaOf(schema));
+    }
+
+    @Test
+    public void violationsAreReportedByTheValidatingVisitor() {
+        Schema schema = loadSchema(SCHEMA_JSON);
+        Validator validator = Validator.builder().compilationThreshold(1).build();
+        for (String json : DOCUMENTS) {
+            ValidationException expected = null;
+            try {
+                schema.validate(parse(json));
+            } catch (ValidationException e) {
+                expected = e;
+            }
+            if (expected == null) {
+                validator.performValidation(schema, parse(json));
+            } else {
+                ValidationException actual = assertThrows(ValidationException.class,
+                        () -> validator.performValidation(schema, parse(json)));
+                assertEquals(expected.toJSON().toString(), actual.toJSON().toString());
+            }
+        }
+    }
+
+    @Test
+    public void invalidThreshold() {
+        assertThrows(IllegalArgumentException.class, () -> Validator.builder().compilationThreshold(0));
+    }
+}
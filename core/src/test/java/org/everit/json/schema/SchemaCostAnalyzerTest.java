@@ -0,0 +1,108 @@
+package org.everit.json.schema;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.List;
+
+import org.everit.json.schema.SchemaCostReport.Finding;
+import org.everit.json.schema.SchemaCostReport.FindingKind;
+import org.everit.json.schema.loader.SchemaLoader;
+import org.json.JSONArray;
+import org.json.JSONObject;
+import org.junit.jupiter.api.Test;
+
+public class SchemaCostAnalyzerTest {
+
+    private static Finding singleFinding(SchemaCostReport report, FindingKind kind) {
+        List<Finding> findings = report.getFindings(kind);
+        assertEquals(1, findings.size(), findings.toString());
+        return findings.get(0);
+    }
+
+    @Test
+    public void trivialSchemaHasNoFindings() {
+        SchemaCostReport report = SchemaCostAnalyzer.analyze(
+                SchemaLoader.load(new JSONObject("{\"properties\": {\"a\": {}}}")));
+        assertEquals(2, report.getReachableSchemaCount());
+        assertTrue(report.getLocations().isEmpty());
+        assertEquals(2, report.getTotalScore());
+    }
+
+    @Test
+    public void nestedCombinatorsMultiplyTheirScores() {
+        SchemaCostReport report = SchemaCostAnalyzer.analyze(SchemaLoader.load(new JSONObject("{"
+                + "  \"anyOf\": ["
+                + "    {\"type\": \"string\"},"
+                + "    {\"oneOf\": [{\"type\": \"integer\"}, {\"type\": \"null\"}, {\"type\": \"boolean\"}]}"
+                + "  ]"
+                + "}")));
+        assertEquals(2, report.getMaxCombinatorNesting());
+        List<Finding> findings = report.getFindings(FindingKind.COMBINATOR_FAN_OUT);
+        assertEquals(2, findings.size());
+        assertEquals(6, findings.get(0).getScore());
+        assertEquals("#/anyOf/1", report.getLocations().get(0).getLocation());
+        assertEquals(2, findings.get(1).getScore());
+    }
+
+    @Test
+    public void recursiveReference() {
+        SchemaCostReport report = SchemaCostAnalyzer.analyze(SchemaLoader.load(new JSONObject("{"
+                + "  \"definitions\": {"
+                + "    \"tree\": {\"properties\": {\"children\": {\"items\": {\"$ref\": \"#/definitions/tree\"}}}}"
+                + "  },"
+                + "  \"$ref\": \"#/definitions/tree\""
+                + "}")));
+        Finding finding = singleFinding(report, FindingKind.RECURSIVE_REFERENCE);
+        assertEquals(SchemaCostAnalyzer.RECURSIVE_REFERENCE_SCORE, finding.getScore());
+        assertTrue(finding.getMessage().contains("#/definitions/tree"));
+    }
+
+    @Test
+    public void regexpsAndArrays() {
+        SchemaCostReport report = SchemaCostAnalyzer.analyze(SchemaLoader.load(new JSONObject("{"
+                + "  \"patternProperties\": {"
+                + "    \"^(a+)+$\": {},"
+                + "    \"^b\": {}"
+                + "  },"
+                + "  \"properties\": {"
+                + "    \"tags\": {\"type\": \"array\", \"uniqueItems\": true},"
+                + "    \"ids\": {\"type\": \"array\", \"uniqueItems\": true, \"maxItems\": 10},"
+                + "    \"code\": {\"type\": \"string\", \"pattern\": \"^(\\\\w*\\\\s?)*$\"}"
+                + "  }"
+                + "}")));
+        assertEquals(2, singleFinding(report, FindingKind.PATTERN_PROPERTIES).getScore());
+        assertEquals(2, report.getFindings(FindingKind.UNSAFE_REGEXP).size());
+        assertEquals(SchemaCostAnalyzer.UNBOUNDED_UNIQUE_ITEMS_SCORE,
+                singleFinding(report, FindingKind.UNBOUNDED_UNIQUE_ITEMS).getScore());
+    }
+
+    @Test
+    public void complexNot() {
+        SchemaCostReport report = SchemaCostAnalyzer.analyze(SchemaLoader.load(new JSONObject("{"
+                + "  \"properties\": {"
+                + "    \"simple\": {\"not\": {\"type\": \"string\"}},"
+                + "    \"complex\": {\"not\": {\"properties\": {\"a\": {}, \"b\": {}}}}"
+                + "  }"
+                + "}")));
+        Finding finding = singleFinding(report, FindingKind.COMPLEX_NOT);
+        assertEquals(3, finding.getScore());
+    }
+
+    @Test
+    public void toJson() {
+        SchemaCostReport report = SchemaCostAnalyzer.analyze(SchemaLoader.load(new JSONObject("{"
+                + "  \"properties\": {\"a\": {\"oneOf\": [{\"type\": \"string\"}, {\"type\": \"integer\"}]}}"
+                + "}")));
+        JSONObject json = report.toJson();
+        assertEquals(report.getTotalScore(), json.getLong("totalScore"));
+        assertEquals(report.getReachableSchemaCount(), json.getInt("reachableSchemaCount"));
+        assertEquals(1, json.getInt("maxCombinatorNesting"));
+        JSONArray locations = json.getJSONArray("locations");
+        assertEquals(1, locations.length());
+        JSONObject location = locations.getJSONObject(0);
+        assertEquals("#/properties/a", location.getString("location"));
+        assertEquals(2, location.getLong("score"));
+        assertEquals("COMBINATOR_FAN_OUT", location.getJSONArray("findings").getJSONObject(0).getString("kind"));
+    }
+}
@@ -0,0 +1,104 @@
+package org.everit.json.schema;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.util.List;
+
+import org.everit.json.schema.loader.SchemaLoader;
+import org.json.JSONObject;
+import org.junit.jupiter.api.Test;
+
+public class SchemaInternerTest {
+
+    private static final String NAME_SCHEMA = "{\"type\": \"string\", \"maxLength\": 255}";
+
+    private static Schema propertySchema(Schema schema, String propertyName) {
+        return ((ObjectSchema) schema).getPropertySchemas().get(propertyName);
+    }
+
+    @Test
+    public void sharesEqualSubschemas() {
+        Schema original = SchemaLoader.load(new JSONObject("{\"properties\": {"
+                + "  \"firstName\": " + NAME_SCHEMA + ","
+                + "  \"lastName\": " + NAME_SCHEMA + ","
+                + "  \"code\": {\"type\": \"string\", \"maxLength\": 8}"
+                + "}}"));
+        SchemaInterner interner = new SchemaInterner();
+        Schema interned = interner.intern(original);
+
+        assertEquals(original, interned);
+        Schema firstName = propertySchema(interned, "firstName");
+        assertSame(firstName, propertySchema(interned, "lastName"));
+        assertNotSame(firstName, propertySchema(interned, "code"));
+        List<SchemaLocation> locations = interner.getLocations(firstName);
+        assertEquals(2, locations.size());
+        assertEquals("#/properties/firstName", locations.get(0).toString());
+        assertEquals("#/properties/lastName", locations.get(1).toString());
+        assertEquals(3, interner.getPooledSchemaCount());
+    }
+
+    @Test
+    public void sharesSubschemasAcrossDocuments() {
+        SchemaInterner interner = new SchemaInterner();
+        JSONObject objectSchemaJson = new JSONObject("{\"properties\": {\"name\": " + NAME_SCHEMA + "}}");
+        Schema first = interner.intern(SchemaLoader.load(objectSchemaJson));
+        Schema second = interner.intern(SchemaLoader.load(new JSONObject("{\"items\": " + NAME_SCHEMA + "}")));
+        assertSame(propertySchema(first, "name"), ((ArraySchema) second).getAllItemSchema());
+        assertSame(first, interner.intern(SchemaLoader.load(objectSchemaJson)));
+    }
+
+    @Test
+    public void sharesReferences() {
+        Schema interned = new SchemaInterner().intern(SchemaLoader.load(new JSONObject("{"
+                + "  \"definitions\": {\"name\": " + NAME_SCHEMA + "},"
+                + "  \"properties\": {"
+                + "    \"a\": {\"$ref\": \"#/definitions/name\"},"
+                + "    \"b\": {\"$ref\": \"#/definitions/name\"}"
+                + "  }"
+                + "}")));
+        ReferenceSchema a = (ReferenceSchema) propertySchema(interned, "a");
+        assertSame(a, propertySchema(interned, "b"));
+        assertEquals(StringSchema.class, a.getReferredSchema().getClass());
+    }
+
+    @Test
+    public void keepsRecursiveReferences() {
+        Schema original = SchemaLoader.load(new JSONObject("{"
+                + "  \"definitions\": {"
+                + "    \"tree\": {"
+                + "      \"properties\": {"
+                + "        \"name\": " + NAME_SCHEMA + ","
+                + "        \"children\": {\"type\": \"array\", \"items\": {\"$ref\": \"#/definitions/tree\"}}"
+                + "      }"
+                + "    }"
+                + "  },"
+                + "  \"$ref\": \"#/definitions/tree\""
+                + "}"));
+        Schema interned = new SchemaInterner().intern(original);
+
+        ObjectSchema tree = (ObjectSchema) ((ReferenceSchema) interned).getReferredSchema();
+        ArraySchema children = (ArraySchema) tree.getPropertySchemas().get("children");
+        assertSame(tree, ((ReferenceSchema) children.getAllItemSchema()).getReferredSchema());
+
+        JSONObject valid = new JSONObject("{\"name\": \"a\", \"children\": [{\"name\": \"b\", \"children\": []}]}");
+        JSONObject invalid = new JSONObject("{\"name\": \"a\", \"children\": [{\"name\": 1}]}");
+        interned.validate(valid);
+        ValidationException expected = assertThrows(ValidationException.class, () -> original.validate(invalid));
+        ValidationException actual = assertThrows(ValidationException.class, () -> interned.validate(invalid));
+        assertEquals(expected.getAllMessages(), actual.getAllMessages());
+    }
+
+    @Test
+    public void distinguishesSchemasWithDifferentSubschemas() {
+        Schema interned = new SchemaInterner().intern(SchemaLoader.load(new JSONObject("{\"properties\": {"
+                + "  \"a\": {\"items\": {\"type\": \"string\"}},"
+                + "  \"b\": {\"items\": {\"type\": \"integer\"}},"
+                + "  \"c\": {\"items\": {\"type\": \"string\"}}"
+                + "}}")));
+        assertNotSame(propertySchema(interned, "a"), propertySchema(interned, "b"));
+        assertSame(propertySchema(interned, "a"), propertySchema(interned, "c"));
+    }
+}
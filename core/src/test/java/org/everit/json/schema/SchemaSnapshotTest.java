@@ -0,0 +1,185 @@
+package org.everit.json.schema;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.StreamCorruptedException;
+import java.util.Optional;
+
+import org.everit.json.schema.loader.SchemaLoader;
+import org.everit.json.schema.regexp.RE2JRegexpFactory;
+import org.json.JSONObject;
+import org.json.JSONTokener;
+import org.junit.jupiter.api.Test;
+
+public class SchemaSnapshotTest {
+
+    private static final FormatValidator EVEN_LENGTH = new FormatValidator() {
+
+        @Override public Optional<String> validate(String subject) {
+            return subject.length() % 2 == 0 ? Optional.empty() : Optional.of("odd length");
+        }
+
+        @Override public String formatName() {
+            return "even-length";
+        }
+    };
+
+    private static final JSONObject SCHEMA_JSON = new JSONObject(new JSONTokener("{"
+            + "  \"$schema\": \"http://json-schema.org/draft-07/schema#\","
+            + "  \"$id\": \"http://example.org/tree.json\","
+            + "  \"title\": \"tree\","
+            + "  \"x-custom\": {\"a\": [1, 2.5, null, true]},"
+            + "  \"definitions\": {"
+            + "    \"node\": {"
+            + "      \"type\": \"object\","
+            + "      \"properties\": {"
+            + "        \"name\": {\"type\": \"string\", \"pattern\": \"^[a-z]+$\", \"maxLength\": 10},"
+            + "        \"code\": {\"type\": \"string\", \"format\": \"even-length\"},"
+            + "        \"created\": {\"type\": \"string\", \"format\": \"date-time\"},"
+            + "        \"weight\": {\"type\": \"number\", \"exclusiveMinimum\": 0, \"multipleOf\": 0.5},"
+            + "        \"count\": {\"type\": \"integer\", \"default\": 1},"
+            + "        \"kind\": {\"enum\": [\"leaf\", \"branch\", null, {\"x\": 1}]},"
+            + "        \"version\": {\"const\": 2},"
+            + "        \"children\": {\"type\": \"array\", \"items\": {\"$ref\": \"#/definitions/node\"},"
+            + "                       \"uniqueItems\": true, \"contains\": {\"type\": \"object\"}},"
+            + "        \"pair\": {\"type\": \"array\", \"items\": [{\"type\": \"null\"}, {\"type\": \"boolean\"}],"
+            + "                   \"additionalItems\": false}"
+            + "      },"
+            + "      \"patternProperties\": {\"^x-\": {\"oneOf\": [{\"type\": \"string\"}, {\"type\": \"integer\"}]}},"
+            + "      \"additionalProperties\": false,"
+            + "      \"propertyNames\": {\"maxLength\": 20},"
+            + "      \"dependencies\": {\"weight\": [\"count\"], \"code\": {\"required\": [\"name\"]}},"
+            + "      \"required\": [\"name\"],"
+            + "      \"if\": {\"required\": [\"children\"]},"
+            + "      \"then\": {\"properties\": {\"kind\": {\"const\": \"branch\"}}},"
+            + "      \"else\": {\"not\": {\"required\": [\"pair\"]}}"
+            + "    }"
+            + "  },"
+            + "  \"allOf\": [{\"$ref\": \"#/definitions/node\"}, true]"
+            + "}"));
+
+    private static final String DOCUMENT = "{"
+            + "  \"name\": \"root\", \"kind\": \"branch\", \"count\": 2, \"weight\": 1.5,"
+            + "  \"children\": ["
+            + "    {\"name\": \"Leaf\", \"code\": \"abc\", \"created\": \"yesterday\", \"x-a\": 1.5,"
+            + "     \"kind\": \"branch\"},"
+            + "    {\"name\": \"leaf\", \"code\": \"ab\", \"pair\": [null, 1], \"version\": 3, \"weight\": 0},"
+            + "    {\"name\": \"leaf\", \"code\": \"ab\", \"pair\": [null, 1], \"version\": 3, \"weight\": 0}"
+            + "  ],"
+            + "  \"unknown\": true"
+            + "}";
+
+    private static Schema loadSchema() {
+        return SchemaLoader.builder()
+                .addFormatValidator(EVEN_LENGTH)
+                .useDefaults(true)
+                .schemaJson(SCHEMA_JSON)
+                .build().load().build();
+    }
+
+    private static byte[] write(Schema schema) throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        SchemaSnapshotWriter.write(schema, out);
+        return out.toByteArray();
+    }
+
+    private static Schema read(SchemaSnapshotReader reader, byte[] snapshot) throws IOException {
+        return reader.read(new ByteArrayInputStream(snapshot));
+    }
+
+    private static ValidationException failure(Schema schema) {
+        return assertThrows(ValidationException.class, () -> schema.validate(new JSONObject(DOCUMENT)));
+    }
+
+    @Test
+    public void roundTrip() throws IOException {
+        Schema original = loadSchema();
+        Schema actual = read(SchemaSnapshotReader.builder().addFormatValidator(EVEN_LENGTH).build(), write(original));
+        assertEquals(original, actual);
+        assertEquals(original.hashCode(), actual.hashCode());
+        assertEquals(original.toString(), actual.toString());
+        assertEquals(original.getUnprocessedProperties(), actual.getUnprocessedProperties());
+        assertEquals(failure(original).toJSON().toString(), failure(actual).toJSON().toString());
+    }
+
+    @Test
+    public void cyclicReferencesAreRestored() throws IOException {
+        Schema actual = read(SchemaSnapshotReader.builder().addFormatValidator(EVEN_LENGTH).build(),
+                write(loadSchema()));
+        ReferenceSchema nodeReference = (ReferenceSchema) ((CombinedSchema) actual).getSubschemas().stream()
+                .filter(schema -> schema instanceof ReferenceSchema)
+                .findFirst().get();
+        CombinedSchema node = (CombinedSchema) nodeReference.getReferredSchema();
+        ObjectSchema nodeProperties = (ObjectSchema) node.getSubschemas().stream()
+                .filter(schema -> schema instanceof ObjectSchema)
+                .findFirst().get();
+        ArraySchema children = (ArraySchema) nodeProperties.getPropertySchemas().get("children");
+        assertSame(node, ((ReferenceSchema) children.getAllItemSchema()).getReferredSchema());
+    }
+
+    @Test
+    public void defaultsAreInjected() throws IOException {
+        Schema actual = read(SchemaSnapshotReader.builder().addFormatValidator(EVEN_LENGTH).build(),
+                write(loadSchema()));
+        JSONObject document = new JSONObject().put("name", "root");
+        Validator.builder().build().performValidation(actual, document);
+        assertEquals(1, document.get("count"));
+    }
+
+    @Test
+    public void formatValidatorsAndRegexpFactoryAreRebound() throws IOException {
+        FormatValidator anyLength = new FormatValidator() {
+
+            @Override public Optional<String> validate(String subject) {
+                return Optional.empty();
+            }
+
+            @Override public String formatName() {
+                return "even-length";
+            }
+        };
+        Schema actual = read(SchemaSnapshotReader.builder()
+                .addFormatValidator(anyLength)
+                .regexpFactory(new RE2JRegexpFactory())
+                .build(), write(loadSchema()));
+        ValidationException failure = failure(actual);
+        assertTrue(failure.getAllMessages().stream().noneMatch(message -> message.contains("odd length")));
+        assertTrue(failure.getAllMessages().stream().anyMatch(message -> message.contains("^[a-z]+$")));
+    }
+
+    @Test
+    public void uriFormatConfigurationIsKept() throws IOException {
+        Schema original = SchemaLoader.builder()
+                .draftV7Support()
+                .schemaJson(new JSONObject("{\"type\": \"string\", \"format\": \"uri\"}"))
+                .build().load().build();
+        Schema actual = read(SchemaSnapshotReader.builder().build(), write(original));
+        assertThrows(ValidationException.class, () -> original.validate("//example.org"));
+        assertThrows(ValidationException.class, () -> actual.validate("//example.org"));
+    }
+
+    @Test
+    public void unregisteredCustomFormat() throws IOException {
+        byte[] snapshot = write(loadSchema());
+        assertThrows(SchemaException.class, () -> read(SchemaSnapshotReader.builder().build(), snapshot));
+    }
+
+    @Test
+    public void invalidSnapshot() {
+        assertThrows(StreamCorruptedException.class,
+                () -> read(SchemaSnapshotReader.builder().build(), "{\"type\": \"string\"}".getBytes()));
+    }
+
+    @Test
+    public void unsupportedSchemaClass() {
+        Schema schema = new NullSchema(NullSchema.builder()) {
+        };
+        assertThrows(IllegalArgumentException.class, () -> write(schema));
+    }
+}
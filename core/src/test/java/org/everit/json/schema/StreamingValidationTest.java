@@ -0,0 +1,131 @@
+package org.everit.json.schema;
+
+import static java.util.Collections.emptyList;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.io.StringReader;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+import org.everit.json.schema.loader.SchemaLoader;
+import org.json.JSONException;
+import org.json.JSONObject;
+import org.json.JSONTokener;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+
+public class StreamingValidationTest {
+
+    private static final Schema SCHEMA = SchemaLoader.load(new JSONObject(new JSONTokener(
+            "{"
+                    + "  \"definitions\": {"
+                    + "    \"item\": {"
+                    + "      \"type\": \"object\","
+                    + "      \"properties\": {"
+                    + "        \"id\": {\"type\": \"integer\", \"minimum\": 1},"
+                    + "        \"name\": {\"type\": \"string\", \"maxLength\": 5},"
+                    + "        \"kind\": {\"oneOf\": [{\"enum\": [\"a\"]}, {\"enum\": [\"b\"]}]}"
+                    + "      },"
+                    + "      \"patternProperties\": {\"^x-\": {\"type\": \"string\"}, \"^x-n\": {\"type\": \"number\"}},"
+                    + "      \"additionalProperties\": false,"
+                    + "      \"required\": [\"id\"],"
+                    + "      \"dependencies\": {\"name\": [\"kind\"]}"
+                    + "    }"
+                    + "  },"
+                    + "  \"type\": \"object\","
+                    + "  \"propertyNames\": {\"maxLength\": 6},"
+                    + "  \"maxProperties\": 3,"
+                    + "  \"properties\": {"
+                    + "    \"items\": {"
+                    + "      \"type\": \"array\","
+                    + "      \"items\": {\"$ref\": \"#/definitions/item\"},"
+                    + "      \"maxItems\": 3,"
+                    + "      \"contains\": {\"required\": [\"kind\"]}"
+                    + "    },"
+                    + "    \"tuple\": {\"items\": [{\"type\": \"string\"}, {\"type\": \"number\"}], \"additionalItems\": false},"
+                    + "    \"unique\": {\"uniqueItems\": true}"
+                    + "  },"
+                    + "  \"additionalProperties\": {\"type\": \"object\"}"
+                    + "}")));
+
+    private static List<String> treeValidationFailures(Validator validator, String document) {
+        try {
+            validator.performValidation(SCHEMA, new JSONTokener(document).nextValue());
+            return emptyList();
+        } catch (ValidationException e) {
+            return sorted(e.getAllMessages());
+        }
+    }
+
+    private static List<String> streamingValidationFailures(Validator validator, String document) {
+        try {
+            validator.performStreamingValidation(SCHEMA, new StringReader(document));
+            return emptyList();
+        } catch (ValidationException e) {
+            return sorted(e.getAllMessages());
+        }
+    }
+
+    private static List<String> sorted(List<String> messages) {
+        List<String> rval = new ArrayList<>(messages);
+        Collections.sort(rval);
+        return rval;
+    }
+
+    @ParameterizedTest
+    @ValueSource(strings = {
+            "{}",
+            "{\"items\": [{\"id\": 1, \"kind\": \"a\"}]}",
+            "{\"items\": [{\"id\": 0, \"name\": \"too long\"}, {\"kind\": \"c\", \"x-n\": \"str\"}, {\"id\": 2, \"kind\": \"a\"}, {}]}",
+            "{\"items\": [{\"id\": 1, \"extra\": [1, 2, {\"a\": 3}], \"x-a\": 1}]}",
+            "{\"items\": []}",
+            "{\"items\": {\"id\": 1}}",
+            "{\"tuple\": [\"a\", 1, true]}",
+            "{\"tuple\": [1, \"a\"]}",
+            "{\"unique\": [1, 1], \"longName\": 2}",
+            "{\"other\": {\"nested\": [{}, []]}, \"items\": [{\"id\": 1, \"kind\": \"b\"}], \"tuple\": [], \"x\": {}}",
+            "[1, 2]",
+            "\"string\"",
+            "{items: [{id: 1, kind: a}]}",
+            "{yes: 1, 1.50: 2, TRUE: 3}"
+    })
+    public void streamingReportsSameViolationsAsTreeValidation(String document) {
+        Validator validator = Validator.builder().build();
+        assertEquals(treeValidationFailures(validator, document), streamingValidationFailures(validator, document));
+    }
+
+    @Test
+    public void failEarlyStopsAtFirstViolation() {
+        Validator validator = Validator.builder().failEarly().build();
+        ValidationException e = assertThrows(ValidationException.class, () ->
+                validator.performStreamingValidation(SCHEMA, new StringReader("{\"items\": [{\"id\": 1}, {\"id\": 0}]}")));
+        assertEquals("#/items/1/id", e.getPointerToViolation());
+    }
+
+    @Test
+    public void syntaxErrorIsReported() {
+        assertThrows(JSONException.class, () -> Validator.builder().build()
+                .performStreamingValidation(SCHEMA, new StringReader("{\"items\": [{\"id\": 1}")));
+    }
+
+    @Test
+    public void duplicateKeyIsReported() {
+        assertThrows(JSONException.class, () -> Validator.builder().build()
+                .performStreamingValidation(SCHEMA, new StringReader("{\"other\": {\"a\": 1, \"a\": 2}}")));
+    }
+
+    @Test
+    public void largeArrayIsStreamed() {
+        StringBuilder document = new StringBuilder("{\"items\": [{\"id\": 1, \"kind\": \"a\"}");
+        for (int i = 0; i < 100_000; ++i) {
+            document.append(", {\"id\": ").append(i + 1).append(", \"name\": \"n\", \"kind\": \"b\"}");
+        }
+        document.append("]}");
+        ValidationException e = assertThrows(ValidationException.class, () -> Validator.builder().build()
+                .performStreamingValidation(SCHEMA, new StringReader(document.toString())));
+        assertEquals("#/items: expected maximum item count: 3, found: 100001", e.getMessage());
+    }
+}
@@ -5,11 +5,13 @@ import static org.everit.json.schema.TestSupport.buildWithLocation;
 import static org.hamcrest.MatcherAssert.assertThat;
 import static org.junit.jupiter.api.Assertions.*;
 
+import java.time.Duration;
 import java.util.Optional;
 
 import org.everit.json.schema.internal.EmailFormatValidator;
 import org.everit.json.schema.internal.URIFormatValidator;
 import org.everit.json.schema.loader.SchemaLoader;
+import org.everit.json.schema.regexp.GuardedRegexpFactory;
 import org.everit.json.schema.regexp.RE2JRegexpFactory;
 import org.json.JSONObject;
 
@@ -112,6 +114,7 @@ public class StringSchemaTest {
                 .withIgnoredFields("schemaLocation", "location")
                 .withPrefabValues(Pattern.class, Pattern.compile("red"), Pattern.compile("black"))
                 .withPrefabValues(FormatValidator.class, new EmailFormatValidator(), new URIFormatValidator())
+                .withCachedHashCode("hashCode", "computeHashCode", StringSchema.builder().minLength(1).build())
                 .suppress(Warning.STRICT_INHERITANCE)
                 .verify();
     }
@@ -197,4 +200,16 @@ public class StringSchemaTest {
         assertEquals(result.getRegexpPattern().getClass().getSimpleName(), "RE2JRegexp");
     }
 
+    @Test
+    public void patternBudgetExceeded() {
+        StringSchema subject = buildWithLocation(StringSchema.builder()
+                .pattern(new GuardedRegexpFactory(100_000, Duration.ofSeconds(10))
+                        .createHandler(".*a.*a.*a.*a.*a.*a.*a.*a!x")));
+        TestSupport.failureOf(subject)
+                .expectedKeyword("pattern")
+                .expectedMessageFragment("exceeded the regexp matching budget")
+                .input(new String(new char[40]).replace('\0', 'a'))
+                .expect();
+    }
+
 }
@@ -3,20 +3,21 @@ package org.everit.json.schema;
 import static org.everit.json.schema.PrimitiveValidationStrategy.LENIENT;
 import static org.everit.json.schema.PrimitiveValidationStrategy.STRICT;
 import static org.junit.jupiter.api.Assertions.*;
-import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.Mockito.mock;
-import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.verifyNoMoreInteractions;
+import static org.mockito.Mockito.when;
 
 import java.math.BigDecimal;
 import java.math.BigInteger;
 import java.util.ArrayList;
-import java.util.function.Consumer;
+import java.util.EnumSet;
 
 import org.everit.json.schema.event.CombinedSchemaMatchEvent;
 import org.everit.json.schema.event.CombinedSchemaMismatchEvent;
+import org.everit.json.schema.event.SelectiveValidationListener;
 import org.everit.json.schema.event.ValidationListener;
+import org.everit.json.schema.event.ValidationListener.EventKind;
 import org.json.JSONArray;
 import org.json.JSONObject;
 import org.junit.jupiter.api.AfterEach;
@@ -39,25 +40,9 @@ class ValidatingVisitorTest {
     @Nested
     class PassesTypeCheckTests {
 
-        Consumer<?> onPass;
-
-        @BeforeEach
-        void before() {
-            onPass = mock(Consumer.class);
-        }
-
         @AfterEach
         void after() {
             verifyNoMoreInteractions(reporter);
-            verifyNoMoreInteractions(onPass);
-        }
-
-        private <E> Consumer<E> onPassConsumer() {
-            return (Consumer<E>) onPass;
-        }
-
-        private void verifyTypeCheckDidNotPass() {
-            verify(onPass, never()).accept(any());
         }
 
         private ValidatingVisitor createValidatingVisitor() {
@@ -75,89 +60,91 @@ class ValidatingVisitorTest {
         @Test
         void otherType_noRequires() {
             ValidatingVisitor subject = createValidatingVisitor();
-            subject.ifPassesTypeCheck(JSONObject.class, false, null, onPassConsumer());
-            verifyTypeCheckDidNotPass();
+            assertNull(subject.subjectOfKind(ValueKind.OBJECT, false, null));
         }
 
         @Test
         void otherType_requires() {
             ValidatingVisitor subject = createValidatingVisitor();
-            subject.ifPassesTypeCheck(JSONObject.class, true, null, onPassConsumer());
-            verifyTypeCheckDidNotPass();
+            assertNull(subject.subjectOfKind(ValueKind.OBJECT, true, null));
             verify(reporter).failure(JSONObject.class, "string");
         }
 
         @Test
         void otherType_nullPermitted_nullObject() {
             ValidatingVisitor subject = createValidatingVisitor(JSONObject.NULL, STRICT);
-            subject.ifPassesTypeCheck(JSONObject.class, true, Boolean.TRUE, onPassConsumer());
-            verifyTypeCheckDidNotPass();
+            assertNull(subject.subjectOfKind(ValueKind.OBJECT, true, Boolean.TRUE));
         }
 
         @Test
         void otherType_nullPermitted_nullReference() {
             ValidatingVisitor subject = createValidatingVisitor(null, STRICT);
-            subject.ifPassesTypeCheck(JSONObject.class, true, Boolean.TRUE, onPassConsumer());
-            verifyTypeCheckDidNotPass();
+            assertNull(subject.subjectOfKind(ValueKind.OBJECT, true, Boolean.TRUE));
         }
 
         @Test
         void nullPermitted_nonNullValue() {
             ValidatingVisitor subject = createValidatingVisitor();
-            subject.ifPassesTypeCheck(JSONObject.class, true, Boolean.TRUE, onPassConsumer());
-            verifyTypeCheckDidNotPass();
+            assertNull(subject.subjectOfKind(ValueKind.OBJECT, true, Boolean.TRUE));
             verify(reporter).failure(JSONObject.class, "string");
         }
 
         @Test
         void requiresType_nullableIsNull() {
             ValidatingVisitor subject = createValidatingVisitor(null, STRICT);
-            subject.ifPassesTypeCheck(JSONObject.class, true, null, onPassConsumer());
-            verifyTypeCheckDidNotPass();
+            assertNull(subject.subjectOfKind(ValueKind.OBJECT, true, null));
             verify(reporter).failure(JSONObject.class, null);
         }
 
         @Test
         void lenientMode_expectedString_actualString() {
             ValidatingVisitor subject = createValidatingVisitor("str", LENIENT);
-            subject.ifPassesTypeCheck(String.class, true, Boolean.TRUE, onPassConsumer());
-            verify(onPassConsumer()).accept("str");
+            assertEquals("str", subject.subjectOfKind(ValueKind.STRING, true, Boolean.TRUE));
         }
 
         @Test
         void lenientMode_expectedString_actualNumber() {
             ValidatingVisitor subject = createValidatingVisitor(2, LENIENT);
-            subject.ifPassesTypeCheck(String.class, true, Boolean.TRUE, onPassConsumer());
-            verify(onPassConsumer()).accept("2");
+            assertEquals("2", subject.subjectOfKind(ValueKind.STRING, true, Boolean.TRUE));
         }
 
         @Test
         void lenientMode_expectedBoolean_actualString() {
             ValidatingVisitor subject = createValidatingVisitor("Yes", LENIENT);
-            subject.ifPassesTypeCheck(Boolean.class, true, Boolean.TRUE, onPassConsumer());
-            verify(onPassConsumer()).accept(true);
+            assertEquals(true, subject.subjectOfKind(ValueKind.BOOLEAN, true, Boolean.TRUE));
         }
 
         @Test
         void lenientMode_expectedInteger_actualString() {
             ValidatingVisitor subject = createValidatingVisitor("2", LENIENT);
-            subject.ifPassesTypeCheck(Integer.class, true, Boolean.TRUE, onPassConsumer());
-            verify(onPassConsumer()).accept(2);
+            assertEquals(2, subject.subjectOfKind(ValueKind.INTEGER, true, Boolean.TRUE));
         }
 
         @Test
         void lenientMode_expecedInteger_actualBooleanAsString() {
             ValidatingVisitor subject = createValidatingVisitor("true", LENIENT);
-            subject.ifPassesTypeCheck(Integer.class, true, Boolean.TRUE, onPassConsumer());
-            verifyTypeCheckDidNotPass();
+            assertNull(subject.subjectOfKind(ValueKind.INTEGER, true, Boolean.TRUE));
             verify(reporter).failure(Integer.class, "true");
         }
 
+        @Test
+        void integralTypeOtherThanInteger() {
+            ValidatingVisitor subject = createValidatingVisitor(2L, STRICT);
+            assertEquals(2L, subject.subjectOfKind(ValueKind.INTEGER, true, null));
+            assertEquals(2L, subject.subjectOfKind(ValueKind.NUMBER, true, null));
+        }
+
+        @Test
+        void nonIntegralNumber_expectedInteger() {
+            ValidatingVisitor subject = createValidatingVisitor(2.5, STRICT);
+            assertNull(subject.subjectOfKind(ValueKind.INTEGER, true, null));
+            verify(reporter).failure(Integer.class, 2.5);
+        }
+
         @Test
         public void sameType() {
             ValidatingVisitor subject = createValidatingVisitor();
-            subject.ifPassesTypeCheck(String.class, true, Boolean.TRUE, onPassConsumer());
-            verify(onPassConsumer()).accept("string");
+            assertEquals("string", subject.subjectOfKind(ValueKind.STRING, true, Boolean.TRUE));
         }
     }
 
@@ -222,4 +209,27 @@ class ValidatingVisitorTest {
         verify(listener).combinedSchemaMatch(new CombinedSchemaMatchEvent(combinedSchema, objectSchema, instance));
     }
 
+    @Test
+    void skipsUnsubscribedEvents() {
+        SelectiveValidationListener listener = mock(SelectiveValidationListener.class);
+        when(listener.subscribedEvents()).thenReturn(EnumSet.of(EventKind.COMBINED_SCHEMA_MISMATCH));
+        StringSchema stringSchema = StringSchema.builder().requiresString(true).build();
+        EmptySchema emptySchema = EmptySchema.builder().build();
+        CombinedSchema combinedSchema = CombinedSchema.builder().criterion(CombinedSchema.ANY_CRITERION)
+                .subschema(stringSchema)
+                .subschema(emptySchema)
+                .build();
+        ValidationFailureReporter reporter = new CollectingFailureReporter(combinedSchema);
+        JSONObject instance = new JSONObject();
+
+        new ValidatingVisitor(instance, reporter, ReadWriteValidator.NONE, listener, STRICT)
+                .visit(combinedSchema);
+
+        ValidationException exc = new InternalValidationException(stringSchema, String.class, instance);
+        verify(listener).subscribedEvents();
+        verify(listener).combinedSchemaMismatch(
+                new CombinedSchemaMismatchEvent(combinedSchema, stringSchema, instance, exc));
+        verifyNoMoreInteractions(listener);
+    }
+
 }
@@ -0,0 +1,115 @@
+package org.everit.json.schema;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.everit.json.schema.loader.SchemaLoader;
+import org.json.JSONArray;
+import org.json.JSONObject;
+import org.junit.jupiter.api.Test;
+
+public class ValidationMemoTest {
+
+    private static final AtomicInteger FORMAT_VALIDATION_COUNT = new AtomicInteger();
+
+    private static final JSONObject SCHEMA_JSON = new JSONObject("{"
+            + "  \"definitions\": {"
+            + "    \"address\": {"
+            + "      \"type\": \"object\","
+            + "      \"properties\": {"
+            + "        \"city\": {\"type\": \"string\", \"format\": \"counted\"},"
+            + "        \"zip\": {\"type\": \"integer\"},"
+            + "        \"country\": {\"type\": \"string\", \"default\": \"HU\"}"
+            + "      },"
+            + "      \"required\": [\"city\"]"
+            + "    }"
+            + "  },"
+            + "  \"type\": \"array\","
+            + "  \"items\": {"
+            + "    \"properties\": {"
+            + "      \"billing\": {\"$ref\": \"#/definitions/address\"},"
+            + "      \"shipping\": {\"$ref\": \"#/definitions/address\"}"
+            + "    }"
+            + "  }"
+            + "}");
+
+    private static Schema loadSchema(boolean useDefaults) {
+        return SchemaLoader.builder()
+                .addFormatValidator("counted", value -> {
+                    FORMAT_VALIDATION_COUNT.incrementAndGet();
+                    return value.isEmpty() ? Optional.of("empty") : Optional.empty();
+                })
+                .useDefaults(useDefaults)
+                .schemaJson(SCHEMA_JSON)
+                .build().load().build();
+    }
+
+    private static JSONArray lineItems() {
+        JSONArray items = new JSONArray();
+        for (int i = 0; i < 100; ++i) {
+            JSONObject address = new JSONObject().put("city", i == 50 ? "" : "Budapest").put("zip", 1111);
+            JSONObject otherAddress = new JSONObject().put("city", "Budapest").put("zip", i % 10 == 0 ? 1.5 : 1111);
+            items.put(new JSONObject().put("billing", address).put("shipping", otherAddress));
+        }
+        return items;
+    }
+
+    private static ValidationException failure(Validator validator, Schema schema, JSONArray document) {
+        return assertThrows(ValidationException.class, () -> validator.performValidation(schema, document));
+    }
+
+    @Test
+    public void repeatedSubtreesAreValidatedOnce() {
+        Schema schema = loadSchema(false);
+        ValidationException expected = failure(Validator.builder().build(), schema, lineItems());
+        FORMAT_VALIDATION_COUNT.set(0);
+        ValidationException actual = failure(Validator.builder().memoization(100).build(), schema, lineItems());
+        assertEquals(expected.toJSON().toString(), actual.toJSON().toString());
+        // 2 distinct billing and 2 distinct shipping addresses
+        assertEquals(4, FORMAT_VALIDATION_COUNT.get());
+    }
+
+    @Test
+    public void failEarly() {
+        Schema schema = loadSchema(false);
+        ValidationException expected = failure(Validator.builder().failEarly().build(), schema, lineItems());
+        ValidationException actual = failure(Validator.builder().failEarly().memoization(100).build(), schema,
+                lineItems());
+        assertEquals(expected.getMessage(), actual.getMessage());
+    }
+
+    @Test
+    public void evictedEntriesAreRecomputed() {
+        Schema schema = loadSchema(false);
+        ValidationException expected = failure(Validator.builder().build(), schema, lineItems());
+        ValidationException actual = failure(Validator.builder().memoization(1).build(), schema, lineItems());
+        assertEquals(expected.toJSON().toString(), actual.toJSON().toString());
+    }
+
+    @Test
+    public void defaultsAreInjectedIntoRepeatedSubtrees() {
+        Schema schema = loadSchema(true);
+        JSONArray expected = lineItems();
+        failure(Validator.builder().build(), schema, expected);
+        JSONArray actual = lineItems();
+        failure(Validator.builder().memoization(100).build(), schema, actual);
+        assertEquals("HU", actual.getJSONObject(99).getJSONObject("billing").get("country"));
+        assertTrue(expected.similar(actual));
+    }
+
+    @Test
+    public void structuralEqualityIsStrictOnNumbers() {
+        DocumentAccessor accessor = DocumentAccessor.ORG_JSON;
+        Object obj1 = new JSONObject("{\"a\": [1, null, {\"b\": \"c\"}]}");
+        Object obj2 = new JSONObject("{\"a\": [1, null, {\"b\": \"c\"}]}");
+        Object obj3 = new JSONObject("{\"a\": [1.0, null, {\"b\": \"c\"}]}");
+        assertTrue(ValidationMemo.structurallyEquals(obj1, obj2, accessor));
+        assertEquals(ValidationMemo.structuralHash(obj1, accessor), ValidationMemo.structuralHash(obj2, accessor));
+        assertFalse(ValidationMemo.structurallyEquals(obj1, obj3, accessor));
+    }
+}
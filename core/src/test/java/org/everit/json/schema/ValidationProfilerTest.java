@@ -0,0 +1,88 @@
+package org.everit.json.schema;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.List;
+
+import org.everit.json.schema.loader.SchemaLoader;
+import org.json.JSONArray;
+import org.json.JSONObject;
+import org.junit.jupiter.api.Test;
+
+public class ValidationProfilerTest {
+
+    private static final JSONObject SCHEMA_JSON = new JSONObject("{"
+            + "  \"definitions\": {"
+            + "    \"code\": {\"type\": \"string\", \"pattern\": \"^[A-Z]+$\"}"
+            + "  },"
+            + "  \"type\": \"array\","
+            + "  \"uniqueItems\": true,"
+            + "  \"items\": {"
+            + "    \"oneOf\": [{\"$ref\": \"#/definitions/code\"}, {\"type\": \"integer\"}]"
+            + "  }"
+            + "}");
+
+    private static Schema loadSchema() {
+        return SchemaLoader.builder().schemaJson(SCHEMA_JSON).build().load().build();
+    }
+
+    private static ValidationProfile.Entry entry(List<ValidationProfile.Entry> entries, String name) {
+        return entries.stream().filter(entry -> entry.getName().equals(name)).findFirst()
+                .orElseThrow(() -> new AssertionError("missing entry: " + name + " in " + entries));
+    }
+
+    @Test
+    public void recordsLocationsAndKeywords() {
+        ValidationProfiler profiler = new ValidationProfiler();
+        Validator validator = Validator.builder().profiler(profiler).build();
+        Schema schema = loadSchema();
+
+        validator.performValidation(schema, new JSONArray("[\"ABC\", 1]"));
+        assertThrows(ValidationException.class,
+                () -> validator.performValidation(schema, new JSONArray("[\"abc\", 2]")));
+
+        ValidationProfile profile = profiler.snapshot();
+        ValidationProfile.Entry root = entry(profile.getSchemaLocations(), "#");
+        assertEquals(2, root.getInvocationCount());
+        assertEquals(1, root.getFailureCount());
+        assertTrue(root.getSelfNanos() <= root.getTotalNanos());
+        ValidationProfile.Entry code = entry(profile.getSchemaLocations(), "#/definitions/code");
+        assertEquals(4, code.getInvocationCount());
+        assertEquals(3, code.getFailureCount());
+
+        ValidationProfile.Entry pattern = entry(profile.getKeywords(), "pattern");
+        assertEquals(2, pattern.getInvocationCount());
+        assertEquals(1, pattern.getFailureCount());
+        assertEquals(4, entry(profile.getKeywords(), "oneOf").getInvocationCount());
+        assertEquals(4, entry(profile.getKeywords(), "$ref").getInvocationCount());
+        assertEquals(2, entry(profile.getKeywords(), "uniqueItems").getInvocationCount());
+    }
+
+    @Test
+    public void hotSpotsAreSortedBySelfTime() {
+        ValidationProfiler profiler = new ValidationProfiler();
+        Validator validator = Validator.builder().profiler(profiler).build();
+        validator.performValidation(loadSchema(), new JSONArray("[\"ABC\", 1, \"DEF\"]"));
+
+        ValidationProfile profile = profiler.snapshot();
+        List<ValidationProfile.Entry> hotSpots = profile.getHotSpots(2);
+        assertEquals(2, hotSpots.size());
+        assertTrue(hotSpots.get(0).getSelfNanos() >= hotSpots.get(1).getSelfNanos());
+        String report = profile.toHotSpotReport(10);
+        assertTrue(report.contains("#/definitions/code"));
+        assertTrue(report.contains("oneOf"));
+    }
+
+    @Test
+    public void reset() {
+        ValidationProfiler profiler = new ValidationProfiler();
+        Validator.builder().profiler(profiler).build().performValidation(loadSchema(), new JSONArray("[1]"));
+        assertFalse(profiler.snapshot().getSchemaLocations().isEmpty());
+        profiler.reset();
+        assertTrue(profiler.snapshot().getSchemaLocations().isEmpty());
+        assertTrue(profiler.snapshot().getKeywords().isEmpty());
+    }
+}
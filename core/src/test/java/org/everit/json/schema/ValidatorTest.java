@@ -1,12 +1,29 @@
 package org.everit.json.schema;
 
+import static java.util.Arrays.asList;
+import static java.util.stream.Collectors.toList;
 import static org.everit.json.schema.TestSupport.loadAsV7;
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.junit.jupiter.api.Assertions.fail;
 
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Stream;
+
+import org.everit.json.schema.event.CombinedSchemaMatchEvent;
+import org.everit.json.schema.event.CombinedSchemaMismatchEvent;
+import org.everit.json.schema.event.ValidationListener;
 import org.json.JSONObject;
 import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
 
 public class ValidatorTest {
 
@@ -87,4 +104,94 @@ public class ValidatorTest {
                 .expect();
     }
 
+    private static List<Object> batchDocuments() {
+        JSONObject multipleViolations = ResourceLoader.DEFAULT.readObj("objecttestcases.json")
+                .getJSONObject("multipleViolations");
+        return asList(new JSONObject("{\"boolProp\": true}"), multipleViolations, new JSONObject(),
+                new JSONObject("{\"boolProp\": 1}"), multipleViolations);
+    }
+
+    private static Optional<String> performValidationMessage(Validator validator, Object document) {
+        try {
+            validator.performValidation(ObjectSchemaTest.MULTIPLE_VIOLATIONS_SCHEMA, document);
+            return Optional.empty();
+        } catch (ValidationException e) {
+            return Optional.of(e.toJSON().toString());
+        }
+    }
+
+    @ParameterizedTest
+    @ValueSource(booleans = { false, true })
+    public void validateAllReportsSameFailuresAsPerformValidation(boolean failEarly) {
+        Validator.ValidatorBuilder builder = Validator.builder();
+        if (failEarly) {
+            builder.failEarly();
+        }
+        Validator validator = builder.build();
+        List<Object> documents = batchDocuments();
+        List<Optional<String>> expected = documents.stream()
+                .map(document -> performValidationMessage(validator, document))
+                .collect(toList());
+        List<Optional<String>> actual = validator.validateAll(ObjectSchemaTest.MULTIPLE_VIOLATIONS_SCHEMA, documents)
+                .stream()
+                .map(failure -> failure.map(e -> e.toJSON().toString()))
+                .collect(toList());
+        assertEquals(expected, actual);
+        assertFalse(actual.get(1).equals(Optional.empty()));
+    }
+
+    @Test
+    public void validateAllIsLazyOnStreams() {
+        AtomicInteger parsedCount = new AtomicInteger();
+        Stream<Optional<ValidationException>> failures = Validator.builder().build()
+                .validateAll(ObjectSchemaTest.MULTIPLE_VIOLATIONS_SCHEMA, Stream.of("{}", "{\"boolProp\": 1}", "{")
+                        .map(json -> {
+                            parsedCount.incrementAndGet();
+                            return new JSONObject(json);
+                        }));
+        assertEquals(0, parsedCount.get());
+        Iterator<Optional<ValidationException>> iterator = failures.iterator();
+        assertEquals("#", iterator.next().get().getPointerToViolation());
+        assertEquals("#/boolProp", iterator.next().get().getPointerToViolation());
+        assertEquals(2, parsedCount.get());
+    }
+
+    @Test
+    public void validateAllRecoversAfterUnexpectedException() {
+        Validator validator = Validator.builder().build();
+        Iterator<Optional<ValidationException>> failures = validator.validateAll(
+                ObjectSchemaTest.MULTIPLE_VIOLATIONS_SCHEMA, Stream.of(new Object(), new JSONObject())).iterator();
+        assertThrows(IllegalArgumentException.class, failures::next);
+        assertEquals("#: required key [boolProp] not found", failures.next().get().getMessage());
+    }
+
+    @Test
+    public void failEarly_skipsRestOfFailingSubschema() {
+        Schema nestedSchema = loadAsV7(new JSONObject("{\"anyOf\": [{\"type\": \"integer\"}, {}]}"));
+        ObjectSchema failingSchema = ObjectSchema.builder()
+                .addRequiredProperty("x")
+                .addPropertySchema("a", nestedSchema)
+                .build();
+        CombinedSchema schema = CombinedSchema.anyOf(asList(failingSchema, EmptySchema.INSTANCE)).build();
+        List<Schema> events = new ArrayList<>();
+        Validator validator = Validator.builder()
+                .failEarly()
+                .withListener(new ValidationListener() {
+
+                    @Override public void combinedSchemaMatch(CombinedSchemaMatchEvent event) {
+                        events.add(event.getSubSchema());
+                    }
+
+                    @Override public void combinedSchemaMismatch(CombinedSchemaMismatchEvent event) {
+                        assertEquals("#: required key [x] not found", event.getFailure().getMessage());
+                        events.add(event.getSubSchema());
+                    }
+                })
+                .build();
+
+        validator.performValidation(schema, new JSONObject("{\"a\": 1}"));
+
+        assertEquals(2, events.size());
+        assertEquals(new HashSet<>(asList(failingSchema, EmptySchema.INSTANCE)), new HashSet<>(events));
+    }
 }
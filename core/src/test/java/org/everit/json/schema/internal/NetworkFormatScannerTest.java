@@ -0,0 +1,111 @@
+package org.everit.json.schema.internal;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+import java.util.function.Function;
+import java.util.function.Predicate;
+
+import org.apache.commons.validator.routines.DomainValidator;
+import org.apache.commons.validator.routines.EmailValidator;
+import org.apache.commons.validator.routines.InetAddressValidator;
+import org.junit.jupiter.api.Test;
+
+public class NetworkFormatScannerTest {
+
+    private static final String MUTATION_CHARS = "0123456789abcdefAF:.-@_+ x";
+
+    private static List<String> mutationsOf(List<String> seeds) {
+        Random random = new Random(42);
+        List<String> inputs = new ArrayList<>(seeds);
+        for (String seed : seeds) {
+            for (int i = 0; i < 2000; ++i) {
+                StringBuilder mutated = new StringBuilder(seed);
+                int mutationCount = 1 + random.nextInt(2);
+                for (int m = 0; m < mutationCount && mutated.length() > 0; ++m) {
+                    int pos = random.nextInt(mutated.length());
+                    char ch = MUTATION_CHARS.charAt(random.nextInt(MUTATION_CHARS.length()));
+                    switch (random.nextInt(3)) {
+                    case 0:
+                        mutated.setCharAt(pos, ch);
+                        break;
+                    case 1:
+                        mutated.insert(pos, ch);
+                        break;
+                    default:
+                        mutated.deleteCharAt(pos);
+                    }
+                }
+                inputs.add(mutated.toString());
+            }
+        }
+        return inputs;
+    }
+
+    private static void assertSameAsCommonsValidator(Predicate<String> commonsValidator,
+            Function<String, ScanResult> scanner, List<String> seeds) {
+        for (String input : mutationsOf(seeds)) {
+            ScanResult result = scanner.apply(input);
+            if (result != ScanResult.UNDECIDED) {
+                assertEquals(commonsValidator.test(input), result == ScanResult.VALID, input);
+            }
+        }
+    }
+
+    private static String repeat(String str, int count) {
+        StringBuilder sb = new StringBuilder();
+        for (int i = 0; i < count; ++i) {
+            sb.append(str);
+        }
+        return sb.toString();
+    }
+
+    @Test
+    public void ipv4() {
+        assertSameAsCommonsValidator(InetAddressValidator.getInstance()::isValidInet4Address,
+                NetworkFormatScanner::ipv4,
+                Arrays.asList("192.168.0.1", "255.255.255.255", "0.0.0.0", "10.0.10.100", "1.2.3"));
+    }
+
+    @Test
+    public void ipv6() {
+        assertSameAsCommonsValidator(InetAddressValidator.getInstance()::isValidInet6Address,
+                NetworkFormatScanner::ipv6,
+                Arrays.asList("::", "::1", "1::", "2001:db8::ff00:42:8329", "2001:0db8:0000:0000:0000:ff00:0042:8329",
+                        "::ffff:192.168.0.1", "1:2:3:4:5:6:1.2.3.4", "1:2:3:4:5:6:7::", "fe80::1:2"));
+    }
+
+    @Test
+    public void hostname() {
+        DomainValidator domainValidator = DomainValidator.getInstance(true);
+        assertSameAsCommonsValidator(input -> domainValidator.isValid(input) && !input.contains("_"),
+                NetworkFormatScanner::hostname,
+                Arrays.asList("www.example.com", "example.com.", "localhost", "a-b.c-d.org", "xn--bcher-kva.example",
+                        "host", "1.2.3.4", repeat("a", 63) + ".com", repeat("a.", 126) + "com"));
+    }
+
+    @Test
+    public void email() {
+        EmailValidator emailValidator = EmailValidator.getInstance(false, true);
+        assertSameAsCommonsValidator(emailValidator::isValid,
+                NetworkFormatScanner::email,
+                Arrays.asList("joe.bloggs@example.com", "a@b.co", "first.last+tag@sub.example.org", "x@com",
+                        "user@localhost", "o'hara!#$%&*/=?^_`{|}~@example.com", repeat("a", 64) + "@example.com"));
+    }
+
+    @Test
+    public void commonValuesAreDecidedByScanner() {
+        assertEquals(ScanResult.VALID, NetworkFormatScanner.ipv4("127.0.0.1"));
+        assertEquals(ScanResult.INVALID, NetworkFormatScanner.ipv4("127.0.0.01"));
+        assertEquals(ScanResult.VALID, NetworkFormatScanner.ipv6("2001:db8::1"));
+        assertEquals(ScanResult.INVALID, NetworkFormatScanner.ipv6("2001:db8::1::2"));
+        assertEquals(ScanResult.VALID, NetworkFormatScanner.hostname("www.example.com"));
+        assertEquals(ScanResult.INVALID, NetworkFormatScanner.hostname("-example.com"));
+        assertEquals(ScanResult.VALID, NetworkFormatScanner.email("joe.bloggs@example.com"));
+        assertEquals(ScanResult.INVALID, NetworkFormatScanner.email("joe.bloggs@example..com"));
+    }
+
+}
@@ -0,0 +1,95 @@
+package org.everit.json.schema.internal;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.time.format.DateTimeFormatter;
+import java.time.format.DateTimeParseException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+import java.util.function.Function;
+
+import org.junit.jupiter.api.Test;
+
+public class Rfc3339ScannerTest {
+
+    private static final String MUTATION_CHARS = "0123456789:-+.TtZz 6";
+
+    private static boolean parses(DateTimeFormatter formatter, String input) {
+        try {
+            formatter.parse(input);
+            return true;
+        } catch (DateTimeParseException e) {
+            return false;
+        }
+    }
+
+    private static List<String> mutationsOf(List<String> seeds) {
+        Random random = new Random(42);
+        List<String> inputs = new ArrayList<>(seeds);
+        for (String seed : seeds) {
+            for (int i = 0; i < 2000; ++i) {
+                StringBuilder mutated = new StringBuilder(seed);
+                int mutationCount = 1 + random.nextInt(2);
+                for (int m = 0; m < mutationCount && mutated.length() > 0; ++m) {
+                    int pos = random.nextInt(mutated.length());
+                    char ch = MUTATION_CHARS.charAt(random.nextInt(MUTATION_CHARS.length()));
+                    switch (random.nextInt(3)) {
+                    case 0:
+                        mutated.setCharAt(pos, ch);
+                        break;
+                    case 1:
+                        mutated.insert(pos, ch);
+                        break;
+                    default:
+                        mutated.deleteCharAt(pos);
+                    }
+                }
+                inputs.add(mutated.toString());
+            }
+        }
+        return inputs;
+    }
+
+    private static void assertSameAsFormatter(DateTimeFormatter formatter, Function<String, ScanResult> scanner,
+            List<String> seeds) {
+        for (String input : mutationsOf(seeds)) {
+            ScanResult result = scanner.apply(input);
+            if (result != ScanResult.UNDECIDED) {
+                assertEquals(parses(formatter, input), result == ScanResult.VALID, input);
+            }
+        }
+    }
+
+    @Test
+    public void date() {
+        assertSameAsFormatter(DateTimeFormatter.ISO_LOCAL_DATE, Rfc3339Scanner::date,
+                Arrays.asList("1963-06-19", "2000-02-29", "1900-02-28", "2015-04-30", "0000-01-01", "2015-12-31"));
+    }
+
+    @Test
+    public void time() {
+        assertSameAsFormatter(TimeFormatValidator.FORMATTER, Rfc3339Scanner::time,
+                Arrays.asList("11:00:00Z", "23:59:59+01:00", "00:00:00.123456789-18:00", "12:30:00.1+05:30",
+                        "24:00:00Z", "23:59:60Z", "10:00:00+01:00:30"));
+    }
+
+    @Test
+    public void dateTime() {
+        assertSameAsFormatter(DateTimeFormatValidator.FORMATTER, Rfc3339Scanner::dateTime,
+                Arrays.asList("2015-02-28T11:00:00Z", "2015-03-13T11:00:00+00:00", "2016-02-29T23:59:59.999-08:00",
+                        "2015-02-30T11:00:00.12345Z", "1996-12-19T16:39:57-08:00", "0001-01-01T00:00:00Z"));
+    }
+
+    @Test
+    public void commonValuesAreDecidedByScanner() {
+        assertEquals(ScanResult.VALID, Rfc3339Scanner.dateTime("2015-02-28T11:00:00.123Z"));
+        assertEquals(ScanResult.INVALID, Rfc3339Scanner.dateTime("2015-02-28 11:00:00Z"));
+        assertEquals(ScanResult.VALID, Rfc3339Scanner.date("2016-02-29"));
+        assertEquals(ScanResult.INVALID, Rfc3339Scanner.date("2015-02-29"));
+        assertEquals(ScanResult.VALID, Rfc3339Scanner.time("11:00:00+05:30"));
+        assertEquals(ScanResult.INVALID, Rfc3339Scanner.time("08:30:06 PST"));
+    }
+
+}
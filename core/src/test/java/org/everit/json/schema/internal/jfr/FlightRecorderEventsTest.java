@@ -0,0 +1,125 @@
+package org.everit.json.schema.internal.jfr;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static java.util.Comparator.comparing;
+import static java.util.stream.Collectors.toList;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.List;
+
+import org.everit.json.schema.Schema;
+import org.everit.json.schema.ValidationException;
+import org.everit.json.schema.Validator;
+import org.everit.json.schema.loader.SchemaLoader;
+import org.json.JSONObject;
+import org.junit.jupiter.api.Test;
+
+import jdk.jfr.Recording;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordingFile;
+
+public class FlightRecorderEventsTest {
+
+    private static final String REMOTE_URL = "http://example.org/remote.json";
+
+    private static final String REMOTE_SCHEMA = "{\"type\": \"string\", \"pattern\": \"^(jo|hn)+$\"}";
+
+    private static final JSONObject SCHEMA_JSON = new JSONObject("{"
+            + "  \"id\": \"http://example.org/root.json\","
+            + "  \"properties\": {"
+            + "    \"name\": {\"$ref\": \"" + REMOTE_URL + "\"},"
+            + "    \"age\": {\"type\": \"integer\"}"
+            + "  }"
+            + "}");
+
+    private static Schema loadSchema() {
+        return SchemaLoader.builder()
+                .schemaClient(url -> new ByteArrayInputStream(REMOTE_SCHEMA.getBytes(UTF_8)))
+                .schemaJson(SCHEMA_JSON)
+                .build().load().build();
+    }
+
+    private static List<RecordedEvent> record(Runnable action) throws IOException {
+        Path dump = Files.createTempFile("everit-json-schema", ".jfr");
+        try (Recording recording = new Recording()) {
+            recording.enable("org.everit.json.schema.SchemaLoad");
+            recording.enable("org.everit.json.schema.SchemaFetch");
+            recording.enable("org.everit.json.schema.Validation");
+            recording.enable("org.everit.json.schema.RegexpMatch").withThreshold(Duration.ZERO);
+            recording.start();
+            action.run();
+            recording.stop();
+            recording.dump(dump);
+            return RecordingFile.readAllEvents(dump).stream()
+                    .filter(event -> event.getEventType().getName().startsWith("org.everit.json.schema."))
+                    .sorted(comparing(RecordedEvent::getStartTime))
+                    .collect(toList());
+        } finally {
+            Files.delete(dump);
+        }
+    }
+
+    private static List<RecordedEvent> eventsNamed(List<RecordedEvent> events, String name) {
+        return events.stream()
+                .filter(event -> event.getEventType().getName().equals("org.everit.json.schema." + name))
+                .collect(toList());
+    }
+
+    @Test
+    public void loadingEvents() throws IOException {
+        List<RecordedEvent> events = record(FlightRecorderEventsTest::loadSchema);
+
+        List<RecordedEvent> fetches = eventsNamed(events, "SchemaFetch");
+        assertEquals(1, fetches.size());
+        assertEquals(REMOTE_URL, fetches.get(0).getString("url"));
+        assertEquals(REMOTE_SCHEMA.length(), fetches.get(0).getLong("bytes"));
+        assertTrue(fetches.get(0).getBoolean("success"));
+
+        List<RecordedEvent> loads = eventsNamed(events, "SchemaLoad").stream()
+                .filter(event -> event.getString("documentUri").equals("http://example.org/root.json"))
+                .collect(toList());
+        assertEquals(1, loads.size());
+        assertTrue(loads.get(0).getBoolean("success"));
+        assertTrue(loads.get(0).getInt("subschemaCount") >= 3);
+    }
+
+    @Test
+    public void validationEvents() throws IOException {
+        Schema schema = loadSchema();
+        Validator validator = Validator.builder().build();
+        List<RecordedEvent> events = record(() -> {
+            validator.performValidation(schema, new JSONObject("{\"name\": \"john\"}"));
+            assertThrows(ValidationException.class,
+                    () -> validator.performValidation(schema, new JSONObject("{\"name\": \"X\", \"age\": 1.5}")));
+        });
+
+        List<RecordedEvent> validations = eventsNamed(events, "Validation");
+        assertEquals(2, validations.size());
+        assertTrue(validations.get(0).getBoolean("valid"));
+        assertEquals("http://example.org/root.json", validations.get(0).getString("schema"));
+        assertFalse(validations.get(1).getBoolean("valid"));
+        assertEquals(2, validations.get(1).getInt("violationCount"));
+
+        List<RecordedEvent> regexpMatches = eventsNamed(events, "RegexpMatch");
+        assertEquals(2, regexpMatches.size());
+        assertEquals("^(jo|hn)+$", regexpMatches.get(0).getString("pattern"));
+        assertTrue(regexpMatches.get(0).getBoolean("matched"));
+        assertFalse(regexpMatches.get(1).getBoolean("matched"));
+    }
+
+    @Test
+    public void noEventIsStartedWithoutRecording() {
+        assertTrue(FlightRecorderEvents.isAvailable());
+        assertNull(FlightRecorderEvents.beginValidation());
+        FlightRecorderEvents.commitValidation(null, "schema", 0);
+    }
+}
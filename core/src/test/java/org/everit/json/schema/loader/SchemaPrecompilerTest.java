@@ -0,0 +1,85 @@
+package org.everit.json.schema.loader;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Optional;
+
+import org.everit.json.schema.Schema;
+import org.everit.json.schema.SchemaSnapshotReader;
+import org.everit.json.schema.ValidationException;
+import org.json.JSONObject;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+public class SchemaPrecompilerTest {
+
+    @TempDir
+    Path tempDir;
+
+    private Path writeSchemas() throws IOException {
+        Files.write(tempDir.resolve("item.json"), ("{"
+                + "\"type\": \"object\","
+                + "\"properties\": {\"sku\": {\"type\": \"string\", \"format\": \"sku\"}, \"qty\": {\"default\": 1}}"
+                + "}").getBytes(UTF_8));
+        Path schemaFile = tempDir.resolve("order.json");
+        Files.write(schemaFile, ("{"
+                + "\"type\": \"object\","
+                + "\"properties\": {\"items\": {\"type\": \"array\", \"items\": {\"$ref\": \"item.json\"}}}"
+                + "}").getBytes(UTF_8));
+        return schemaFile;
+    }
+
+    private Schema readSnapshot(Path snapshotFile) throws IOException {
+        try (InputStream in = Files.newInputStream(snapshotFile)) {
+            return SchemaSnapshotReader.builder()
+                    .addFormatValidator("sku",
+                            value -> value.startsWith("SKU-") ? Optional.empty() : Optional.of("invalid SKU"))
+                    .build().read(in);
+        }
+    }
+
+    @Test
+    public void precompiledSchemaMatchesLoadedSchema() throws IOException {
+        Path schemaFile = writeSchemas();
+        Path snapshotFile = tempDir.resolve("snapshots/order.snapshot");
+        SchemaPrecompiler.main(new String[] { "--use-defaults", "--format", "sku",
+                "--base-uri", "http://example.org/schemas/", schemaFile.toString(), snapshotFile.toString() });
+        Schema schema = readSnapshot(snapshotFile);
+
+        JSONObject valid = new JSONObject("{\"items\": [{\"sku\": \"SKU-1\"}]}");
+        schema.validate(valid);
+        assertEquals(1, valid.getJSONArray("items").getJSONObject(0).get("qty"));
+        ValidationException failure = assertThrows(ValidationException.class,
+                () -> schema.validate(new JSONObject("{\"items\": [{\"sku\": \"1\"}]}")));
+        assertEquals("#/items/0/sku", failure.getPointerToViolation());
+        assertEquals("http://example.org/schemas/item.json#/properties/sku", failure.getSchemaLocation());
+    }
+
+    @Test
+    public void schemaLocationDoesNotDependOnSchemaFile() throws IOException {
+        String schemaJson = "{\"$id\": \"http://example.org/string.json\", \"type\": \"string\"}";
+        Path schemaFile = tempDir.resolve("string.json");
+        Files.write(schemaFile, schemaJson.getBytes(UTF_8));
+        Path snapshotFile = tempDir.resolve("string.snapshot");
+        SchemaPrecompiler.precompile(SchemaLoader.builder().draftV7Support(), schemaFile, snapshotFile);
+
+        Schema loaded = SchemaLoader.builder().draftV7Support().schemaJson(new JSONObject(schemaJson)).build()
+                .load().build();
+        Schema precompiled = readSnapshot(snapshotFile);
+        assertEquals(loaded.getSchemaLocation(), precompiled.getSchemaLocation());
+        assertEquals(loaded.getLocation(), precompiled.getLocation());
+    }
+
+    @Test
+    public void missingSnapshotFile() throws IOException {
+        Path schemaFile = writeSchemas();
+        assertThrows(IllegalArgumentException.class,
+                () -> SchemaPrecompiler.main(new String[] { schemaFile.toString() }));
+    }
+}
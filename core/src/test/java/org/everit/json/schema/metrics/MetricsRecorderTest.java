@@ -0,0 +1,137 @@
+package org.everit.json.schema.metrics;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.ByteArrayInputStream;
+import java.net.URI;
+
+import org.everit.json.schema.Schema;
+import org.everit.json.schema.ValidationException;
+import org.everit.json.schema.Validator;
+import org.everit.json.schema.loader.SchemaLoader;
+import org.json.JSONObject;
+import org.junit.jupiter.api.Test;
+
+public class MetricsRecorderTest {
+
+    private static final String REMOTE_URL = "http://example.org/remote.json";
+
+    private static final String REMOTE_SCHEMA = "{\"type\": \"integer\", \"minimum\": 0}";
+
+    private static final JSONObject SCHEMA_JSON = new JSONObject("{"
+            + "  \"id\": \"http://example.org/root.json\","
+            + "  \"definitions\": {"
+            + "    \"name\": {\"type\": \"string\", \"minLength\": 1}"
+            + "  },"
+            + "  \"properties\": {"
+            + "    \"firstName\": {\"$ref\": \"#/definitions/name\"},"
+            + "    \"lastName\": {\"$ref\": \"#/definitions/name\"},"
+            + "    \"age\": {\"$ref\": \"" + REMOTE_URL + "\"}"
+            + "  }"
+            + "}");
+
+    private static Schema loadSchema(SimpleMetricsRecorder metrics) {
+        return SchemaLoader.builder()
+                .schemaClient(url -> new ByteArrayInputStream(REMOTE_SCHEMA.getBytes(UTF_8)))
+                .schemaJson(SCHEMA_JSON)
+                .metrics(metrics)
+                .build().load().build();
+    }
+
+    @Test
+    public void loaderMetrics() {
+        SimpleMetricsRecorder metrics = new SimpleMetricsRecorder();
+        loadSchema(metrics);
+
+        SimpleMetricsRecorder.Meter load = metrics.getMeter(MetricNames.LOAD,
+                MetricNames.DOCUMENT_TAG, "http://example.org/root.json",
+                MetricNames.OUTCOME_TAG, MetricNames.SUCCESS);
+        assertNotNull(load);
+        assertEquals(1, load.getCount());
+        assertEquals(1, metrics.getMeter(MetricNames.FETCH,
+                MetricNames.DOCUMENT_TAG, REMOTE_URL, MetricNames.OUTCOME_TAG, MetricNames.SUCCESS).getCount());
+        assertEquals(REMOTE_SCHEMA.length(), metrics.getMeter(MetricNames.FETCHED_BYTES,
+                MetricNames.DOCUMENT_TAG, REMOTE_URL).getTotal());
+        assertEquals(1, metrics.getMeter(MetricNames.REFERENCE_RESOLUTIONS,
+                MetricNames.KIND_TAG, MetricNames.REMOTE).getCount());
+        long localOrCached = metrics.getMeters().stream()
+                .filter(meter -> meter.getName().equals(MetricNames.REFERENCE_RESOLUTIONS))
+                .filter(meter -> !MetricNames.REMOTE.equals(meter.getTags().get(MetricNames.KIND_TAG)))
+                .mapToLong(SimpleMetricsRecorder.Meter::getCount)
+                .sum();
+        assertEquals(2, localOrCached);
+    }
+
+    @Test
+    public void registeredSchemaIsNotRemote() {
+        SimpleMetricsRecorder metrics = new SimpleMetricsRecorder();
+        SchemaLoader.builder()
+                .schemaClient(url -> {
+                    throw new IllegalStateException("unreachable");
+                })
+                .registerSchemaByURI(URI.create(REMOTE_URL), new JSONObject(REMOTE_SCHEMA))
+                .schemaJson(new JSONObject("{\"$ref\": \"" + REMOTE_URL + "\"}"))
+                .metrics(metrics)
+                .build().load();
+
+        assertNull(metrics.getMeter(MetricNames.REFERENCE_RESOLUTIONS, MetricNames.KIND_TAG, MetricNames.REMOTE));
+        assertEquals(1, metrics.getMeter(MetricNames.REFERENCE_RESOLUTIONS,
+                MetricNames.KIND_TAG, MetricNames.LOCAL).getCount());
+    }
+
+    @Test
+    public void failedLoadIsRecorded() {
+        SimpleMetricsRecorder metrics = new SimpleMetricsRecorder();
+        SchemaLoader loader = SchemaLoader.builder()
+                .schemaClient(url -> {
+                    throw new IllegalStateException("unreachable");
+                })
+                .schemaJson(new JSONObject("{\"$ref\": \"" + REMOTE_URL + "\"}"))
+                .metrics(metrics)
+                .build();
+        assertThrows(RuntimeException.class, loader::load);
+
+        assertEquals(1, metrics.getMeter(MetricNames.LOAD, MetricNames.DOCUMENT_TAG, MetricNames.UNKNOWN,
+                MetricNames.OUTCOME_TAG, MetricNames.FAILURE).getCount());
+        assertEquals(1, metrics.getMeter(MetricNames.FETCH,
+                MetricNames.DOCUMENT_TAG, REMOTE_URL, MetricNames.OUTCOME_TAG, MetricNames.FAILURE).getCount());
+    }
+
+    @Test
+    public void validatorMetrics() {
+        SimpleMetricsRecorder metrics = new SimpleMetricsRecorder();
+        Schema schema = loadSchema(new SimpleMetricsRecorder());
+        Validator validator = Validator.builder().metrics(metrics).build();
+
+        validator.performValidation(schema, new JSONObject("{\"firstName\": \"John\", \"age\": 30}"));
+        validator.performValidation(schema, new JSONObject("{}"));
+        assertThrows(ValidationException.class, () -> validator.performValidation(schema,
+                new JSONObject("{\"firstName\": \"\", \"lastName\": \"\", \"age\": -1}")));
+
+        String schemaTag = "http://example.org/root.json";
+        assertEquals(2, metrics.getMeter(MetricNames.VALIDATION,
+                MetricNames.SCHEMA_TAG, schemaTag, MetricNames.OUTCOME_TAG, MetricNames.VALID).getCount());
+        assertEquals(1, metrics.getMeter(MetricNames.VALIDATION,
+                MetricNames.SCHEMA_TAG, schemaTag, MetricNames.OUTCOME_TAG, MetricNames.INVALID).getCount());
+        SimpleMetricsRecorder.Meter violations = metrics.getMeter(MetricNames.VIOLATIONS,
+                MetricNames.SCHEMA_TAG, schemaTag);
+        assertEquals(1, violations.getCount());
+        assertEquals(3, violations.getTotal());
+    }
+
+    @Test
+    public void noopRecorderIsDefault() {
+        SimpleMetricsRecorder metrics = new SimpleMetricsRecorder();
+        Schema schema = loadSchema(metrics);
+        int loaderMeterCount = metrics.getMeters().size();
+        Validator.builder().build().performValidation(schema, new JSONObject("{}"));
+        assertEquals(loaderMeterCount, metrics.getMeters().size());
+        assertNull(metrics.getMeter(MetricNames.VALIDATION));
+        assertTrue(loaderMeterCount > 0);
+    }
+}
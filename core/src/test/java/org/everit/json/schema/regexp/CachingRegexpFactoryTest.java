@@ -0,0 +1,58 @@
+package org.everit.json.schema.regexp;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import org.junit.jupiter.api.Test;
+
+public class CachingRegexpFactoryTest {
+
+    @Test
+    public void samePatternIsCompiledOnce() {
+        CachingRegexpFactory subject = new CachingRegexpFactory(new JavaUtilRegexpFactory());
+        Regexp first = subject.createHandler("a.*b");
+        Regexp second = subject.createHandler("a.*b");
+        assertSame(first, second);
+        assertEquals(1, subject.hitCount());
+        assertEquals(1, subject.missCount());
+        assertEquals(1, subject.size());
+    }
+
+    @Test
+    public void leastRecentlyUsedIsEvicted() {
+        CachingRegexpFactory subject = new CachingRegexpFactory(new JavaUtilRegexpFactory(), 2);
+        Regexp first = subject.createHandler("a.*");
+        subject.createHandler("b.*");
+        subject.createHandler("a.*");
+        subject.createHandler("c.*");
+        assertEquals(2, subject.size());
+        assertSame(first, subject.createHandler("a.*"));
+        assertEquals(3, subject.missCount());
+        subject.createHandler("b.*");
+        assertEquals(4, subject.missCount());
+    }
+
+    @Test
+    public void clear() {
+        CachingRegexpFactory subject = new CachingRegexpFactory(new RE2JRegexpFactory());
+        Regexp first = subject.createHandler("a.*b");
+        subject.clear();
+        assertEquals(0, subject.size());
+        assertNotSame(first, subject.createHandler("a.*b"));
+    }
+
+    @Test
+    public void invalidPatternIsNotCached() {
+        CachingRegexpFactory subject = new CachingRegexpFactory(new JavaUtilRegexpFactory());
+        assertThrows(RuntimeException.class, () -> subject.createHandler("(a"));
+        assertEquals(0, subject.size());
+    }
+
+    @Test
+    public void nonPositiveMaxSize() {
+        assertThrows(IllegalArgumentException.class, () -> new CachingRegexpFactory(new JavaUtilRegexpFactory(), 0));
+    }
+
+}
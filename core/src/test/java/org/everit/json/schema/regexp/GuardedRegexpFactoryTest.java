@@ -0,0 +1,73 @@
+package org.everit.json.schema.regexp;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.time.Duration;
+import java.util.Optional;
+
+import org.junit.jupiter.api.Test;
+
+public class GuardedRegexpFactoryTest {
+
+    private static String repeat(char ch, int count) {
+        StringBuilder sb = new StringBuilder(count);
+        for (int i = 0; i < count; ++i) {
+            sb.append(ch);
+        }
+        return sb.toString();
+    }
+
+    @Test
+    public void safePatternMatches() {
+        Regexp regexp = new GuardedRegexpFactory().createHandler("^aa.*b$");
+        assertSame(Optional.empty(), regexp.patternMatchingFailure("aaaaaaaaab"));
+        assertTrue(regexp.patternMatchingFailure("xxx").isPresent());
+    }
+
+    @Test
+    public void nestedQuantifierIsMatchedByJavaUtilByDefault() {
+        Regexp regexp = new GuardedRegexpFactory().createHandler("^(a+)+$");
+        assertEquals("GuardedJavaUtilRegexp", regexp.getClass().getSimpleName());
+    }
+
+    @Test
+    public void nestedQuantifierIsMatchedByRE2J_ifEnabled() {
+        Regexp regexp = new GuardedRegexpFactory(GuardedRegexpFactory.DEFAULT_MAX_STEPS,
+                GuardedRegexpFactory.DEFAULT_TIMEOUT, true).createHandler("^(a+)+$");
+        assertEquals("RE2JRegexp", regexp.getClass().getSimpleName());
+        assertTrue(regexp.patternMatchingFailure(repeat('a', 10000) + "b").isPresent());
+    }
+
+    @Test
+    public void backreferenceStaysWithJavaUtil() {
+        Regexp regexp = new GuardedRegexpFactory(GuardedRegexpFactory.DEFAULT_MAX_STEPS,
+                GuardedRegexpFactory.DEFAULT_TIMEOUT, true).createHandler("^(a+)\\1+$");
+        assertEquals("GuardedJavaUtilRegexp", regexp.getClass().getSimpleName());
+        assertFalse(regexp.patternMatchingFailure("aaaa").isPresent());
+    }
+
+    @Test
+    public void catastrophicBacktrackingIsAborted() {
+        GuardedRegexpFactory factory = new GuardedRegexpFactory(100_000, Duration.ofSeconds(10));
+        Regexp regexp = factory.createHandler(".*a.*a.*a.*a.*a.*a.*a.*a!x");
+        assertTrue(regexp.patternMatchingFailure(repeat('a', 40)).get().isBudgetExceeded());
+        assertEquals(1, factory.budgetExceededCount());
+        assertFalse(regexp.patternMatchingFailure("b").get().isBudgetExceeded());
+    }
+
+    @Test
+    public void nestedQuantifierDetection() {
+        assertTrue(GuardedRegexpFactory.hasNestedQuantifier("(a+)+"));
+        assertTrue(GuardedRegexpFactory.hasNestedQuantifier("^((\\w*)\\s)*$"));
+        assertTrue(GuardedRegexpFactory.hasNestedQuantifier("(x{1,}y)+"));
+        assertTrue(GuardedRegexpFactory.hasNestedQuantifier("^(.*a){12}$"));
+        assertFalse(GuardedRegexpFactory.hasNestedQuantifier("(a+)?"));
+        assertFalse(GuardedRegexpFactory.hasNestedQuantifier("(ab)+c*"));
+        assertFalse(GuardedRegexpFactory.hasNestedQuantifier("[(a+)]+"));
+        assertFalse(GuardedRegexpFactory.hasNestedQuantifier("\\(a+\\)+"));
+    }
+
+}
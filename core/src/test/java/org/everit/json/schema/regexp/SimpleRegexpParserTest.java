@@ -0,0 +1,53 @@
+package org.everit.json.schema.regexp;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.Arrays;
+import java.util.List;
+
+import org.everit.json.schema.regexp.SimpleRegexpParser.EndAnchor;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+
+public class SimpleRegexpParserTest {
+
+    private static final List<String> INPUTS = Arrays.asList(
+            "", "x", "x-", "x-foo", "foo", "foo.bar", "abc", "ABC", "abc1", "a_b", "a-b", "aaaa", "aa",
+            "abc\n", "abc\r\n", "abc\r", "abc ", "abc\n\n", "\n", "aé", "x-\n", "foo$", "$", "^", "a b",
+            "12345", "1234567"
+    );
+
+    @ParameterizedTest
+    @ValueSource(strings = { "^x-", "foo", "^foo$", "abc$", "^$", "", "^", "$", "foo\\.bar", "^foo\\$",
+            "a b", "^[a-z]+$", "^[a-zA-Z0-9_-]*$", "^\\d{5}$", "^\\w{2,4}$", "^[-a]?$", "^a{2,}$", "^[\\.\\-ab]+$",
+            "^[^a]+$", "^a+?$", "^[a-z]{3}x$", "a.*b", "^(foo|bar)$", "^[a-z&&[def]]+$" })
+    public void sameResultAsEngines(String pattern) {
+        java.util.regex.Pattern javaPattern = java.util.regex.Pattern.compile(pattern);
+        com.google.re2j.Pattern re2jPattern = com.google.re2j.Pattern.compile(pattern);
+        Regexp javaUtilHandler = new JavaUtilRegexpFactory().createHandler(pattern);
+        Regexp re2jHandler = new RE2JRegexpFactory().createHandler(pattern);
+        for (String input : INPUTS) {
+            assertEquals(javaPattern.matcher(input).find(), !javaUtilHandler.patternMatchingFailure(input).isPresent(),
+                    "java.util.regex: " + pattern + " on " + input);
+            assertEquals(re2jPattern.matcher(input).find(), !re2jHandler.patternMatchingFailure(input).isPresent(),
+                    "RE2J: " + pattern + " on " + input);
+        }
+        assertEquals(pattern, javaUtilHandler.toString());
+    }
+
+    @ParameterizedTest
+    @ValueSource(strings = { "^x-", "foo", "^foo$", "abc$", "foo\\.bar", "^[a-z]+$", "^\\d{5}$", "^[-a]?$" })
+    public void recognizedPatterns(String pattern) {
+        assertTrue(SimpleRegexpParser.parse(pattern, EndAnchor.JAVA_UTIL).isPresent());
+    }
+
+    @ParameterizedTest
+    @ValueSource(strings = { "a.*b", "^[^a]+$", "^a+?$", "^(foo|bar)$", "^[a-z&&[def]]+$", "^a{1001}$", "[a-z]+",
+            "^\\p{L}+$", "^a{2", "^[a-z]{3}x$", "^[z-a]$", "^[a-\\d]+$", "foo\\d" })
+    public void unrecognizedPatterns(String pattern) {
+        assertFalse(SimpleRegexpParser.parse(pattern, EndAnchor.JAVA_UTIL).isPresent());
+    }
+
+}
@@ -30,6 +30,11 @@ import static org.junit.jupiter.api.Assertions.assertNotEquals;
  */
 public class TestCase {
 
+    /**
+     * Shared by all test cases, so that the subschemas of the test suite are also shared across schema documents.
+     */
+    private static final SchemaInterner INTERNER = new SchemaInterner();
+
     private static JSONArray loadTests(InputStream input) {
         try {
             return new JSONArray(new JSONTokener(IOUtils.toString(new InputStreamReader(input))));
@@ -140,6 +145,18 @@ public class TestCase {
         testWithValidator(Validator.builder().build(), schema);
     }
 
+    public void runTestWithCompiledSchema() {
+        CompiledSchema compiledSchema = SchemaCompiler.compile(schema, DocumentAccessor.ORG_JSON);
+        if (compiledSchema != null && compiledSchema.accepts(inputData) != expectedToBeValid) {
+            throw new AssertionError("compiled schema mismatch for " + inputDescription);
+        }
+        testWithValidator(Validator.builder().compilationThreshold(1).build(), schema);
+    }
+
+    public void runTestWithInternedSchema() {
+        testWithValidator(Validator.builder().build(), INTERNER.intern(schema));
+    }
+
     @Override
     public String toString() {
         return schemaDescription + "/" + inputDescription;
@@ -42,4 +42,18 @@ public class V4TestSuiteTest {
         tc.runTestInEarlyFailureMode();
     }
 
+    @ParameterizedTest
+    @MethodSource("params")
+    public void testWithCompiledSchema(TestCase tc) {
+        tc.loadSchema(SchemaLoader.builder());
+        tc.runTestWithCompiledSchema();
+    }
+
+    @ParameterizedTest
+    @MethodSource("params")
+    public void testWithInternedSchema(TestCase tc) {
+        tc.loadSchema(SchemaLoader.builder());
+        tc.runTestWithInternedSchema();
+    }
+
 }
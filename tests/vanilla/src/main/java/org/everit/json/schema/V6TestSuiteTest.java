@@ -45,4 +45,18 @@ public class V6TestSuiteTest {
         tc.runTestInEarlyFailureMode();
     }
 
+    @ParameterizedTest
+    @MethodSource("params")
+    public void testWithCompiledSchema(TestCase tc) {
+        tc.loadSchema(SchemaLoader.builder().draftV6Support());
+        tc.runTestWithCompiledSchema();
+    }
+
+    @ParameterizedTest
+    @MethodSource("params")
+    public void testWithInternedSchema(TestCase tc) {
+        tc.loadSchema(SchemaLoader.builder().draftV6Support());
+        tc.runTestWithInternedSchema();
+    }
+
 }
@@ -44,4 +44,18 @@ public class V7TestSuiteTest {
         tc.loadSchema(SchemaLoader.builder().draftV7Support());
         tc.runTestInEarlyFailureMode();
     }
+
+    @ParameterizedTest
+    @MethodSource("params")
+    public void testWithCompiledSchema(TestCase tc) {
+        tc.loadSchema(SchemaLoader.builder().draftV7Support());
+        tc.runTestWithCompiledSchema();
+    }
+
+    @ParameterizedTest
+    @MethodSource("params")
+    public void testWithInternedSchema(TestCase tc) {
+        tc.loadSchema(SchemaLoader.builder().draftV7Support());
+        tc.runTestWithInternedSchema();
+    }
 }